@@ -24,6 +24,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 
+import org.apache.jmeter.extractor.json.jsonpath.JSONManager;
 import org.apache.jmeter.samplers.SampleResult;
 import org.apache.jmeter.testelement.AbstractTestElement;
 import org.apache.jmeter.testelement.ThreadListener;
@@ -113,8 +114,8 @@ public class JSONPathAssertion extends AbstractTestElement implements Serializab
         return getPropertyAsBoolean(ISREGEX, true);
     }
 
-    private void doAssert(String jsonString) {
-        Object value = JsonPath.read(jsonString, getJsonPath());
+    private void doAssert(SampleResult samplerResult) {
+        Object value = JsonPath.read(JSONManager.parseResponseData(samplerResult), getJsonPath());
 
         if (!isJsonValidationBool()) {
             if (value instanceof JSONArray) {
@@ -194,7 +195,7 @@ public class JSONPathAssertion extends AbstractTestElement implements Serializab
 
         if (!isInvert()) {
             try {
-                doAssert(responseData);
+                doAssert(samplerResult);
             } catch (Exception e) {
                 log.debug("Assertion failed", e);
                 result.setFailure(true);
@@ -202,7 +203,7 @@ public class JSONPathAssertion extends AbstractTestElement implements Serializab
             }
         } else {
             try {
-                doAssert(responseData);
+                doAssert(samplerResult);
                 result.setFailure(true);
                 if (isJsonValidationBool()) {
                     if (isExpectNull()) {
@@ -35,10 +35,8 @@ import org.apache.jmeter.testelement.property.NullProperty;
 import org.apache.jmeter.testelement.property.StringProperty;
 import org.apache.jmeter.util.Document;
 import org.apache.jmeter.util.JMeterUtils;
-import org.apache.oro.text.MalformedCachePatternException;
-import org.apache.oro.text.regex.Pattern;
-import org.apache.oro.text.regex.Perl5Compiler;
-import org.apache.oro.text.regex.Perl5Matcher;
+import org.apache.jmeter.util.regex.RegexEngine;
+import org.apache.jmeter.util.regex.RegexEngines;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -95,8 +93,7 @@ public class ResponseAssertion extends AbstractScopedAssertion implements Serial
     private static final String DIFF_DELTA_END
             = JMeterUtils.getPropDefault("assertion.equals_diff_delta_end", "]]]");
 
-    private static final boolean USE_JAVA_REGEX = !JMeterUtils.getPropDefault(
-            "jmeter.regex.engine", "oro").equalsIgnoreCase("oro");
+    private static final RegexEngine REGEX_ENGINE = RegexEngines.getConfiguredEngine();
 
     public ResponseAssertion() {
         setProperty(new CollectionProperty(TEST_STRINGS, new ArrayList<String>()));
@@ -323,33 +320,19 @@ public class ResponseAssertion extends AbstractScopedAssertion implements Serial
         }
 
         try {
-            // Get the Matcher for this thread
-            Perl5Matcher localMatcher = JMeterUtils.getMatcher();
             boolean hasTrue = false;
             List<String> allCheckMessage = new ArrayList<>();
             for (JMeterProperty jMeterProperty : getTestStrings()) {
                 String stringPattern = jMeterProperty.getStringValue();
                 boolean found;
                 if (contains) {
-                    if (USE_JAVA_REGEX) {
-                        found = containsWithJavaRegex(toCheck, stringPattern);
-                    } else {
-                        Pattern pattern = JMeterUtils.getPatternCache()
-                                .getPattern(stringPattern, Perl5Compiler.READ_ONLY_MASK);
-                        found = localMatcher.contains(toCheck, pattern);
-                    }
+                    found = REGEX_ENGINE.compile(stringPattern).find(toCheck);
                 } else if (equals) {
                     found = toCheck.equals(stringPattern);
                 } else if (substring) {
                     found = toCheck.contains(stringPattern);
                 } else { // this is the old `matches` part which means `isMatchType()` is true
-                    if (USE_JAVA_REGEX) {
-                        found = matchesWithJavaRegex(toCheck, stringPattern);
-                    } else {
-                        Pattern pattern = JMeterUtils.getPatternCache()
-                                .getPattern(stringPattern, Perl5Compiler.READ_ONLY_MASK);
-                        found = localMatcher.matches(toCheck, pattern);
-                    }
+                    found = REGEX_ENGINE.compile(stringPattern).matches(toCheck);
                 }
                 boolean pass = notTest ? !found : found;
                 if (orTest) {
@@ -386,7 +369,7 @@ public class ResponseAssertion extends AbstractScopedAssertion implements Serial
                     result.setFailureMessage(customMsg);
                 }
             }
-        } catch (MalformedCachePatternException | PatternSyntaxException e) {
+        } catch (PatternSyntaxException e) {
             result.setError(true);
             result.setFailure(false);
             result.setFailureMessage("Bad test configuration " + e);
@@ -394,14 +377,6 @@ public class ResponseAssertion extends AbstractScopedAssertion implements Serial
         return result;
     }
 
-    private static boolean matchesWithJavaRegex(String toCheck, String stringPattern) {
-        return JMeterUtils.compilePattern(stringPattern).matcher(toCheck).matches();
-    }
-
-    private static boolean containsWithJavaRegex(String toCheck, String stringPattern) {
-        return JMeterUtils.compilePattern(stringPattern).matcher(toCheck).find();
-    }
-
     private String getStringToCheck(SampleResult response) {
         String toCheck; // The string to check (Url or data)
         // What are we testing against?
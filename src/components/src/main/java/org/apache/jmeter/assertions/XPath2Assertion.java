@@ -66,8 +66,14 @@ public class XPath2Assertion extends AbstractScopedAssertion implements Serializ
             return result.setResultForNull();
         }
         try {
-            XPathUtil.computeAssertionResultUsingSaxon(result, responseData, getXPathString(),
-                    getNamespaces(),isNegated());
+            if (isScopeVariable()) {
+                XPathUtil.computeAssertionResultUsingSaxon(result, responseData, getXPathString(),
+                        getNamespaces(),isNegated());
+            } else {
+                // Parsed only once for all the XPath2 elements
+                XPathUtil.computeAssertionResultUsingSaxon(result, response, getXPathString(),
+                        getNamespaces(), isNegated());
+            }
         } catch (CompletionException|SaxonApiException e) { // NOSONAR We handle exception within result failure message
             result.setError(true);
             // CompletionException happens if caching fails
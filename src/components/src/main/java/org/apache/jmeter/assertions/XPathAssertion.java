@@ -95,11 +95,23 @@ public class XPathAssertion extends AbstractScopedAssertion implements Serializa
                 log.debug("Validation is set to {}, Whitespace is set to {}, Tolerant is set to {}", isValidating(),
                     isWhitespace(), isTolerant());
             }
-            boolean isXML = JOrphanUtils.isXML(responseData);
-
-            doc = XPathUtil.makeDocument(new ByteArrayInputStream(responseData), isValidating(),
-                    isWhitespace(), isNamespace(), isTolerant(), isQuiet(), showWarnings() , reportErrors(), isXML
-                    , isDownloadDTDs());
+            if (isScopeVariable()) {
+                boolean isXML = JOrphanUtils.isXML(responseData);
+
+                doc = XPathUtil.makeDocument(new ByteArrayInputStream(responseData), isValidating(),
+                        isWhitespace(), isNamespace(), isTolerant(), isQuiet(), showWarnings() , reportErrors(), isXML
+                        , isDownloadDTDs());
+            } else if (!isValidating() && !isTolerant() && !isDownloadDTDs()
+                    && XPathUtil.computeAssertionResultStreaming(result, response, getXPathString(), isNamespace(),
+                            isNegated())) {
+                // Simple location paths are evaluated without building a document
+                return result;
+            } else {
+                // Parsed only once for all the XPath elements using the same options
+                doc = XPathUtil.getResponseDocument(response, false, isValidating(),
+                        isWhitespace(), isNamespace(), isTolerant(), isQuiet(), showWarnings(), reportErrors(),
+                        isDownloadDTDs());
+            }
         } catch (SAXException e) {
             log.debug("Caught sax exception.", e);
             result.setError(true);
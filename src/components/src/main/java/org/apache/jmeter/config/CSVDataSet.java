@@ -31,6 +31,7 @@ import org.apache.jmeter.gui.GUIMenuSortOrder;
 import org.apache.jmeter.gui.TestElementMetadata;
 import org.apache.jmeter.save.CSVSaveService;
 import org.apache.jmeter.services.FileServer;
+import org.apache.jmeter.services.MappedLineFile;
 import org.apache.jmeter.testbeans.TestBean;
 import org.apache.jmeter.testbeans.gui.GenericTestBeanCustomizer;
 import org.apache.jmeter.testelement.property.JMeterProperty;
@@ -67,6 +68,9 @@ import org.slf4j.LoggerFactory;
  * Or the user can provide their own suffix, in which case the file is shared between all
  * threads with the same suffix.
  *
+ * When memoryMapped is set, the file is memory-mapped and indexed once by the FileServer,
+ * and rows are then handed out through an atomic cursor per alias instead of a shared reader.
+ *
  */
 @GUIMenuSortOrder(1)
 @TestElementMetadata(labelResource = "displayName")
@@ -103,6 +107,11 @@ public class CSVDataSet extends ConfigTestElement
 
     private boolean ignoreFirstLine = false;
 
+    private transient boolean memoryMapped;
+
+    // whether the file was actually reserved as a memory-mapped file
+    private transient boolean mapped;
+
     private Object readResolve(){
         recycle = true;
         return this;
@@ -175,7 +184,15 @@ public class CSVDataSet extends ConfigTestElement
         JMeterVariables threadVars = context.getVariables();
         String[] lineValues = {};
         try {
-            if (getQuotedData()) {
+            if (mapped) {
+                String line = server.readMappedRecord(alias, recycle,
+                        firstLineIsNames || ignoreFirstLine);
+                if (line != null) {
+                    lineValues = getQuotedData()
+                            ? CSVSaveService.csvSplitString(line, delim.charAt(0))
+                            : JOrphanUtils.split(line, delim, false);
+                }
+            } else if (getQuotedData()) {
                 lineValues = server.getParsedLine(alias, recycle,
                         firstLineIsNames || ignoreFirstLine, delim.charAt(0));
             } else {
@@ -204,8 +221,11 @@ public class CSVDataSet extends ConfigTestElement
         String fileName = getFilename().trim();
         setAlias(context, fileName);
         final String names = getVariableNames();
+        mapped = getMemoryMapped() && isMappable();
         if (StringUtils.isEmpty(names)) {
-            String header = server.reserveFile(fileName, getFileEncoding(), alias, true);
+            String header = mapped
+                    ? server.reserveMappedFile(fileName, getFileEncoding(), alias, true, getQuotedData())
+                    : server.reserveFile(fileName, getFileEncoding(), alias, true);
             try {
                 vars = CSVSaveService.csvSplitString(header, delim.charAt(0));
                 firstLineIsNames = true;
@@ -213,12 +233,25 @@ public class CSVDataSet extends ConfigTestElement
                 throw new IllegalArgumentException("Could not split CSV header line from file:" + fileName,e);
             }
         } else {
-            server.reserveFile(fileName, getFileEncoding(), alias, ignoreFirstLine);
+            if (mapped) {
+                server.reserveMappedFile(fileName, getFileEncoding(), alias, false, getQuotedData());
+            } else {
+                server.reserveFile(fileName, getFileEncoding(), alias, ignoreFirstLine);
+            }
             vars = JOrphanUtils.split(names, ","); // $NON-NLS-1$
         }
         trimVarNames(vars);
     }
 
+    private boolean isMappable() {
+        if (MappedLineFile.isSupportedCharset(getFileEncoding())) {
+            return true;
+        }
+        log.warn("File encoding '{}' of CSV DataSet {} cannot be memory-mapped, file will be read line by line",
+                getFileEncoding(), getName());
+        return false;
+    }
+
     private void setAlias(final JMeterContext context, String alias) {
         String mode = getShareMode();
         int modeInt = CSVDataSetBeanInfo.getShareModeAsInt(mode);
@@ -333,6 +366,22 @@ public class CSVDataSet extends ConfigTestElement
         this.shareMode = value;
     }
 
+    /**
+     * @return true if the file should be memory-mapped and read without locking
+     * @since 6.0.0
+     */
+    public boolean getMemoryMapped() {
+        return memoryMapped;
+    }
+
+    /**
+     * @param memoryMapped true if the file should be memory-mapped and read without locking
+     * @since 6.0.0
+     */
+    public void setMemoryMapped(boolean memoryMapped) {
+        this.memoryMapped = memoryMapped;
+    }
+
     /**
      * @return the ignoreFirstLine
      */
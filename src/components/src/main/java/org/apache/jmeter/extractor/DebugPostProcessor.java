@@ -25,6 +25,7 @@ import java.util.Set;
 
 import org.apache.jmeter.gui.TestElementMetadata;
 import org.apache.jmeter.processor.PostProcessor;
+import org.apache.jmeter.samplers.PreviousResponseDataReader;
 import org.apache.jmeter.samplers.SampleResult;
 import org.apache.jmeter.testbeans.TestBean;
 import org.apache.jmeter.testelement.AbstractTestElement;
@@ -39,7 +40,7 @@ import org.apache.jorphan.util.AlphaNumericKeyComparator;
  * Debugging Post-Processor: creates a subSample containing the variables defined in the previous sampler.
  */
 @TestElementMetadata(labelResource = "displayName")
-public class DebugPostProcessor extends AbstractTestElement implements PostProcessor, TestBean {
+public class DebugPostProcessor extends AbstractTestElement implements PostProcessor, PreviousResponseDataReader, TestBean {
 
     private static final long serialVersionUID = 260L;
 
@@ -20,6 +20,9 @@ package org.apache.jmeter.extractor;
 import java.io.Serializable;
 import java.util.List;
 
+import org.apache.jmeter.samplers.SampleResult;
+import org.apiguardian.api.API;
+
 /**
  * CSS/JQuery based extractor for HTML pages
  * @since 2.9
@@ -44,4 +47,29 @@ public interface Extractor extends Serializable {
             List<String> result,
             int found,
             String cacheKey);
+
+    /**
+     * Same as {@link #extract(String, String, int, String, List, int, String)} on the response data of a sample.
+     * Implementations should parse it with {@link SampleResult#getParsedResponseData} so it is parsed
+     * only once for all the extractors of the sample.
+     *
+     * @param expression Expression used for extraction of nodes
+     * @param attribute Attribute name to return
+     * @param matchNumber Match number
+     * @param sampleResult Sample whose response data is the page
+     * @param result List of results
+     * @param found current matches found
+     * @return match found updated
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    default int extract(
+            String expression,
+            String attribute,
+            int matchNumber,
+            SampleResult sampleResult,
+            List<String> result,
+            int found) {
+        return extract(expression, attribute, matchNumber, sampleResult.getResponseDataAsString(), result, found, null);
+    }
 }
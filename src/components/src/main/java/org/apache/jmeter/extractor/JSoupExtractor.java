@@ -19,6 +19,7 @@ package org.apache.jmeter.extractor;
 
 import java.util.List;
 
+import org.apache.jmeter.samplers.SampleResult;
 import org.apache.jmeter.threads.JMeterContextService;
 import org.apache.jorphan.util.JOrphanUtils;
 import org.jsoup.Jsoup;
@@ -37,6 +38,9 @@ public class JSoupExtractor implements Extractor {
 
     private static final String CACHE_KEY_PREFIX = JSoupExtractor.class.getName()+"_PARSED_BODY";
 
+    /** Kind of the documents parsed by JSoup, see {@link SampleResult#getParsedResponseData} */
+    private static final String PARSED_HTML_KIND = "jsoup"; // $NON-NLS-1$
+
     public JSoupExtractor() {
         super();
     }
@@ -59,6 +63,22 @@ public class JSoupExtractor implements Extractor {
         } else {
             document = Jsoup.parse(inputString);
         }
+        return select(document, expression, attribute, matchNumber, result, found);
+    }
+
+    /**
+     * @see Extractor#extract(String, String, int, SampleResult, List, int)
+     */
+    @Override
+    public int extract(String expression, String attribute, int matchNumber,
+            SampleResult sampleResult, List<String> result, int found) {
+        Document document = sampleResult.getParsedResponseData(PARSED_HTML_KIND,
+                r -> Jsoup.parse(r.getResponseDataAsString()));
+        return select(document, expression, attribute, matchNumber, result, found);
+    }
+
+    private static int select(Document document, String expression, String attribute, int matchNumber,
+            List<String> result, int found) {
         Elements elements = document.select(expression);
         for (Element element : elements) {
             if (matchNumber <= 0 || found != matchNumber) {
@@ -19,6 +19,7 @@ package org.apache.jmeter.extractor;
 
 import java.util.List;
 
+import org.apache.jmeter.samplers.SampleResult;
 import org.apache.jmeter.threads.JMeterContextService;
 import org.apache.jmeter.util.JMeterUtils;
 import org.apache.jorphan.util.JOrphanUtils;
@@ -44,6 +45,8 @@ public class JoddExtractor implements Extractor {
     private static final long serialVersionUID = -7235814605293262972L;
 
     private static final String CACHE_KEY_PREFIX = JoddExtractor.class.getName()+"_PARSED_BODY";
+    /** Kind of the documents parsed by Jodd, see {@link SampleResult#getParsedResponseData} */
+    private static final String PARSED_HTML_KIND = "jodd"; // $NON-NLS-1$
     private static final LoadingCache<String, List<List<CssSelector>>> CSS_SELECTOR_CACHE;
     static {
         LoggerFactory.setLoggerProvider(Slf4jLogger.PROVIDER);
@@ -78,7 +81,22 @@ public class JoddExtractor implements Extractor {
             jodd.lagarto.dom.Document doc = domBuilder.parse(inputString);
             nodeSelector = new NodeSelector(doc);
         }
+        return select(nodeSelector, expression, attribute, matchNumber, result, found);
+    }
+
+    /**
+     * @see org.apache.jmeter.extractor.Extractor#extract(String, String, int, SampleResult, List, int)
+     */
+    @Override
+    public int extract(String expression, String attribute, int matchNumber,
+            SampleResult sampleResult, List<String> result, int found) {
+        NodeSelector nodeSelector = sampleResult.getParsedResponseData(PARSED_HTML_KIND,
+                r -> new NodeSelector(new LagartoDOMBuilder().parse(r.getResponseDataAsString())));
+        return select(nodeSelector, expression, attribute, matchNumber, result, found);
+    }
 
+    private static int select(NodeSelector nodeSelector, String expression, String attribute, int matchNumber,
+            List<String> result, int found) {
         List<List<CssSelector>> cssSelectors = CSS_SELECTOR_CACHE.get(expression);
         List<Node> elements = nodeSelector.select(cssSelectors);
         for (Node element : elements) {
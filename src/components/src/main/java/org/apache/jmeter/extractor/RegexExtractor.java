@@ -21,7 +21,6 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.regex.Matcher;
 import java.util.regex.PatternSyntaxException;
 
 import org.apache.commons.text.StringEscapeUtils;
@@ -33,6 +32,9 @@ import org.apache.jmeter.threads.JMeterContext;
 import org.apache.jmeter.threads.JMeterVariables;
 import org.apache.jmeter.util.Document;
 import org.apache.jmeter.util.JMeterUtils;
+import org.apache.jmeter.util.regex.CompiledPattern;
+import org.apache.jmeter.util.regex.RegexEngine;
+import org.apache.jmeter.util.regex.RegexEngines;
 import org.apache.oro.text.MalformedCachePatternException;
 import org.apache.oro.text.regex.MatchResult;
 import org.apache.oro.text.regex.Pattern;
@@ -71,8 +73,7 @@ public class RegexExtractor extends AbstractScopedTestElement implements PostPro
 
     private static final String UNDERSCORE = "_";  // $NON-NLS-1$
 
-    private static final boolean USE_JAVA_REGEX = !JMeterUtils.getPropDefault(
-            "jmeter.regex.engine", "oro").equalsIgnoreCase("oro");
+    private static final RegexEngine REGEX_ENGINE = RegexEngines.getConfiguredEngine();
 
     private transient List<Object> template;
 
@@ -112,10 +113,10 @@ public class RegexExtractor extends AbstractScopedTestElement implements PostPro
             vars.put(refName, defaultValue);
         }
 
-        if (USE_JAVA_REGEX) {
-            extractWithJavaRegex(previousResult, vars, refName, matchNumber);
-        } else {
+        if (RegexEngines.isOro(REGEX_ENGINE)) {
             extractWithOroRegex(previousResult, vars, refName, matchNumber);
+        } else {
+            extractWithRegexEngine(previousResult, vars, refName, matchNumber);
         }
     }
 
@@ -178,11 +179,10 @@ public class RegexExtractor extends AbstractScopedTestElement implements PostPro
         }
     }
 
-    private void extractWithJavaRegex(SampleResult previousResult, JMeterVariables vars, String refName, int matchNumber) {
+    private void extractWithRegexEngine(SampleResult previousResult, JMeterVariables vars, String refName, int matchNumber) {
         String regex = getRegex();
-        java.util.regex.Pattern pattern = null;
         try {
-            pattern = JMeterUtils.compilePattern(regex);
+            CompiledPattern pattern = REGEX_ENGINE.compile(regex);
             List<java.util.regex.MatchResult> matches = processMatches(pattern, previousResult, matchNumber, vars);
             int prevCount = 0;
             String prevString = vars.get(refName + REF_MATCH_NR);
@@ -248,6 +248,14 @@ public class RegexExtractor extends AbstractScopedTestElement implements PostPro
        return inputString;
     }
 
+    private CharSequence getInputSequence(SampleResult result) {
+        if (useBody()) {
+            // Can be a view of the response bytes, so the body does not need to be decoded to a String
+            return RegexEngines.getResponseDataInput(result);
+        }
+        return getInputString(result);
+    }
+
     private List<MatchResult> processMatches(Pattern pattern, String regex, SampleResult result, int matchNumber, JMeterVariables vars) {
         log.debug("Regex = '{}'", regex);
 
@@ -281,7 +289,7 @@ public class RegexExtractor extends AbstractScopedTestElement implements PostPro
     }
 
     private List<java.util.regex.MatchResult> processMatches(
-            java.util.regex.Pattern pattern, SampleResult result, int matchNumber, JMeterVariables vars) {
+            CompiledPattern pattern, SampleResult result, int matchNumber, JMeterVariables vars) {
         log.debug("Regex = '{}'", pattern.pattern());
 
         List<java.util.regex.MatchResult> matches = new ArrayList<>();
@@ -300,7 +308,7 @@ public class RegexExtractor extends AbstractScopedTestElement implements PostPro
         } else {
             List<SampleResult> sampleList = getSampleList(result);
             for (SampleResult sr : sampleList) {
-                String inputString = getInputString(sr);
+                CharSequence inputString = getInputSequence(sr);
                 found = matchStrings(matchNumber, pattern, matches, found, inputString);
                 if (matchNumber > 0 && found == matchNumber) {// no need to process further
                     break;
@@ -326,20 +334,15 @@ public class RegexExtractor extends AbstractScopedTestElement implements PostPro
         return found;
     }
 
-    private static int matchStrings(int matchNumber, java.util.regex.Pattern pattern,
+    private static int matchStrings(int matchNumber, CompiledPattern pattern,
             List<? super java.util.regex.MatchResult> matches, int found,
-            String inputString) {
-        Matcher matcher = pattern.matcher(inputString);
-        while (matchNumber <=0 || found != matchNumber) {
-            if (matcher.find()) {
-                log.debug("RegexExtractor: Match found!");
-                matches.add(matcher.toMatchResult());
-                found++;
-            } else {
-                break;
-            }
+            CharSequence inputString) {
+        if (matchNumber > 0 && found == matchNumber) {
+            return found;
         }
-        return found;
+        int added = pattern.findAll(inputString, matches, matchNumber <= 0 ? 0 : matchNumber - found);
+        log.debug("RegexExtractor: {} match(es) found", added);
+        return found + added;
     }
 
     /**
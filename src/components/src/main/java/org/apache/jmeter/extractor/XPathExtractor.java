@@ -142,7 +142,15 @@ public class XPathExtractor extends AbstractScopedTestElement implements
             } else {
                 List<SampleResult> samples = getSampleList(previousResult);
                 for (SampleResult res : samples) {
-                    Document d = parseResponse(res.getResponseDataAsString());
+                    if (!getFragment() && !isTolerant() && !isDownloadDTDs()
+                            && XPathUtil.putValuesForXPathInListStreaming(res, getXPathQuery(), matches, matchNumber,
+                                    useNameSpace())) {
+                        // Simple location paths are evaluated without building a document
+                        continue;
+                    }
+                    // Parsed only once for all the XPath elements using the same options
+                    Document d = XPathUtil.getResponseDocument(res, true, false, false, useNameSpace(), isTolerant(),
+                            isQuiet(), showWarnings(), reportErrors(), isDownloadDTDs());
                     getValuesForXPath(d,getXPathQuery(), matches, matchNumber);
                 }
             }
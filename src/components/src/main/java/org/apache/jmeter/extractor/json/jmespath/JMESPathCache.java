@@ -17,8 +17,10 @@
 
 package org.apache.jmeter.extractor.json.jmespath;
 
+import org.apache.jmeter.samplers.SampleResult;
 import org.apache.jmeter.util.JMeterUtils;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
@@ -31,6 +33,11 @@ import io.burt.jmespath.function.FunctionRegistry;
 import io.burt.jmespath.jackson.JacksonRuntime;
 
 public class JMESPathCache {
+    /**
+     * Kind of the JSON trees parsed for JMESPath, see {@link SampleResult#getParsedResponseData}
+     */
+    private static final String PARSED_JSON_KIND = "jmespath"; // $NON-NLS-1$
+
     private static final class JMESPathCacheLoader implements CacheLoader<String, Expression<JsonNode>> {
         final JmesPath<JsonNode> runtime;
 
@@ -71,6 +78,20 @@ public class JMESPathCache {
         return JMES_PATH_CACHE.get(key);
     }
 
+    /**
+     * Get the JSON tree of the response data of a sample, parsing it only if it has not already been
+     * parsed by another JMESPath extractor or assertion. The tree must not be modified.
+     *
+     * @param result sample whose response data is a JSON document
+     * @return the JSON tree of the response data
+     * @throws JsonProcessingException when the response data is not valid JSON
+     * @since 6.0.0
+     */
+    public JsonNode getResponseDataTree(SampleResult result) throws JsonProcessingException {
+        return result.getParsedResponseData(PARSED_JSON_KIND,
+                r -> JMESPathExtractor.OBJECT_MAPPER.readValue(r.getResponseDataAsString(), JsonNode.class));
+    }
+
     public void cleanUp() {
         JMES_PATH_CACHE.cleanUp();
     }
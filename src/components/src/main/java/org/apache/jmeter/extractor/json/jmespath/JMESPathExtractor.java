@@ -70,7 +70,7 @@ public class JMESPathExtractor extends AbstractScopedTestElement
     public void process() {
         JMeterContext context = getThreadContext();
         JMeterVariables vars = context.getVariables();
-        List<String> jsonResponse = getData(vars, context);
+        List<?> jsonResponse = getData(vars, context);
         String refName = getRefName();
         String defaultValue = getDefaultValue();
         int matchNumber;
@@ -89,8 +89,10 @@ public class JMESPathExtractor extends AbstractScopedTestElement
         try {
             List<String> resultList = new ArrayList<>();
             Expression<JsonNode> searchExpression = JMESPathCache.getInstance().get(jsonPathExpression);
-            for (String response: jsonResponse) {
-                JsonNode actualObj = OBJECT_MAPPER.readValue(response, JsonNode.class);
+            for (Object response: jsonResponse) {
+                JsonNode actualObj = response instanceof SampleResult
+                        ? JMESPathCache.getInstance().getResponseDataTree((SampleResult) response)
+                        : OBJECT_MAPPER.readValue((String) response, JsonNode.class);
                 JsonNode result = searchExpression.search(actualObj);
                 if (result.isNull()) {
                     continue;
@@ -169,7 +171,11 @@ public class JMESPathExtractor extends AbstractScopedTestElement
         vars.put(refName, defaultValue);
     }
 
-    private List<String> getData(JMeterVariables vars, JMeterContext context) {
+    /**
+     * @return {@link SampleResult}s, whose parsed response data is shared with other JMESPath elements,
+     * or the content of the variable
+     */
+    private List<?> getData(JMeterVariables vars, JMeterContext context) {
         if (isScopeVariable()) {
             String jsonResponse = vars.get(getVariableName());
             if (log.isDebugEnabled()) {
@@ -179,12 +185,12 @@ public class JMESPathExtractor extends AbstractScopedTestElement
         } else {
             SampleResult previousResult = context.getPreviousResult();
             if (previousResult != null) {
-                List<String> results = getSampleList(previousResult).stream()
-                        .map(SampleResult::getResponseDataAsString)
-                        .filter(StringUtils::isNotBlank)
+                List<SampleResult> results = getSampleList(previousResult).stream()
+                        .filter(result -> StringUtils.isNotBlank(result.getResponseDataAsString()))
                         .collect(Collectors.toList());
                 if (log.isDebugEnabled()) {
-                    log.debug("JMESExtractor {} working on Responses: {}", getName(), results);
+                    log.debug("JMESExtractor {} working on Responses: {}", getName(),
+                            results.stream().map(SampleResult::getResponseDataAsString).collect(Collectors.toList()));
                 }
                 return results;
             }
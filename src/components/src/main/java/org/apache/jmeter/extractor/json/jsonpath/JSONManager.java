@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.jmeter.samplers.SampleResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,6 +46,10 @@ public class JSONManager {
     private static final Logger log = LoggerFactory.getLogger(JSONManager.class);
     private static final Configuration DEFAULT_CONFIGURATION =
             Configuration.defaultConfiguration().addOptions(Option.ALWAYS_RETURN_LIST);
+    /**
+     * Kind of the JSON documents parsed for JsonPath, see {@link SampleResult#getParsedResponseData}
+     */
+    private static final String PARSED_JSON_KIND = "jsonpath"; // $NON-NLS-1$
     /**
      * This Map can hardly grow above 10 elements as it is used within JSONPostProcessor to
      * store the computed JsonPath for the set of JSON Path Expressions.
@@ -69,14 +74,46 @@ public class JSONManager {
      */
     public List<Object> extractWithJsonPath(String jsonString, String jsonPath)
             throws ParseException {
+        return extractFromDocument(DEFAULT_CONFIGURATION.jsonProvider().parse(jsonString), jsonPath);
+    }
+
+    /**
+     * Extract data from the response data of a sample, which is parsed only once for all
+     * the JsonPath extractions and assertions on this sample.
+     *
+     * @param result sample whose response data is a JSON document
+     * @param jsonPath JSON-PATH expression
+     * @return List of JSON Strings of the extracted data
+     * @throws ParseException when parsing fails
+     * @since 6.0.0
+     */
+    public List<Object> extractWithJsonPath(SampleResult result, String jsonPath)
+            throws ParseException {
+        return extractFromDocument(parseResponseData(result), jsonPath);
+    }
+
+    /**
+     * Get the JSON document of the response data of a sample, parsing it only if it has
+     * not already been parsed by another JsonPath extractor or assertion.
+     * The document must not be modified.
+     *
+     * @param result sample whose response data is a JSON document
+     * @return the JSON document, as parsed by the default JsonPath configuration
+     * @since 6.0.0
+     */
+    public static Object parseResponseData(SampleResult result) {
+        return result.getParsedResponseData(PARSED_JSON_KIND,
+                r -> DEFAULT_CONFIGURATION.jsonProvider().parse(r.getResponseDataAsString()));
+    }
+
+    private List<Object> extractFromDocument(Object document, String jsonPath) {
         JsonPath jsonPathParser = getJsonPath(jsonPath);
         List<Object> extractedObjects;
         try {
-            extractedObjects = jsonPathParser.read(jsonString,
-                    DEFAULT_CONFIGURATION);
+            extractedObjects = jsonPathParser.read(document, DEFAULT_CONFIGURATION);
         } catch (PathNotFoundException e) {
             if(log.isDebugEnabled()) {
-                log.debug("Could not find JSON Path {} in [{}]: {}", jsonPath, jsonString, e.getLocalizedMessage());
+                log.debug("Could not find JSON Path {} in [{}]: {}", jsonPath, document, e.getLocalizedMessage());
             }
             return Collections.emptyList();
         }
@@ -67,7 +67,7 @@ public class JSONPostProcessor
     public void process() {
         JMeterContext context = getThreadContext();
         JMeterVariables vars = context.getVariables();
-        List<String> jsonResponses = extractJsonResponse(context, vars);
+        List<?> jsonResponses = extractJsonResponse(context, vars);
         String[] refNames = getRefNames().split(SEPARATOR);
         String[] jsonPathExpressions = getJsonPathExpressions().split(SEPARATOR);
         String[] defaultValues = getDefaultValues().split(SEPARATOR);
@@ -109,10 +109,19 @@ public class JSONPostProcessor
         }
     }
 
-    private static List<Object> extractValues(List<String> jsonResponses, String currentJsonPath) throws ParseException {
+    /**
+     * @param jsonResponses {@link SampleResult}s, whose parsed response data is shared with other JSON elements,
+     *                      or the content of the variable
+     */
+    private static List<Object> extractValues(List<?> jsonResponses, String currentJsonPath) throws ParseException {
         List<Object> extractedValues = new ArrayList<>();
-        for (String jsonResponse: jsonResponses) {
-            extractedValues.addAll(localMatcher.get().extractWithJsonPath(jsonResponse, currentJsonPath));
+        JSONManager matcher = localMatcher.get();
+        for (Object jsonResponse: jsonResponses) {
+            if (jsonResponse instanceof SampleResult) {
+                extractedValues.addAll(matcher.extractWithJsonPath((SampleResult) jsonResponse, currentJsonPath));
+            } else {
+                extractedValues.addAll(matcher.extractWithJsonPath((String) jsonResponse, currentJsonPath));
+            }
         }
         return extractedValues;
     }
@@ -214,7 +223,7 @@ public class JSONPostProcessor
         vars.put(currentRefName, defaultValue);
     }
 
-    private List<String> extractJsonResponse(JMeterContext context, JMeterVariables vars) {
+    private List<?> extractJsonResponse(JMeterContext context, JMeterVariables vars) {
         String jsonResponse = "";
         if (isScopeVariable()) {
             if (log.isDebugEnabled()) {
@@ -224,12 +233,12 @@ public class JSONPostProcessor
         } else {
             SampleResult previousResult = context.getPreviousResult();
             if (previousResult != null) {
-                List<String> results = getSampleList(previousResult).stream()
-                        .map(SampleResult::getResponseDataAsString)
-                        .filter(StringUtils::isNotBlank)
+                List<SampleResult> results = getSampleList(previousResult).stream()
+                        .filter(result -> StringUtils.isNotBlank(result.getResponseDataAsString()))
                         .collect(Collectors.toList());
                 if (log.isDebugEnabled()) {
-                    log.debug("JSON Extractor {} working on Responses: {}", getName(), results);
+                    log.debug("JSON Extractor {} working on Responses: {}", getName(),
+                            results.stream().map(SampleResult::getResponseDataAsString).collect(Collectors.toList()));
                 }
                 return results;
             }
@@ -52,7 +52,7 @@ import org.slf4j.LoggerFactory;
  */
 @GUIMenuSortOrder(4)
 @TestElementMetadata(labelResource = "displayName")
-public class ConstantThroughputTimer extends AbstractTestElement implements Timer, TestBean {
+public class ConstantThroughputTimer extends AbstractTestElement implements PacingTimer, TestBean {
     private static final long serialVersionUID = 4;
 
     private static class ThroughputInfo{
@@ -151,19 +151,35 @@ public class ConstantThroughputTimer extends AbstractTestElement implements Time
     @Override
     public long delay() {
         long currentTime = System.currentTimeMillis();
+        return Math.max(0, nextStartTime(currentTime) - currentTime);
+    }
+
+    /**
+     * Retrieve the time the next request should start at during test execution.
+     *
+     * @see org.apache.jmeter.timers.PacingTimer#nextStartTime()
+     */
+    @Override
+    public double nextStartTime() {
+        return nextStartTime(System.currentTimeMillis());
+    }
 
-        /*
-         * If previous time is zero, then target will be in the past.
-         * This is what we want, so first sample is run without a delay.
-        */
-        long currentTarget = previousTime  + calculateDelay();
+    private long nextStartTime(long currentTime) {
+        long delay = calculateDelay(); // may reset previousTime when a new test has started
+        if (previousTime == 0) {
+            // First sample, there is no schedule to be late for
+            previousTime = currentTime;
+            return currentTime;
+        }
+        long currentTarget = previousTime + delay;
         if (currentTime > currentTarget) {
             // We're behind schedule -- try to catch up:
             previousTime = currentTime; // assume the sample will run immediately
-            return 0;
+            // but report when it was intended to start, so the lateness is not hidden
+            return currentTarget;
         }
         previousTime = currentTarget; // assume the sample will run as soon as the delay has expired
-        return currentTarget - currentTime;
+        return currentTarget;
     }
 
     /**
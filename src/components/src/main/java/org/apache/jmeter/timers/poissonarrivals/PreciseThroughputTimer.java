@@ -28,7 +28,7 @@ import org.apache.jmeter.testbeans.TestBean;
 import org.apache.jmeter.testelement.AbstractTestElement;
 import org.apache.jmeter.threads.AbstractThreadGroup;
 import org.apache.jmeter.threads.JMeterContextService;
-import org.apache.jmeter.timers.Timer;
+import org.apache.jmeter.timers.PacingTimer;
 import org.apache.jorphan.collections.IdentityKey;
 import org.apache.jorphan.util.JMeterStopThreadException;
 import org.apiguardian.api.API;
@@ -42,7 +42,7 @@ import org.slf4j.LoggerFactory;
  */
 @GUIMenuSortOrder(3)
 @TestElementMetadata(labelResource = "displayName")
-public class PreciseThroughputTimer extends AbstractTestElement implements Cloneable, Timer, TestBean, ThroughputProvider, DurationProvider {
+public class PreciseThroughputTimer extends AbstractTestElement implements Cloneable, PacingTimer, TestBean, ThroughputProvider, DurationProvider {
     private static final Logger log = LoggerFactory.getLogger(PreciseThroughputTimer.class);
 
     private static final long serialVersionUID = 4;
@@ -93,6 +93,16 @@ public class PreciseThroughputTimer extends AbstractTestElement implements Clone
 
     @Override
     public long delay() {
+        long now = System.currentTimeMillis();
+        long delay = Math.max(0, (long) (nextStartTime() - now));
+        if (log.isDebugEnabled()) {
+            log.debug("Calculated delay is {}", delay);
+        }
+        return delay;
+    }
+
+    @Override
+    public double nextStartTime() {
         double nextEvent;
         EventProducer events = getEventProducer();
         synchronized (events) {
@@ -100,20 +110,16 @@ public class PreciseThroughputTimer extends AbstractTestElement implements Clone
         }
         long now = System.currentTimeMillis();
         long testStarted = JMeterContextService.getTestStartTime();
-        long delay = (long) (nextEvent * TimeUnit.SECONDS.toMillis(1) + testStarted - now);
-        if (log.isDebugEnabled()) {
-            log.debug("Calculated delay is {}", delay);
-        }
-        delay = Math.max(0, delay);
+        double startTime = nextEvent * TimeUnit.SECONDS.toMillis(1) + testStarted;
         long endTime = getThreadContext().getThread().getEndTime();
-        if (endTime > 0 && now + delay > endTime) {
+        if (endTime > 0 && Math.max(now, startTime) > endTime) {
             throw new JMeterStopThreadException("The thread is scheduled to stop in " +
                     (endTime - now) + " ms" +
-                    " and the throughput timer generates a delay of " + delay + "." +
+                    " and the throughput timer generates a delay of " + (long) (startTime - now) + "." +
                     " Terminating the thread manually."
             );
         }
-        return delay;
+        return startTime;
     }
 
     private EventProducer getEventProducer() {
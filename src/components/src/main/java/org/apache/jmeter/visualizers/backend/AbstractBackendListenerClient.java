@@ -100,7 +100,7 @@ public abstract class AbstractBackendListenerClient implements BackendListenerCl
     protected final SamplerMetric getSamplerMetric(String sampleLabel) {
         SamplerMetric samplerMetric = metricsPerSampler.get(sampleLabel);
         if(samplerMetric == null) {
-            samplerMetric = new SamplerMetric();
+            samplerMetric = createSamplerMetric();
             SamplerMetric oldValue = metricsPerSampler.putIfAbsent(sampleLabel, samplerMetric);
             if(oldValue != null ){
                 samplerMetric = oldValue;
@@ -109,6 +109,18 @@ public abstract class AbstractBackendListenerClient implements BackendListenerCl
         return samplerMetric;
     }
 
+    /**
+     * Creates the metric used to aggregate the samples of a label.
+     * Subclasses can override this method to use another implementation,
+     * such as {@link HistogramSamplerMetric}.
+     *
+     * @return new {@link SamplerMetric}
+     * @since 6.0.0
+     */
+    protected SamplerMetric createSamplerMetric() {
+        return new SamplerMetric();
+    }
+
     /**
      * @return Map where key is SampleLabel and {@link SamplerMetric} is the metrics of this Sample
      */
@@ -0,0 +1,284 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.visualizers.backend;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.jmeter.samplers.AggregatedSampleResult;
+import org.apache.jmeter.samplers.SampleResult;
+import org.apache.jmeter.util.JMeterUtils;
+
+/**
+ * {@link SamplerMetric} that computes response time statistics with fixed-size histograms
+ * instead of sliding windows of raw values.
+ * <p>
+ * Recording a sample is lock-free and the memory used per label does not depend on the throughput.
+ * Samples are recorded into an active interval, and the interval is swapped for an empty one when
+ * the metrics are read, so the statistics always cover a single time interval
+ * (as with {@link WindowMode#TIMED}, regardless of {@code backend_metrics_window_mode}).
+ * <p>
+ * The first getter call after {@link #resetForTimeInterval()} takes the snapshot of the interval,
+ * so all the values read until the next reset are consistent.
+ *
+ * @since 6.0.0
+ */
+public class HistogramSamplerMetric extends SamplerMetric {
+    static final long HIGHEST_TRACKABLE_VALUE =
+            JMeterUtils.getPropDefault("backend_metrics_histogram_highest_value", 3_600_000L); // $NON-NLS-1$
+
+    private final WriterReaderPhaser phaser = new WriterReaderPhaser();
+
+    private volatile Interval active = new Interval();
+    /** Guarded by the reader lock of {@link #phaser} */
+    private Interval inactive = new Interval();
+    /** Guarded by the reader lock of {@link #phaser}, null when the current interval was not read yet */
+    private Interval snapshot;
+
+    public HistogramSamplerMetric() {
+        // Every method using the sliding windows of SamplerMetric is overridden
+        super(false);
+    }
+
+    /**
+     * Response time statistics and counters of a single time interval.
+     * Counters are updated concurrently by writers, and read only after the interval is swapped out.
+     */
+    private static final class Interval {
+        private final ResponseTimeHistogram okResponses = new ResponseTimeHistogram(HIGHEST_TRACKABLE_VALUE);
+        private final ResponseTimeHistogram koResponses = new ResponseTimeHistogram(HIGHEST_TRACKABLE_VALUE);
+        private final ResponseTimeHistogram allResponses = new ResponseTimeHistogram(HIGHEST_TRACKABLE_VALUE);
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder sentBytes = new LongAdder();
+        private final LongAdder receivedBytes = new LongAdder();
+        private final Map<ErrorMetric, LongAdder> errors = new ConcurrentHashMap<>();
+
+        void add(SampleResult result, boolean isCumulated) {
+            if (result instanceof AggregatedSampleResult) {
+                addAggregate((AggregatedSampleResult) result, isCumulated);
+                return;
+            }
+            long time = result.getTimeForStatistics();
+            if (result.isSuccessful()) {
+                successes.add((long) result.getSampleCount() - result.getErrorCount());
+                okResponses.record(time);
+            } else {
+                failures.add(result.getErrorCount());
+                errors.computeIfAbsent(new ErrorMetric(result), k -> new LongAdder()).add(result.getErrorCount());
+                koResponses.record(time);
+            }
+            allResponses.record(time);
+            hits.add(countHits(result, isCumulated));
+            if (hasNetworkData(result, isCumulated)) {
+                sentBytes.add(result.getSentBytes());
+                receivedBytes.add(result.getBytesAsLong());
+            }
+        }
+
+        private void addAggregate(AggregatedSampleResult result, boolean isCumulated) {
+            successes.add(result.getSuccessTimes().getCount());
+            failures.add(result.getFailureTimes().getCount());
+            for (AggregatedSampleResult.ErrorCount error : result.getErrorCounts()) {
+                errors.computeIfAbsent(new ErrorMetric(error.getSample()), k -> new LongAdder()).add(error.getCount());
+            }
+            okResponses.record(result.getSuccessTimes());
+            koResponses.record(result.getFailureTimes());
+            allResponses.record(result.getSuccessTimes());
+            allResponses.record(result.getFailureTimes());
+            hits.add(countHits(result, isCumulated));
+            if (hasNetworkData(result, isCumulated)) {
+                sentBytes.add(result.getSentBytes());
+                receivedBytes.add(result.getBytesAsLong());
+            }
+        }
+
+        void reset() {
+            okResponses.reset();
+            koResponses.reset();
+            allResponses.reset();
+            successes.reset();
+            failures.reset();
+            hits.reset();
+            sentBytes.reset();
+            receivedBytes.reset();
+            errors.clear();
+        }
+    }
+
+    @Override
+    public void add(SampleResult result) {
+        record(result, false);
+    }
+
+    @Override
+    public void addCumulated(SampleResult result) {
+        record(result, true);
+    }
+
+    private void record(SampleResult result, boolean isCumulated) {
+        long criticalValue = phaser.writerCriticalSectionEnter();
+        try {
+            active.add(result, isCumulated);
+        } finally {
+            phaser.writerCriticalSectionExit(criticalValue);
+        }
+    }
+
+    /**
+     * Swaps the active interval for an empty one and waits for in-flight writers.
+     * Must be called while holding the reader lock.
+     * @return the interval that has just been swapped out
+     */
+    private Interval swapInterval() {
+        Interval next = inactive;
+        next.reset();
+        inactive = active;
+        active = next;
+        phaser.flipPhase();
+        return inactive;
+    }
+
+    private Interval snapshot() {
+        phaser.readerLock();
+        try {
+            if (snapshot == null) {
+                snapshot = swapInterval();
+            }
+            return snapshot;
+        } finally {
+            phaser.readerUnlock();
+        }
+    }
+
+    @Override
+    public void resetForTimeInterval() {
+        phaser.readerLock();
+        try {
+            if (snapshot == null) {
+                // Nobody read the interval, so drop it as SamplerMetric does
+                swapInterval();
+            }
+            snapshot = null;
+        } finally {
+            phaser.readerUnlock();
+        }
+    }
+
+    @Override
+    public int getTotal() {
+        Interval interval = snapshot();
+        return (int) (interval.successes.sum() + interval.failures.sum());
+    }
+
+    @Override
+    public int getSuccesses() {
+        return (int) snapshot().successes.sum();
+    }
+
+    @Override
+    public int getFailures() {
+        return (int) snapshot().failures.sum();
+    }
+
+    @Override
+    public double getOkMaxTime() {
+        return snapshot().okResponses.getMax();
+    }
+
+    @Override
+    public double getOkMinTime() {
+        return snapshot().okResponses.getMin();
+    }
+
+    @Override
+    public double getOkMean() {
+        return snapshot().okResponses.getMean();
+    }
+
+    @Override
+    public double getOkPercentile(double percentile) {
+        return snapshot().okResponses.getPercentile(percentile);
+    }
+
+    @Override
+    public double getKoMaxTime() {
+        return snapshot().koResponses.getMax();
+    }
+
+    @Override
+    public double getKoMinTime() {
+        return snapshot().koResponses.getMin();
+    }
+
+    @Override
+    public double getKoMean() {
+        return snapshot().koResponses.getMean();
+    }
+
+    @Override
+    public double getKoPercentile(double percentile) {
+        return snapshot().koResponses.getPercentile(percentile);
+    }
+
+    @Override
+    public double getAllMaxTime() {
+        return snapshot().allResponses.getMax();
+    }
+
+    @Override
+    public double getAllMinTime() {
+        return snapshot().allResponses.getMin();
+    }
+
+    @Override
+    public double getAllMean() {
+        return snapshot().allResponses.getMean();
+    }
+
+    @Override
+    public double getAllPercentile(double percentile) {
+        return snapshot().allResponses.getPercentile(percentile);
+    }
+
+    @Override
+    public int getHits() {
+        return (int) snapshot().hits.sum();
+    }
+
+    @Override
+    public Map<ErrorMetric, Integer> getErrors() {
+        Map<ErrorMetric, LongAdder> errors = snapshot().errors;
+        Map<ErrorMetric, Integer> result = new HashMap<>(errors.size() * 4 / 3 + 1);
+        errors.forEach((error, count) -> result.put(error, (int) count.sum()));
+        return result;
+    }
+
+    @Override
+    public long getSentBytes() {
+        return snapshot().sentBytes.sum();
+    }
+
+    @Override
+    public long getReceivedBytes() {
+        return snapshot().receivedBytes.sum();
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.visualizers.backend;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.jorphan.math.MergeableHistogram;
+
+/**
+ * Fixed-size histogram of response times (in milliseconds) with lock-free recording.
+ * <p>
+ * Buckets follow the HdrHistogram layout (as {@link MergeableHistogram}): values below 128 are recorded exactly,
+ * larger values are recorded with 6 bits of precision (less than 1.6% error).
+ * The memory used does not depend on the number of recorded values.
+ * Values above the highest trackable value are counted in the last bucket,
+ * while min, max and mean are always computed from the exact values.
+ */
+final class ResponseTimeHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+
+    private final long highestTrackableValue;
+    private final AtomicLongArray counts;
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalTime = new LongAdder();
+    private final AtomicLong minValue = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxValue = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param highestTrackableValue highest value (in milliseconds) that is tracked with full precision
+     */
+    ResponseTimeHistogram(long highestTrackableValue) {
+        if (highestTrackableValue < SUB_BUCKET_COUNT) {
+            throw new IllegalArgumentException(
+                    "highestTrackableValue must be at least " + SUB_BUCKET_COUNT + ", got " + highestTrackableValue);
+        }
+        this.highestTrackableValue = highestTrackableValue;
+        this.counts = new AtomicLongArray(indexOf(highestTrackableValue) + 1);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return shift * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift);
+    }
+
+    static long lowestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_HALF_COUNT - 1;
+        return (long) (index % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT) << shift;
+    }
+
+    static long highestEquivalentValue(int index) {
+        return lowestEquivalentValue(index + 1) - 1;
+    }
+
+    /**
+     * Records a value. Can be called concurrently from several threads.
+     * @param value response time in milliseconds, negative values are recorded as 0
+     */
+    void record(long value) {
+        long v = Math.max(0, value);
+        counts.incrementAndGet(indexOf(Math.min(v, highestTrackableValue)));
+        totalCount.increment();
+        totalTime.add(v);
+        minValue.accumulateAndGet(v, Math::min);
+        maxValue.accumulateAndGet(v, Math::max);
+    }
+
+    /**
+     * Records the values of a histogram built elsewhere, for instance on a remote server.
+     * Can be called concurrently with {@link #record(long)}.
+     * @param histogram the values to record, min, max and mean stay exact
+     */
+    void record(MergeableHistogram histogram) {
+        if (histogram.getCount() == 0) {
+            return;
+        }
+        histogram.forEachBucket((value, count) ->
+                counts.addAndGet(indexOf(Math.min(value, highestTrackableValue)), count));
+        totalCount.add(histogram.getCount());
+        totalTime.add(histogram.getTotal());
+        minValue.accumulateAndGet(histogram.getMin(), Math::min);
+        maxValue.accumulateAndGet(histogram.getMax(), Math::max);
+    }
+
+    long getCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * @return the minimal recorded value or {@link Double#NaN} if no value was recorded
+     */
+    double getMin() {
+        return getCount() == 0 ? Double.NaN : minValue.get();
+    }
+
+    /**
+     * @return the maximal recorded value or {@link Double#NaN} if no value was recorded
+     */
+    double getMax() {
+        return getCount() == 0 ? Double.NaN : maxValue.get();
+    }
+
+    /**
+     * @return the arithmetic mean of the recorded values or {@link Double#NaN} if no value was recorded
+     */
+    double getMean() {
+        long count = getCount();
+        return count == 0 ? Double.NaN : (double) totalTime.sum() / count;
+    }
+
+    /**
+     * Returns the value below which the given percentage of recorded values fall.
+     *
+     * @param percentile the requested percentile (scaled from 0 - 100)
+     * @return the highest value equivalent to the percentile or {@link Double#NaN} if no value was recorded
+     */
+    double getPercentile(double percentile) {
+        long count = getCount();
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100.0, percentile) / 100.0 * count));
+        long seen = 0;
+        // The last bucket also holds the values above highestTrackableValue, so it is represented by max
+        int lastIndex = counts.length() - 1;
+        for (int i = 0; i < lastIndex; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.max(getMin(), Math.min(highestEquivalentValue(i), getMax()));
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Clears the histogram. Must not be called concurrently with {@link #record(long)}.
+     */
+    void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.lazySet(i, 0);
+        }
+        totalCount.reset();
+        totalTime.reset();
+        minValue.set(Long.MAX_VALUE);
+        maxValue.set(Long.MIN_VALUE);
+    }
+}
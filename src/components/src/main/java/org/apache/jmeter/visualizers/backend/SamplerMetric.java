@@ -18,6 +18,7 @@
 package org.apache.jmeter.visualizers.backend;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,12 +26,15 @@ import java.util.Map;
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
 import org.apache.jmeter.control.TransactionController;
 import org.apache.jmeter.report.processor.DescriptiveStatisticsFactory;
+import org.apache.jmeter.samplers.AggregatedSampleResult;
 import org.apache.jmeter.samplers.SampleResult;
 import org.apache.jmeter.util.JMeterUtils;
 import org.apache.jorphan.documentation.VisibleForTesting;
+import org.apache.jorphan.math.MergeableHistogram;
 
 /**
  * Sampler metric
+ * @see HistogramSamplerMetric
  * @since 2.13
  */
 public class SamplerMetric {
@@ -40,25 +44,32 @@ public class SamplerMetric {
     private static volatile WindowMode globalWindowMode = WindowMode.get();
 
     /**
-     * Response times for OK samples
+     * Response times for OK samples, null when a subclass computes the statistics
      */
-    private final DescriptiveStatistics okResponsesStats = DescriptiveStatisticsFactory.createDescriptiveStatistics(LARGE_SLIDING_WINDOW_SIZE);
+    private final DescriptiveStatistics okResponsesStats;
     /**
-     * Response times for KO samples
+     * Response times for KO samples, null when a subclass computes the statistics
      */
-    private final DescriptiveStatistics koResponsesStats = DescriptiveStatisticsFactory.createDescriptiveStatistics(LARGE_SLIDING_WINDOW_SIZE);
+    private final DescriptiveStatistics koResponsesStats;
     /**
-     * Response times for All samples
+     * Response times for All samples, null when a subclass computes the statistics
      */
-    private final DescriptiveStatistics allResponsesStats = DescriptiveStatisticsFactory.createDescriptiveStatistics(LARGE_SLIDING_WINDOW_SIZE);
+    private final DescriptiveStatistics allResponsesStats;
     /**
      *  OK, KO, ALL stats
      */
-    private final List<DescriptiveStatistics> windowedStats = initWindowedStats();
+    private final List<DescriptiveStatistics> windowedStats;
     /**
      * Timeboxed percentiles don't makes sense
      */
-    private final DescriptiveStatistics pctResponseStats = DescriptiveStatisticsFactory.createDescriptiveStatistics(SLIDING_WINDOW_SIZE);
+    private final DescriptiveStatistics pctResponseStats;
+    /**
+     * Response times of the current time slot, merged from the {@link AggregatedSampleResult}s of remote engines.
+     * Null until the first aggregate is received, the sliding windows are used until then
+     */
+    private ResponseTimeHistogram okAggregatedStats;
+    private ResponseTimeHistogram koAggregatedStats;
+    private ResponseTimeHistogram allAggregatedStats;
     private int successes;
     private int failures;
     private int hits;
@@ -71,6 +82,28 @@ public class SamplerMetric {
      *
      */
     public SamplerMetric() {
+        this(true);
+    }
+
+    /**
+     * @param useSlidingWindows {@code false} when the subclass overrides all the methods recording samples
+     *                          and reading response times, so the sliding windows are not allocated
+     * @since 6.0.0
+     */
+    protected SamplerMetric(boolean useSlidingWindows) {
+        if (!useSlidingWindows) {
+            okResponsesStats = null;
+            koResponsesStats = null;
+            allResponsesStats = null;
+            pctResponseStats = null;
+            windowedStats = Collections.emptyList();
+            return;
+        }
+        okResponsesStats = DescriptiveStatisticsFactory.createDescriptiveStatistics(LARGE_SLIDING_WINDOW_SIZE);
+        koResponsesStats = DescriptiveStatisticsFactory.createDescriptiveStatistics(LARGE_SLIDING_WINDOW_SIZE);
+        allResponsesStats = DescriptiveStatisticsFactory.createDescriptiveStatistics(LARGE_SLIDING_WINDOW_SIZE);
+        pctResponseStats = DescriptiveStatisticsFactory.createDescriptiveStatistics(SLIDING_WINDOW_SIZE);
+        windowedStats = initWindowedStats();
         // Limit to sliding window of SLIDING_WINDOW_SIZE values for FIXED mode
         if (globalWindowMode == WindowMode.FIXED) {
             for (DescriptiveStatistics stat : windowedStats) {
@@ -119,6 +152,10 @@ public class SamplerMetric {
      * @param isCumulated is the overall Sampler Metric
      */
     private synchronized void add(SampleResult result, boolean isCumulated) {
+        if (result instanceof AggregatedSampleResult) {
+            addAggregate((AggregatedSampleResult) result, isCumulated);
+            return;
+        }
         if(result.isSuccessful()) {
             successes+=result.getSampleCount()-result.getErrorCount();
         } else {
@@ -126,7 +163,7 @@ public class SamplerMetric {
             ErrorMetric error = new ErrorMetric(result);
             errors.put(error, errors.getOrDefault(error, 0) + result.getErrorCount() );
         }
-        long time = result.getTime();
+        long time = result.getTimeForStatistics();
         allResponsesStats.addValue((double) time);
         pctResponseStats.addValue((double) time);
         if(result.isSuccessful()) {
@@ -136,6 +173,42 @@ public class SamplerMetric {
         }else {
             koResponsesStats.addValue((double) time);
         }
+        if (allAggregatedStats != null) {
+            allAggregatedStats.record(time);
+            if (result.isSuccessful()) {
+                okAggregatedStats.record(time);
+            } else {
+                koAggregatedStats.record(time);
+            }
+        }
+        addHits(result, isCumulated);
+        addNetworkData(result, isCumulated);
+    }
+
+    /**
+     * Add the statistics a remote engine aggregated over an interval.
+     * The histograms of the engines are merged, so the response times of the time slot cover all the engines,
+     * whatever the size of the sliding windows.
+     * @param result {@link AggregatedSampleResult} to be used
+     * @param isCumulated is the overall Sampler Metric
+     */
+    private void addAggregate(AggregatedSampleResult result, boolean isCumulated) {
+        MergeableHistogram successTimes = result.getSuccessTimes();
+        MergeableHistogram failureTimes = result.getFailureTimes();
+        successes += (int) successTimes.getCount();
+        failures += (int) failureTimes.getCount();
+        for (AggregatedSampleResult.ErrorCount errorCount : result.getErrorCounts()) {
+            errors.merge(new ErrorMetric(errorCount.getSample()), (int) errorCount.getCount(), Integer::sum);
+        }
+        if (allAggregatedStats == null) {
+            okAggregatedStats = new ResponseTimeHistogram(HistogramSamplerMetric.HIGHEST_TRACKABLE_VALUE);
+            koAggregatedStats = new ResponseTimeHistogram(HistogramSamplerMetric.HIGHEST_TRACKABLE_VALUE);
+            allAggregatedStats = new ResponseTimeHistogram(HistogramSamplerMetric.HIGHEST_TRACKABLE_VALUE);
+        }
+        okAggregatedStats.record(successTimes);
+        koAggregatedStats.record(failureTimes);
+        allAggregatedStats.record(successTimes);
+        allAggregatedStats.record(failureTimes);
         addHits(result, isCumulated);
         addNetworkData(result, isCumulated);
     }
@@ -146,31 +219,53 @@ public class SamplerMetric {
      * @param isCumulated related to the overall sampler metric
      */
     private void addNetworkData(SampleResult result, boolean isCumulated) {
-        if (isCumulated && TransactionController.isFromTransactionController(result)
-                && result.getSubResults().length == 0) { // Transaction controller without generate parent sampler
+        if (!hasNetworkData(result, isCumulated)) {
             return;
         }
         sentBytes += result.getSentBytes();
         receivedBytes += result.getBytesAsLong();
     }
 
+    /**
+     * @param result SampleResult
+     * @param isCumulated related to the overall sampler metric
+     * @return true if sent and received bytes of the result should be added to the metric
+     */
+    static boolean hasNetworkData(SampleResult result, boolean isCumulated) {
+        // Transaction controller without generate parent sampler
+        return !(isCumulated && TransactionController.isFromTransactionController(result)
+                && result.getSubResults().length == 0);
+    }
+
     /**
      * Compute hits from result
      * @param result {@link SampleResult}
      * @param isCumulated related to the overall sampler metric
      */
     private void addHits(SampleResult result, boolean isCumulated) {
+        hits += countHits(result, isCumulated);
+    }
+
+    /**
+     * Compute hits from result
+     * @param result {@link SampleResult}
+     * @param isCumulated related to the overall sampler metric
+     * @return number of hits of the result and its sub-results
+     */
+    static int countHits(SampleResult result, boolean isCumulated) {
         SampleResult[] subResults = result.getSubResults();
         if (isCumulated && TransactionController.isFromTransactionController(result)
                 && subResults.length == 0) { // Transaction controller without generate parent sampler
-            return;
+            return 0;
         }
+        int count = 0;
         if (!(TransactionController.isFromTransactionController(result) && subResults.length > 0)) {
-            hits += result.getSampleCount();
+            count += result.getSampleCount();
         }
         for (SampleResult subResult : subResults) {
-            addHits(subResult, isCumulated);
+            count += countHits(subResult, isCumulated);
         }
+        return count;
     }
 
     /**
@@ -188,6 +283,11 @@ public class SamplerMetric {
             }
             break;
         }
+        if (allAggregatedStats != null) {
+            okAggregatedStats.reset();
+            koAggregatedStats.reset();
+            allAggregatedStats.reset();
+        }
         errors.clear();
         successes = 0;
         failures = 0;
@@ -230,7 +330,7 @@ public class SamplerMetric {
      *         been added yet
      */
     public double getOkMaxTime() {
-        return okResponsesStats.getMax();
+        return okAggregatedStats != null ? okAggregatedStats.getMax() : okResponsesStats.getMax();
     }
 
     /**
@@ -240,7 +340,7 @@ public class SamplerMetric {
      *         added yet
      */
     public double getOkMinTime() {
-        return okResponsesStats.getMin();
+        return okAggregatedStats != null ? okAggregatedStats.getMin() : okResponsesStats.getMin();
     }
 
     /**
@@ -249,7 +349,7 @@ public class SamplerMetric {
      * @return The arithmetic mean of the stored values
      */
     public double getOkMean() {
-        return okResponsesStats.getMean();
+        return okAggregatedStats != null ? okAggregatedStats.getMean() : okResponsesStats.getMean();
     }
 
     /**
@@ -261,7 +361,7 @@ public class SamplerMetric {
      *         values.
      */
     public double getOkPercentile(double percentile) {
-        return okResponsesStats.getPercentile(percentile);
+        return okAggregatedStats != null ? okAggregatedStats.getPercentile(percentile) : okResponsesStats.getPercentile(percentile);
     }
 
     /**
@@ -271,7 +371,7 @@ public class SamplerMetric {
      *         been added yet
      */
     public double getKoMaxTime() {
-        return koResponsesStats.getMax();
+        return koAggregatedStats != null ? koAggregatedStats.getMax() : koResponsesStats.getMax();
     }
 
     /**
@@ -281,7 +381,7 @@ public class SamplerMetric {
      *         added yet
      */
     public double getKoMinTime() {
-        return koResponsesStats.getMin();
+        return koAggregatedStats != null ? koAggregatedStats.getMin() : koResponsesStats.getMin();
     }
 
     /**
@@ -290,7 +390,7 @@ public class SamplerMetric {
      * @return The arithmetic mean of the stored values
      */
     public double getKoMean() {
-        return koResponsesStats.getMean();
+        return koAggregatedStats != null ? koAggregatedStats.getMean() : koResponsesStats.getMean();
     }
 
     /**
@@ -302,7 +402,7 @@ public class SamplerMetric {
      *         values.
      */
     public double getKoPercentile(double percentile) {
-        return koResponsesStats.getPercentile(percentile);
+        return koAggregatedStats != null ? koAggregatedStats.getPercentile(percentile) : koResponsesStats.getPercentile(percentile);
     }
 
     /**
@@ -312,7 +412,7 @@ public class SamplerMetric {
      *         been added yet
      */
     public double getAllMaxTime() {
-        return allResponsesStats.getMax();
+        return allAggregatedStats != null ? allAggregatedStats.getMax() : allResponsesStats.getMax();
     }
 
     /**
@@ -322,7 +422,7 @@ public class SamplerMetric {
      *         added yet
      */
     public double getAllMinTime() {
-        return allResponsesStats.getMin();
+        return allAggregatedStats != null ? allAggregatedStats.getMin() : allResponsesStats.getMin();
     }
 
     /**
@@ -331,7 +431,7 @@ public class SamplerMetric {
      * @return The arithmetic mean of the stored values
      */
     public double getAllMean() {
-        return allResponsesStats.getMean();
+        return allAggregatedStats != null ? allAggregatedStats.getMean() : allResponsesStats.getMean();
     }
 
     /**
@@ -343,7 +443,7 @@ public class SamplerMetric {
      *         values.
      */
     public double getAllPercentile(double percentile) {
-        return pctResponseStats.getPercentile(percentile);
+        return allAggregatedStats != null ? allAggregatedStats.getPercentile(percentile) : pctResponseStats.getPercentile(percentile);
     }
 
     /**
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.visualizers.backend;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Synchronization primitive that lets many writers update a data structure without locking,
+ * while a single reader periodically swaps the active structure for an inactive one.
+ * <p>
+ * Writers wrap their updates with {@link #writerCriticalSectionEnter()} and
+ * {@link #writerCriticalSectionExit(long)}. The reader holds {@link #readerLock()}, swaps the active
+ * structure and then calls {@link #flipPhase()}, which returns once all the writers that might still
+ * access the previously active structure are done.
+ * <p>
+ * This follows the WriterReaderPhaser design used by HdrHistogram's {@code Recorder}.
+ */
+final class WriterReaderPhaser {
+    private static final AtomicLongFieldUpdater<WriterReaderPhaser> START_EPOCH =
+            AtomicLongFieldUpdater.newUpdater(WriterReaderPhaser.class, "startEpoch");
+    private static final AtomicLongFieldUpdater<WriterReaderPhaser> EVEN_END_EPOCH =
+            AtomicLongFieldUpdater.newUpdater(WriterReaderPhaser.class, "evenEndEpoch");
+    private static final AtomicLongFieldUpdater<WriterReaderPhaser> ODD_END_EPOCH =
+            AtomicLongFieldUpdater.newUpdater(WriterReaderPhaser.class, "oddEndEpoch");
+
+    // Non-negative values denote even phase, negative values denote odd phase
+    private volatile long startEpoch = 0;
+    private volatile long evenEndEpoch = 0;
+    private volatile long oddEndEpoch = Long.MIN_VALUE;
+
+    private final ReentrantLock readerLock = new ReentrantLock();
+
+    /**
+     * Enters a writer critical section. Never blocks.
+     * @return value to pass to {@link #writerCriticalSectionExit(long)}
+     */
+    long writerCriticalSectionEnter() {
+        return START_EPOCH.getAndIncrement(this);
+    }
+
+    /**
+     * Exits a writer critical section. Never blocks.
+     * @param criticalValueAtEnter value returned by {@link #writerCriticalSectionEnter()}
+     */
+    void writerCriticalSectionExit(long criticalValueAtEnter) {
+        if (criticalValueAtEnter < 0) {
+            ODD_END_EPOCH.getAndIncrement(this);
+        } else {
+            EVEN_END_EPOCH.getAndIncrement(this);
+        }
+    }
+
+    void readerLock() {
+        readerLock.lock();
+    }
+
+    void readerUnlock() {
+        readerLock.unlock();
+    }
+
+    /**
+     * Waits until all the writers that entered their critical section before the flip have exited it.
+     * Must be called while holding {@link #readerLock()}.
+     */
+    void flipPhase() {
+        if (!readerLock.isHeldByCurrentThread()) {
+            throw new IllegalStateException("flipPhase() can only be called while holding the reader lock");
+        }
+        boolean nextPhaseIsEven = startEpoch < 0;
+        long initialStartValue;
+        if (nextPhaseIsEven) {
+            initialStartValue = 0;
+            EVEN_END_EPOCH.lazySet(this, initialStartValue);
+        } else {
+            initialStartValue = Long.MIN_VALUE;
+            ODD_END_EPOCH.lazySet(this, initialStartValue);
+        }
+        long startValueAtFlip = START_EPOCH.getAndSet(this, initialStartValue);
+        while ((nextPhaseIsEven ? oddEndEpoch : evenEndEpoch) != startValueAtFlip) {
+            Thread.yield();
+        }
+    }
+}
@@ -39,6 +39,7 @@ import org.apache.jmeter.util.JMeterUtils;
 import org.apache.jmeter.visualizers.backend.AbstractBackendListenerClient;
 import org.apache.jmeter.visualizers.backend.BackendListenerClient;
 import org.apache.jmeter.visualizers.backend.BackendListenerContext;
+import org.apache.jmeter.visualizers.backend.HistogramSamplerMetric;
 import org.apache.jmeter.visualizers.backend.SamplerMetric;
 import org.apache.jmeter.visualizers.backend.UserMetric;
 import org.slf4j.Logger;
@@ -65,6 +66,7 @@ public class GraphiteBackendListenerClient extends AbstractBackendListenerClient
     public static final String USE_REGEXP_FOR_SAMPLERS_LIST = "useRegexpForSamplersList"; //$NON-NLS-1$
     public static final String USE_REGEXP_FOR_SAMPLERS_LIST_DEFAULT = "false";
     private static final String SUMMARY_ONLY = "summaryOnly"; //$NON-NLS-1$
+    private static final String USE_HISTOGRAM_METRICS = "useHistogramMetrics"; //$NON-NLS-1$
     //- Argument names
 
     private static final int DEFAULT_PLAINTEXT_PROTOCOL_PORT = 2003;
@@ -126,6 +128,7 @@ public class GraphiteBackendListenerClient extends AbstractBackendListenerClient
     private static final Object LOCK = new Object();
 
     private boolean summaryOnly;
+    private boolean useHistogramMetrics;
     private String samplersList = ""; //$NON-NLS-1$
     private boolean useRegexpForSamplersList;
     private Set<String> samplersToFilter;
@@ -304,6 +307,7 @@ public class GraphiteBackendListenerClient extends AbstractBackendListenerClient
         String graphiteHost = context.getParameter(GRAPHITE_HOST);
         int graphitePort = context.getIntParameter(GRAPHITE_PORT, DEFAULT_PLAINTEXT_PROTOCOL_PORT);
         summaryOnly = context.getBooleanParameter(SUMMARY_ONLY, true);
+        useHistogramMetrics = context.getBooleanParameter(USE_HISTOGRAM_METRICS, false);
         samplersList = context.getParameter(SAMPLERS_LIST, "");
         useRegexpForSamplersList = context.getBooleanParameter(USE_REGEXP_FOR_SAMPLERS_LIST, false);
         String rootMetricsPrefix = context.getParameter(ROOT_METRICS_PREFIX, DEFAULT_METRICS_PREFIX);
@@ -352,6 +356,11 @@ public class GraphiteBackendListenerClient extends AbstractBackendListenerClient
         }
     }
 
+    @Override
+    protected SamplerMetric createSamplerMetric() {
+        return useHistogramMetrics ? new HistogramSamplerMetric() : new SamplerMetric();
+    }
+
     @Override
     public void teardownTest(BackendListenerContext context) throws Exception {
         boolean cancelState = timerHandle.cancel(false);
@@ -384,6 +393,7 @@ public class GraphiteBackendListenerClient extends AbstractBackendListenerClient
         arguments.addArgument(SAMPLERS_LIST, "");
         arguments.addArgument(USE_REGEXP_FOR_SAMPLERS_LIST, USE_REGEXP_FOR_SAMPLERS_LIST_DEFAULT);
         arguments.addArgument(PERCENTILES, DEFAULT_PERCENTILES);
+        arguments.addArgument(USE_HISTOGRAM_METRICS, "false");
         return arguments;
     }
 }
@@ -39,6 +39,7 @@ import org.apache.jmeter.visualizers.backend.AbstractBackendListenerClient;
 import org.apache.jmeter.visualizers.backend.BackendListenerClient;
 import org.apache.jmeter.visualizers.backend.BackendListenerContext;
 import org.apache.jmeter.visualizers.backend.ErrorMetric;
+import org.apache.jmeter.visualizers.backend.HistogramSamplerMetric;
 import org.apache.jmeter.visualizers.backend.SamplerMetric;
 import org.apache.jmeter.visualizers.backend.UserMetric;
 import org.slf4j.Logger;
@@ -112,9 +113,11 @@ public class InfluxdbBackendListenerClient extends AbstractBackendListenerClient
         DEFAULT_ARGS.put("percentiles", "99;95;90");
         DEFAULT_ARGS.put("testTitle", "Test name");
         DEFAULT_ARGS.put("eventTags", "");
+        DEFAULT_ARGS.put("useHistogramMetrics", "false");
     }
 
     private boolean summaryOnly;
+    private boolean useHistogramMetrics;
     private String measurement = "DEFAULT_MEASUREMENT";
     private String samplersRegex = "";
     private Pattern samplersToFilter;
@@ -315,6 +318,7 @@ public class InfluxdbBackendListenerClient extends AbstractBackendListenerClient
     @Override
     public void setupTest(BackendListenerContext context) throws Exception {
         summaryOnly = context.getBooleanParameter("summaryOnly", false);
+        useHistogramMetrics = context.getBooleanParameter("useHistogramMetrics", false);
         samplersRegex = context.getParameter("samplersRegex", "");
         applicationName = AbstractInfluxdbMetricsSender.tagToStringValue(
                 context.getParameter("application", ""));
@@ -395,7 +399,7 @@ public class InfluxdbBackendListenerClient extends AbstractBackendListenerClient
             return samplerMetric;
         }
 
-        SamplerMetric newSamplerMetric = new SamplerMetric();
+        SamplerMetric newSamplerMetric = createSamplerMetric();
         SamplerMetric oldValue = metricsPerSampler.putIfAbsent(sampleLabel, newSamplerMetric);
         if (oldValue != null) {
             newSamplerMetric = oldValue;
@@ -403,6 +407,11 @@ public class InfluxdbBackendListenerClient extends AbstractBackendListenerClient
         return newSamplerMetric;
     }
 
+    @Override
+    protected SamplerMetric createSamplerMetric() {
+        return useHistogramMetrics ? new HistogramSamplerMetric() : new SamplerMetric();
+    }
+
     @Override
     public void teardownTest(BackendListenerContext context) throws Exception {
         boolean cancelState = timerHandle.cancel(false);
@@ -19,6 +19,7 @@ package org.apache.jmeter.config;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.IOException;
@@ -239,4 +240,83 @@ public class TestCVSDataSet extends JMeterTestCase implements JMeterSerialTest {
         csv1.iterationStart(null);
         assertEquals("a4", threadVars.get("a"));
     }
+
+    @Test
+    public void testMemoryMappedRecycle() {
+        CSVDataSet csv = new CSVDataSet();
+        csv.setFilename(findTestPath("testfiles/testempty.csv"));
+        csv.setVariableNames("a,b,c");
+        csv.setDelimiter(",");
+        csv.setMemoryMapped(true);
+
+        csv.iterationStart(null);
+        assertEquals("", threadVars.get("a"));
+        assertEquals("b1", threadVars.get("b"));
+        assertEquals("c1", threadVars.get("c"));
+        csv.iterationStart(null);
+        assertEquals("a2", threadVars.get("a"));
+        assertEquals("", threadVars.get("b"));
+        csv.iterationStart(null);
+        assertEquals("a3", threadVars.get("a"));
+        assertEquals("", threadVars.get("c"));
+        csv.iterationStart(null);
+        assertEquals("a4", threadVars.get("a"));
+        assertEquals("c4", threadVars.get("c"));
+        csv.iterationStart(null); // Restart file
+        assertEquals("", threadVars.get("a"));
+        assertEquals("b1", threadVars.get("b"));
+    }
+
+    @Test
+    public void testMemoryMappedHeaderAndRecycle() {
+        CSVDataSet csv = new CSVDataSet();
+        csv.setFilename(findTestPath("testfiles/testheader.csv"));
+        csv.setDelimiter("|");
+        csv.setRecycle(true);
+        csv.setMemoryMapped(true);
+        for (int i = 0; i < 5; i++) {
+            csv.iterationStart(null); // lines 2 to 5, then return to 2nd line (first line is names)
+        }
+        assertEquals("a1", threadVars.get("A"));
+        assertEquals("b1", threadVars.get("B"));
+        assertEquals("c1", threadVars.get("C"));
+        assertEquals("d1", threadVars.get("D|1"));
+    }
+
+    @Test
+    public void testMemoryMappedQuotesAndStopThread() {
+        CSVDataSet csv = new CSVDataSet();
+        csv.setFilename(findTestPath("testfiles/testquoted.csv"));
+        csv.setDelimiter("|");
+        csv.setQuotedData(true);
+        csv.setRecycle(false);
+        csv.setStopThread(true);
+        csv.setMemoryMapped(true);
+        for (int i = 1; i <= 3; i++) {
+            csv.iterationStart(null);
+            assertEquals("a" + i, threadVars.get("A"));
+            assertEquals("c" + i, threadVars.get("C"));
+            assertEquals("d" + i, threadVars.get("D|1"));
+        }
+        assertThrows(JMeterStopThreadException.class, () -> csv.iterationStart(null));
+    }
+
+    @Test
+    public void testMemoryMappedShareMode() {
+        new CSVDataSetBeanInfo(); // needs to be initialised
+        CSVDataSet csv0 = initCSV();
+        csv0.setMemoryMapped(true);
+        CSVDataSet csv1 = initCSV();
+        csv1.setMemoryMapped(true);
+        csv1.setShareMode("abc");
+        CSVDataSet csv2 = initCSV();
+        csv2.setMemoryMapped(true);
+        csv2.setShareMode("abc");
+        csv1.iterationStart(null);
+        assertEquals("a1", threadVars.get("a"));
+        csv2.iterationStart(null);
+        assertEquals("a2", threadVars.get("a"));
+        csv0.iterationStart(null);
+        assertEquals("a1", threadVars.get("a"));
+    }
 }
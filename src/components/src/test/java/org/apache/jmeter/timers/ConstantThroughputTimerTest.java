@@ -18,6 +18,7 @@
 package org.apache.jmeter.timers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.UUID;
@@ -54,6 +55,32 @@ class ConstantThroughputTimerTest {
         assertAlmostEquals(expected, timer.delay(), 50);
     }
 
+    @Test
+    void testNextStartTimeDoesNotDrift() throws Exception {
+        ConstantThroughputTimer timer = new ConstantThroughputTimer();
+        timer.setThroughput(60000.0);// 1 per millisecond
+        long first = (long) timer.nextStartTime(); // Initialise
+        Thread.sleep(1);
+        // The schedule is computed from the previous target rather than from the current time
+        assertEquals(first + 1, (long) timer.nextStartTime());
+    }
+
+    @Test
+    void testLateSampleReportsIntendedStartTime() throws Exception {
+        ConstantThroughputTimer timer = new ConstantThroughputTimer();
+        timer.setThroughput(60000.0);// 1 per millisecond
+        long first = (long) timer.nextStartTime(); // Initialise
+        Thread.sleep(20);
+        long before = System.currentTimeMillis();
+        // The sample is late, so the intended start time lies in the past
+        long intended = (long) timer.nextStartTime();
+        assertEquals(first + 1, intended);
+        assertTrue(intended < before, () -> "intended start " + intended + " should be before " + before);
+        Thread.sleep(20);
+        // Pacing catches up from the actual time, and a late sample is not delayed
+        assertEquals(0, timer.delay());
+    }
+
     private static void assertAlmostEquals(long expected, long actual, long delta) {
         long actualDelta = Math.abs(actual - expected);
         if (actualDelta > delta) {
@@ -17,6 +17,14 @@
 
 package org.apache.jmeter.timers;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.CoreMatchers;
 import org.hamcrest.Description;
@@ -75,4 +83,38 @@ public class TimerServiceTest {
                 sut.adjustDelay(1000L, -1), CoreMatchers.is(1000L));
     }
 
+    @Test
+    public void testAwaitStartTimeReleasesThreadsInDeadlineOrder() throws Exception {
+        long start = System.nanoTime();
+        List<Integer> released = new CopyOnWriteArrayList<>();
+        Thread[] threads = new Thread[3];
+        for (int i = 0; i < threads.length; i++) {
+            int index = i;
+            // The first thread has the latest deadline
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(150L - 50L * i);
+            threads[i] = new Thread(() -> {
+                try {
+                    sut.awaitStartTime(deadline);
+                    assertTrue(System.nanoTime() - deadline >= 0, "Thread must not be released before its deadline");
+                    released.add(index);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join(10_000);
+        }
+        assertEquals(List.of(2, 1, 0), released);
+        assertTrue(sut.getSchedulerLag().getCount() >= 3, "Scheduler lag should be recorded");
+    }
+
+    @Test
+    public void testAwaitStartTimeIsInterruptible() {
+        Thread.currentThread().interrupt();
+        assertThrows(InterruptedException.class,
+                () -> sut.awaitStartTime(System.nanoTime() + TimeUnit.SECONDS.toNanos(60)));
+    }
+
 }
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.visualizers.backend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.apache.jmeter.samplers.SampleResult;
+import org.junit.jupiter.api.Test;
+
+public class HistogramSamplerMetricTest {
+
+    private static SampleResult createSampleResult(boolean success, long elapsed) {
+        SampleResult result = new SampleResult();
+        result.setSuccessful(success);
+        result.setSampleCount(1);
+        result.setErrorCount(success ? 0 : 1);
+        result.setResponseCode(success ? "200" : "500");
+        result.sampleStart();
+        result.setSentBytes(1000);
+        result.setBytes(2000L);
+        result.setEndTime(result.getStartTime() + elapsed);
+        return result;
+    }
+
+    @Test
+    public void checkStatsAndReset() {
+        HistogramSamplerMetric metric = new HistogramSamplerMetric();
+        metric.add(createSampleResult(true, 100));
+        metric.add(createSampleResult(true, 300));
+        metric.add(createSampleResult(false, 1000));
+
+        assertEquals(3, metric.getTotal(), "total");
+        assertEquals(2, metric.getSuccesses(), "successes");
+        assertEquals(1, metric.getFailures(), "failures");
+        assertEquals(3, metric.getHits(), "hits");
+        assertEquals(3000, metric.getSentBytes(), "sent bytes");
+        assertEquals(6000, metric.getReceivedBytes(), "received bytes");
+        assertEquals(100, metric.getOkMinTime(), 0.001, "ok.min");
+        assertEquals(300, metric.getOkMaxTime(), 0.001, "ok.max");
+        assertEquals(200, metric.getOkMean(), 0.001, "ok.avg");
+        assertEquals(1000, metric.getKoMaxTime(), 0.001, "ko.max");
+        assertEquals(1000, metric.getAllMaxTime(), 0.001, "all.max");
+        assertEquals(1, metric.getErrors().size(), "errors");
+
+        metric.resetForTimeInterval();
+
+        assertEquals(0, metric.getTotal(), "After reset total");
+        assertEquals(0, metric.getHits(), "After reset hits");
+        assertEquals(0, metric.getSentBytes(), "After reset sent bytes");
+        assertEquals(Double.NaN, metric.getOkMaxTime(), 0.0, "After reset ok.max");
+        assertEquals(Double.NaN, metric.getAllPercentile(90), 0.0, "After reset all.pct90");
+        assertEquals(0, metric.getErrors().size(), "After reset errors");
+    }
+
+    @Test
+    public void samplesAfterSnapshotGoToNextInterval() {
+        HistogramSamplerMetric metric = new HistogramSamplerMetric();
+        metric.add(createSampleResult(true, 100));
+        assertEquals(1, metric.getTotal(), "first interval");
+        metric.add(createSampleResult(true, 100));
+        assertEquals(1, metric.getTotal(), "snapshot is stable until reset");
+        metric.resetForTimeInterval();
+        assertEquals(1, metric.getTotal(), "second interval");
+    }
+
+    @Test
+    public void percentilesAreWithinHistogramPrecision() {
+        HistogramSamplerMetric metric = new HistogramSamplerMetric();
+        for (int i = 1; i <= 10_000; i++) {
+            metric.add(createSampleResult(true, i));
+        }
+        assertEquals(5_000, metric.getOkPercentile(50), 5_000 * 0.016, "pct50");
+        assertEquals(9_000, metric.getOkPercentile(90), 9_000 * 0.016, "pct90");
+        assertEquals(9_900, metric.getAllPercentile(99), 9_900 * 0.016, "pct99");
+        assertEquals(10_000, metric.getAllPercentile(100), 0.001, "pct100 is the max");
+    }
+
+    @Test
+    public void smallValuesAreExact() {
+        for (long value = 0; value < 128; value++) {
+            int index = ResponseTimeHistogram.indexOf(value);
+            assertEquals(value, ResponseTimeHistogram.lowestEquivalentValue(index), "lowest equivalent of " + value);
+            assertEquals(value, ResponseTimeHistogram.highestEquivalentValue(index), "highest equivalent of " + value);
+        }
+    }
+
+    @Test
+    public void snapshotsTakenWhileRecordingAreConsistent() throws InterruptedException {
+        HistogramSamplerMetric metric = new HistogramSamplerMetric();
+        int samplesPerWriter = 20_000;
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < samplesPerWriter; i++) {
+                    metric.add(createSampleResult(i % 4 != 0, 10));
+                }
+            });
+            writers[t].start();
+        }
+        long total = 0;
+        long failures = 0;
+        boolean writing = true;
+        while (writing) {
+            writing = false;
+            for (Thread writer : writers) {
+                writing |= writer.isAlive();
+            }
+            // A writer records all the values of a sample into the same interval,
+            // so the values of the snapshot of an interval match each other
+            int intervalTotal = metric.getTotal();
+            int intervalFailures = metric.getFailures();
+            assertEquals(intervalTotal, metric.getSuccesses() + intervalFailures, "successes + failures");
+            assertEquals(intervalTotal, metric.getHits(), "hits");
+            assertEquals(intervalTotal * 1000L, metric.getSentBytes(), "sent bytes");
+            assertEquals(intervalFailures,
+                    metric.getErrors().values().stream().mapToInt(Integer::intValue).sum(), "errors");
+            total += intervalTotal;
+            failures += intervalFailures;
+            metric.resetForTimeInterval();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        total += metric.getTotal();
+        failures += metric.getFailures();
+        assertEquals((long) writers.length * samplesPerWriter, total, "samples recorded across all intervals");
+        assertEquals((long) writers.length * samplesPerWriter / 4, failures, "failures recorded across all intervals");
+    }
+}
@@ -22,6 +22,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import java.util.Arrays;
 
 import org.apache.jmeter.control.TransactionController;
+import org.apache.jmeter.samplers.AggregatedSampleResult;
 import org.apache.jmeter.samplers.SampleResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -90,12 +91,16 @@ public class SamplerMetricFixedModeTest {
     }
 
     private SampleResult createSampleResult(boolean success) {
+        return createSampleResult(success, DEFAULT_ELAPSED_TIME);
+    }
+
+    private SampleResult createSampleResult(boolean success, long elapsed) {
         SampleResult result = new SampleResult();
         result.setSuccessful(success);
         result.setSampleCount(1);
         result.setErrorCount(success ? 0 : 1);
         result.sampleStart();
-        result.setEndTime(result.getStartTime() + DEFAULT_ELAPSED_TIME);
+        result.setEndTime(result.getStartTime() + elapsed);
         result.setSentBytes(1000);
         result.setBytes(2000L);
         return result;
@@ -164,4 +169,34 @@ public class SamplerMetricFixedModeTest {
         assertEquals(0, metric.getSentBytes(), 0.0, "After reset sent bytes");
         assertEquals(0, metric.getReceivedBytes(), 0.0, "After reset received bytes");
     }
+
+    private AggregatedSampleResult createAggregate(int count, long elapsed) {
+        AggregatedSampleResult aggregate = new AggregatedSampleResult(createSampleResult(true, elapsed));
+        for (int i = 1; i < count; i++) {
+            aggregate.add(createSampleResult(true, elapsed));
+        }
+        return aggregate;
+    }
+
+    @Test
+    public void checkAggregatesOfSeveralServersAreMerged() {
+        SamplerMetric metric = new SamplerMetric();
+        // Both servers report more samples than the sliding windows hold
+        AggregatedSampleResult fastServer = createAggregate(1_000, 100);
+        fastServer.add(createSampleResult(true, 5_000));
+        metric.add(fastServer);
+        metric.add(createAggregate(1_000, 1_000));
+
+        assertEquals(2_001, metric.getTotal(), "total");
+        assertEquals(100, metric.getAllPercentile(25), 100 * 0.016, "all.pct25 of the fast server");
+        assertEquals(1_000, metric.getAllPercentile(75), 1_000 * 0.016, "all.pct75 of the slow server");
+        assertEquals(1_000, metric.getOkPercentile(99), 1_000 * 0.016, "ok.pct99");
+        assertEquals(5_000, metric.getAllPercentile(100), 0.0, "single maximal value is kept");
+        assertEquals(5_000, metric.getOkMaxTime(), 0.0, "ok.max");
+        assertEquals(100, metric.getOkMinTime(), 0.0, "ok.min");
+
+        metric.resetForTimeInterval();
+
+        assertEquals(Double.NaN, metric.getAllPercentile(90), 0.0, "Aggregates cover a single time slot");
+    }
 }
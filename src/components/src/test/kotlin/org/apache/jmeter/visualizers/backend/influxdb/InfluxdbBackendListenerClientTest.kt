@@ -49,7 +49,8 @@ class InfluxdbBackendListenerClientTest {
                 "samplersRegex" to ".*",
                 "percentiles" to "99;95;90",
                 "testTitle" to "Test name",
-                "eventTags" to ""
+                "eventTags" to "",
+                "useHistogramMetrics" to "false"
             ),
             sut.getDefaultParameters().getArgumentsAsMap()
         )
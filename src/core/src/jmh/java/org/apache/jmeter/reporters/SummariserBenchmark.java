@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.reporters;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.jmeter.samplers.SampleEvent;
+import org.apache.jmeter.samplers.SampleResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures {@link Summariser#sampleOccurred(SampleEvent)} throughput when several threads
+ * report samples to the same summariser.
+ * Run {@link #main(String[])} to compare 1, 2, 4 and 8 threads: the throughput should scale with the
+ * number of threads as the samples are accumulated without a shared lock.
+ */
+@Fork(value = 1, jvmArgsPrepend = {"-Xmx128m"})
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SummariserBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SharedSummariser {
+        Summariser summariser;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            summariser = new Summariser("summary");
+            summariser.testStarted();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            summariser.testEnded();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadSample {
+        SampleEvent event;
+
+        @Setup
+        public void setup() {
+            SampleResult result = SampleResult.createTestSample(0, 42);
+            result.setSampleLabel("label");
+            result.setSuccessful(true);
+            event = new SampleEvent(result, "Thread Group");
+        }
+    }
+
+    @Benchmark
+    public void sampleOccurred(SharedSummariser shared, ThreadSample sample) {
+        shared.summariser.sampleOccurred(sample.event);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 2, 4, 8}) {
+            Options opt = new OptionsBuilder()
+                    .include(SummariserBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .detectJvmArgs()
+                    .build();
+            new Runner(opt).run();
+        }
+    }
+}
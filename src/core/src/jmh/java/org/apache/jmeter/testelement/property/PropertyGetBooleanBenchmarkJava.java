@@ -19,6 +19,7 @@ package org.apache.jmeter.testelement.property;
 
 import java.util.concurrent.TimeUnit;
 
+import org.apache.jmeter.testelement.TestElement;
 import org.apache.jmeter.testelement.TestElementSchema;
 import org.apache.jmeter.testelement.TestPlan;
 import org.apache.jmeter.testelement.schema.BooleanPropertyDescriptor;
@@ -46,6 +47,7 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 @OutputTimeUnit(TimeUnit.NANOSECONDS)
 public class PropertyGetBooleanBenchmarkJava {
     TestPlan testPlan;
+    TestPlan runningTestPlan;
     BooleanPropertyDescriptor<TestElementSchema> enabled;
 
     @Setup
@@ -55,6 +57,9 @@ public class PropertyGetBooleanBenchmarkJava {
         testPlan.setComment("test plan comment");
         testPlan.setSerialized(true);
         enabled = TestElementSchema.INSTANCE.getEnabled();
+        // Threads work on clones in running version
+        runningTestPlan = (TestPlan) testPlan.clone();
+        runningTestPlan.setRunningVersion(true);
     }
 
     @Benchmark
@@ -91,6 +96,22 @@ public class PropertyGetBooleanBenchmarkJava {
         return testPlan.getProps().get(TestElementSchema::getEnabled);
     }
 
+    @Benchmark
+    public boolean getPropertyAsBoolean() {
+        return testPlan.getPropertyAsBoolean(TestElement.ENABLED);
+    }
+
+    @Benchmark
+    public boolean running_booleanDescriptor_getBoolean() {
+        return enabled.get(runningTestPlan);
+    }
+
+    @Benchmark
+    public TestPlan running_recoverRunningVersion() {
+        runningTestPlan.recoverRunningVersion();
+        return runningTestPlan;
+    }
+
     public static void main(String[] args) throws RunnerException {
         Options opt = new OptionsBuilder()
                 .include(PropertyGetBooleanBenchmarkJava.class.getSimpleName())
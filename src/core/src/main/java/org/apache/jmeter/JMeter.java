@@ -76,6 +76,7 @@ import org.apache.jmeter.plugin.JMeterPlugin;
 import org.apache.jmeter.plugin.PluginManager;
 import org.apache.jmeter.report.config.ConfigurationException;
 import org.apache.jmeter.report.dashboard.ReportGenerator;
+import org.apache.jmeter.report.processor.PartialResultSampleSource;
 import org.apache.jmeter.reporters.ResultCollector;
 import org.apache.jmeter.reporters.Summariser;
 import org.apache.jmeter.rmi.RmiUtils;
@@ -271,8 +272,8 @@ public class JMeter implements JMeterPlugin {
                     "Exit the remote servers at end of test (non-GUI)");
     private static final CLOptionDescriptor D_REPORT_GENERATING_OPT =
             new CLOptionDescriptor("reportonly",
-                    CLOptionDescriptor.ARGUMENT_REQUIRED, REPORT_GENERATING_OPT,
-                    "generate report dashboard only, from a test results file",
+                    CLOptionDescriptor.ARGUMENT_REQUIRED | CLOptionDescriptor.DUPLICATES_ALLOWED, REPORT_GENERATING_OPT,
+                    "generate report dashboard only, from a test results file or from partial result files",
                     new CLOptionDescriptor[]{ D_NONGUI_OPT, D_REMOTE_OPT, D_REMOTE_OPT_PARAM, D_LOGFILE_OPT }); // disallowed
     private static final CLOptionDescriptor D_REPORT_AT_END_OPT =
             new CLOptionDescriptor("reportatendofloadtests",
@@ -479,10 +480,8 @@ public class JMeter implements JMeterPlugin {
                 }
                 CLOption testReportOpt = parser.getArgumentById(REPORT_GENERATING_OPT);
                 if (testReportOpt != null) { // generate report from existing file
-                    String reportFile = testReportOpt.getArgument();
                     extractAndSetReportOutputFolder(parser, deleteResultFile);
-                    ReportGenerator generator = new ReportGenerator(reportFile, null);
-                    generator.generate();
+                    createReportGenerator(parser).generate();
                 } else if (parser.getArgumentById(NONGUI_OPT) == null) { // not non-GUI => GUI
                     PluginManager.install(this, true);
                     String initialTestFile = testFile;
@@ -520,6 +519,35 @@ public class JMeter implements JMeterPlugin {
         }
     }
 
+    /**
+     * Creates the report generator for option JMeter#REPORT_GENERATING_OPT, which can be
+     * repeated to merge several partial result files
+     * @param parser {@link CLArgsParser}
+     * @return the {@link ReportGenerator}
+     * @throws ConfigurationException when loading the report configuration fails
+     * @throws IllegalUserActionException when several files are not all partial result files
+     */
+    private static ReportGenerator createReportGenerator(CLArgsParser parser)
+            throws ConfigurationException, IllegalUserActionException {
+        List<File> reportFiles = new ArrayList<>();
+        for (CLOption option : parser.getArguments()) {
+            if (option.getDescriptor().getId() == REPORT_GENERATING_OPT) {
+                reportFiles.add(new File(option.getArgument()));
+            }
+        }
+        if (reportFiles.size() == 1) {
+            return new ReportGenerator(reportFiles.get(0).getPath(), null);
+        }
+        for (File reportFile : reportFiles) {
+            if (!PartialResultSampleSource.isPartialResultFile(reportFile.getName())) {
+                throw new IllegalUserActionException("Option -" + ((char) REPORT_GENERATING_OPT)
+                        + " can only be repeated with partial result files (" + PartialResultSampleSource.FILE_EXTENSION
+                        + "), not with " + reportFile);
+            }
+        }
+        return new ReportGenerator(reportFiles);
+    }
+
     private static DateTimeFormatter getFormatter(String pattern) {
         return DateTimeFormatter.ofPattern(pattern).withZone(ZoneId.systemDefault());
     }
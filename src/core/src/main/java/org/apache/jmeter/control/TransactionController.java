@@ -334,6 +334,11 @@ public class TransactionController extends GenericController implements SampleLi
     public void sampleStopped(SampleEvent e) {
     }
 
+    @Override
+    public boolean isResponseDataRead() {
+        return false;
+    }
+
     /**
      * Whether to include timers and pre/post processor time in overall sample.
      * @param includeTimers Flag whether timers and pre/post processor should be included in overall sample
@@ -18,6 +18,7 @@
 package org.apache.jmeter.engine;
 
 import java.io.File;
+import java.io.IOException;
 import java.rmi.NotBoundException;
 import java.rmi.Remote;
 import java.rmi.RemoteException;
@@ -33,6 +34,8 @@ import org.apache.jmeter.services.FileServer;
 import org.apache.jmeter.threads.JMeterContextService;
 import org.apache.jmeter.util.JMeterUtils;
 import org.apache.jorphan.collections.HashTree;
+import org.apache.jorphan.util.JOrphanUtils;
+import org.apiguardian.api.API;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,6 +47,17 @@ public class ClientJMeterEngine implements JMeterEngine {
 
     private static final Object LOCK = new Object();
 
+    /** The property {@value} enables sending the test plan compressed to the remote engines */
+    public static final String COMPRESS_TEST_PLAN = "client.compress_test_plan"; // $NON-NLS-1$
+
+    /**
+     * The property {@value} lists the data files, relative to the test plan directory,
+     * sent to the remote engines before the test starts
+     */
+    public static final String DATA_FILES = "client.data_files"; // $NON-NLS-1$
+
+    private static final boolean COMPRESS = JMeterUtils.getPropDefault(COMPRESS_TEST_PLAN, true);
+
     private RemoteJMeterEngine remote;
 
     private HashTree test;
@@ -124,7 +138,19 @@ public class ClientJMeterEngine implements JMeterEngine {
     @Override
     public void runTest() throws JMeterEngineException {
         log.info("running clientengine run method");
+        configureRemoteTest();
+        startRemoteTest(0L);
+    }
 
+    /**
+     * Sends the test plan, the properties and the data files to the remote engine,
+     * without starting the test.
+     *
+     * @throws JMeterEngineException if the remote engine cannot be configured
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public void configureRemoteTest() throws JMeterEngineException {
         // See https://bz.apache.org/bugzilla/show_bug.cgi?id=55510
         JMeterContextService.clearTotalThreads();
         HashTree testTree = test;
@@ -147,12 +173,24 @@ public class ClientJMeterEngine implements JMeterEngine {
             */
             File baseDirRelative = FileServer.getFileServer().getBaseDirRelative();
             String scriptName = FileServer.getFileServer().getScriptName();
-            synchronized(LOCK)
-            {
+            if (COMPRESS) {
+                byte[] compressedTree;
+                synchronized(LOCK) {
+                    compressedTree = RemoteTransferCodec.compress(testTree);
+                }
+                // Only the serialization needs the lock, engines receive their test plan in parallel
                 methodName="rconfigure()"; // NOSONAR Used for tracing
-                remote.rconfigure(testTree, hostAndPort, baseDirRelative, scriptName);
+                remote.rconfigure(compressedTree, hostAndPort, baseDirRelative, scriptName);
+                log.info("sent test to {} basedir='{}', {} bytes compressed", // $NON-NLS-1$
+                        hostAndPort, baseDirRelative, compressedTree.length);
+            } else {
+                synchronized(LOCK)
+                {
+                    methodName="rconfigure()"; // NOSONAR Used for tracing
+                    remote.rconfigure(testTree, hostAndPort, baseDirRelative, scriptName);
+                }
+                log.info("sent test to {} basedir='{}'", hostAndPort, baseDirRelative); // $NON-NLS-1$
             }
-            log.info("sent test to {} basedir='{}'", hostAndPort, baseDirRelative); // $NON-NLS-1$
             if(savep == null) {
                 savep = new Properties();
             }
@@ -163,9 +201,8 @@ public class ClientJMeterEngine implements JMeterEngine {
             } catch (RemoteException e) {
                 log.warn("Could not set properties: {}, error:{}", savep, e.getMessage(), e);
             }
-            methodName="rrunTest()";
-            remote.rrunTest();
-            log.info("sent run command to {}", hostAndPort);
+            methodName="rputFile()";// NOSONAR Used for tracing
+            sendDataFiles();
         } catch (IllegalStateException ex) {
             log.error("Error in {} method ", methodName, ex); // $NON-NLS-1$ $NON-NLS-2$
             tidyRMI(log);
@@ -177,6 +214,61 @@ public class ClientJMeterEngine implements JMeterEngine {
         }
     }
 
+    /**
+     * Starts the test configured by {@link #configureRemoteTest()}.
+     *
+     * @param startTime time at which the remote engine starts the test, in milliseconds
+     *                  since epoch, or 0 to start it immediately
+     * @throws JMeterEngineException if the test cannot be started
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public void startRemoteTest(long startTime) throws JMeterEngineException {
+        try {
+            if (startTime > 0) {
+                remote.rrunTest(startTime);
+            } else {
+                remote.rrunTest();
+            }
+            log.info("sent run command to {}", hostAndPort);
+        } catch (IllegalStateException ex) {
+            log.error("Error in rrunTest() method ", ex); // $NON-NLS-1$
+            tidyRMI(log);
+            throw ex; // Don't wrap this error - display it as is
+        } catch (JMeterEngineException ex) {
+            log.error("Error in rrunTest() method", ex); // $NON-NLS-1$
+            tidyRMI(log);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Error in rrunTest() method", ex); // $NON-NLS-1$
+            tidyRMI(log);
+            throw new JMeterEngineException("Error in rrunTest() method "+ex, ex); // $NON-NLS-1$
+        }
+    }
+
+    /**
+     * Sends the files listed by the {@value #DATA_FILES} property. Relative files are
+     * written relative to the test plan directory of the remote engine, absolute files
+     * are written in that directory.
+     */
+    private void sendDataFiles() throws IOException {
+        for (String path : JOrphanUtils.split(JMeterUtils.getPropDefault(DATA_FILES, ""), ",")) { // $NON-NLS-1$
+            if (path.isBlank()) {
+                continue;
+            }
+            File file = new File(path.trim());
+            String remotePath = file.getPath();
+            if (file.isAbsolute()) {
+                remotePath = file.getName();
+            } else {
+                file = new File(FileServer.getFileServer().getBaseDir(), file.getPath());
+            }
+            byte[] compressed = RemoteTransferCodec.compressFile(file.toPath());
+            remote.rputFile(remotePath, compressed);
+            log.info("sent data file {} to {}, {} bytes compressed", file, hostAndPort, compressed.length);
+        }
+    }
+
     @SuppressWarnings("NonApiType")
     private static HashMap<String, String> toHashMapOfString(Properties properties) {
         return new HashMap<>(
@@ -28,11 +28,16 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.jmeter.util.JMeterUtils;
 import org.apache.jorphan.collections.HashTree;
@@ -54,14 +59,22 @@ public class DistributedRunner {
     public static final String RETRIES_NUMBER = "client.tries"; // $NON-NLS-1$
     public static final String RETRIES_DELAY = "client.retries_delay"; // $NON-NLS-1$
     public static final String CONTINUE_ON_FAIL = "client.continue_on_fail"; // $NON-NLS-1$
+    /** Number of remote engines configured and started in parallel */
+    public static final String START_THREADS = "client.start_threads"; // $NON-NLS-1$
+    /** Delay in ms between the end of the configuration of all remote engines and their synchronized start */
+    public static final String START_DELAY = "client.start_delay"; // $NON-NLS-1$
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger(0);
 
     private final Properties remoteProps;
     private final boolean continueOnFail;
     private final int retriesDelay;
     private final int retriesNumber;
+    private final int startThreads;
+    private final long startDelay;
     private PrintStream stdout = new PrintStream(new SilentOutputStream());
     private PrintStream stdErr = new PrintStream(new SilentOutputStream());
-    private final Map<String, JMeterEngine> engines = new HashMap<>();
+    private final Map<String, JMeterEngine> engines = new ConcurrentHashMap<>();
 
 
     public DistributedRunner() {
@@ -73,6 +86,78 @@ public class DistributedRunner {
         retriesNumber = JMeterUtils.getPropDefault(RETRIES_NUMBER, 1);
         continueOnFail = JMeterUtils.getPropDefault(CONTINUE_ON_FAIL, false);
         retriesDelay = JMeterUtils.getPropDefault(RETRIES_DELAY, 5000);
+        startThreads = Math.max(1, JMeterUtils.getPropDefault(START_THREADS, 10));
+        startDelay = Math.max(0L, JMeterUtils.getPropDefault(START_DELAY, 1000L));
+    }
+
+    /**
+     * A step run on a remote engine, in parallel with the other engines.
+     */
+    @FunctionalInterface
+    private interface EngineTask {
+        /**
+         * @param address address of the engine
+         * @return true if the step succeeded
+         * @throws Exception if the step failed
+         */
+        boolean run(String address) throws Exception; // NOSONAR
+    }
+
+    /**
+     * Runs a task on the specified engines in parallel, and logs the time the task
+     * took on each engine.
+     *
+     * @param addresses addresses of the engines
+     * @param threads   maximum number of engines on which the task runs at the same time
+     * @param stepName  name of the step for the timings
+     * @param task      the task
+     * @return the addresses of the engines on which the task succeeded, in the order of addresses
+     */
+    private List<String> runOnEngines(List<String> addresses, int threads, String stepName, EngineTask task) {
+        List<String> succeeded = new ArrayList<>(addresses.size());
+        if (addresses.isEmpty()) {
+            return succeeded;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, addresses.size()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "DistributedRunner-" + THREAD_COUNTER.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        try {
+            List<Future<Boolean>> results = new ArrayList<>(addresses.size());
+            for (String address : addresses) {
+                results.add(executor.submit(() -> {
+                    long start = System.currentTimeMillis();
+                    boolean success = task.run(address);
+                    if (success) {
+                        println(stepName + " " + address + " in " + (System.currentTimeMillis() - start) + " ms");
+                    }
+                    return success;
+                }));
+            }
+            for (int i = 0; i < addresses.size(); i++) {
+                String address = addresses.get(i);
+                try {
+                    if (Boolean.TRUE.equals(results.get(i).get())) {
+                        succeeded.add(address);
+                    }
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof IllegalStateException || cause instanceof JMeterEngineException) { // NOSONAR already reported to user
+                        JMeterUtils.reportErrorToUser(cause.getMessage(), JMeterUtils.getResString("remote_error_starting")); // $NON-NLS-1$
+                    } else {
+                        errln("Failed to run '" + stepName + "' on " + address, cause);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running '" + stepName + "' on remote engines:" + addresses, e);
+        } finally {
+            executor.shutdownNow();
+        }
+        return succeeded;
     }
 
     public void init(List<String> addresses, HashTree tree) {
@@ -89,19 +174,17 @@ public class DistributedRunner {
                 }
             }
 
-            int idx = 0;
-            while (idx < addrs.size()) {
-                String address = addrs.get(idx);
-                println("Configuring remote engine: " + address);
+            println("Configuring remote engines: " + addrs);
+            List<String> configured = runOnEngines(addrs, startThreads, "Configured remote engine", address -> {
                 JMeterEngine engine = getClientEngine(address.trim(), tree);
                 if (engine != null) {
                     engines.put(address, engine);
-                    addrs.remove(address);
-                } else {
-                    println("Failed to configure " + address);
-                    idx++;
+                    return true;
                 }
-            }
+                println("Failed to configure " + address);
+                return false;
+            });
+            addrs.removeAll(configured);
 
             if (addrs.isEmpty()) {
                 break;
@@ -137,21 +220,43 @@ public class DistributedRunner {
         Instant now = Instant.now();
         println("Starting distributed test with remote engines: "
                 + addresses + " @ " + formatLikeDate(now) + " (" + now.toEpochMilli() + ')');
-        List<String> startedEngines = new ArrayList<>(addresses.size());
+        List<String> knownEngines = new ArrayList<>(addresses.size());
         List<String> failedEngines = new ArrayList<>(addresses.size());
         for (String address : addresses) {
+            if (engines.containsKey(address)) {
+                knownEngines.add(address);
+            } else {
+                log.warn(HOST_NOT_FOUND_MESSAGE, address);
+                failedEngines.add(address);
+            }
+        }
+        // Send the test to all engines before starting any of them, so that they start together
+        List<String> configuredEngines = runOnEngines(knownEngines, startThreads, "Sent test to remote engine", address -> {
             JMeterEngine engine = engines.get(address);
-            try {
-                if (engine != null) {
-                    engine.runTest();
-                    startedEngines.add(address);
-                } else {
-                    log.warn(HOST_NOT_FOUND_MESSAGE, address);
-                    failedEngines.add(address);
-                }
-            } catch (IllegalStateException | JMeterEngineException e) { // NOSONAR already reported to user
+            if (engine instanceof ClientJMeterEngine) {
+                ((ClientJMeterEngine) engine).configureRemoteTest();
+            }
+            return true;
+        });
+        long startTime = startDelay > 0 ? System.currentTimeMillis() + startDelay : 0L;
+        if (startTime > 0) {
+            println("Remote engines will start @ " + formatLikeDate(Instant.ofEpochMilli(startTime))
+                    + " (" + startTime + ')');
+        }
+        // Remote engines acknowledge the start command at the start time, so all of them are called at once
+        List<String> startedEngines = runOnEngines(configuredEngines, configuredEngines.size(),
+                "Start acknowledged by remote engine", address -> {
+                    JMeterEngine engine = engines.get(address);
+                    if (engine instanceof ClientJMeterEngine) {
+                        ((ClientJMeterEngine) engine).startRemoteTest(startTime);
+                    } else {
+                        engine.runTest();
+                    }
+                    return true;
+                });
+        for (String address : knownEngines) {
+            if (!startedEngines.contains(address)) {
                 failedEngines.add(address);
-                JMeterUtils.reportErrorToUser(e.getMessage(), JMeterUtils.getResString("remote_error_starting")); // $NON-NLS-1$
             }
         }
         println("Remote engines have been started:" + startedEngines);
@@ -230,7 +335,10 @@ public class DistributedRunner {
         JMeterEngine engine;
         try {
             engine = createEngine(address);
-            engine.configure(testTree);
+            // Engines are created in parallel, but share the test tree they clone
+            synchronized (testTree) {
+                engine.configure(testTree);
+            }
             if (!remoteProps.isEmpty()) {
                 engine.setProperties(remoteProps);
             }
@@ -244,7 +352,8 @@ public class DistributedRunner {
     }
 
     /**
-     * A factory method that might be overridden for unit testing
+     * A factory method that might be overridden for unit testing.
+     * It is called concurrently for the engines configured in parallel.
      *
      * @param address address for engine
      * @return engine instance
@@ -265,7 +374,7 @@ public class DistributedRunner {
         stdErr.println(s);
     }
 
-    private void errln(String s, Exception e) {
+    private void errln(String s, Throwable e) {
         log.error(s, e);
         stdErr.println(s + ": ");
         e.printStackTrace(stdErr); // NOSONAR
@@ -30,8 +30,40 @@ import org.apache.jorphan.collections.HashTree;
 public interface RemoteJMeterEngine extends Remote {
     void rconfigure(HashTree testTree, String host, File jmxBase, String scriptName) throws RemoteException;
 
+    /**
+     * Configures the engine with a test tree compressed by the client.
+     *
+     * @param compressedTestTree the serialized and compressed test tree
+     * @param host               host and port of the engine, as known by the client
+     * @param jmxBase            base directory of the test plan, relative to the working directory
+     * @param scriptName         name of the test plan file
+     * @throws RemoteException if the test tree cannot be read
+     * @since 6.0.0
+     */
+    void rconfigure(byte[] compressedTestTree, String host, File jmxBase, String scriptName) throws RemoteException;
+
+    /**
+     * Writes a data file of the test, relative to the base directory of the test plan.
+     *
+     * @param path              path of the file, relative to the base directory
+     * @param compressedContent compressed content of the file
+     * @throws RemoteException if the file cannot be written
+     * @since 6.0.0
+     */
+    void rputFile(String path, byte[] compressedContent) throws RemoteException;
+
     void rrunTest() throws RemoteException, JMeterEngineException;
 
+    /**
+     * Runs the test at the specified time, or immediately if that time has passed.
+     *
+     * @param startTime time at which to start the test, in milliseconds since epoch
+     * @throws RemoteException if the call fails
+     * @throws JMeterEngineException if the test cannot be started
+     * @since 6.0.0
+     */
+    void rrunTest(long startTime) throws RemoteException, JMeterEngineException;
+
     void rstopTest(boolean now) throws RemoteException;
 
     void rreset() throws RemoteException;
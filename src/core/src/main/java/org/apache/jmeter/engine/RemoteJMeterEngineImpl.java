@@ -18,6 +18,7 @@
 package org.apache.jmeter.engine;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.InetAddress;
 import java.rmi.NoSuchObjectException;
 import java.rmi.NotBoundException;
@@ -154,6 +155,42 @@ public final class RemoteJMeterEngineImpl extends java.rmi.server.UnicastRemoteO
         FileServer.getFileServer().setBase(jmxBase);
     }
 
+    @Override
+    public void rconfigure(byte[] compressedTestTree, String hostAndPort, File jmxBase, String scriptName)
+            throws RemoteException {
+        long start = System.currentTimeMillis();
+        HashTree testTree;
+        try {
+            testTree = (HashTree) RemoteTransferCodec.decompress(compressedTestTree);
+        } catch (IOException | ClassCastException e) {
+            throw new RemoteException("Cannot read test plan", e);
+        }
+        log.info("Read compressed test plan of {} bytes in {} ms", compressedTestTree.length,
+                System.currentTimeMillis() - start);
+        rconfigure(testTree, hostAndPort, jmxBase, scriptName);
+    }
+
+    @Override
+    public void rputFile(String path, byte[] compressedContent) throws RemoteException {
+        checkOwner("putFile");
+        File base = new File(FileServer.getFileServer().getBaseDir());
+        File file = new File(base, path);
+        try {
+            if (new File(path).isAbsolute()
+                    || !file.getCanonicalPath().startsWith(base.getCanonicalPath() + File.separator)) {
+                throw new IllegalArgumentException("Data file must be relative to the base directory: " + path);
+            }
+            File parent = file.getParentFile();
+            if (!parent.isDirectory() && !parent.mkdirs()) {
+                throw new IOException("Cannot create directory " + parent);
+            }
+            RemoteTransferCodec.decompressToFile(compressedContent, file.toPath());
+        } catch (IOException e) {
+            throw new RemoteException("Cannot write data file " + file, e);
+        }
+        log.info("Wrote data file {}", file);
+    }
+
     @Override
     public void rrunTest() throws RemoteException, JMeterEngineException {
         log.info("Running test");
@@ -161,6 +198,24 @@ public final class RemoteJMeterEngineImpl extends java.rmi.server.UnicastRemoteO
         backingEngine.runTest();
     }
 
+    @Override
+    public void rrunTest(long startTime) throws RemoteException, JMeterEngineException {
+        checkOwner("runTest");
+        long delay = startTime - System.currentTimeMillis();
+        if (delay > 0) {
+            log.info("Waiting {} ms to run test at {}", delay, startTime);
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new JMeterEngineException("Interrupted while waiting to run test");
+            }
+        } else {
+            log.info("Running test {} ms after requested start time", -delay);
+        }
+        rrunTest();
+    }
+
     @Override
     public void rreset() throws RemoteException {
         // Mail on userlist reported NPE here - looks like only happens if there are network errors, but check anyway
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.engine;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.rmi.NoSuchObjectException;
+import java.rmi.Remote;
+import java.rmi.server.RemoteObject;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses the test plan and the data files the client sends to remote engines.
+ * <p>
+ * The test plan is serialized like RMI does, so exported remote objects of the
+ * client (e.g. the remote sample listeners) are replaced by their stubs.
+ */
+final class RemoteTransferCodec {
+
+    private RemoteTransferCodec() {
+    }
+
+    /**
+     * Serializes and compresses an object, replacing exported remote objects by their stubs.
+     *
+     * @param object the object to compress
+     * @return the compressed object
+     * @throws IOException if the object cannot be serialized
+     */
+    static byte[] compress(Serializable object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new StubReplacingOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decompresses and deserializes an object compressed by {@link #compress(Serializable)}.
+     *
+     * @param compressed the compressed object
+     * @return the object
+     * @throws IOException if the object cannot be deserialized
+     */
+    static Object decompress(byte[] compressed) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(
+                new GZIPInputStream(new ByteArrayInputStream(compressed)))) {
+            return in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Cannot read compressed object", e);
+        }
+    }
+
+    /**
+     * Compresses the content of a file.
+     *
+     * @param file the file
+     * @return the compressed content
+     * @throws IOException if the file cannot be read
+     */
+    static byte[] compressFile(Path file) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            Files.copy(file, out);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes compressed content to a file, replacing it if it exists.
+     *
+     * @param compressed the content compressed by {@link #compressFile(Path)}
+     * @param file       the file
+     * @throws IOException if the file cannot be written
+     */
+    static void decompressToFile(byte[] compressed, Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static final class StubReplacingOutputStream extends ObjectOutputStream {
+        StubReplacingOutputStream(OutputStream out) throws IOException {
+            super(out);
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(Object obj) throws IOException {
+            if (obj instanceof Remote) {
+                try {
+                    return RemoteObject.toStub((Remote) obj);
+                } catch (NoSuchObjectException e) { // NOSONAR not exported, or already a stub
+                    return obj;
+                }
+            }
+            return obj;
+        }
+    }
+}
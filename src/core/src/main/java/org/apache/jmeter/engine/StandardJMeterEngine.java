@@ -572,6 +572,8 @@ public class StandardJMeterEngine implements JMeterEngine, Runnable {
             }
             ListedHashTree threadGroupTree = (ListedHashTree) searcher.getSubTree(group);
             threadGroupTree.add(group, testLevelElements);
+            // Search the tree for sampler configuration once, and let the threads bind to the result
+            TestCompiler.precompile(threadGroupTree);
 
             groups.add(group);
             group.start(groupCount, notifier, threadGroupTree, this);
@@ -26,12 +26,15 @@ import java.util.ServiceLoader;
 
 import org.apache.jmeter.functions.Function;
 import org.apache.jmeter.functions.InvalidVariableException;
+import org.apache.jmeter.samplers.PreviousResponseDataReader;
 import org.apache.jmeter.samplers.SampleResult;
 import org.apache.jmeter.samplers.Sampler;
 import org.apache.jmeter.threads.JMeterContext;
 import org.apache.jmeter.threads.JMeterContextService;
+import org.apache.jmeter.threads.JMeterVariables;
 import org.apache.jmeter.util.JMeterUtils;
 import org.apache.jorphan.reflect.LogAndIgnoreServiceLoadExceptionHandler;
+import org.apiguardian.api.API;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,6 +52,12 @@ public class CompoundVariable implements Function {
     // Created during class init; not modified thereafter
     private static final Map<String, Class<? extends Function>> functions = new HashMap<>();
 
+    /**
+     * Reference keys of the functions which may read the response data of the previous sample,
+     * see {@link PreviousResponseDataReader}. Created during class init; not modified thereafter
+     */
+    private static final List<String> previousResponseDataFunctions = new ArrayList<>();
+
     private boolean hasFunction;
     private boolean isDynamic;
 
@@ -57,6 +66,59 @@ public class CompoundVariable implements Function {
     // Type is ArrayList, so we can use ArrayList#clone
     private ArrayList<Object> compiledComponents = new ArrayList<>();
 
+    /**
+     * {@link #compiledComponents} with adjacent constant segments joined, so {@link #execute(SampleResult, Sampler)}
+     * appends as few items as possible.
+     * Items are either {@link String}, {@link SimpleVariable} or {@link Function}.
+     */
+    private Object[] template = EMPTY_TEMPLATE;
+
+    /**
+     * Names of the variables the template refers to, or {@code null} if the template contains function calls.
+     */
+    private String[] variableNames = NO_VARIABLES;
+
+    private static final Object[] EMPTY_TEMPLATE = new Object[0];
+
+    private static final String[] NO_VARIABLES = new String[0];
+
+    /**
+     * Buffers above the size are not kept for reuse, so a single large value does not pin memory
+     * for the rest of the test.
+     */
+    private static final int MAX_REUSED_BUFFER_SIZE = 16 * 1024;
+
+    private static final ThreadLocal<ExecutionBuffer> BUFFER = ThreadLocal.withInitial(ExecutionBuffer::new);
+
+    /**
+     * Per-thread buffer for evaluating templates.
+     * Functions might evaluate nested {@link CompoundVariable} instances, so the buffer is marked as busy
+     * while in use, and the nested evaluations allocate their own builders.
+     */
+    private static final class ExecutionBuffer {
+        private StringBuilder sb = new StringBuilder();
+        private boolean busy;
+
+        StringBuilder acquire() {
+            if (busy) {
+                return new StringBuilder();
+            }
+            busy = true;
+            sb.setLength(0);
+            return sb;
+        }
+
+        void release(StringBuilder builder) {
+            if (builder != sb) {
+                return;
+            }
+            busy = false;
+            if (sb.capacity() > MAX_REUSED_BUFFER_SIZE) {
+                sb = new StringBuilder();
+            }
+        }
+    }
+
     static {
         try {
             final String contain = // Classnames must contain this string [.functions.]
@@ -82,6 +144,11 @@ public class CompoundVariable implements Function {
                 }
             }
 
+            functions.forEach((referenceKey, functionClass) -> {
+                if (PreviousResponseDataReader.class.isAssignableFrom(functionClass)) {
+                    previousResponseDataFunctions.add(referenceKey);
+                }
+            });
             if (functions.isEmpty()) {
                 log.warn("Did not find any functions");
             } else {
@@ -128,29 +195,103 @@ public class CompoundVariable implements Function {
     /** {@inheritDoc} */
     @Override
     public String execute(SampleResult previousResult, Sampler currentSampler) {
-        if (compiledComponents == null || compiledComponents.isEmpty()) {
+        Object[] template = this.template;
+        if (template.length == 0) {
             return ""; // $NON-NLS-1$
         }
 
-        StringBuilder results = new StringBuilder();
+        String result;
+        if (template.length == 1) {
+            result = evaluate(template[0], previousResult, currentSampler, null);
+        } else {
+            JMeterVariables vars = JMeterContextService.getContext().getVariables();
+            ExecutionBuffer buffer = BUFFER.get();
+            StringBuilder results = buffer.acquire();
+            try {
+                for (Object item : template) {
+                    if (item instanceof String) {
+                        results.append((String) item);
+                    } else {
+                        results.append(evaluate(item, previousResult, currentSampler, vars));
+                    }
+                }
+                result = results.toString();
+            } finally {
+                buffer.release(results);
+            }
+        }
+        if (!isDynamic) {
+            permanentResults = result;
+        }
+        return result;
+    }
+
+    private static String evaluate(Object item, SampleResult previousResult, Sampler currentSampler, JMeterVariables vars) {
+        if (item instanceof String) {
+            return (String) item;
+        }
+        if (item instanceof SimpleVariable) {
+            SimpleVariable variable = (SimpleVariable) item;
+            return vars == null ? variable.toString() : variable.getValue(vars);
+        }
+        try {
+            // StringBuilder#append used to render null as "null", so keep it
+            return String.valueOf(((Function) item).execute(previousResult, currentSampler));
+        } catch (InvalidVariableException e) {
+            // TODO should level be more than debug ?
+            log.debug("Invalid variable: {}", item, e);
+            return ""; // $NON-NLS-1$
+        }
+    }
+
+    /**
+     * Returns the names of the variables the expression refers to, provided the expression consists of
+     * constants and variable references only.
+     * The result of such an expression depends on the values of the variables only, so the callers
+     * might reuse the previous result when the variables did not change.
+     *
+     * @return names of the referenced variables (might contain duplicates),
+     * or {@code null} if the expression calls functions
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public String[] getReferencedVariables() {
+        String[] names = variableNames;
+        return names == null ? null : names.clone();
+    }
+
+    /**
+     * Joins adjacent constant segments, and collects the referenced variable names.
+     */
+    private void compileTemplate() {
+        List<Object> items = new ArrayList<>(compiledComponents.size());
+        List<String> names = new ArrayList<>();
+        boolean hasFunctionCall = false;
+        StringBuilder constant = null;
         for (Object item : compiledComponents) {
-            if (item instanceof Function) {
-                try {
-                    results.append(((Function) item).execute(previousResult, currentSampler));
-                } catch (InvalidVariableException e) {
-                    // TODO should level be more than debug ?
-                    log.debug("Invalid variable: {}", item, e);
+            if (item instanceof Function || item instanceof SimpleVariable) {
+                if (constant != null) {
+                    items.add(constant.toString());
+                    constant = null;
+                }
+                items.add(item);
+                if (item instanceof SimpleVariable) {
+                    names.add(((SimpleVariable) item).getName());
+                } else {
+                    hasFunctionCall = true;
                 }
-            } else if (item instanceof SimpleVariable) {
-                results.append(((SimpleVariable) item).toString());
             } else {
-                results.append(item);
+                if (constant == null) {
+                    constant = new StringBuilder();
+                }
+                constant.append(item);
             }
         }
-        if (!isDynamic) {
-            permanentResults = results.toString();
+        if (constant != null) {
+            items.add(constant.toString());
         }
-        return results.toString();
+        template = items.toArray();
+        variableNames = hasFunctionCall ? null : names.toArray(new String[0]);
     }
 
     @SuppressWarnings("unchecked") // clone will produce correct type
@@ -160,6 +301,8 @@ public class CompoundVariable implements Function {
         func.rawParameters = rawParameters;
         func.hasFunction = hasFunction;
         func.isDynamic = isDynamic;
+        func.template = template;
+        func.variableNames = variableNames;
         return func;
     }
 
@@ -173,6 +316,8 @@ public class CompoundVariable implements Function {
         // TODO should this also clear isDynamic, rawParameters, permanentResults?
         hasFunction = false;
         compiledComponents.clear();
+        template = EMPTY_TEMPLATE;
+        variableNames = NO_VARIABLES;
     }
 
     public void setParameters(String parameters) throws InvalidVariableException {
@@ -193,6 +338,7 @@ public class CompoundVariable implements Function {
                 break;
             }
         }
+        compileTemplate();
     }
 
     static Object getNamedFunction(String functionName) throws InvalidVariableException {
@@ -221,6 +367,26 @@ public class CompoundVariable implements Function {
         return hasFunction;
     }
 
+    /**
+     * Whether a function called by this expression, including nested calls, may read the response data
+     * of the previous sample.
+     *
+     * @return {@code true} if a {@link PreviousResponseDataReader} function is called
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public boolean readsPreviousResponseData() {
+        if (!hasFunction) {
+            return false;
+        }
+        for (String referenceKey : previousResponseDataFunctions) {
+            if (rawParameters.contains(referenceKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     // Dummy methods needed by Function interface
 
     /** {@inheritDoc} */
@@ -46,8 +46,17 @@ public class SimpleVariable {
      */
     @Override
     public String toString() {
+        return getValue(getVariables());
+    }
+
+    /**
+     * Returns the value of the variable, or the reference itself if the variable is not defined.
+     *
+     * @param vars variables to read the value from, might be {@code null}
+     * @return the value of the variable or <code>${name}</code> if the variable is not defined
+     */
+    String getValue(JMeterVariables vars) {
         String ret = null;
-        JMeterVariables vars = getVariables();
 
         if (vars != null) {
             ret = vars.get(name);
@@ -28,7 +28,11 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
+import org.apache.commons.io.input.BoundedInputStream;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.jmeter.samplers.SampleEvent;
 import org.apache.jmeter.samplers.SampleSaveConfiguration;
@@ -36,6 +40,7 @@ import org.apache.jmeter.save.CSVSaveService;
 import org.apache.jmeter.save.SaveService;
 import org.apache.jmeter.util.JMeterUtils;
 import org.apache.jorphan.util.JOrphanUtils;
+import org.apiguardian.api.API;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -135,6 +140,124 @@ public class CsvSampleReader implements Closeable{
         this.lastSampleRead = nextSample();
     }
 
+    /**
+     * Instantiates a reader of the samples between two byte offsets of the file read by {@code fileReader}.
+     */
+    private CsvSampleReader(CsvSampleReader fileReader, long start, long end) {
+        this.file = fileReader.file;
+        try {
+            FileInputStream input = new FileInputStream(file);
+            this.fis = input;
+            input.getChannel().position(start);
+            this.isr = new InputStreamReader(new BoundedInputStream(input, end - start), CHARSET);
+            this.reader = new BufferedReader(isr, BUF_SIZE);
+        } catch (IOException ex) {
+            JOrphanUtils.closeQuietly(isr);
+            JOrphanUtils.closeQuietly(fis);
+            throw new SampleException("Could not create file reader !", ex);
+        }
+        this.metadata = fileReader.metadata;
+        this.columnCount = fileReader.columnCount;
+        this.separator = fileReader.separator;
+        this.numberOfSampleVariablesInCsv = fileReader.numberOfSampleVariablesInCsv;
+        this.row = 0;
+        this.lastSampleRead = nextSample();
+    }
+
+    /**
+     * Splits the samples of the file into readers of consecutive byte ranges, which can be read in parallel.
+     * <p>
+     * Ranges end at line ends that are not inside quoted values, so a sample is never split.
+     * Finding them needs a scan of the bytes of the file, which is much cheaper than parsing the samples.
+     * Row numbers of the samples start from 0 in each range.
+     *
+     * @param inputFile      the input file (must not be {@code null})
+     * @param separator      the separator
+     * @param partitionCount maximal number of readers
+     * @return readers of the consecutive parts of the file, or a single reader of the whole file
+     * when it cannot be split
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public static List<CsvSampleReader> partition(File inputFile, char separator, int partitionCount) {
+        CsvSampleReader fileReader = new CsvSampleReader(inputFile, separator, true);
+        if (partitionCount <= 1 || !isAsciiCompatible(CHARSET)) {
+            return List.of(fileReader);
+        }
+        fileReader.close();
+        long[] bounds;
+        try {
+            bounds = findPartitionBounds(inputFile, partitionCount);
+        } catch (IOException e) {
+            throw new SampleException("Could not split file " + inputFile, e);
+        }
+        if (bounds.length < 2) {
+            return List.of(new CsvSampleReader(inputFile, separator, true));
+        }
+        List<CsvSampleReader> readers = new ArrayList<>(bounds.length - 1);
+        for (int i = 0; i < bounds.length - 1; i++) {
+            readers.add(new CsvSampleReader(fileReader, bounds[i], bounds[i + 1]));
+        }
+        return readers;
+    }
+
+    /**
+     * Quotes and line feeds are found by scanning bytes, which needs an encoding that stores them as single bytes.
+     */
+    private static boolean isAsciiCompatible(String charset) {
+        try {
+            return Arrays.equals("\"\n".getBytes(charset), // $NON-NLS-1$
+                    new byte[]{(byte) CSVSaveService.QUOTING_CHAR, (byte) '\n'});
+        } catch (UnsupportedEncodingException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return offsets of the first sample (after the first line), of the line ends splitting the samples
+     * into ranges of about the same size, and of the end of the file, or an empty array if the first line has no end
+     */
+    private static long[] findPartitionBounds(File file, int partitionCount) throws IOException {
+        long length = file.length();
+        List<Long> bounds = new ArrayList<>(partitionCount + 1);
+        long step = 0;
+        long nextBound = 0;
+        boolean quoted = false;
+        byte[] buffer = new byte[BUF_SIZE];
+        try (InputStream in = new FileInputStream(file)) {
+            long position = 0;
+            int read;
+            scan:
+            while ((read = in.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    byte b = buffer[i];
+                    if (b == CSVSaveService.QUOTING_CHAR) {
+                        // Escaped quotes are doubled, so they toggle the state twice
+                        quoted = !quoted;
+                    } else if (b == '\n' && !quoted && position + i + 1 >= nextBound) {
+                        long bound = position + i + 1;
+                        if (bounds.isEmpty()) {
+                            step = (length - bound) / partitionCount;
+                        }
+                        bounds.add(bound);
+                        if (bounds.size() == partitionCount) {
+                            break scan;
+                        }
+                        nextBound = bound + step;
+                    }
+                }
+                position += read;
+            }
+        }
+        if (bounds.isEmpty()) {
+            return new long[0];
+        }
+        if (bounds.get(bounds.size() - 1) < length) {
+            bounds.add(length);
+        }
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
     private Pair<Boolean, SampleMetadata> readMetadata(char separator, boolean useSaveSampleCfg) {
         try {
             SampleMetadata result;
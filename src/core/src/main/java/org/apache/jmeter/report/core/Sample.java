@@ -18,6 +18,7 @@
 package org.apache.jmeter.report.core;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.jmeter.samplers.SampleResult;
 import org.apache.jmeter.save.CSVSaveService;
 import org.apache.jmeter.util.JMeterUtils;
 
@@ -258,6 +259,48 @@ public class Sample {
         }
     }
 
+    /**
+     * Gets the intended start time stored in the sample.
+     *
+     * @return the intended start time stored in the sample or 0 if the sample was not paced or column is not in results
+     * @since 6.0.0
+     */
+    public long getIntendedStartTime() {
+        if(metadata.indexOf(CSVSaveService.CSV_INTENDED_START) >= 0) {
+            return getData(long.class, CSVSaveService.CSV_INTENDED_START);
+        } else {
+            return 0L;
+        }
+    }
+
+    /**
+     * Gets the elapsed time plus the time the sample started late according to its intended start time.
+     *
+     * @return the time since the intended start, or the elapsed time if the sample was not paced
+     * @see org.apache.jmeter.samplers.SampleResult#getCorrectedTime()
+     * @since 6.0.0
+     */
+    public long getCorrectedElapsedTime() {
+        long elapsedTime = getElapsedTime();
+        long intendedStartTime = getIntendedStartTime();
+        long startTime = getStartTime();
+        if (intendedStartTime <= 0 || intendedStartTime >= startTime) {
+            return elapsedTime;
+        }
+        return elapsedTime + startTime - intendedStartTime;
+    }
+
+    /**
+     * Gets the time to use in response time statistics.
+     *
+     * @return the corrected elapsed time if response times are corrected for coordinated omission, the elapsed time otherwise
+     * @see org.apache.jmeter.samplers.SampleResult#getTimeForStatistics()
+     * @since 6.0.0
+     */
+    public long getElapsedTimeForStatistics() {
+        return SampleResult.isCoordinatedOmissionCorrected() ? getCorrectedElapsedTime() : getElapsedTime();
+    }
+
     /**
      * Gets the success status stored in the sample.
      *
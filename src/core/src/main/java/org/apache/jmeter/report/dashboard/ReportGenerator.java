@@ -20,11 +20,19 @@ package org.apache.jmeter.report.dashboard;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -42,12 +50,15 @@ import org.apache.jmeter.report.processor.AbstractSampleConsumer;
 import org.apache.jmeter.report.processor.AggregateConsumer;
 import org.apache.jmeter.report.processor.ApdexSummaryConsumer;
 import org.apache.jmeter.report.processor.ApdexThresholdsInfo;
+import org.apache.jmeter.report.processor.BinaryFileSampleSource;
 import org.apache.jmeter.report.processor.CsvFileSampleSource;
 import org.apache.jmeter.report.processor.ErrorsSummaryConsumer;
 import org.apache.jmeter.report.processor.FilterConsumer;
 import org.apache.jmeter.report.processor.MaxAggregator;
 import org.apache.jmeter.report.processor.MinAggregator;
 import org.apache.jmeter.report.processor.NormalizerSampleConsumer;
+import org.apache.jmeter.report.processor.ParallelSampleConsumer;
+import org.apache.jmeter.report.processor.PartialResultSampleSource;
 import org.apache.jmeter.report.processor.RequestsSummaryConsumer;
 import org.apache.jmeter.report.processor.SampleConsumer;
 import org.apache.jmeter.report.processor.SampleContext;
@@ -57,8 +68,10 @@ import org.apache.jmeter.report.processor.Top5ErrorsBySamplerConsumer;
 import org.apache.jmeter.report.processor.graph.AbstractGraphConsumer;
 import org.apache.jmeter.reporters.ResultCollector;
 import org.apache.jmeter.samplers.SampleSaveConfiguration;
+import org.apache.jmeter.save.BinaryResultFormat;
 import org.apache.jmeter.util.JMeterUtils;
 import org.apache.oro.text.regex.PatternMatcher;
+import org.apiguardian.api.API;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -101,12 +114,31 @@ public class ReportGenerator {
 
     private static final Pattern POTENTIAL_CAMEL_CASE_PATTERN = Pattern.compile("_(.)");
 
+    /**
+     * The property {@value} sets the file to which report generation writes the partial
+     * results of the graphs and statistics instead of generating the dashboard
+     */
+    public static final String PARTIAL_RESULT_FILE_PROPERTY = "jmeter.reportgenerator.partial_result_file"; // $NON-NLS-1$
+
     private final File testFile;
+    /** Partial result files to merge instead of reading samples from the test file */
+    private final List<File> partialResultFiles;
     private final ReportGeneratorConfiguration configuration;
 
     private static final boolean USE_JAVA_REGEX = !JMeterUtils.getPropDefault(
             "jmeter.regex.engine", "oro").equalsIgnoreCase("oro");
 
+    /** Number of threads running the summary and graph consumers, 1 runs them on the thread reading the samples */
+    private static final int CONSUMER_THREADS = JMeterUtils.getPropDefault(
+            "jmeter.reportgenerator.consumer_threads", 1);
+
+    /**
+     * Number of parts of a CSV results file parsed in parallel, their partial results are merged,
+     * 1 parses the whole file on a single thread
+     */
+    private static final int PARSER_THREADS = JMeterUtils.getPropDefault(
+            "jmeter.reportgenerator.parser_threads", 1);
+
     /**
      * ResultCollector used
      */
@@ -121,7 +153,8 @@ public class ReportGenerator {
      */
     public ReportGenerator(String resultsFile, ResultCollector resultCollector)
             throws ConfigurationException {
-        if (!CSV_OUTPUT_FORMAT) {
+        if (!CSV_OUTPUT_FORMAT && !BinaryResultFormat.isBinaryResultFile(resultsFile)
+                && !(resultCollector == null && PartialResultSampleSource.isPartialResultFile(resultsFile))) {
             throw new IllegalArgumentException(
                     "Report generation requires csv output format, check 'jmeter.save.saveservice.output_format' property");
         }
@@ -144,6 +177,39 @@ public class ReportGenerator {
         }
         this.resultCollector = resultCollector;
         this.testFile = file;
+        this.partialResultFiles = resultCollector == null && PartialResultSampleSource.isPartialResultFile(resultsFile)
+                ? List.of(file)
+                : List.of();
+        this.configuration = loadConfiguration();
+    }
+
+    /**
+     * Instantiates a report generator merging partial result files, written by
+     * report generations run with the {@value #PARTIAL_RESULT_FILE_PROPERTY} property.
+     *
+     * @param partialResultFiles the partial result files
+     * @throws ConfigurationException when loading configuration from file fails
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public ReportGenerator(List<File> partialResultFiles) throws ConfigurationException {
+        if (partialResultFiles.isEmpty()) {
+            throw new IllegalArgumentException("No partial result file to merge");
+        }
+        for (File file : partialResultFiles) {
+            if (!(file.isFile() && file.canRead())) {
+                throw new IllegalArgumentException(String.format(
+                        "Cannot read partial result file : %s", file));
+            }
+        }
+        log.info("Will generate report from partial result files: {}", partialResultFiles);
+        this.resultCollector = null;
+        this.testFile = partialResultFiles.get(0);
+        this.partialResultFiles = new ArrayList<>(partialResultFiles);
+        this.configuration = loadConfiguration();
+    }
+
+    private static ReportGeneratorConfiguration loadConfiguration() throws ConfigurationException {
         final Properties merged = new Properties();
         File rgp = new File(JMeterUtils.getJMeterBinDir(), REPORTGENERATOR_PROPERTIES);
         if (log.isInfoEnabled()) {
@@ -152,7 +218,7 @@ public class ReportGenerator {
         merged.putAll(loadProps(rgp));
         log.info("Merging with JMeter properties");
         merged.putAll(JMeterUtils.getJMeterProperties());
-        configuration = ReportGeneratorConfiguration.loadFromProperties(merged);
+        return ReportGeneratorConfiguration.loadFromProperties(merged);
     }
 
     private static Properties loadProps(File file) {
@@ -190,6 +256,10 @@ public class ReportGenerator {
 
     /**
      * Generate dashboard reports using the data from the specified CSV File.
+     * <p>
+     * When the {@value #PARTIAL_RESULT_FILE_PROPERTY} property is set, the partial
+     * results of the graphs and statistics are written to that file instead, to be
+     * merged with the partial results of other engines by {@link #ReportGenerator(List)}.
      *
      * @throws GenerationException when the generation failed
      */
@@ -207,36 +277,31 @@ public class ReportGenerator {
         // Build consumers chain
         SampleContext sampleContext = new SampleContext();
         sampleContext.setWorkingDirectory(tmpDir);
-        SampleSource source = new CsvFileSampleSource(testFile, CSV_DEFAULT_SEPARATOR);
-        source.setSampleContext(sampleContext);
-
-        NormalizerSampleConsumer normalizer = new NormalizerSampleConsumer();
-        normalizer.setName(NORMALIZER_CONSUMER_NAME);
-
-        FilterConsumer dateRangeConsumer = createFilterByDateRange();
-        dateRangeConsumer.addSampleConsumer(createBeginDateConsumer());
-        dateRangeConsumer.addSampleConsumer(createEndDateConsumer());
-
-        FilterConsumer nameFilter = createNameFilter();
-
-        FilterConsumer excludeControllerFilter = createExcludeControllerFilter();
-
-        nameFilter.addSampleConsumer(excludeControllerFilter);
-
-        dateRangeConsumer.addSampleConsumer(nameFilter);
-
-        normalizer.addSampleConsumer(dateRangeConsumer);
-
-        source.addSampleConsumer(normalizer);
-
-        // Get graph configurations
-        Map<String, GraphConfiguration> graphConfigurations = configuration
-                .getGraphConfigurations();
-
-        // Process configuration to build graph consumers
-        for (Map.Entry<String, GraphConfiguration> entryGraphCfg : graphConfigurations.entrySet()) {
-            addGraphConsumer(nameFilter, excludeControllerFilter, entryGraphCfg);
+        String partialResultFile = JMeterUtils.getProperty(PARTIAL_RESULT_FILE_PROPERTY);
+        sampleContext.setPartialResultMode(partialResultFile != null && !partialResultFile.isEmpty());
+        // Binary result files contain time stamps in milliseconds, they do not need the normalizer,
+        // partial result files contain no sample at all
+        boolean mergePartialResults = !partialResultFiles.isEmpty();
+        boolean binaryResults = BinaryResultFormat.isBinaryResultFile(testFile.getName());
+        List<File> partitionResultFiles = List.of();
+        SampleSource source;
+        if (mergePartialResults) {
+            source = new PartialResultSampleSource(partialResultFiles);
+        } else if (binaryResults) {
+            source = new BinaryFileSampleSource(testFile, CSV_DEFAULT_SEPARATOR);
+        } else {
+            List<CsvFileSampleSource> partitions = CsvFileSampleSource.partition(
+                    testFile, CSV_DEFAULT_SEPARATOR, PARSER_THREADS);
+            if (partitions.size() > 1) {
+                partitionResultFiles = generatePartitionResults(partitions, tmpDir);
+                source = new PartialResultSampleSource(partitionResultFiles);
+                mergePartialResults = true;
+            } else {
+                source = partitions.get(0);
+            }
         }
+        source.setSampleContext(sampleContext);
+        addConsumers(source, !(binaryResults || mergePartialResults));
 
         // Generate data
         log.debug("Start samples processing");
@@ -244,9 +309,20 @@ public class ReportGenerator {
             source.run(); // NOSONAR
         } catch (SampleException ex) {
             throw new GenerationException("Error while processing samples: " + ex.getMessage(), ex);
+        } finally {
+            for (File partitionResultFile : partitionResultFiles) {
+                FileUtils.deleteQuietly(partitionResultFile);
+            }
         }
         log.debug("End of samples processing");
 
+        if (sampleContext.isPartialResultMode()) {
+            writePartialResults(sampleContext, new File(partialResultFile));
+            removeTempDir(tmpDir, tmpDirCreated);
+            log.debug("End of partial results generation");
+            return;
+        }
+
         log.debug("Start data exporting");
 
         // Process configuration to build data exporters
@@ -268,6 +344,119 @@ public class ReportGenerator {
         log.debug("End of report generation");
     }
 
+    /**
+     * Builds the chain of filters, summary and graph consumers fed by the source.
+     *
+     * @param source    the source of the samples
+     * @param normalize {@code true} when the time stamps of the samples need the normalizer
+     * @throws GenerationException when a graph consumer cannot be created
+     */
+    private void addConsumers(SampleSource source, boolean normalize) throws GenerationException {
+        NormalizerSampleConsumer normalizer = new NormalizerSampleConsumer();
+        normalizer.setName(NORMALIZER_CONSUMER_NAME);
+
+        FilterConsumer dateRangeConsumer = createFilterByDateRange();
+        dateRangeConsumer.addSampleConsumer(createBeginDateConsumer());
+        dateRangeConsumer.addSampleConsumer(createEndDateConsumer());
+
+        FilterConsumer nameFilter = createNameFilter();
+        AbstractSampleConsumer nameFilterConsumers = parallelConsumersOf(nameFilter);
+        addSummaryConsumers(nameFilterConsumers);
+
+        FilterConsumer excludeControllerFilter = createExcludeControllerFilter();
+        AbstractSampleConsumer excludeControllerConsumers = parallelConsumersOf(excludeControllerFilter);
+        excludeControllerConsumers.addSampleConsumer(createErrorsSummaryConsumer());
+
+        nameFilterConsumers.addSampleConsumer(excludeControllerFilter);
+
+        dateRangeConsumer.addSampleConsumer(nameFilter);
+
+        if (normalize) {
+            normalizer.addSampleConsumer(dateRangeConsumer);
+            source.addSampleConsumer(normalizer);
+        } else {
+            source.addSampleConsumer(dateRangeConsumer);
+        }
+
+        // Get graph configurations
+        Map<String, GraphConfiguration> graphConfigurations = configuration
+                .getGraphConfigurations();
+
+        // Process configuration to build graph consumers
+        for (Map.Entry<String, GraphConfiguration> entryGraphCfg : graphConfigurations.entrySet()) {
+            addGraphConsumer(nameFilterConsumers, excludeControllerConsumers, entryGraphCfg);
+        }
+    }
+
+    /**
+     * Runs the consumers of each part of the results file on its own thread, in partial result mode,
+     * and writes their partial results to the temporary directory, so they can be merged.
+     *
+     * @param partitions sources reading the parts of the results file
+     * @param tmpDir     the temporary directory
+     * @return the partial result files, one per part
+     * @throws GenerationException when the samples of a part cannot be processed
+     */
+    private List<File> generatePartitionResults(List<CsvFileSampleSource> partitions, File tmpDir)
+            throws GenerationException {
+        log.info("Parsing {} in {} parts", testFile, partitions.size());
+        ExecutorService executor = Executors.newFixedThreadPool(partitions.size());
+        List<File> partitionResultFiles = new ArrayList<>();
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < partitions.size(); i++) {
+                CsvFileSampleSource partition = partitions.get(i);
+                File partitionResultFile = new File(tmpDir,
+                        "partition-" + i + PartialResultSampleSource.FILE_EXTENSION); // $NON-NLS-1$
+                partitionResultFiles.add(partitionResultFile);
+                results.add(executor.submit(() -> {
+                    SampleContext context = new SampleContext();
+                    context.setWorkingDirectory(tmpDir);
+                    context.setPartialResultMode(true);
+                    partition.setSampleContext(context);
+                    addConsumers(partition, true);
+                    partition.run();
+                    writePartialResults(context, partitionResultFile);
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+            return partitionResultFiles;
+        } catch (ExecutionException ex) {
+            partitionResultFiles.forEach(FileUtils::deleteQuietly);
+            Throwable cause = ex.getCause();
+            if (cause instanceof GenerationException) {
+                throw (GenerationException) cause;
+            }
+            throw new GenerationException("Error while processing samples: " + cause.getMessage(), cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            partitionResultFiles.forEach(FileUtils::deleteQuietly);
+            throw new GenerationException("Interrupted while processing samples", ex);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void writePartialResults(SampleContext sampleContext, File partialResultFile)
+            throws GenerationException {
+        // In partial result mode, the consumers store their partial result instead of their result
+        Map<String, Serializable> partialResults = new HashMap<>();
+        for (Map.Entry<String, Object> entry : sampleContext.getData().entrySet()) {
+            if (entry.getValue() instanceof Serializable) {
+                partialResults.put(entry.getKey(), (Serializable) entry.getValue());
+            }
+        }
+        log.info("Writing partial results of {} consumers to: {}", partialResults.size(), partialResultFile);
+        try {
+            PartialResultSampleSource.writePartialResults(partialResultFile, partialResults);
+        } catch (IOException ex) {
+            throw new GenerationException("Cannot write partial result file " + partialResultFile, ex);
+        }
+    }
+
     /**
      * @return {@link FilterConsumer} that filter data based on date range
      */
@@ -323,8 +512,8 @@ public class ReportGenerator {
         return true;
     }
 
-    private static void addGraphConsumer(FilterConsumer nameFilter,
-            FilterConsumer excludeControllerFilter,
+    private static void addGraphConsumer(AbstractSampleConsumer nameFilter,
+            AbstractSampleConsumer excludeControllerFilter,
             Map.Entry<String, ? extends GraphConfiguration> entryGraphCfg)
             throws GenerationException {
         String graphName = entryGraphCfg.getKey();
@@ -403,10 +592,25 @@ public class ReportGenerator {
         excludeControllerFilter
                 .setSamplePredicate(new ControllerSamplePredicate());
         excludeControllerFilter.setReverseFilter(true);
-        excludeControllerFilter.addSampleConsumer(createErrorsSummaryConsumer());
         return excludeControllerFilter;
     }
 
+    /**
+     * @param filter the filter whose samples feed the summary and graph consumers
+     * @return the consumer to which the summary and graph consumers must be added:
+     * the filter itself, or a {@link ParallelSampleConsumer} fed by the filter
+     * when {@code jmeter.reportgenerator.consumer_threads} is greater than 1
+     */
+    private static AbstractSampleConsumer parallelConsumersOf(FilterConsumer filter) {
+        if (CONSUMER_THREADS <= 1) {
+            return filter;
+        }
+        ParallelSampleConsumer parallelConsumer = new ParallelSampleConsumer(CONSUMER_THREADS);
+        parallelConsumer.setName(filter.getName() + "-parallel");
+        filter.addSampleConsumer(parallelConsumer);
+        return parallelConsumer;
+    }
+
     private static SampleConsumer createTop5ErrorsConsumer(ReportGeneratorConfiguration configuration) {
         Top5ErrorsBySamplerConsumer top5ErrorsBySamplerConsumer = new Top5ErrorsBySamplerConsumer();
         top5ErrorsBySamplerConsumer.setName(TOP5_ERRORS_BY_SAMPLER_CONSUMER_NAME);
@@ -488,13 +692,16 @@ public class ReportGenerator {
                 return filteredSamplesPattern == null
                         || filteredSamplesPattern.matcher(sample.getName()).matches();
         });
-        nameFilter.addSampleConsumer(createApdexSummaryConsumer());
-        nameFilter.addSampleConsumer(createRequestsSummaryConsumer());
-        nameFilter.addSampleConsumer(createStatisticsSummaryConsumer());
-        nameFilter.addSampleConsumer(createTop5ErrorsConsumer(configuration));
         return nameFilter;
     }
 
+    private void addSummaryConsumers(AbstractSampleConsumer nameFilterConsumers) {
+        nameFilterConsumers.addSampleConsumer(createApdexSummaryConsumer());
+        nameFilterConsumers.addSampleConsumer(createRequestsSummaryConsumer());
+        nameFilterConsumers.addSampleConsumer(createStatisticsSummaryConsumer());
+        nameFilterConsumers.addSampleConsumer(createTop5ErrorsConsumer(configuration));
+    }
+
     /**
      * @return Consumer that compute the end date of the test
      */
@@ -17,10 +17,13 @@
 
 package org.apache.jmeter.report.processor;
 
+import java.io.Serializable;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 
 import org.apache.jmeter.report.core.Sample;
+import org.apiguardian.api.API;
 
 /**
  * The class AbstractSummaryConsumer provides a base class for data of the
@@ -31,7 +34,18 @@ import org.apache.jmeter.report.core.Sample;
  * @since 3.0
  */
 public abstract class AbstractSummaryConsumer<TData> extends
-        AbstractSampleConsumer {
+        AbstractSampleConsumer implements PartialResultConsumer {
+
+    /**
+     * Partial result holding the state of the data of each key.
+     */
+    private static final class PartialSummary implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final HashMap<String, Serializable> data = new HashMap<>();
+        private final HashSet<String> controllers = new HashSet<>();
+        private Serializable overallData;
+    }
 
     /**
      * The class SummaryInfo stores intermediate results.
@@ -189,6 +203,35 @@ public abstract class AbstractSummaryConsumer<TData> extends
      */
     protected abstract void updateData(SummaryInfo info, Sample sample);
 
+    /**
+     * Gets the state of the data of a key, to be merged by
+     * {@link #mergePartialData(String, Object, Serializable)}.
+     *
+     * @param data the data of a key
+     * @return the state of the data
+     * @throws UnsupportedOperationException if the data cannot be merged, which is the default
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    protected Serializable getPartialData(TData data) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support partial results");
+    }
+
+    /**
+     * Merges the state of the data of a key returned by {@link #getPartialData(Object)}.
+     *
+     * @param key the key, {@code null} for the overall data
+     * @param data the current data of the key, {@code null} if there is none yet
+     * @param partialData the state to merge
+     * @return the merged data
+     * @throws UnsupportedOperationException if the data cannot be merged, which is the default
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    protected TData mergePartialData(String key, TData data, Serializable partialData) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support partial results");
+    }
+
     private MapResultData createResultFromKey(String key) {
         SummaryInfo info = (key == null) ? overallInfo : infos.get(key);
         MapResultData result = null;
@@ -247,36 +290,38 @@ public abstract class AbstractSummaryConsumer<TData> extends
      */
     @Override
     public void stopConsuming() {
-        MapResultData result = new MapResultData();
-
-        // Push the support flag in the result
-        result.setResult(RESULT_VALUE_SUPPORTS_CONTROLLERS_DISCRIMINATION,
-                new ValueResultData(supportsControllersDiscrimination));
-
-        // Add headers
-        result.setResult(RESULT_VALUE_TITLES, createResultTitles());
-
-        // Add overall row if needed
-        if (hasOverallResult) {
-            MapResultData overallResult = createResultFromKey(null);
-            if (overallResult != null) {
-                result.setResult(RESULT_VALUE_OVERALL, overallResult);
+        if (!mergeOrStorePartialResults()) {
+            MapResultData result = new MapResultData();
+
+            // Push the support flag in the result
+            result.setResult(RESULT_VALUE_SUPPORTS_CONTROLLERS_DISCRIMINATION,
+                    new ValueResultData(supportsControllersDiscrimination));
+
+            // Add headers
+            result.setResult(RESULT_VALUE_TITLES, createResultTitles());
+
+            // Add overall row if needed
+            if (hasOverallResult) {
+                MapResultData overallResult = createResultFromKey(null);
+                if (overallResult != null) {
+                    result.setResult(RESULT_VALUE_OVERALL, overallResult);
+                }
             }
-        }
 
-        // Build rows from samples
-        ListResultData itemsResult = new ListResultData();
-        for (String key : infos.keySet()) {
-            // Add result only if data exist
-            MapResultData keyResult = createResultFromKey(key);
-            if (keyResult != null) {
-                itemsResult.addResult(keyResult);
+            // Build rows from samples
+            ListResultData itemsResult = new ListResultData();
+            for (String key : infos.keySet()) {
+                // Add result only if data exist
+                MapResultData keyResult = createResultFromKey(key);
+                if (keyResult != null) {
+                    itemsResult.addResult(keyResult);
+                }
             }
-        }
-        result.setResult(RESULT_VALUE_ITEMS, itemsResult);
+            result.setResult(RESULT_VALUE_ITEMS, itemsResult);
 
-        // Store the result in the context
-        setDataToContext(getName(), result);
+            // Store the result in the context
+            setDataToContext(getName(), result);
+        }
 
         super.stopProducing();
 
@@ -284,4 +329,36 @@ public abstract class AbstractSummaryConsumer<TData> extends
         infos.clear();
         overallInfo.setData(null);
     }
+
+    @Override
+    public Serializable getPartialResult() {
+        PartialSummary partial = new PartialSummary();
+        for (Map.Entry<String, SummaryInfo> entry : infos.entrySet()) {
+            SummaryInfo info = entry.getValue();
+            if (info.getData() != null) {
+                partial.data.put(entry.getKey(), getPartialData(info.getData()));
+                if (info.isController()) {
+                    partial.controllers.add(entry.getKey());
+                }
+            }
+        }
+        if (overallInfo.getData() != null) {
+            partial.overallData = getPartialData(overallInfo.getData());
+        }
+        return partial;
+    }
+
+    @Override
+    public void mergePartialResult(Serializable partialResult) {
+        PartialSummary partial = (PartialSummary) partialResult;
+        for (Map.Entry<String, Serializable> entry : partial.data.entrySet()) {
+            String key = entry.getKey();
+            SummaryInfo info = infos.computeIfAbsent(key,
+                    k -> new SummaryInfo(partial.controllers.contains(k)));
+            info.setData(mergePartialData(key, info.getData(), entry.getValue()));
+        }
+        if (partial.overallData != null) {
+            overallInfo.setData(mergePartialData(null, overallInfo.getData(), partial.overallData));
+        }
+    }
 }
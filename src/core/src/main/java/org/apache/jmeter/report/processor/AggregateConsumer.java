@@ -17,6 +17,7 @@
 
 package org.apache.jmeter.report.processor;
 
+import java.io.Serializable;
 import java.util.Objects;
 
 import org.apache.jmeter.report.core.Sample;
@@ -28,7 +29,7 @@ import org.apache.jmeter.report.core.SampleSelector;
  *
  * @since 3.0
  */
-public class AggregateConsumer extends AbstractSampleConsumer {
+public class AggregateConsumer extends AbstractSampleConsumer implements PartialResultConsumer {
 
     /** The aggregator. */
     private final Aggregator aggregator;
@@ -107,8 +108,19 @@ public class AggregateConsumer extends AbstractSampleConsumer {
      */
     @Override
     public void stopConsuming() {
-        setDataToContext(getName(), new ValueResultData(aggregator.getResult()));
+        if (!mergeOrStorePartialResults()) {
+            setDataToContext(getName(), new ValueResultData(aggregator.getResult()));
+        }
         super.stopProducing();
     }
 
+    @Override
+    public Serializable getPartialResult() {
+        return aggregator.getCount() == 0 ? null : aggregator.getPartialResult();
+    }
+
+    @Override
+    public void mergePartialResult(Serializable partialResult) {
+        aggregator.mergePartialResult(partialResult);
+    }
 }
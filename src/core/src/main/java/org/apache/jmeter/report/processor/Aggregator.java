@@ -17,6 +17,10 @@
 
 package org.apache.jmeter.report.processor;
 
+import java.io.Serializable;
+
+import org.apiguardian.api.API;
+
 /**
  * The interface Aggregator represents an aggregator used by graph consumers.
  *
@@ -50,4 +54,30 @@ public interface Aggregator {
      * Reset the state of the aggregator.
      */
     void reset();
+
+    /**
+     * Gets the state of this aggregator, which can be merged in another aggregator
+     * of the same type with {@link #mergePartialResult(Serializable)}.
+     *
+     * @return the state of the aggregator
+     * @throws UnsupportedOperationException if the aggregator cannot be merged
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    default Serializable getPartialResult() {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support partial results");
+    }
+
+    /**
+     * Merges the state of another aggregator of the same type, as if the values
+     * it aggregated had been added to this aggregator.
+     *
+     * @param partialResult the state returned by {@link #getPartialResult()}
+     * @throws UnsupportedOperationException if the aggregator cannot be merged
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    default void mergePartialResult(Serializable partialResult) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support partial results");
+    }
 }
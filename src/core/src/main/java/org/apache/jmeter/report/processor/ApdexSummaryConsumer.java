@@ -17,6 +17,8 @@
 
 package org.apache.jmeter.report.processor;
 
+import java.io.Serializable;
+
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.jmeter.report.core.Sample;
 import org.apache.jmeter.util.JMeterUtils;
@@ -167,4 +169,19 @@ public class ApdexSummaryConsumer extends
         return titles;
     }
 
+    @Override
+    protected Serializable getPartialData(ApdexSummaryData data) {
+        return new long[]{data.getSatisfiedCount(), data.getToleratedCount(), data.getTotalCount()};
+    }
+
+    @Override
+    protected ApdexSummaryData mergePartialData(String key, ApdexSummaryData data, Serializable partialData) {
+        // The thresholds of this report generation apply to the merged counts
+        ApdexSummaryData merged = data != null ? data : new ApdexSummaryData(getThresholdSelector().select(key));
+        long[] counts = (long[]) partialData;
+        merged.setSatisfiedCount(merged.getSatisfiedCount() + counts[0]);
+        merged.setToleratedCount(merged.getToleratedCount() + counts[1]);
+        merged.setTotalCount(merged.getTotalCount() + counts[2]);
+        return merged;
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.report.processor;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.jmeter.report.core.Sample;
+import org.apache.jmeter.report.core.SampleException;
+import org.apache.jmeter.report.core.SampleMetadata;
+import org.apache.jmeter.report.core.TimeHelper;
+import org.apache.jmeter.save.BinaryResultFormat;
+import org.apache.jmeter.save.BinaryResultReader;
+import org.apiguardian.api.API;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Read a result file written in the {@link BinaryResultFormat binary result format}
+ * and produce its samples on channel 0 to all the registered <code>SampleConsumer</code>s.
+ * <p>
+ * Time stamps are produced in milliseconds whatever the value of
+ * <code>jmeter.save.saveservice.timestamp_format</code>,
+ * so the samples do not need to go through a {@link NormalizerSampleConsumer}.
+ *
+ * @since 6.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+public class BinaryFileSampleSource extends AbstractSampleSource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BinaryFileSampleSource.class);
+
+    private final File inputFile;
+
+    private final char separator;
+
+    private final CsvFileSampleSource.PrivateProducer producer = new CsvFileSampleSource.PrivateProducer();
+
+    /**
+     * Build a sample source from the specified input file.
+     *
+     * @param inputFile The input sample file (binary result file) (must not be {@code null})
+     * @param separator The character separator of the produced sample metadata,
+     *                  used when consumers write samples to CSV files
+     */
+    public BinaryFileSampleSource(final File inputFile, final char separator) {
+        this.inputFile = inputFile;
+        this.separator = separator;
+    }
+
+    /**
+     * Read the input file and produce its samples on registered sample consumers
+     */
+    private void produce() {
+        SampleContext context = getSampleContext();
+        Validate.validState(context != null, "Set a sample context before producing samples.");
+
+        long sampleCount = 0;
+        long start = System.currentTimeMillis();
+        try (BinaryResultReader reader = new BinaryResultReader(new FileInputStream(inputFile))) {
+            SampleMetadata metadata = new SampleMetadata(separator, reader.getColumnNames());
+            producer.setSampleContext(context);
+            producer.setProducedMetadata(metadata, 0);
+            producer.setChannelAttribute(0, CsvFileSampleSource.SOURCE_FILE_ATTRIBUTE, inputFile);
+            producer.startProducing();
+            try {
+                String[] row;
+                while ((row = readRow(reader)) != null) {
+                    producer.produce(new Sample(sampleCount, metadata, row), 0);
+                    sampleCount++;
+                }
+            } finally {
+                producer.stopProducing();
+            }
+        } catch (IOException e) {
+            throw new SampleException("Could not read binary result file " + inputFile, e);
+        }
+        if (LOG.isInfoEnabled()) {
+            LOG.info("produce(): {} samples produced in {} on channel 0",
+                    sampleCount, TimeHelper.time(System.currentTimeMillis() - start));
+        }
+    }
+
+    private String[] readRow(BinaryResultReader reader) throws IOException {
+        try {
+            return reader.readRow();
+        } catch (EOFException e) {
+            // The last record is incomplete when JMeter was killed while writing
+            LOG.warn("Ignoring truncated last sample of {}", inputFile);
+            return null;
+        }
+    }
+
+    @Override
+    public void setSampleConsumers(List<SampleConsumer> consumers) {
+        producer.setSampleConsumers(consumers);
+    }
+
+    @Override
+    public void addSampleConsumer(SampleConsumer consumer) {
+        producer.addSampleConsumer(consumer);
+    }
+
+    @Override
+    public void removeSampleConsumer(SampleConsumer consumer) {
+        producer.removeSampleConsumer(consumer);
+    }
+
+    @Override
+    public void run() {
+        produce();
+    }
+}
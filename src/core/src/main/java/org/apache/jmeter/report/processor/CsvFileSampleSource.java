@@ -30,6 +30,7 @@ import org.apache.jmeter.report.core.Sample;
 import org.apache.jmeter.report.core.SampleException;
 import org.apache.jmeter.report.core.SampleMetadata;
 import org.apache.jmeter.report.core.TimeHelper;
+import org.apiguardian.api.API;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -87,10 +88,62 @@ public class CsvFileSampleSource extends AbstractSampleSource {
      *                  columns
      */
     public CsvFileSampleSource(final File inputFile, final char separator) {
+        File[] secondaryInputs = findSecondaryInputs(inputFile);
+        inputFiles = new File[secondaryInputs.length + 1];
+        csvReaders = new CsvSampleReader[secondaryInputs.length + 1];
+        int k = 0;
+        // primary input file (ex. input.csv)
+        csvReaders[k] = new CsvSampleReader(inputFile, separator, true);
+        inputFiles[k] = inputFile;
+        // secondary input files (ex. input-1.csv, input-2.csv, input-3.csv)
+        for (File input : secondaryInputs) {
+            k++;
+            csvReaders[k] = new CsvSampleReader(input, separator, true);
+            inputFiles[k] = secondaryInputs[k - 1];
+        }
+        producer = new PrivateProducer();
+    }
+
+    private CsvFileSampleSource(final File inputFile, final CsvSampleReader csvReader) {
+        inputFiles = new File[]{inputFile};
+        csvReaders = new CsvSampleReader[]{csvReader};
+        producer = new PrivateProducer();
+    }
+
+    /**
+     * Build sample sources reading consecutive parts of the input file, so the file can be parsed in parallel
+     * by running each source on its own thread.
+     * <p>
+     * The file is read by a single source when it has secondary input files, as they are produced
+     * on other channels, or when it cannot be split (see {@link CsvSampleReader#partition(File, char, int)}).
+     *
+     * @param inputFile      The input sample file (CSV file) (must not be {@code null})
+     * @param separator      The character separator to be used for delimiting samples
+     *                       columns
+     * @param partitionCount maximal number of sources
+     * @return the sources producing the samples of the file on channel 0
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public static List<CsvFileSampleSource> partition(final File inputFile, final char separator,
+            final int partitionCount) {
+        if (partitionCount <= 1 || findSecondaryInputs(inputFile).length > 0) {
+            return List.of(new CsvFileSampleSource(inputFile, separator));
+        }
+        List<CsvFileSampleSource> sources = new ArrayList<>();
+        for (CsvSampleReader csvReader : CsvSampleReader.partition(inputFile, separator, partitionCount)) {
+            sources.add(new CsvFileSampleSource(inputFile, csvReader));
+        }
+        return sources;
+    }
+
+    /**
+     * Find secondary inputs by regex match
+     */
+    private static File[] findSecondaryInputs(final File inputFile) {
         final String inputRootName = getFileRootName(inputFile.getName());
         final String inputExtension = getFileExtension(inputFile.getName());
 
-        // Find secondary inputs by regex match
         File[] secondaryInputs = null;
         try {
             final Pattern pattern = Pattern.compile(inputRootName
@@ -105,19 +158,7 @@ public class CsvFileSampleSource extends AbstractSampleSource {
         if (secondaryInputs == null) {
             secondaryInputs = new File[0];
         }
-        inputFiles = new File[secondaryInputs.length + 1];
-        csvReaders = new CsvSampleReader[secondaryInputs.length + 1];
-        int k = 0;
-        // primary input file (ex. input.csv)
-        csvReaders[k] = new CsvSampleReader(inputFile, separator, true);
-        inputFiles[k] = inputFile;
-        // secondary input files (ex. input-1.csv, input-2.csv, input-3.csv)
-        for (File input : secondaryInputs) {
-            k++;
-            csvReaders[k] = new CsvSampleReader(input, separator, true);
-            inputFiles[k] = secondaryInputs[k - 1];
-        }
-        producer = new PrivateProducer();
+        return secondaryInputs;
     }
 
     private static String getFileRootName(String fName) {
@@ -236,7 +277,7 @@ public class CsvFileSampleSource extends AbstractSampleSource {
         produce();
     }
 
-    private static class PrivateProducer extends AbstractSampleProcessor implements
+    static class PrivateProducer extends AbstractSampleProcessor implements
             SampleProducer {
 
         private List<SampleConsumer> sampleConsumers = new ArrayList<>();
@@ -17,6 +17,8 @@
 
 package org.apache.jmeter.report.processor;
 
+import java.io.Serializable;
+
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.text.StringEscapeUtils;
 import org.apache.jmeter.report.core.Sample;
@@ -177,4 +179,18 @@ public class ErrorsSummaryConsumer extends AbstractSummaryConsumer<Long> {
                 .getResString("reportgenerator_summary_errors_rate_all")));
         return titles;
     }
+
+    @Override
+    protected Serializable getPartialData(Long data) {
+        return data;
+    }
+
+    @Override
+    protected Long mergePartialData(String key, Long data, Serializable partialData) {
+        Long count = (Long) partialData;
+        if (key != null) {
+            errorCount += count;
+        }
+        return data == null ? count : data + count;
+    }
 }
@@ -17,6 +17,8 @@
 
 package org.apache.jmeter.report.processor;
 
+import java.io.Serializable;
+
 /**
  * The class MaxAggregator is used to get maximum from samples.
  *
@@ -69,4 +71,17 @@ public class MaxAggregator implements Aggregator {
         value = Double.MIN_VALUE;
     }
 
+    @Override
+    public Serializable getPartialResult() {
+        return new double[]{count, value};
+    }
+
+    @Override
+    public void mergePartialResult(Serializable partialResult) {
+        double[] state = (double[]) partialResult;
+        if (state[0] > 0) {
+            value = Math.max(value, state[1]);
+            count += (long) state[0];
+        }
+    }
 }
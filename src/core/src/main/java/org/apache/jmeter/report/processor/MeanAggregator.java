@@ -17,6 +17,8 @@
 
 package org.apache.jmeter.report.processor;
 
+import java.io.Serializable;
+
 import org.apache.commons.math3.stat.descriptive.moment.Mean;
 
 /**
@@ -27,6 +29,9 @@ import org.apache.commons.math3.stat.descriptive.moment.Mean;
 public class MeanAggregator implements Aggregator {
 
     private final Mean mean = new Mean();
+    // Count and sum of the values of merged partial results
+    private long mergedCount;
+    private double mergedSum;
 
     /*
      * (non-Javadoc)
@@ -35,7 +40,7 @@ public class MeanAggregator implements Aggregator {
      */
     @Override
     public long getCount() {
-        return mean.getN();
+        return mean.getN() + mergedCount;
     }
 
     /*
@@ -45,7 +50,10 @@ public class MeanAggregator implements Aggregator {
      */
     @Override
     public double getResult() {
-        return mean.getResult();
+        if (mergedCount == 0) {
+            return mean.getResult();
+        }
+        return getSum() / getCount();
     }
 
     /*
@@ -66,6 +74,24 @@ public class MeanAggregator implements Aggregator {
     @Override
     public void reset() {
         mean.clear();
+        mergedCount = 0;
+        mergedSum = 0;
+    }
+
+    private double getSum() {
+        long count = mean.getN();
+        return (count == 0 ? 0 : mean.getResult() * count) + mergedSum;
+    }
+
+    @Override
+    public Serializable getPartialResult() {
+        return new double[]{getCount(), getSum()};
     }
 
+    @Override
+    public void mergePartialResult(Serializable partialResult) {
+        double[] state = (double[]) partialResult;
+        mergedCount += (long) state[0];
+        mergedSum += state[1];
+    }
 }
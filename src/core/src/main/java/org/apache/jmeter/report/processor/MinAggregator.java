@@ -17,6 +17,8 @@
 
 package org.apache.jmeter.report.processor;
 
+import java.io.Serializable;
+
 /**
  * The class MinAggregator is used to get minimum from samples.
  *
@@ -69,4 +71,17 @@ public class MinAggregator implements Aggregator {
         value = Double.MAX_VALUE;
     }
 
+    @Override
+    public Serializable getPartialResult() {
+        return new double[]{count, value};
+    }
+
+    @Override
+    public void mergePartialResult(Serializable partialResult) {
+        double[] state = (double[]) partialResult;
+        if (state[0] > 0) {
+            value = Math.min(value, state[1]);
+            count += (long) state[0];
+        }
+    }
 }
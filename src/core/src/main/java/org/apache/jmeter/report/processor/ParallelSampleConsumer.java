@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.report.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.jmeter.report.core.Sample;
+import org.apache.jmeter.report.core.SampleException;
+import org.apiguardian.api.API;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Forwards the consumed samples to its consumers from several worker threads.
+ * <p>
+ * The consumers are spread over the workers, and each worker runs the whole life cycle
+ * ({@code startConsuming}, {@code consume}, {@code stopConsuming}) of its consumers on its own thread.
+ * Every consumer still receives all the samples in the order they were produced, so consumers
+ * do not need to be thread-safe or mergeable, they must only not share mutable state with
+ * consumers of other workers.
+ * Samples are handed to the workers in batches through bounded queues, so a slow consumer
+ * slows the producer down instead of buffering the whole input in memory.
+ *
+ * @since 6.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+public class ParallelSampleConsumer extends AbstractSampleConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelSampleConsumer.class);
+
+    private static final int BATCH_SIZE = 1024;
+
+    /** Number of batches that can wait for each worker */
+    private static final int QUEUE_CAPACITY = 16;
+
+    private static final Batch END = new Batch(0);
+
+    private final int threadCount;
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private final List<Worker> workers = new ArrayList<>();
+
+    private Batch batch;
+
+    /**
+     * @param threadCount maximal number of worker threads, the actual number is
+     *                    limited by the number of consumers
+     */
+    public ParallelSampleConsumer(int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("threadCount must be positive, got " + threadCount);
+        }
+        this.threadCount = threadCount;
+    }
+
+    @Override
+    public void startConsuming() {
+        // Broadcast metadata to consumers for each channel
+        int channelCount = getConsumedChannelCount();
+        for (int i = 0; i < channelCount; i++) {
+            super.setProducedMetadata(getConsumedMetadata(i), i);
+        }
+        startProducing();
+    }
+
+    @Override
+    public void consume(Sample sample, int channel) {
+        produce(sample, channel);
+    }
+
+    @Override
+    public void stopConsuming() {
+        stopProducing();
+    }
+
+    @Override
+    public void startProducing() {
+        failure.set(null);
+        workers.clear();
+        List<SampleConsumer> consumers = new ArrayList<>();
+        SampleConsumer consumer;
+        while ((consumer = getConsumer(consumers.size())) != null) {
+            consumers.add(consumer);
+        }
+        int workerCount = Math.min(threadCount, consumers.size());
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(new Worker(getName() + "-" + i));
+        }
+        // Round-robin keeps the configuration order inside each worker
+        for (int i = 0; i < consumers.size(); i++) {
+            workers.get(i % workerCount).consumers.add(consumers.get(i));
+        }
+        for (Worker worker : workers) {
+            worker.thread.start();
+        }
+        batch = new Batch(BATCH_SIZE);
+    }
+
+    @Override
+    public void produce(Sample s, int channel) {
+        batch.add(s, channel);
+        if (batch.isFull()) {
+            dispatch(batch);
+            batch = new Batch(BATCH_SIZE);
+        }
+    }
+
+    @Override
+    public void stopProducing() {
+        if (batch != null && batch.size > 0) {
+            dispatch(batch);
+        }
+        batch = null;
+        dispatch(END);
+        for (Worker worker : workers) {
+            try {
+                worker.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SampleException("Interrupted while waiting for " + worker.thread.getName(), e);
+            }
+        }
+        workers.clear();
+        Throwable error = failure.get();
+        if (error != null) {
+            throw new SampleException("Consumer failed with message :" + error.getMessage(), error);
+        }
+    }
+
+    private void dispatch(Batch samples) {
+        for (Worker worker : workers) {
+            try {
+                // A failed worker no longer takes batches, do not wait for it forever
+                while (!worker.queue.offer(samples, 100, TimeUnit.MILLISECONDS)) {
+                    if (!worker.thread.isAlive()) {
+                        break;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SampleException("Interrupted while dispatching samples to " + worker.thread.getName(), e);
+            }
+        }
+        Throwable error = failure.get();
+        if (error != null && samples != END) {
+            throw new SampleException("Consumer failed with message :" + error.getMessage(), error);
+        }
+    }
+
+    /** Samples shared read-only by all the workers */
+    private static final class Batch {
+        private final Sample[] samples;
+        private final int[] channels;
+        private int size;
+
+        Batch(int capacity) {
+            samples = new Sample[capacity];
+            channels = new int[capacity];
+        }
+
+        void add(Sample sample, int channel) {
+            samples[size] = sample;
+            channels[size] = channel;
+            size++;
+        }
+
+        boolean isFull() {
+            return size == samples.length;
+        }
+    }
+
+    private final class Worker implements Runnable {
+        private final List<SampleConsumer> consumers = new ArrayList<>();
+        private final BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private final Thread thread;
+
+        Worker(String name) {
+            thread = new Thread(this, name);
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (SampleConsumer consumer : consumers) {
+                    consumer.startConsuming();
+                }
+                Batch samples;
+                while ((samples = queue.take()) != END) {
+                    for (int i = 0; i < samples.size; i++) {
+                        for (SampleConsumer consumer : consumers) {
+                            consumer.consume(samples.samples[i], samples.channels[i]);
+                        }
+                    }
+                }
+                for (SampleConsumer consumer : consumers) {
+                    consumer.stopConsuming();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, e);
+            } catch (Exception | Error e) { // NOSONAR the error is rethrown by the producer thread
+                log.error("Consumer failed in {}", thread.getName(), e);
+                failure.compareAndSet(null, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.report.processor;
+
+import java.io.Serializable;
+
+import org.apiguardian.api.API;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A sample consumer whose intermediate state can be saved after consuming the samples
+ * of one result file, and merged with the states saved for other result files, so that
+ * the result is computed as if all the samples had been consumed at once.
+ * <p>
+ * This lets each engine of a distributed test produce a small partial result file
+ * from its own samples, see {@link PartialResultSampleSource}.
+ * <p>
+ * Implementations call {@link #mergeOrStorePartialResults()} in
+ * {@link #stopConsuming()}, before computing their result.
+ *
+ * @since 6.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+public interface PartialResultConsumer extends SampleConsumer {
+
+    /**
+     * @return the name of the consumer, used to match the partial results of the consumers
+     * of different report generations
+     */
+    String getName();
+
+    /**
+     * Gets the intermediate state of the consumer, after it consumed its samples.
+     *
+     * @return the intermediate state, or {@code null} if nothing was consumed
+     * @throws UnsupportedOperationException if the state of the consumer cannot be merged
+     */
+    Serializable getPartialResult();
+
+    /**
+     * Merges the intermediate state of a consumer of the same type and name
+     * into the state of this consumer.
+     *
+     * @param partialResult state returned by {@link #getPartialResult()}
+     */
+    void mergePartialResult(Serializable partialResult);
+
+    /**
+     * Merges the partial results the sample context holds for this consumer, then stores
+     * the partial result of this consumer in the sample context when the context
+     * {@link SampleContext#isPartialResultMode() generates partial results}.
+     *
+     * @return true if the partial result was stored, in which case the consumer
+     * must not compute its result
+     */
+    default boolean mergeOrStorePartialResults() {
+        SampleContext context = getSampleContext();
+        for (Serializable partialResult : context.getPartialResults(getName())) {
+            mergePartialResult(partialResult);
+        }
+        if (!context.isPartialResultMode()) {
+            return false;
+        }
+        try {
+            Serializable partialResult = getPartialResult();
+            if (partialResult != null) {
+                context.getData().put(getName(), partialResult);
+            }
+        } catch (UnsupportedOperationException e) {
+            LoggerFactory.getLogger(getClass())
+                    .warn("{} will be empty in merged reports: {}", getName(), e.getMessage());
+        }
+        return true;
+    }
+}
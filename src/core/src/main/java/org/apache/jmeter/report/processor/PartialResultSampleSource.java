@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.report.processor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.jmeter.report.core.SampleException;
+import org.apache.jmeter.report.core.TimeHelper;
+import org.apiguardian.api.API;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Read partial result files written by report generations of other engines
+ * and let the registered {@link PartialResultConsumer}s merge them.
+ * <p>
+ * A partial result file holds the intermediate state of the consumers of a
+ * report generation run in {@link SampleContext#isPartialResultMode() partial
+ * result mode}, so no sample is produced: the consumers are started and stopped,
+ * and merge the partial results stored in the sample context when they stop.
+ *
+ * @since 6.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+public class PartialResultSampleSource extends AbstractSampleSource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PartialResultSampleSource.class);
+
+    /** Extension of partial result files */
+    public static final String FILE_EXTENSION = ".jtlpart"; // $NON-NLS-1$
+
+    private static final String MAGIC = "JMeterPartialResults"; // $NON-NLS-1$
+
+    private static final int VERSION = 1;
+
+    /**
+     * Only the classes of the partial results of the report consumers can be read:
+     * their holders, the histograms of percentiles, and the boxed values and collections they contain.
+     * Primitive arrays are always accepted.
+     */
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(
+            "maxdepth=20;" // $NON-NLS-1$
+                    + "java.lang.Number;java.lang.Long;java.lang.Double;" // $NON-NLS-1$
+                    + "java.util.HashMap;java.util.HashSet;java.util.Map$Entry;" // $NON-NLS-1$
+                    + "org.apache.jmeter.report.processor.AbstractSummaryConsumer$PartialSummary;" // $NON-NLS-1$
+                    + "org.apache.jmeter.report.processor.StatisticsSummaryData$PartialResult;" // $NON-NLS-1$
+                    + "org.apache.jmeter.report.processor.Top5ErrorsSummaryData;" // $NON-NLS-1$
+                    + "org.apache.jmeter.report.processor.graph.AbstractGraphConsumer$PartialGroup;" // $NON-NLS-1$
+                    + "org.apache.jmeter.report.processor.graph.AbstractGraphConsumer$PartialSeries;" // $NON-NLS-1$
+                    + "org.apache.jorphan.math.MergeableHistogram;!*"); // $NON-NLS-1$
+
+    private final List<File> inputFiles;
+
+    private final CsvFileSampleSource.PrivateProducer producer = new CsvFileSampleSource.PrivateProducer();
+
+    /**
+     * Build a sample source from the specified partial result files.
+     *
+     * @param inputFiles The partial result files (must not be {@code null})
+     */
+    public PartialResultSampleSource(List<File> inputFiles) {
+        this.inputFiles = new ArrayList<>(inputFiles);
+    }
+
+    /**
+     * Tells whether the specified file is a partial result file, based on its extension.
+     *
+     * @param filename name of the file
+     * @return true if the file name ends with {@value #FILE_EXTENSION}
+     */
+    public static boolean isPartialResultFile(String filename) {
+        return filename != null && filename.toLowerCase(Locale.ROOT).endsWith(FILE_EXTENSION);
+    }
+
+    /**
+     * Write the partial results of the consumers to the specified file.
+     *
+     * @param outputFile     the partial result file
+     * @param partialResults partial results by consumer name
+     * @throws IOException if the file cannot be written
+     */
+    public static void writePartialResults(File outputFile, Map<String, Serializable> partialResults)
+            throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(
+                new BufferedOutputStream(new FileOutputStream(outputFile))))) {
+            out.writeUTF(MAGIC);
+            out.writeInt(VERSION);
+            out.writeObject(new HashMap<>(partialResults));
+        }
+    }
+
+    /**
+     * Read the partial results of the consumers from the specified file.
+     *
+     * @param inputFile the partial result file
+     * @return partial results by consumer name
+     * @throws IOException if the file cannot be read or is not a partial result file
+     */
+    public static Map<String, Serializable> readPartialResults(File inputFile) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new GZIPInputStream(
+                new BufferedInputStream(new FileInputStream(inputFile))))) {
+            in.setObjectInputFilter(FILTER);
+            if (!MAGIC.equals(in.readUTF())) {
+                throw new IOException(inputFile + " is not a partial result file");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported version " + version + " of partial result file " + inputFile);
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Serializable> partialResults = (Map<String, Serializable>) in.readObject();
+            return partialResults;
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Invalid partial result file " + inputFile, e);
+        }
+    }
+
+    /**
+     * Read the input files, store their partial results in the sample context
+     * and let the registered consumers merge them
+     */
+    private void produce() {
+        SampleContext context = getSampleContext();
+        Validate.validState(context != null, "Set a sample context before producing samples.");
+
+        long start = System.currentTimeMillis();
+        for (File inputFile : inputFiles) {
+            try {
+                readPartialResults(inputFile).forEach(context::addPartialResult);
+            } catch (IOException e) {
+                throw new SampleException("Could not read partial result file " + inputFile, e);
+            }
+        }
+        producer.setSampleContext(context);
+        producer.startProducing();
+        producer.stopProducing();
+        if (LOG.isInfoEnabled()) {
+            LOG.info("produce(): {} partial result files merged in {}",
+                    inputFiles.size(), TimeHelper.time(System.currentTimeMillis() - start));
+        }
+    }
+
+    @Override
+    public void setSampleConsumers(List<SampleConsumer> consumers) {
+        producer.setSampleConsumers(consumers);
+    }
+
+    @Override
+    public void addSampleConsumer(SampleConsumer consumer) {
+        producer.addSampleConsumer(consumer);
+    }
+
+    @Override
+    public void removeSampleConsumer(SampleConsumer consumer) {
+        producer.removeSampleConsumer(consumer);
+    }
+
+    @Override
+    public void run() {
+        produce();
+    }
+}
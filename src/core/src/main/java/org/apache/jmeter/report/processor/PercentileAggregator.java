@@ -17,12 +17,18 @@
 
 package org.apache.jmeter.report.processor;
 
+import java.io.Serializable;
+
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
 import org.apache.jmeter.report.config.ReportGeneratorConfiguration;
 import org.apache.jmeter.util.JMeterUtils;
+import org.apache.jorphan.math.MergeableHistogram;
 
 /**
  * The class PercentileAggregator is used to get percentile from samples.
+ * <p>
+ * Partial results hold the values rounded to the nearest integer in a {@link MergeableHistogram},
+ * so percentiles of merged results have the precision of the histogram.
  *
  * @since 3.0
  */
@@ -34,6 +40,8 @@ public class PercentileAggregator implements Aggregator {
 
     private final DescriptiveStatistics statistics;
     private final double percentileIndex;
+    // Values of merged partial results
+    private MergeableHistogram merged;
 
     /**
      * Instantiates a new percentile aggregator.
@@ -61,7 +69,7 @@ public class PercentileAggregator implements Aggregator {
      */
     @Override
     public long getCount() {
-        return statistics.getN();
+        return statistics.getN() + (merged == null ? 0 : merged.getCount());
     }
 
     /*
@@ -71,7 +79,15 @@ public class PercentileAggregator implements Aggregator {
      */
     @Override
     public double getResult() {
-        return statistics.getPercentile(percentileIndex);
+        if (merged == null) {
+            return statistics.getPercentile(percentileIndex);
+        }
+        MergeableHistogram histogram = toHistogram();
+        histogram.add(merged);
+        if (histogram.getCount() == 0) {
+            return Double.NaN;
+        }
+        return histogram.getValueAtPercentile(percentileIndex);
     }
 
     /*
@@ -92,6 +108,31 @@ public class PercentileAggregator implements Aggregator {
     @Override
     public void reset() {
         statistics.clear();
+        merged = null;
+    }
+
+    private MergeableHistogram toHistogram() {
+        MergeableHistogram histogram = new MergeableHistogram();
+        for (double value : statistics.getValues()) {
+            histogram.record(Math.round(value));
+        }
+        return histogram;
+    }
+
+    @Override
+    public Serializable getPartialResult() {
+        MergeableHistogram histogram = toHistogram();
+        if (merged != null) {
+            histogram.add(merged);
+        }
+        return histogram;
     }
 
+    @Override
+    public void mergePartialResult(Serializable partialResult) {
+        if (merged == null) {
+            merged = new MergeableHistogram();
+        }
+        merged.add((MergeableHistogram) partialResult);
+    }
 }
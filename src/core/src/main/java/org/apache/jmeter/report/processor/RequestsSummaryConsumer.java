@@ -17,6 +17,8 @@
 
 package org.apache.jmeter.report.processor;
 
+import java.io.Serializable;
+
 import org.apache.jmeter.report.core.Sample;
 
 /**
@@ -27,7 +29,7 @@ import org.apache.jmeter.report.core.Sample;
  *
  * @since 3.0
  */
-public class RequestsSummaryConsumer extends AbstractSampleConsumer {
+public class RequestsSummaryConsumer extends AbstractSampleConsumer implements PartialResultConsumer {
 
     private long count;
     private long errorCount;
@@ -70,12 +72,26 @@ public class RequestsSummaryConsumer extends AbstractSampleConsumer {
      */
     @Override
     public void stopConsuming() {
-        MapResultData result = new MapResultData();
-        result.setResult("KoPercent", new ValueResultData((double) errorCount
-                * 100 / count));
-        result.setResult("OkPercent", new ValueResultData(
-                (double) (count - errorCount) * 100 / count));
-        setDataToContext(getName(), result);
+        if (!mergeOrStorePartialResults()) {
+            MapResultData result = new MapResultData();
+            result.setResult("KoPercent", new ValueResultData((double) errorCount
+                    * 100 / count));
+            result.setResult("OkPercent", new ValueResultData(
+                    (double) (count - errorCount) * 100 / count));
+            setDataToContext(getName(), result);
+        }
         super.stopProducing();
     }
+
+    @Override
+    public Serializable getPartialResult() {
+        return new long[]{count, errorCount};
+    }
+
+    @Override
+    public void mergePartialResult(Serializable partialResult) {
+        long[] counts = (long[]) partialResult;
+        count += counts[0];
+        errorCount += counts[1];
+    }
 }
@@ -18,9 +18,15 @@
 package org.apache.jmeter.report.processor;
 
 import java.io.File;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import org.apiguardian.api.API;
+
 /**
  * Defines the context in which {@link SampleConsumer}, {@link SampleProducer}
  * will operate
@@ -30,7 +36,11 @@ import java.util.Map;
 public class SampleContext {
 
     private File workingDirectory;
-    private final Map<String, Object> data = new HashMap<>();
+    // Synchronized as consumers running in a ParallelSampleConsumer store their results concurrently
+    private final Map<String, Object> data = Collections.synchronizedMap(new HashMap<>());
+    private boolean partialResultMode;
+    // Filled before the samples are produced, only read afterwards
+    private final Map<String, List<Serializable>> partialResults = new HashMap<>();
 
     /**
      * Return the root directory that consumers are authorized to use for
@@ -63,4 +73,52 @@ public class SampleContext {
         return data;
     }
 
+    /**
+     * Indicates whether the {@link PartialResultConsumer}s store their partial result
+     * in the data storage instead of their result.
+     *
+     * @return true if partial results are generated
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public final boolean isPartialResultMode() {
+        return partialResultMode;
+    }
+
+    /**
+     * Sets whether the {@link PartialResultConsumer}s store their partial result
+     * in the data storage instead of their result.
+     *
+     * @param partialResultMode true to generate partial results
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public final void setPartialResultMode(boolean partialResultMode) {
+        this.partialResultMode = partialResultMode;
+    }
+
+    /**
+     * Adds a partial result to be merged by the consumer with the specified name.
+     *
+     * @param consumerName name of the consumer
+     * @param partialResult partial result of a consumer with the same name
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public final void addPartialResult(String consumerName, Serializable partialResult) {
+        partialResults.computeIfAbsent(consumerName, k -> new ArrayList<>()).add(partialResult);
+    }
+
+    /**
+     * Gets the partial results to be merged by the consumer with the specified name.
+     *
+     * @param consumerName name of the consumer
+     * @return the partial results, empty if there is none
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public final List<Serializable> getPartialResults(String consumerName) {
+        return partialResults.getOrDefault(consumerName, Collections.emptyList());
+    }
+
 }
@@ -17,6 +17,7 @@
 
 package org.apache.jmeter.report.processor;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 
 import org.apache.jmeter.report.core.Sample;
@@ -80,7 +81,7 @@ public class StatisticsSummaryConsumer extends
             data.incErrors();
         }
 
-        long elapsedTime = sample.getElapsedTime();
+        long elapsedTime = sample.getElapsedTimeForStatistics();
         data.getPercentile1().addValue((double) elapsedTime);
         data.getPercentile2().addValue((double) elapsedTime);
         data.getPercentile3().addValue((double) elapsedTime);
@@ -205,4 +206,19 @@ public class StatisticsSummaryConsumer extends
         return String.format(JMeterUtils.getResString("reportgenerator_summary_statistics_percentile_fmt"),
                 percentileLabel);
     }
+
+    @Override
+    protected Serializable getPartialData(StatisticsSummaryData data) {
+        return data.getPartialResult();
+    }
+
+    @Override
+    protected StatisticsSummaryData mergePartialData(String key, StatisticsSummaryData data,
+            Serializable partialData) {
+        StatisticsSummaryData merged = data != null
+                ? data
+                : new StatisticsSummaryData(PERCENTILE_INDEX1, PERCENTILE_INDEX2, PERCENTILE_INDEX3);
+        merged.mergePartialResult(partialData);
+        return merged;
+    }
 }
@@ -17,6 +17,10 @@
 
 package org.apache.jmeter.report.processor;
 
+import java.io.Serializable;
+
+import org.apiguardian.api.API;
+
 /**
  * The class ApdexSummaryData provides information for
  * StatisticsSummaryConsumer.
@@ -26,6 +30,24 @@ package org.apache.jmeter.report.processor;
  */
 public class StatisticsSummaryData {
 
+    /**
+     * State of the data, the percentile aggregators all hold the same values.
+     */
+    private static final class PartialResult implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private long firstTime;
+        private long endTime;
+        private long bytes;
+        private long sentBytes;
+        private long errors;
+        private long total;
+        private long min;
+        private long max;
+        private Serializable mean;
+        private Serializable times;
+    }
+
     private long firstTime = Long.MAX_VALUE;
     private long endTime = Long.MIN_VALUE;
     private long bytes = 0L;
@@ -292,4 +314,50 @@ public class StatisticsSummaryData {
     public double getSentKBytesPerSecond() {
         return getSentBytesPerSecond() / 1024;
     }
+
+    /**
+     * Gets the state of this data, to be merged by {@link #mergePartialResult(Serializable)}.
+     *
+     * @return the state of the data
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public Serializable getPartialResult() {
+        PartialResult partial = new PartialResult();
+        partial.firstTime = firstTime;
+        partial.endTime = endTime;
+        partial.bytes = bytes;
+        partial.sentBytes = sentBytes;
+        partial.errors = errors;
+        partial.total = total;
+        partial.min = min;
+        partial.max = max;
+        partial.mean = mean.getPartialResult();
+        partial.times = median.getPartialResult();
+        return partial;
+    }
+
+    /**
+     * Merges the state of other data returned by {@link #getPartialResult()}.
+     *
+     * @param partialResult the state to merge
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public void mergePartialResult(Serializable partialResult) {
+        PartialResult partial = (PartialResult) partialResult;
+        setFirstTime(partial.firstTime);
+        setEndTime(partial.endTime);
+        bytes += partial.bytes;
+        sentBytes += partial.sentBytes;
+        errors += partial.errors;
+        total += partial.total;
+        setMin(partial.min);
+        setMax(partial.max);
+        mean.mergePartialResult(partial.mean);
+        median.mergePartialResult(partial.times);
+        percentile1.mergePartialResult(partial.times);
+        percentile2.mergePartialResult(partial.times);
+        percentile3.mergePartialResult(partial.times);
+    }
 }
@@ -17,6 +17,8 @@
 
 package org.apache.jmeter.report.processor;
 
+import java.io.Serializable;
+
 /**
  * The class SumAggregator is used to get sum from samples.
  *
@@ -69,4 +71,15 @@ public class SumAggregator implements Aggregator {
         sum = 0;
     }
 
+    @Override
+    public Serializable getPartialResult() {
+        return new double[]{count, sum};
+    }
+
+    @Override
+    public void mergePartialResult(Serializable partialResult) {
+        double[] state = (double[]) partialResult;
+        count += (long) state[0];
+        sum += state[1];
+    }
 }
@@ -17,6 +17,8 @@
 
 package org.apache.jmeter.report.processor;
 
+import java.io.Serializable;
+
 /**
  * The class TimeRateAggregator is used to get samples rate by second.
  *
@@ -85,4 +87,15 @@ public class TimeRateAggregator implements Aggregator {
         value = 0;
     }
 
+    @Override
+    public Serializable getPartialResult() {
+        return new double[]{count, value};
+    }
+
+    @Override
+    public void mergePartialResult(Serializable partialResult) {
+        double[] state = (double[]) partialResult;
+        count += (long) state[0];
+        value += state[1];
+    }
 }
@@ -17,6 +17,8 @@
 
 package org.apache.jmeter.report.processor;
 
+import java.io.Serializable;
+
 import org.apache.jmeter.report.core.Sample;
 import org.apache.jmeter.util.JMeterUtils;
 
@@ -154,4 +156,17 @@ public class Top5ErrorsBySamplerConsumer extends
             boolean ignoreTCFromTop5ErrorsBySampler) {
         this.ignoreTCFromTop5ErrorsBySampler = ignoreTCFromTop5ErrorsBySampler;
     }
+
+    @Override
+    protected Serializable getPartialData(Top5ErrorsSummaryData data) {
+        return data;
+    }
+
+    @Override
+    protected Top5ErrorsSummaryData mergePartialData(String key, Top5ErrorsSummaryData data,
+            Serializable partialData) {
+        Top5ErrorsSummaryData merged = data != null ? data : new Top5ErrorsSummaryData();
+        merged.merge((Top5ErrorsSummaryData) partialData);
+        return merged;
+    }
 }
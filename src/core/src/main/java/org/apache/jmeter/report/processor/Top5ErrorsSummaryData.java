@@ -17,16 +17,21 @@
 
 package org.apache.jmeter.report.processor;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apiguardian.api.API;
+
 /**
  * Summary data for TOP 5 of errors.
  * Compute a map of Sample / Number of errors
  *
  * @since 3.1
  */
-public class Top5ErrorsSummaryData {
+public class Top5ErrorsSummaryData implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private static final Long ONE = 1L;
     private final Map<String, Long> countPerError;
@@ -52,6 +57,19 @@ public class Top5ErrorsSummaryData {
         }
     }
 
+    /**
+     * Adds the errors and counts of another summary to this one.
+     *
+     * @param other the summary to merge, it is not modified
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public void merge(Top5ErrorsSummaryData other) {
+        other.countPerError.forEach((error, count) -> countPerError.merge(error, count, Long::sum));
+        total += other.total;
+        errors += other.errors;
+    }
+
     public void incErrors() {
         errors++;
     }
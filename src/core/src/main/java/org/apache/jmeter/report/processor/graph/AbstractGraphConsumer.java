@@ -17,6 +17,7 @@
 
 package org.apache.jmeter.report.processor.graph;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -28,6 +29,7 @@ import org.apache.jmeter.report.processor.Aggregator;
 import org.apache.jmeter.report.processor.AggregatorFactory;
 import org.apache.jmeter.report.processor.ListResultData;
 import org.apache.jmeter.report.processor.MapResultData;
+import org.apache.jmeter.report.processor.PartialResultConsumer;
 import org.apache.jmeter.report.processor.ValueResultData;
 
 /**
@@ -65,7 +67,30 @@ import org.apache.jmeter.report.processor.ValueResultData;
  *
  * @since 3.0
  */
-public abstract class AbstractGraphConsumer extends AbstractSampleConsumer {
+public abstract class AbstractGraphConsumer extends AbstractSampleConsumer implements PartialResultConsumer {
+
+    /**
+     * Partial result of a series: the state of its aggregators.
+     */
+    private static final class PartialSeries implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private boolean controllersSeries;
+        private long count;
+        private final HashMap<Double, Serializable> aggregators = new HashMap<>();
+        private Serializable keysAggregator;
+        private Serializable valuesAggregator;
+    }
+
+    /**
+     * Partial result of a group: the partial results of its series.
+     */
+    private static final class PartialGroup implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final HashMap<String, PartialSeries> series = new HashMap<>();
+        private PartialSeries overallSeries;
+    }
 
     protected static final String DEFAULT_GROUP = "Generic group";
 
@@ -529,6 +554,16 @@ public abstract class AbstractGraphConsumer extends AbstractSampleConsumer {
     public void stopConsuming() {
         super.stopProducing();
 
+        if (!mergeOrStorePartialResults()) {
+            storeResult();
+        }
+
+        for (GroupInfo groupInfo : groupInfos.values()) {
+            groupInfo.getGroupData().clear();
+        }
+    }
+
+    private void storeResult() {
         MapResultData result = createResult();
 
         // Get the aggregate results from the map
@@ -566,9 +601,75 @@ public abstract class AbstractGraphConsumer extends AbstractSampleConsumer {
 
         // Store the result
         setDataToContext(getName(), result);
+    }
 
-        for (GroupInfo groupInfo : groupInfos.values()) {
-            groupInfo.getGroupData().clear();
+    @Override
+    public Serializable getPartialResult() {
+        HashMap<String, PartialGroup> partial = new HashMap<>();
+        for (Map.Entry<String, GroupInfo> groupEntry : groupInfos.entrySet()) {
+            GroupData groupData = groupEntry.getValue().getGroupData();
+            PartialGroup partialGroup = new PartialGroup();
+            for (Map.Entry<String, SeriesData> seriesEntry : groupData.getSeriesInfo().entrySet()) {
+                partialGroup.series.put(seriesEntry.getKey(), toPartialSeries(seriesEntry.getValue()));
+            }
+            if (groupData.getOverallSeries() != null) {
+                partialGroup.overallSeries = toPartialSeries(groupData.getOverallSeries());
+            }
+            partial.put(groupEntry.getKey(), partialGroup);
+        }
+        return partial;
+    }
+
+    private static PartialSeries toPartialSeries(SeriesData seriesData) {
+        PartialSeries partialSeries = new PartialSeries();
+        partialSeries.controllersSeries = seriesData.isControllersSeries();
+        partialSeries.count = seriesData.getCount();
+        for (Map.Entry<Double, Aggregator> entry : seriesData.getAggregatorInfo().entrySet()) {
+            partialSeries.aggregators.put(entry.getKey(), entry.getValue().getPartialResult());
+        }
+        if (seriesData.getKeysAggregator() != null) {
+            partialSeries.keysAggregator = seriesData.getKeysAggregator().getPartialResult();
+            partialSeries.valuesAggregator = seriesData.getValuesAggregator().getPartialResult();
+        }
+        return partialSeries;
+    }
+
+    @Override
+    public void mergePartialResult(Serializable partialResult) {
+        @SuppressWarnings("unchecked")
+        Map<String, PartialGroup> partial = (Map<String, PartialGroup>) partialResult;
+        for (Map.Entry<String, PartialGroup> groupEntry : partial.entrySet()) {
+            GroupInfo groupInfo = groupInfos.get(groupEntry.getKey());
+            if (groupInfo == null) {
+                // The graph is configured differently in the other report generation
+                continue;
+            }
+            GroupData groupData = groupInfo.getGroupData();
+            AggregatorFactory factory = groupInfo.getAggregatorFactory();
+            for (Map.Entry<String, PartialSeries> seriesEntry : groupEntry.getValue().series.entrySet()) {
+                PartialSeries partialSeries = seriesEntry.getValue();
+                SeriesData seriesData = groupData.getSeriesInfo().computeIfAbsent(seriesEntry.getKey(),
+                        k -> new SeriesData(factory, groupInfo.enablesAggregatedKeysSeries(),
+                                partialSeries.controllersSeries, false));
+                mergeSeries(factory, seriesData, partialSeries);
+            }
+            PartialSeries overallSeries = groupEntry.getValue().overallSeries;
+            if (overallSeries != null && groupData.getOverallSeries() != null) {
+                mergeSeries(factory, groupData.getOverallSeries(), overallSeries);
+            }
+        }
+    }
+
+    private static void mergeSeries(AggregatorFactory factory, SeriesData seriesData, PartialSeries partialSeries) {
+        Map<Double, Aggregator> aggInfo = seriesData.getAggregatorInfo();
+        for (Map.Entry<Double, Serializable> entry : partialSeries.aggregators.entrySet()) {
+            aggInfo.computeIfAbsent(entry.getKey(), k -> factory.createValueAggregator())
+                    .mergePartialResult(entry.getValue());
+        }
+        seriesData.addCount(partialSeries.count);
+        if (seriesData.getKeysAggregator() != null && partialSeries.keysAggregator != null) {
+            seriesData.getKeysAggregator().mergePartialResult(partialSeries.keysAggregator);
+            seriesData.getValuesAggregator().mergePartialResult(partialSeries.valuesAggregator);
         }
     }
 
@@ -19,6 +19,7 @@ package org.apache.jmeter.report.processor.graph;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
@@ -154,6 +155,17 @@ public abstract class AbstractVersusRequestsGraphConsumer extends
         super.stopConsuming();
     }
 
+    /**
+     * Samples are keyed by the throughput of their time interval in each
+     * result file, so partial results of several report generations cannot
+     * be merged.
+     */
+    @Override
+    public Serializable getPartialResult() {
+        throw new UnsupportedOperationException(
+                "the throughput of each result file cannot be merged"); // $NON-NLS-1$
+    }
+
     /*
      * (non-Javadoc)
      *
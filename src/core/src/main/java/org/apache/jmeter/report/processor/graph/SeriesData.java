@@ -22,6 +22,7 @@ import java.util.Map;
 
 import org.apache.jmeter.report.processor.Aggregator;
 import org.apache.jmeter.report.processor.AggregatorFactory;
+import org.apiguardian.api.API;
 
 /**
  * The class SeriesData helps to store series data in a graph.
@@ -141,6 +142,17 @@ public class SeriesData {
         count++;
     }
 
+    /**
+     * Adds the count of samples of a merged series.
+     *
+     * @param count the count of samples to add
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public void addCount(long count) {
+        this.count += count;
+    }
+
     public void clear() {
         aggregators.clear();
         count = 0L;
@@ -56,7 +56,7 @@ public class ResponseTimePercentilesGraphConsumer extends AbstractGraphConsumer
      */
     @Override
     protected final GraphKeysSelector createKeysSelector() {
-        return sample -> (double) sample.getElapsedTime();
+        return sample -> (double) sample.getElapsedTimeForStatistics();
     }
 
     /*
@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.reporters;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.apache.jmeter.samplers.SampleEvent;
+import org.apache.jorphan.collections.BoundedMpscQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes sample events to a result file from a dedicated thread.
+ * <p>
+ * Sampler threads only enqueue the events, the writer thread formats and writes them
+ * in batches, flushing the file once the queue has been drained.
+ * When the queue is full the {@link OverflowPolicy} decides whether sampler threads wait
+ * for free space or drop the event.
+ */
+final class AsyncResultWriter {
+    private static final Logger log = LoggerFactory.getLogger(AsyncResultWriter.class);
+
+    private static final int BATCH_SIZE = 1024;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long BACKOFF_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * What to do with a sample when the queue is full.
+     */
+    enum OverflowPolicy {
+        /** Sampler thread waits until the writer thread frees space */
+        BLOCK,
+        /** Sample is not written and is counted as dropped */
+        DROP;
+
+        static OverflowPolicy fromString(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                log.warn("Unknown overflow policy '{}', using {}", value, BLOCK);
+                return BLOCK;
+            }
+        }
+    }
+
+    private final String filename;
+    private final Consumer<SampleEvent> sink;
+    private final Runnable flusher;
+    private final OverflowPolicy overflowPolicy;
+    private final BoundedMpscQueue<SampleEvent> queue;
+    private final Thread writerThread;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    /** Number of threads in {@link #enqueue(SampleEvent)}, {@link #close()} waits for them before the last drain */
+    private final AtomicInteger producers = new AtomicInteger();
+
+    private volatile boolean running = true;
+    private volatile boolean writerParked;
+
+    /**
+     * @param filename name of the result file, used for logging
+     * @param sink formats and writes an event to the file
+     * @param flusher flushes the file
+     * @param queueSize number of events that can wait for the writer thread
+     * @param overflowPolicy what to do with an event when the queue is full
+     */
+    AsyncResultWriter(String filename, Consumer<SampleEvent> sink, Runnable flusher,
+            int queueSize, OverflowPolicy overflowPolicy) {
+        this.filename = filename;
+        this.sink = sink;
+        this.flusher = flusher;
+        this.overflowPolicy = overflowPolicy;
+        this.queue = new BoundedMpscQueue<>(queueSize);
+        this.writerThread = new Thread(this::run, "ResultCollector writer " + filename); // $NON-NLS-1$
+        // The shutdown hook of ResultCollector closes the writer, so it must not prevent the JVM exit
+        this.writerThread.setDaemon(true);
+    }
+
+    void start() {
+        writerThread.start();
+    }
+
+    /**
+     * Queues the event for writing.
+     *
+     * @param event the sample event, its result must have the save configuration set
+     * @return {@code false} if the event was dropped, which is the case once {@link #close()} was called
+     */
+    boolean enqueue(SampleEvent event) {
+        producers.incrementAndGet();
+        try {
+            return offer(event);
+        } finally {
+            producers.decrementAndGet();
+        }
+    }
+
+    private boolean offer(SampleEvent event) {
+        if (!running) {
+            dropped.increment();
+            return false;
+        }
+        if (queue.offer(event)) {
+            wakeWriter();
+            return true;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP || !running) {
+            dropped.increment();
+            return false;
+        }
+        blocked.increment();
+        do {
+            wakeWriter();
+            LockSupport.parkNanos(BACKOFF_PARK_NANOS);
+            if (!running) {
+                dropped.increment();
+                return false;
+            }
+        } while (!queue.offer(event));
+        wakeWriter();
+        return true;
+    }
+
+    private void wakeWriter() {
+        if (writerParked) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    private void run() {
+        boolean dirty = false;
+        while (running || !queue.isEmpty()) {
+            int count = queue.drain(this::write, BATCH_SIZE);
+            if (count > 0) {
+                dirty = true;
+                continue;
+            }
+            if (dirty) {
+                flusher.run();
+                dirty = false;
+            }
+            writerParked = true;
+            if (running && queue.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            writerParked = false;
+        }
+        flusher.run();
+    }
+
+    private void write(SampleEvent event) {
+        sink.accept(event);
+        written.increment();
+    }
+
+    /**
+     * Waits until the queued events are written and flushes the file.
+     */
+    void flush() {
+        while (running && !queue.isEmpty()) {
+            wakeWriter();
+            LockSupport.parkNanos(BACKOFF_PARK_NANOS);
+        }
+        flusher.run();
+    }
+
+    /**
+     * Writes the remaining events and stops the writer thread, the events queued later are dropped.
+     * The result file is left open.
+     */
+    void close() {
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while waiting for the writer of {}", filename);
+        }
+        if (!writerThread.isAlive()) {
+            // Threads that saw the writer running may still be queueing, they see it stopped once they leave
+            while (producers.get() > 0) {
+                LockSupport.parkNanos(BACKOFF_PARK_NANOS);
+            }
+            // The writer thread may have stopped before their events were queued
+            if (queue.drain(this::write, Integer.MAX_VALUE) > 0) {
+                flusher.run();
+            }
+        }
+        long droppedCount = dropped.sum();
+        if (droppedCount > 0) {
+            log.warn("Asynchronous writer of {} wrote {} samples and dropped {} samples (queue capacity: {})",
+                    filename, written.sum(), droppedCount, queue.capacity());
+        } else {
+            log.info("Asynchronous writer of {} wrote {} samples, sampler threads waited for a full queue {} times",
+                    filename, written.sum(), blocked.sum());
+        }
+    }
+
+    /**
+     * @return number of events waiting to be written
+     */
+    int getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * @return number of events dropped because the queue was full or the writer was closed
+     */
+    long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return number of times a sampler thread had to wait for free space in the queue
+     */
+    long getBlockedCount() {
+        return blocked.sum();
+    }
+
+    /**
+     * @return number of events written
+     */
+    long getWrittenCount() {
+        return written.sum();
+    }
+}
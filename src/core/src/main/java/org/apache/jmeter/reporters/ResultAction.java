@@ -91,4 +91,9 @@ public class ResultAction extends OnErrorTestElement implements Serializable, Sa
         // not used
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean isResponseDataRead() {
+        return false;
+    }
 }
@@ -42,9 +42,12 @@ import org.apache.jmeter.samplers.SampleEvent;
 import org.apache.jmeter.samplers.SampleListener;
 import org.apache.jmeter.samplers.SampleResult;
 import org.apache.jmeter.samplers.SampleSaveConfiguration;
+import org.apache.jmeter.save.BinaryResultFormat;
+import org.apache.jmeter.save.BinaryResultWriter;
 import org.apache.jmeter.save.CSVSaveService;
 import org.apache.jmeter.save.SaveService;
 import org.apache.jmeter.services.FileServer;
+import org.apache.jmeter.testelement.TestPlan;
 import org.apache.jmeter.testelement.TestStateListener;
 import org.apache.jmeter.testelement.property.BooleanProperty;
 import org.apache.jmeter.testelement.property.ObjectProperty;
@@ -66,11 +69,47 @@ public class ResultCollector extends AbstractListenerElement implements SampleLi
      * them. This means one cannot use the saved PrintWriter or use getSaveConfig()
      */
     private static class FileEntry{
+        /** Writer of CSV and XML files, null for binary files */
         final PrintWriter pw;
+        /** Writer of binary files, null for CSV and XML files */
+        final BinaryResultWriter binaryWriter;
         final SampleSaveConfiguration config;
-        FileEntry(PrintWriter printWriter, SampleSaveConfiguration sampleSaveConfiguration){
+        /** Writer thread of the file, null unless {@link #SAVING_ASYNC} is enabled */
+        final AsyncResultWriter asyncWriter;
+        FileEntry(PrintWriter printWriter, BinaryResultWriter binaryWriter,
+                SampleSaveConfiguration sampleSaveConfiguration, AsyncResultWriter asyncWriter){
             this.pw = printWriter;
+            this.binaryWriter = binaryWriter;
             this.config = sampleSaveConfiguration;
+            this.asyncWriter = asyncWriter;
+        }
+
+        void sampleOccurred(SampleEvent event) {
+            if (asyncWriter != null) {
+                asyncWriter.enqueue(event);
+            } else {
+                writeSample(event, config, pw, binaryWriter);
+            }
+        }
+
+        void flush() {
+            if (asyncWriter != null) {
+                asyncWriter.flush();
+            } else {
+                flushWriters(pw, binaryWriter);
+            }
+        }
+
+        void close() throws IOException {
+            if (asyncWriter != null) {
+                asyncWriter.close();
+            }
+            if (binaryWriter != null) {
+                binaryWriter.close();
+                return;
+            }
+            writeFileEnd(pw, config);
+            pw.close();
         }
     }
 
@@ -117,6 +156,20 @@ public class ResultCollector extends AbstractListenerElement implements SampleLi
     /** AutoFlush on each line */
     private static final boolean SAVING_AUTOFLUSH = JMeterUtils.getPropDefault("jmeter.save.saveservice.autoflush", false); //$NON-NLS-1$
 
+    /** Format and write samples from a dedicated thread instead of the sampler threads */
+    private static final boolean SAVING_ASYNC = JMeterUtils.getPropDefault("jmeter.save.saveservice.async", false); //$NON-NLS-1$
+
+    /** Number of samples that can wait for the asynchronous writer */
+    private static final int SAVING_ASYNC_QUEUE_SIZE =
+            JMeterUtils.getPropDefault("jmeter.save.saveservice.async.queue_size", 65536); //$NON-NLS-1$
+
+    /** What to do when the queue of the asynchronous writer is full: block or drop */
+    private static final AsyncResultWriter.OverflowPolicy SAVING_ASYNC_OVERFLOW = AsyncResultWriter.OverflowPolicy.fromString(
+            JMeterUtils.getPropDefault("jmeter.save.saveservice.async.overflow", "block")); //$NON-NLS-1$ //$NON-NLS-2$
+
+    /** Buffer size of the asynchronous writer, it flushes the file when its queue is empty */
+    private static final int SAVING_ASYNC_BUFFER_SIZE = 256 * 1024;
+
     // Static variables
 
     // Lock used to guard static mutable variables
@@ -138,7 +191,7 @@ public class ResultCollector extends AbstractListenerElement implements SampleLi
     private static int instanceCount; // Keep track of how many instances are active
 
     // Instance variables (guarded by volatile)
-    private transient volatile PrintWriter out;
+    private transient volatile FileEntry out;
 
     /**
      * Is a test running ?
@@ -320,8 +373,8 @@ public class ResultCollector extends AbstractListenerElement implements SampleLi
             try {
                 if (out == null) {
                     try {
-                        // Note: getFileWriter ignores a null filename
-                        out = getFileWriter(getFilename(), getSaveConfig());
+                        // Note: getFileEntry ignores a null filename
+                        out = getFileEntry(getFilename(), getSaveConfig());
                     } catch (FileNotFoundException e) {
                         out = null;
                     }
@@ -436,7 +489,7 @@ public class ResultCollector extends AbstractListenerElement implements SampleLi
         }
     }
 
-    private static PrintWriter getFileWriter(final String pFilename, SampleSaveConfiguration saveConfig)
+    private static FileEntry getFileEntry(final String pFilename, SampleSaveConfiguration saveConfig)
             throws IOException {
         if (pFilename == null || pFilename.length() == 0) {
             return null;
@@ -447,11 +500,12 @@ public class ResultCollector extends AbstractListenerElement implements SampleLi
         String filename = FileServer.resolveBaseRelativeName(pFilename);
         filename = new File(filename).getCanonicalPath(); // try to ensure uniqueness (Bug 60822)
         FileEntry fe = files.get(filename);
-        PrintWriter writer = null;
-        boolean trimmed = true;
-
         if (fe == null) {
-            if (saveConfig.saveAsXml()) {
+            boolean binary = BinaryResultFormat.isBinaryResultFile(filename);
+            boolean trimmed;
+            if (binary) {
+                trimmed = new File(filename).length() > 0;
+            } else if (saveConfig.saveAsXml()) {
                 trimmed = trimLastLine(filename);
             } else {
                 trimmed = new File(filename).exists();
@@ -470,20 +524,43 @@ public class ResultCollector extends AbstractListenerElement implements SampleLi
                     log.warn("Error creating directories for {}", pdir);
                 }
             }
-            writer = new PrintWriter(new OutputStreamWriter(new BufferedOutputStream(new FileOutputStream(filename,
-                    trimmed)), SaveService.getFileEncoding(StandardCharsets.UTF_8.name())), SAVING_AUTOFLUSH);
+            BufferedOutputStream stream = SAVING_ASYNC
+                    ? new BufferedOutputStream(new FileOutputStream(filename, trimmed), SAVING_ASYNC_BUFFER_SIZE)
+                    : new BufferedOutputStream(new FileOutputStream(filename, trimmed));
+            PrintWriter writer = null;
+            BinaryResultWriter binaryWriter = null;
+            if (binary) {
+                // Binary files have no footer, a new segment is appended to an existing file
+                binaryWriter = new BinaryResultWriter(stream, !trimmed);
+            } else {
+                // The writer thread flushes each batch, autoflush would defeat batching
+                writer = new PrintWriter(new OutputStreamWriter(stream,
+                        SaveService.getFileEncoding(StandardCharsets.UTF_8.name())), SAVING_AUTOFLUSH && !SAVING_ASYNC);
+            }
+            AsyncResultWriter asyncWriter = null;
+            if (SAVING_ASYNC) {
+                PrintWriter pw = writer;
+                BinaryResultWriter bw = binaryWriter;
+                // The writer thread formats with the configuration of the file, not with the one of the
+                // SampleResult which is shared by all the listeners of the sample
+                SampleSaveConfiguration config = saveConfig;
+                asyncWriter = new AsyncResultWriter(filename, event -> writeSample(event, config, pw, bw),
+                        () -> flushWriters(pw, bw), SAVING_ASYNC_QUEUE_SIZE, SAVING_ASYNC_OVERFLOW);
+            }
             if(log.isDebugEnabled()) {
                 log.debug("Opened file: {} in thread {}", filename, Thread.currentThread().getName());
             }
-            files.put(filename, new FileEntry(writer, saveConfig));
-        } else {
-            writer = fe.pw;
-        }
-        if (!trimmed) {
-            log.debug("Writing header to file: {}", filename);
-            writeFileStart(writer, saveConfig);
+            fe = new FileEntry(writer, binaryWriter, saveConfig, asyncWriter);
+            files.put(filename, fe);
+            if (!trimmed && writer != null) {
+                log.debug("Writing header to file: {}", filename);
+                writeFileStart(writer, saveConfig);
+            }
+            if (asyncWriter != null) {
+                asyncWriter.start();
+            }
         }
-        return writer;
+        return fe;
     }
 
     // returns false if the file did not contain the terminator
@@ -532,6 +609,18 @@ public class ResultCollector extends AbstractListenerElement implements SampleLi
         // NOOP
     }
 
+    /**
+     * The response data is read when it is saved to the file or displayed by a visualizer
+     * which is not a statistics one.
+     */
+    @Override
+    public boolean isResponseDataRead() {
+        SampleSaveConfiguration config = getSaveConfig();
+        Visualizer visualizer = getVisualizer();
+        return config.saveResponseData() || config.saveResponseDataOnError() || TestPlan.getFunctionalMode()
+                || visualizer != null && !visualizer.isStats();
+    }
+
     /**
      * When a test result is received, display it and save it.
      *
@@ -544,18 +633,9 @@ public class ResultCollector extends AbstractListenerElement implements SampleLi
 
         if (isSampleWanted(result.isSuccessful())) {
             sendToVisualizer(result);
-            if (out != null && !isResultMarked(result) && !this.isStats) {
-                SampleSaveConfiguration config = getSaveConfig();
-                result.setSaveConfig(config);
-                try {
-                    if (config.saveAsXml()) {
-                        SaveService.saveSampleResult(event, out);
-                    } else { // !saveAsXml
-                        CSVSaveService.saveSampleResult(event, out);
-                    }
-                } catch (Exception err) {
-                    log.error("Error trying to record a sample", err); // should throw exception back to caller
-                }
+            FileEntry fileEntry = out;
+            if (fileEntry != null && !isResultMarked(result) && !this.isStats) {
+                fileEntry.sampleOccurred(event);
             }
         }
 
@@ -564,6 +644,41 @@ public class ResultCollector extends AbstractListenerElement implements SampleLi
         }
     }
 
+    /**
+     * Formats the sample event according to the save configuration of the file and writes it.
+     *
+     * @param event the sample event to write
+     * @param config the save configuration of the file
+     * @param out the writer of CSV and XML files, null for binary files
+     * @param binaryOut the writer of binary files, null for CSV and XML files
+     */
+    private static void writeSample(SampleEvent event, SampleSaveConfiguration config,
+            PrintWriter out, BinaryResultWriter binaryOut) {
+        try {
+            if (binaryOut != null) {
+                binaryOut.write(event, config);
+            } else if (config.saveAsXml()) {
+                SaveService.saveSampleResult(event, config, out);
+            } else { // !saveAsXml
+                CSVSaveService.saveSampleResult(event, config, out);
+            }
+        } catch (Exception err) {
+            log.error("Error trying to record a sample", err); // should throw exception back to caller
+        }
+    }
+
+    private static void flushWriters(PrintWriter out, BinaryResultWriter binaryOut) {
+        if (binaryOut != null) {
+            try {
+                binaryOut.flush();
+            } catch (IOException e) {
+                log.error("Error flushing binary result file", e);
+            }
+        } else {
+            out.flush();
+        }
+    }
+
     protected final void sendToVisualizer(SampleResult r) {
         if (getVisualizer() != null) {
             getVisualizer().add(r);
@@ -584,21 +699,42 @@ public class ResultCollector extends AbstractListenerElement implements SampleLi
      * Flush PrintWriter to synchronize file contents
      */
     public void flushFile() {
-        if (out != null) {
+        FileEntry fileEntry = out;
+        if (fileEntry != null) {
             log.info("forced flush through ResultCollector#flushFile");
-            out.flush();
+            fileEntry.flush();
         }
     }
 
+    /**
+     * @return number of samples waiting to be written to the file of this collector,
+     * always 0 unless {@code jmeter.save.saveservice.async} is enabled
+     * @since 6.0.0
+     */
+    public int getQueuedSampleCount() {
+        FileEntry fileEntry = out;
+        return fileEntry == null || fileEntry.asyncWriter == null ? 0 : fileEntry.asyncWriter.getQueuedCount();
+    }
+
+    /**
+     * @return number of samples that were not written to the file of this collector because
+     * the queue of the asynchronous writer was full,
+     * always 0 unless {@code jmeter.save.saveservice.async} is enabled
+     * @since 6.0.0
+     */
+    public long getDroppedSampleCount() {
+        FileEntry fileEntry = out;
+        return fileEntry == null || fileEntry.asyncWriter == null ? 0 : fileEntry.asyncWriter.getDroppedCount();
+    }
+
     private static void finalizeFileOutput() {
         for(Map.Entry<String, ResultCollector.FileEntry> me : files.entrySet()) {
             String key = me.getKey();
             ResultCollector.FileEntry value = me.getValue();
             try {
                 log.debug("Closing: {}", key);
-                writeFileEnd(value.pw, value.config);
-                value.pw.close();
-                if (value.pw.checkError()){
+                value.close();
+                if (value.pw != null && value.pw.checkError()){
                     log.warn("Problem detected during use of {}", key);
                 }
             } catch(Exception ex) {
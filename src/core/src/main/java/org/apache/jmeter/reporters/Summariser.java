@@ -22,6 +22,7 @@ import java.text.DecimalFormat;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.jmeter.control.TransactionController;
 import org.apache.jmeter.engine.util.NoThreadClone;
@@ -107,7 +108,7 @@ public class Summariser extends AbstractTestElement
      * Cached copy of Totals for this instance.
      * The variables do not need to be synchronised,
      * as they are not shared between threads
-     * However the contents do need to be synchronized.
+     * However the contents are shared, see Totals.
      */
     private transient Totals myTotals = null;
 
@@ -146,25 +147,33 @@ public class Summariser extends AbstractTestElement
      */
     private static class Totals {
 
-        /** Time of last summary (to prevent double reporting) */
-        private long last = 0;
+        /** Time of last summary in seconds (to prevent double reporting) */
+        private final AtomicLong last = new AtomicLong();
 
-        private final SummariserRunningSample delta = new SummariserRunningSample("DELTA");
+        /** Updated by sampler threads without locking */
+        private final SummariserAccumulator delta = new SummariserAccumulator();
 
+        /** Guarded by the Totals instance; only used when reporting */
         private final SummariserRunningSample total = new SummariserRunningSample("TOTAL");
 
         /**
          * Add the delta values to the total values and clear the delta
+         * @param now current time in milliseconds
+         * @return the delta that has been moved
          */
-        private void moveDelta() {
-            total.addSample(delta);
-            delta.clear();
+        private synchronized SummariserRunningSample moveDelta(long now) {
+            SummariserRunningSample myDelta = delta.drain("DELTA", now);
+            total.addSample(myDelta);
+            return myDelta;
         }
     }
 
     /**
      * Accumulates the sample in two SampleResult objects - one for running
      * totals, and the other for deltas.
+     * <p>
+     * The sample is added without locking, only the thread that reports the summary
+     * moves the deltas to the totals.
      *
      * @see org.apache.jmeter.samplers.SampleListener#sampleOccurred(org.apache.jmeter.samplers.SampleEvent)
      */
@@ -176,39 +185,32 @@ public class Summariser extends AbstractTestElement
             return;
         }
 
-        long now = System.currentTimeMillis() / 1000;// in seconds
+        long nowInMillis = System.currentTimeMillis();
+        long now = nowInMillis / 1000;// in seconds
 
-        SummariserRunningSample myDelta = null;
-        SummariserRunningSample myTotal = null;
-        boolean reportNow = false;
+        if (s != null) {
+            myTotals.delta.addSample(s);
+        }
 
         /*
          * Have we reached the reporting boundary?
          * Need to allow for a margin of error, otherwise can miss the slot.
          * Also need to check we've not hit the window already
          */
-
-        synchronized (myTotals) {
-            if (s != null) {
-                myTotals.delta.addSample(s);
-            }
-
-            if ((now > myTotals.last + INTERVAL_WINDOW) && (now % INTERVAL <= INTERVAL_WINDOW)) {
-                reportNow = true;
-
+        long last = myTotals.last.get();
+        if ((now > last + INTERVAL_WINDOW) && (now % INTERVAL <= INTERVAL_WINDOW)
+                && myTotals.last.compareAndSet(last, now)) { // stop double-reporting
+            SummariserRunningSample myDelta;
+            SummariserRunningSample myTotal;
+            synchronized (myTotals) {
                 // copy the data to minimise the synch time
-                myDelta = new SummariserRunningSample(myTotals.delta);
-                myTotals.moveDelta();
+                myDelta = myTotals.moveDelta(nowInMillis);
                 myTotal = new SummariserRunningSample(myTotals.total);
-
-                myTotals.last = now; // stop double-reporting
             }
-        }
-        if (reportNow) {
             formatAndWriteToLog(myName, myDelta, "+");
 
             // Only if we have updated them
-            if (myTotal != null && myDelta != null &&myTotal.getNumSamples() != myDelta.getNumSamples()) { // NOSONAR
+            if (myTotal.getNumSamples() != myDelta.getNumSamples()) {
                 formatAndWriteToLog(myName, myTotal, "=");
             }
         }
@@ -308,13 +310,17 @@ public class Summariser extends AbstractTestElement
         for(Map.Entry<String, Totals> entry : totals){
             String name = entry.getKey();
             Totals total = entry.getValue();
-            total.delta.setEndTime(); // ensure delta has correct end time
+            SummariserRunningSample delta;
+            boolean reportedPreviously;
+            synchronized (total) {
+                reportedPreviously = total.total.getNumSamples() > 0;
+                delta = total.moveDelta(System.currentTimeMillis()); // This will update the total endTime
+            }
             // Only print final delta if there were some samples in the delta
             // and there has been at least one sample reported previously
-            if (total.delta.getNumSamples() > 0 && total.total.getNumSamples() >  0) {
-                formatAndWriteToLog(name, total.delta, "+");
+            if (delta.getNumSamples() > 0 && reportedPreviously) {
+                formatAndWriteToLog(name, delta, "+");
             }
-            total.moveDelta(); // This will update the total endTime
             formatAndWriteToLog(name, total.total, "=");
         }
     }
@@ -380,4 +386,9 @@ public class Summariser extends AbstractTestElement
         return sb.toString();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean isResponseDataRead() {
+        return false;
+    }
 }
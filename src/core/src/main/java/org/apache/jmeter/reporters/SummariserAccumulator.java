@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.reporters;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.jmeter.samplers.AggregatedSampleResult;
+import org.apache.jmeter.samplers.SampleResult;
+
+/**
+ * Accumulates the statistics of the samples of a {@link Summariser} without locking.
+ * <p>
+ * Counters are striped ({@link LongAdder}), and min/max are kept per stripe ({@link LongAccumulator}),
+ * so sampler threads do not contend on a shared monitor.
+ * The stripes are folded into a {@link SummariserRunningSample} when the summary is reported.
+ * <p>
+ * {@link #drain(String, long)} must not be called concurrently with itself.
+ * Samples added while draining are attributed either to the drained or to the next interval,
+ * so the values of a single interval might be slightly inconsistent with each other,
+ * however no sample is lost.
+ * @since 6.0.0
+ */
+class SummariserAccumulator {
+
+    private final LongAdder counter = new LongAdder();
+
+    private final LongAdder errorCount = new LongAdder();
+
+    private final LongAdder runningSum = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+
+    private volatile long startTime = System.currentTimeMillis();
+
+    /**
+     * Used for each SampleResult, can be called concurrently
+     * @param res {@link SampleResult}
+     */
+    public void addSample(SampleResult res) {
+        counter.add(res.getSampleCount());
+        errorCount.add(res.getErrorCount());
+        long aTimeInMillis = res.getTimeForStatistics();
+        runningSum.add(aTimeInMillis);
+        if (res instanceof AggregatedSampleResult) {
+            // The time is the sum of the aggregated samples
+            AggregatedSampleResult aggregate = (AggregatedSampleResult) res;
+            max.accumulate(aggregate.getMaxTime());
+            min.accumulate(aggregate.getMinTime());
+        } else {
+            max.accumulate(aTimeInMillis);
+            min.accumulate(aTimeInMillis);
+        }
+    }
+
+    /**
+     * Moves the accumulated values into a new {@link SummariserRunningSample} and starts a new interval.
+     * @param label the label of the returned sample
+     * @param now the end time of the interval in milliseconds
+     * @return the values accumulated since the previous call
+     */
+    public SummariserRunningSample drain(String label, long now) {
+        long start = startTime;
+        startTime = now;
+        return new SummariserRunningSample(label,
+                counter.sumThenReset(), errorCount.sumThenReset(), runningSum.sumThenReset(),
+                min.getThenReset(), max.getThenReset(), start, now);
+    }
+}
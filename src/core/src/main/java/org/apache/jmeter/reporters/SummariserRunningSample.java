@@ -19,6 +19,7 @@ package org.apache.jmeter.reporters;
 
 import java.text.DecimalFormat;
 
+import org.apache.jmeter.samplers.AggregatedSampleResult;
 import org.apache.jmeter.samplers.SampleResult;
 
 /**
@@ -77,6 +78,29 @@ class SummariserRunningSample {
         runningSum = src.runningSum;
     }
 
+    /**
+     * Creates a sample from values accumulated elsewhere, see {@link SummariserAccumulator}
+     * @param label the label of this component
+     * @param counter number of samples
+     * @param errorCount number of errors
+     * @param runningSum sum of the elapsed times
+     * @param min minimal elapsed time
+     * @param max maximal elapsed time
+     * @param startTime start of the accumulation period
+     * @param endTime end of the accumulation period
+     */
+    SummariserRunningSample(String label, long counter, long errorCount, long runningSum,
+            long min, long max, long startTime, long endTime) {
+        this.label = label;
+        this.counter = counter;
+        this.errorCount = errorCount;
+        this.runningSum = runningSum;
+        this.min = min;
+        this.max = max;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
     private void init() { // WARNING: called from ctor so must not be overridden (i.e. must be private or final)
         counter = 0L;
         runningSum = 0L;
@@ -119,13 +143,20 @@ class SummariserRunningSample {
     public void addSample(SampleResult res) {
         counter += res.getSampleCount();
         errorCount += res.getErrorCount();
-        long aTimeInMillis = res.getTime();
+        long aTimeInMillis = res.getTimeForStatistics();
         runningSum += aTimeInMillis;
-        if (aTimeInMillis > max) {
-            max = aTimeInMillis;
+        long maxTime = aTimeInMillis;
+        long minTime = aTimeInMillis;
+        if (res instanceof AggregatedSampleResult) {
+            // The time is the sum of the aggregated samples
+            maxTime = ((AggregatedSampleResult) res).getMaxTime();
+            minTime = ((AggregatedSampleResult) res).getMinTime();
+        }
+        if (maxTime > max) {
+            max = maxTime;
         }
-        if (aTimeInMillis < min) {
-            min = aTimeInMillis;
+        if (minTime < min) {
+            min = minTime;
         }
         // We want end time to be current time so sample rates reflect real time
         endTime = System.currentTimeMillis();
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.samplers;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.jmeter.assertions.AssertionResult;
+import org.apache.jorphan.math.MergeableHistogram;
+import org.apiguardian.api.API;
+
+/**
+ * Aggregates the samples of a label for the Aggregate remote batch mode.
+ * <p>
+ * In addition to the counters of {@link StatisticalSampleResult}, it keeps the distribution of the
+ * response times of the successful and of the failed samples, and the number of samples of each error,
+ * so the listeners of the controller can compute percentiles and error breakdowns of the samples of all
+ * the servers without receiving them one by one.
+ * Sub-results are not aggregated.
+ *
+ * @since 6.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+public class AggregatedSampleResult extends StatisticalSampleResult {
+
+    private static final long serialVersionUID = 1L;
+
+    private final MergeableHistogram successTimes = new MergeableHistogram();
+
+    private final MergeableHistogram failureTimes = new MergeableHistogram();
+
+    private final Map<String, ErrorCount> errors = new LinkedHashMap<>();
+
+    /**
+     * Number of failed samples with the same response code, response message and assertion failure.
+     */
+    public static final class ErrorCount implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final SampleResult sample;
+
+        private long count;
+
+        private ErrorCount(SampleResult res) {
+            sample = new SampleResult();
+            sample.setSampleLabel(res.getSampleLabel());
+            sample.setSuccessful(false);
+            sample.setResponseCode(res.getResponseCode());
+            sample.setResponseMessage(res.getResponseMessage());
+            String failureMessage = res.getFirstAssertionFailureMessage();
+            if (failureMessage != null) {
+                AssertionResult assertion = new AssertionResult();
+                assertion.setFailure(true);
+                assertion.setFailureMessage(failureMessage);
+                sample.addAssertionResult(assertion);
+            }
+        }
+
+        /**
+         * @return a failed sample that holds the response code, response message and assertion failure of the error
+         */
+        public SampleResult getSample() {
+            return sample;
+        }
+
+        /**
+         * @return number of samples that failed with this error
+         */
+        public long getCount() {
+            return count;
+        }
+    }
+
+    public AggregatedSampleResult() { // May be called by XStream
+    }
+
+    /**
+     * Create an aggregated sample result from the first sample of a label.
+     *
+     * @param res the sample result
+     */
+    public AggregatedSampleResult(SampleResult res) {
+        super(res);
+    }
+
+    @Override
+    public void add(SampleResult res) {
+        super.add(res);
+        long time = res.getTimeForStatistics();
+        if (res.isSuccessful()) {
+            successTimes.record(time);
+        } else {
+            failureTimes.record(time);
+            String key = res.getResponseCode() + '\n' + res.getResponseMessage() + '\n' + res.getFirstAssertionFailureMessage();
+            errors.computeIfAbsent(key, k -> new ErrorCount(res)).count++;
+        }
+    }
+
+    /**
+     * @return sum of the response times of the aggregated samples
+     */
+    @Override
+    public long getTime() {
+        if (successTimes.getCount() == 0 && failureTimes.getCount() == 0) {
+            return super.getTime(); // read from a result file
+        }
+        return successTimes.getTotal() + failureTimes.getTotal();
+    }
+
+    /**
+     * @return the response times of the successful samples
+     */
+    public MergeableHistogram getSuccessTimes() {
+        return successTimes;
+    }
+
+    /**
+     * @return the response times of the failed samples
+     */
+    public MergeableHistogram getFailureTimes() {
+        return failureTimes;
+    }
+
+    /**
+     * @return the number of failed samples of each error
+     */
+    public Collection<ErrorCount> getErrorCounts() {
+        return Collections.unmodifiableCollection(errors.values());
+    }
+
+    /**
+     * @return minimal response time of the aggregated samples
+     */
+    public long getMinTime() {
+        if (failureTimes.getCount() == 0) {
+            return successTimes.getMin();
+        }
+        if (successTimes.getCount() == 0) {
+            return failureTimes.getMin();
+        }
+        return Math.min(successTimes.getMin(), failureTimes.getMin());
+    }
+
+    /**
+     * @return maximal response time of the aggregated samples
+     */
+    public long getMaxTime() {
+        return Math.max(successTimes.getMax(), failureTimes.getMax());
+    }
+
+    @Override
+    protected void appendDebugParameters(StringBuilder sb) {
+        super.appendDebugParameters(sb);
+        sb.append(", successTimes=").append(successTimes);
+        sb.append(", failureTimes=").append(failureTimes);
+        sb.append(", errors=").append(errors.size());
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.samplers;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.jmeter.util.JMeterUtils;
+import org.apiguardian.api.API;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Aggregates the samples on the server and sends the aggregates of each label at a fixed interval.
+ * <p>
+ * Unlike {@link StatisticalSampleSender}, the {@link AggregatedSampleResult}s keep mergeable
+ * response time distributions and error counts, so the Summariser and the Backend Listener of the
+ * controller compute the same statistics as if they had received every sample, while the controller
+ * only processes one result per label and server for each interval.
+ *
+ * @since 6.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+public class AggregatingSampleSender extends AbstractSampleSender implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger log = LoggerFactory.getLogger(AggregatingSampleSender.class);
+
+    private static final long DEFAULT_INTERVAL_MS = 5000L;
+
+    // Static fields are set by the server when the class is constructed
+
+    private static final long INTERVAL_MS = JMeterUtils.getPropDefault("aggregate.interval", DEFAULT_INTERVAL_MS); // $NON-NLS-1$
+
+    private static final boolean KEY_ON_THREADNAME = JMeterUtils.getPropDefault("key_on_threadname", false); // $NON-NLS-1$
+
+    // Instance fields are constructed by the client and transferred to the server copy by RMI serialisation
+
+    private final long clientConfiguredIntervalMs = JMeterUtils.getPropDefault("aggregate.interval", DEFAULT_INTERVAL_MS); // $NON-NLS-1$
+
+    private final boolean clientConfiguredKeyOnThreadName = JMeterUtils.getPropDefault("key_on_threadname", false); // $NON-NLS-1$
+
+    private final RemoteSampleListener listener;
+
+    // Settings and state of the server, set up by readResolve
+
+    private transient long intervalMs;
+
+    private transient boolean keyOnThreadName;
+
+    private transient Object lock;
+
+    private transient Map<String, SampleEvent> aggregates; // @GuardedBy("lock")
+
+    private transient Object sendLock;
+
+    private transient Thread flusher;
+
+    /**
+     * @deprecated only for use by test code
+     */
+    @Deprecated
+    public AggregatingSampleSender() {
+        this(null);
+        log.warn("Constructor only intended for use in testing"); // $NON-NLS-1$
+    }
+
+    // Created by SampleSenderFactory
+    AggregatingSampleSender(RemoteSampleListener listener) {
+        this.listener = listener;
+        if (log.isInfoEnabled()) {
+            log.info("Using AggregatingSampleSender for this run, interval: {} ms, key uses ThreadName: {}",
+                    clientConfiguredIntervalMs, clientConfiguredKeyOnThreadName);
+        }
+    }
+
+    @Override
+    public void sampleOccurred(SampleEvent e) {
+        String key = StatisticalSampleResult.getKey(e, keyOnThreadName);
+        synchronized (lock) {
+            SampleEvent aggregate = aggregates.get(key);
+            if (aggregate == null) {
+                aggregate = new SampleEvent(new AggregatedSampleResult(e.getResult()), e.getThreadGroup());
+                aggregates.put(key, aggregate);
+            }
+            ((AggregatedSampleResult) aggregate.getResult()).add(e.getResult());
+        }
+    }
+
+    /**
+     * Sends the last aggregates and informs the listener that the test ended.
+     *
+     * @param host the hostname that the test has ended on.
+     */
+    @Override
+    public void testEnded(String host) {
+        log.info("Test Ended on {}", host);
+        if (flusher != null) {
+            flusher.interrupt();
+        }
+        sendAggregates();
+        try {
+            listener.testEnded(host);
+        } catch (RemoteException err) {
+            log.warn("testEnded(hostname)", err);
+        }
+    }
+
+    private void sendAggregates() {
+        synchronized (sendLock) {
+            List<SampleEvent> batch;
+            synchronized (lock) {
+                if (aggregates.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(aggregates.values());
+                aggregates = new HashMap<>();
+            }
+            try {
+                listener.processBatch(batch);
+            } catch (RemoteException err) {
+                log.warn("Failed to send {} aggregated results", batch.size(), err);
+            }
+        }
+    }
+
+    private void flushPeriodically() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(intervalMs);
+                sendAggregates();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.debug("Aggregate flusher ended");
+    }
+
+    /**
+     * Processed by the RMI server code; acts as testStarted().
+     *
+     * @return this
+     * @throws ObjectStreamException never
+     */
+    private Object readResolve() throws ObjectStreamException {
+        if (isClientConfigured()) {
+            intervalMs = clientConfiguredIntervalMs;
+            keyOnThreadName = clientConfiguredKeyOnThreadName;
+        } else {
+            intervalMs = INTERVAL_MS;
+            keyOnThreadName = KEY_ON_THREADNAME;
+        }
+        lock = new Object();
+        sendLock = new Object();
+        aggregates = new HashMap<>();
+        if (listener != null) {
+            flusher = new Thread(this::flushPeriodically, "JMeter aggregate sender"); // $NON-NLS-1$
+            flusher.setDaemon(true);
+            flusher.start();
+        }
+        log.info("Using AggregatingSampleSender for this run. {} config: interval: {} ms, key uses ThreadName: {}",
+                isClientConfigured() ? "Client" : "Server", intervalMs, keyOnThreadName);
+        return this;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.samplers;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apiguardian.api.API;
+
+/**
+ * Parsed representations of the response data of a {@link SampleResult}, keyed by parser kind,
+ * so extractors and assertions working on the same format parse the response data only once.
+ * <p>
+ * The cached representations are shared, so they must not be modified by the components using them.
+ *
+ * @see SampleResult#getParsedResponseData(String, Parser)
+ * @since 6.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+public final class ParsedResponseDataCache {
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    /**
+     * Parses the response data of a sample.
+     *
+     * @param <T> type of the parsed representation
+     * @param <E> type of the exception thrown when the response data can not be parsed
+     */
+    @FunctionalInterface
+    public interface Parser<T, E extends Exception> {
+        /**
+         * @param result sample whose response data is parsed
+         * @return the parsed representation of the response data
+         * @throws E when the response data can not be parsed
+         */
+        T parse(SampleResult result) throws E;
+    }
+
+    private final Map<String, Object> entries = new HashMap<>(4);
+
+    ParsedResponseDataCache() {
+    }
+
+    /**
+     * @param kind   kind of parser, including the options affecting the parsed representation
+     * @param result sample whose response data is parsed
+     * @param parser parser to use if the response data has not been parsed yet for this kind
+     * @param <T>    type of the parsed representation
+     * @param <E>    type of the exception thrown by the parser
+     * @return the parsed representation of the response data
+     * @throws E when the response data can not be parsed; failures are not cached
+     */
+    @SuppressWarnings("unchecked")
+    <T, E extends Exception> T get(String kind, SampleResult result, Parser<T, E> parser) throws E {
+        synchronized (entries) {
+            Object parsed = entries.get(kind);
+            if (parsed != null) {
+                HITS.increment();
+                return (T) parsed;
+            }
+        }
+        MISSES.increment();
+        T parsed = parser.parse(result);
+        if (parsed != null) {
+            synchronized (entries) {
+                entries.put(kind, parsed);
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * @return number of times a parsed representation was found in the cache since the JVM started
+     */
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    /**
+     * @return number of times the response data had to be parsed since the JVM started
+     */
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.samplers;
+
+import org.apiguardian.api.API;
+
+/**
+ * Marks test elements and functions which may read the response data of the previous sample of the thread,
+ * for instance through {@link org.apache.jmeter.threads.JMeterContext#getPreviousResult()} or a {@code prev}
+ * script variable.
+ * <p>
+ * The previous sample can be any sampler of the thread, so samplers implementing {@link ResponseDataOptional}
+ * keep the response data when such an element or function is part of their thread group.
+ *
+ * @since 6.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+public interface PreviousResponseDataReader {
+}
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.samplers;
+
+import org.apiguardian.api.API;
+
+/**
+ * Implemented by samplers which can avoid keeping the response data when nothing in their scope reads it.
+ * <p>
+ * When the test is compiled, each sampler is told whether one of the assertions, post-processors
+ * or listeners applying to it may read the response data, or whether its thread group contains a
+ * {@link PreviousResponseDataReader} which may read it once the next sampler runs.
+ *
+ * @since 6.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+public interface ResponseDataOptional {
+
+    /**
+     * @param read {@code true} if an assertion, post-processor or listener in the scope of the sampler,
+     *             or a reader of the previous sample, may read the response data
+     */
+    void setResponseDataRead(boolean read);
+}
@@ -124,10 +124,17 @@ public class SampleEvent implements Serializable {
     }
 
     private SampleEvent(SampleResult result, String threadGroup, String hostname, boolean isTransactionSampleEvent) {
+        this(result, threadGroup, hostname, new String[variableNames.length], isTransactionSampleEvent);
+    }
+
+    /**
+     * Used by {@link SampleStreamCodec} to rebuild events received from a remote engine.
+     */
+    SampleEvent(SampleResult result, String threadGroup, String hostname, String[] values, boolean isTransactionSampleEvent) {
         this.result = result;
         this.threadGroup = threadGroup;
         this.hostname = hostname;
-        this.values = new String[variableNames.length];
+        this.values = values;
         this.isTransactionSampleEvent = isTransactionSampleEvent;
     }
 
@@ -17,6 +17,8 @@
 
 package org.apache.jmeter.samplers;
 
+import org.apiguardian.api.API;
+
 /**
  * Allows notification on events occurring during the sampling process.
  * Specifically, when sampling is started, when a specific sample is obtained,
@@ -47,4 +49,17 @@ public interface SampleListener {
      *            the {@link SampleEvent} that has stopped
      */
     void sampleStopped(SampleEvent e);
+
+    /**
+     * Whether this listener may read the response data of the samples it is notified of.
+     * Samplers that have no such listener, assertion or post-processor in their scope
+     * can avoid keeping the response data (see {@link ResponseDataOptional}).
+     *
+     * @return {@code true} unless the listener is known to ignore the response data
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    default boolean isResponseDataRead() {
+        return true;
+    }
 }
@@ -35,6 +35,7 @@ import org.apache.jmeter.testelement.TestPlan;
 import org.apache.jmeter.threads.JMeterContext.TestLogicalAction;
 import org.apache.jmeter.util.JMeterUtils;
 import org.apache.jorphan.util.JOrphanUtils;
+import org.apiguardian.api.API;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -133,6 +134,12 @@ public class SampleResult implements Serializable, Cloneable, Searchable {
     private static final long NANOTHREAD_SLEEP =
             JMeterUtils.getPropDefault("sampleresult.nanoThreadSleep", 5000);  // $NON-NLS-1$
 
+    /**
+     * Use the time since the intended start of paced samples in response time statistics
+     */
+    private static final boolean CORRECT_COORDINATED_OMISSION =
+            JMeterUtils.getPropDefault("sampleresult.correct_coordinated_omission", false);  // $NON-NLS-1$
+
     private static final String NULL_FILENAME = "NULL";
 
     static {
@@ -230,6 +237,9 @@ public class SampleResult implements Serializable, Cloneable, Searchable {
     /** time to end connecting */
     private long connectTime = 0;
 
+    /** time the sample was intended to start at by a pacing timer, 0 if not paced */
+    private long intendedStartTime = 0;
+
     /** Way to signal what to do on Test */
     private TestLogicalAction testLogicalAction = TestLogicalAction.CONTINUE;
 
@@ -276,6 +286,11 @@ public class SampleResult implements Serializable, Cloneable, Searchable {
      */
     private transient volatile String responseDataAsString;
 
+    /**
+     * Cache for the parsed representations of responseData, created on first use
+     */
+    private transient volatile ParsedResponseDataCache parsedResponseData;
+
     public SampleResult() {
         this(USE_NANO_TIME, NANOTHREAD_SLEEP);
     }
@@ -315,6 +330,7 @@ public class SampleResult implements Serializable, Cloneable, Searchable {
         label = res.label;//OK
         latency = res.latency;
         connectTime = res.connectTime;
+        intendedStartTime = res.intendedStartTime;
         location = res.location;//OK
         parent = res.parent;
         pauseTime = res.pauseTime;
@@ -322,6 +338,7 @@ public class SampleResult implements Serializable, Cloneable, Searchable {
         responseCode = res.responseCode;//OK
         responseData = res.responseData;//OK
         responseDataAsString = null;
+        parsedResponseData = null;
         responseHeaders = res.responseHeaders;//OK
         responseMessage = res.responseMessage;//OK
 
@@ -736,6 +753,7 @@ public class SampleResult implements Serializable, Cloneable, Searchable {
      */
     public void setResponseData(byte[] response) {
         responseDataAsString = null;
+        parsedResponseData = null;
         responseData = response == null ? EMPTY_BA : response;
     }
 
@@ -751,6 +769,7 @@ public class SampleResult implements Serializable, Cloneable, Searchable {
     @Deprecated
     public void setResponseData(String response) {
         responseDataAsString = null;
+        parsedResponseData = null;
         try {
             responseData = response.getBytes(getDataEncodingWithDefault());
         } catch (UnsupportedEncodingException e) {
@@ -768,6 +787,7 @@ public class SampleResult implements Serializable, Cloneable, Searchable {
      */
     public void setResponseData(final String response, final String encoding) {
         responseDataAsString = null;
+        parsedResponseData = null;
         String encodeUsing = encoding != null? encoding : DEFAULT_CHARSET;
         try {
             responseData = response.getBytes(encodeUsing);
@@ -811,6 +831,83 @@ public class SampleResult implements Serializable, Cloneable, Searchable {
         }
     }
 
+    /**
+     * Gets the response data as a {@link CharSequence}, for components which only need to scan it.
+     * <p>
+     * When the response data has not been decoded yet and every character is stored in a single byte
+     * (ISO-8859-1 encoding, or only ASCII bytes in an ASCII compatible encoding),
+     * the returned sequence reads the response bytes directly instead of decoding them to a {@link String}.
+     *
+     * @return the response data
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public CharSequence getResponseDataAsCharSequence() {
+        String decoded = responseDataAsString;
+        if (decoded != null) {
+            return decoded;
+        }
+        Charset charset;
+        try {
+            charset = Charset.forName(getDataEncodingWithDefault());
+        } catch (IllegalArgumentException e) {
+            return getResponseDataAsString();
+        }
+        if (StandardCharsets.ISO_8859_1.equals(charset)
+                || (isAsciiCompatible(charset) && isAscii(responseData))) {
+            return new Latin1CharSequence(responseData, 0, responseData.length);
+        }
+        return getResponseDataAsString();
+    }
+
+    private static boolean isAsciiCompatible(Charset charset) {
+        String name = charset.name();
+        return StandardCharsets.UTF_8.equals(charset)
+                || StandardCharsets.US_ASCII.equals(charset)
+                || name.startsWith("ISO-8859-") // $NON-NLS-1$
+                || name.startsWith("windows-125"); // $NON-NLS-1$
+    }
+
+    private static boolean isAscii(byte[] data) {
+        for (byte b : data) {
+            if (b < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets a parsed representation of the response data, parsing it only on first use for a given kind.
+     * Extractors and assertions should use this method so a response is parsed only once per format.
+     * <p>
+     * The cache is cleared when the response data is changed and after the sample has been processed.
+     * The returned object is shared, so it must not be modified.
+     *
+     * @param kind   kind of parser, including the options affecting the parsed representation
+     * @param parser parser to use if the response data has not been parsed yet for this kind
+     * @param <T>    type of the parsed representation
+     * @param <E>    type of the exception thrown by the parser
+     * @return the parsed representation of the response data
+     * @throws E when the response data can not be parsed
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public <T, E extends Exception> T getParsedResponseData(
+            String kind, ParsedResponseDataCache.Parser<T, E> parser) throws E {
+        ParsedResponseDataCache cache = parsedResponseData;
+        if (cache == null) {
+            synchronized (this) {
+                cache = parsedResponseData;
+                if (cache == null) {
+                    cache = new ParsedResponseDataCache();
+                    parsedResponseData = cache;
+                }
+            }
+        }
+        return cache.get(kind, this, parser);
+    }
+
     public void setSamplerData(String s) {
         samplerData = s;
     }
@@ -829,6 +926,47 @@ public class SampleResult implements Serializable, Cloneable, Searchable {
         return elapsedTime;
     }
 
+    /**
+     * Get the time it took this sample to occur, plus the time it started late according to
+     * its intended start time. When the system under test slows down, a closed model test sends fewer
+     * requests, so the elapsed times alone miss the time the requests that were not sent would have waited
+     * (coordinated omission).
+     *
+     * @return time since the intended start in milliseconds, or the elapsed time if the sample was not paced
+     * @see #getIntendedStartTime()
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public long getCorrectedTime() {
+        // getTime() as aggregated results override it
+        if (intendedStartTime <= 0 || intendedStartTime >= startTime) {
+            return getTime();
+        }
+        return getTime() + startTime - intendedStartTime;
+    }
+
+    /**
+     * Get the time to use in response time statistics: {@link #getCorrectedTime()} if the
+     * {@code sampleresult.correct_coordinated_omission} property is true, {@link #getTime()} otherwise.
+     *
+     * @return response time in milliseconds
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public long getTimeForStatistics() {
+        return CORRECT_COORDINATED_OMISSION ? getCorrectedTime() : getTime();
+    }
+
+    /**
+     * @return true if response time statistics should be corrected for coordinated omission
+     * @see #getTimeForStatistics()
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public static boolean isCoordinatedOmissionCorrected() {
+        return CORRECT_COORDINATED_OMISSION;
+    }
+
     public boolean isSuccessful() {
         return success;
     }
@@ -967,6 +1105,7 @@ public class SampleResult implements Serializable, Cloneable, Searchable {
         sb.append(", elapsedTime=").append(elapsedTime);
         sb.append(", latency=").append(latency);
         sb.append(", connectTime=").append(connectTime);
+        sb.append(", intendedStartTime=").append(intendedStartTime);
         sb.append(", testLogicalAction=").append(testLogicalAction);
         sb.append(", stopThread=").append(stopThread);
         sb.append(", stopTest=").append(stopTest);
@@ -1408,6 +1547,29 @@ public class SampleResult implements Serializable, Cloneable, Searchable {
         this.connectTime = time;
     }
 
+    /**
+     * Returns the time the sample was intended to start at according to the schedule of a pacing timer.
+     * The difference with {@link #getStartTime()} is the time the sample was late, for instance
+     * because the previous sample of the thread took longer than the schedule allowed.
+     *
+     * @return intended start time in milliseconds since the epoch, or 0 if the sample was not paced
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public long getIntendedStartTime() {
+        return intendedStartTime;
+    }
+
+    /**
+     * @param intendedStartTime intended start time in milliseconds since the epoch, or 0 if the sample was not paced
+     * @see #getIntendedStartTime()
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public void setIntendedStartTime(long intendedStartTime) {
+        this.intendedStartTime = intendedStartTime;
+    }
+
     /**
      * This is only intended for use by SampleResultConverter!
      *
@@ -1598,6 +1760,7 @@ public class SampleResult implements Serializable, Cloneable, Searchable {
      */
     public void cleanAfterSample() {
         this.responseDataAsString = null;
+        this.parsedResponseData = null;
     }
 
     @Override
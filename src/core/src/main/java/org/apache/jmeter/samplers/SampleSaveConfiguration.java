@@ -218,6 +218,8 @@ public class SampleSaveConfiguration implements Cloneable, Serializable {
 
     private static final String SAVE_IDLE_TIME       = "jmeter.save.saveservice.idle_time"; // $NON_NLS-1$
 
+    private static final String SAVE_INTENDED_START_TIME = "jmeter.save.saveservice.intended_start_time"; // $NON_NLS-1$
+
     // Defaults from properties:
     private static final boolean TIME;
     private static final boolean TIMESTAMP;
@@ -278,6 +280,8 @@ public class SampleSaveConfiguration implements Cloneable, Serializable {
 
     private static final boolean IDLE_TIME;
 
+    private static final boolean INTENDED_START_TIME;
+
     public static final String DEFAULT_DELIMITER = ","; // $NON_NLS-1$
 
     // Read in the properties having to do with saving from a properties file.
@@ -382,6 +386,8 @@ public class SampleSaveConfiguration implements Cloneable, Serializable {
         SAMPLE_COUNT=TRUE.equalsIgnoreCase(props.getProperty(SAVE_SAMPLE_COUNT, FALSE));
 
         IDLE_TIME=TRUE.equalsIgnoreCase(props.getProperty(SAVE_IDLE_TIME, TRUE));
+
+        INTENDED_START_TIME=TRUE.equalsIgnoreCase(props.getProperty(SAVE_INTENDED_START_TIME, FALSE));
     }
 
     private static final SampleSaveConfiguration STATIC_SAVE_CONFIGURATION = new SampleSaveConfiguration();
@@ -427,6 +433,7 @@ public class SampleSaveConfiguration implements Cloneable, Serializable {
         "ResponseData", // XML
         "Subresults", // XML
         "Assertions", // XML
+        "IntendedStartTime",
     }));
     // N.B. Remember to update the equals and hashCode methods when adding new variables.
 
@@ -467,6 +474,8 @@ public class SampleSaveConfiguration implements Cloneable, Serializable {
 
     private boolean idleTime = IDLE_TIME;
 
+    private boolean intendedStartTime = INTENDED_START_TIME;
+
     // Does not appear to be used (yet)
     // it is
     @SuppressWarnings("FieldCanBeStatic")
@@ -510,6 +519,7 @@ public class SampleSaveConfiguration implements Cloneable, Serializable {
         fileName = value;
         hostname = value;
         idleTime = value;
+        intendedStartTime = value;
         label = value;
         latency = value;
         message = value;
@@ -658,6 +668,7 @@ public class SampleSaveConfiguration implements Cloneable, Serializable {
             s.hostname == hostname &&
             s.sampleCount == sampleCount &&
             s.idleTime == idleTime &&
+            s.intendedStartTime == intendedStartTime &&
             s.threadCounts == threadCounts;
 
         boolean stringValues = false;
@@ -708,6 +719,7 @@ public class SampleSaveConfiguration implements Cloneable, Serializable {
         hash = 31 * hash + (dateFormat != null  ? dateFormat.hashCode() : 0);
         hash = 31 * hash + (sampleCount ? 1 : 0);
         hash = 31 * hash + (idleTime ? 1 : 0);
+        hash = 31 * hash + (intendedStartTime ? 1 : 0);
 
         return hash;
     }
@@ -803,6 +815,10 @@ public class SampleSaveConfiguration implements Cloneable, Serializable {
         return responseData;
     }
 
+    public boolean saveResponseDataOnError() {
+        return responseDataOnError;
+    }
+
     public void setResponseData(boolean responseData) {
         this.responseData = responseData;
     }
@@ -1018,4 +1034,21 @@ public class SampleSaveConfiguration implements Cloneable, Serializable {
     public void setIdleTime(boolean save) {
         idleTime = save;
     }
+
+    /**
+     * @return true if the intended start time of paced samples should be saved
+     * @see SampleResult#getIntendedStartTime()
+     * @since 6.0.0
+     */
+    public boolean saveIntendedStartTime() {
+        return intendedStartTime;
+    }
+
+    /**
+     * @param save true if the intended start time of paced samples should be saved
+     * @since 6.0.0
+     */
+    public void setIntendedStartTime(boolean save) {
+        intendedStartTime = save;
+    }
 }
@@ -30,12 +30,15 @@ public class SampleSenderFactory {
     private static final String MODE_STANDARD = "Standard"; // $NON-NLS-1$
     private static final String MODE_BATCH = "Batch"; // $NON-NLS-1$
     private static final String MODE_STATISTICAL = "Statistical"; // $NON-NLS-1$
+    private static final String MODE_AGGREGATE = "Aggregate"; // $NON-NLS-1$
     private static final String MODE_STRIPPED = "Stripped"; // $NON-NLS-1$
     private static final String MODE_STRIPPED_BATCH = "StrippedBatch"; // $NON-NLS-1$
     private static final String MODE_ASYNCH = "Asynch"; // $NON-NLS-1$
     private static final String MODE_STRIPPED_ASYNCH = "StrippedAsynch"; // $NON-NLS-1$
     private static final String MODE_DISKSTORE = "DiskStore"; // $NON-NLS-1$
     private static final String MODE_STRIPPED_DISKSTORE = "StrippedDiskStore"; // $NON-NLS-1$
+    private static final String MODE_STREAMING = "Streaming"; // $NON-NLS-1$
+    private static final String MODE_STRIPPED_STREAMING = "StrippedStreaming"; // $NON-NLS-1$
 
     private SampleSenderFactory() {
         // this is a singleton, so don't let anyone instantiate us
@@ -58,6 +61,8 @@ public class SampleSenderFactory {
             s = new DataStrippingSampleSender(new BatchSampleSender(listener));
         } else if (type.equalsIgnoreCase(MODE_STATISTICAL)) {
             s = new StatisticalSampleSender(listener);
+        } else if (type.equalsIgnoreCase(MODE_AGGREGATE)) {
+            s = new AggregatingSampleSender(listener);
         } else if (type.equalsIgnoreCase(MODE_STANDARD)) {
             s = new StandardSampleSender(listener);
         } else if (type.equalsIgnoreCase(MODE_STRIPPED)) {
@@ -70,6 +75,10 @@ public class SampleSenderFactory {
             s = new DiskStoreSampleSender(listener);
         } else if (type.equalsIgnoreCase(MODE_STRIPPED_DISKSTORE)) {
             s = new DataStrippingSampleSender(new DiskStoreSampleSender(listener));
+        } else if (type.equalsIgnoreCase(MODE_STREAMING)) {
+            s = new StreamingSampleSender(listener);
+        } else if (type.equalsIgnoreCase(MODE_STRIPPED_STREAMING)) {
+            s = new DataStrippingSampleSender(new StreamingSampleSender(listener));
         } else {
             // should be a user provided class name
             try {
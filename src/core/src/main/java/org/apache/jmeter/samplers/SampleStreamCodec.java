@@ -0,0 +1,497 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.samplers;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.jmeter.assertions.AssertionResult;
+
+/**
+ * Compact binary encoding of the sample events streamed by {@link StreamingSampleSender}.
+ * <p>
+ * Strings that repeat across samples are sent once and then referenced by their index in a
+ * dictionary that lives as long as the connection, numbers are unsigned LEB128 varints and
+ * time stamps are zig-zag encoded differences with the previous sample.
+ * <pre>
+ * stream   := MAGIC VERSION inline(hostname) frame*
+ * frame    := OPEN | BATCH | END
+ * OPEN     := 0x01 varint(channel) varint(32) token
+ *                                                    a sender of the channel uses the connection, the
+ *                                                    token is the one the controller registered for the channel
+ * BATCH    := 0x02 varint(channel) varint(count) event*
+ * END      := 0x03 varint(channel)                   the controller acknowledges it once the
+ *                                                    previous samples of the channel were processed
+ * event    := ref(threadGroup) ref(hostname) byte(flags) varint(variableCount) ref(value)* result
+ * result   := zigzag(timeStamp - previousTimeStamp) varint(elapsed) varint(latency) varint(connect)
+ *             varint(idleTime) byte(flags) ref(label) ref(responseCode) ref(responseMessage)
+ *             ref(threadName) ref(dataType) ref(contentType) ref(dataEncoding) ref(url)
+ *             ref(samplerData) ref(requestHeaders) ref(responseHeaders)
+ *             varint(bytes) varint(sentBytes) varint(headersSize) varint(bodySize)
+ *             varint(grpThreads) varint(allThreads) varint(sampleCount) varint(errorCount)
+ *             opt(timeStamp - intendedStartTime) varint(length) responseData
+ *             varint(assertionCount) (ref(name) byte(flags) ref(failureMessage))*
+ *             varint(subResultCount) result*
+ * ref      := varint(0) for null or empty, varint(1) inline for a value that is not cached,
+ *             varint(2) inline for a value added to the dictionary, varint(index + 3) otherwise
+ * </pre>
+ * The acknowledgements sent back by the controller are plain varints holding the channel.
+ */
+final class SampleStreamCodec {
+    static final byte[] MAGIC = {'J', 'M', 'T', 'S'};
+
+    static final int VERSION = 1;
+
+    static final int FRAME_OPEN = 0x01;
+
+    static final int FRAME_BATCH = 0x02;
+
+    static final int FRAME_END = 0x03;
+
+    /** Length of the tokens of the channels */
+    static final int TOKEN_LENGTH = 32;
+
+    private static final int REF_EMPTY = 0;
+
+    private static final int REF_INLINE = 1;
+
+    private static final int REF_NEW = 2;
+
+    private static final int REF_DICTIONARY_OFFSET = 3;
+
+    /** Longer strings (headers, sampler data, ...) are unlikely to repeat */
+    private static final int MAX_DICTIONARY_STRING_LENGTH = 256;
+
+    /** Limits the memory used by the dictionary on both sides of the connection */
+    private static final int MAX_DICTIONARY_SIZE = 1 << 16;
+
+    /** Guards the decoder against corrupted lengths */
+    private static final int MAX_LENGTH = 1 << 30;
+
+    /** The hostname is read before the peer opened a channel, so it must stay small */
+    private static final int MAX_HOSTNAME_LENGTH = 255;
+
+    private static final int EVENT_TRANSACTION = 0x01;
+
+    private static final int RESULT_SUCCESS = 0x01;
+
+    private static final int ASSERTION_FAILURE = 0x01;
+
+    private static final int ASSERTION_ERROR = 0x02;
+
+    private static final byte[] EMPTY_BYTES = new byte[0];
+
+    private SampleStreamCodec() {
+    }
+
+    static void writeVarLong(OutputStream out, long value) throws IOException {
+        long v = value;
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Sample stream ended in the middle of a number");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupted sample stream, number is too long");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Writes the stream of a server, it is not thread-safe.
+     */
+    static final class Encoder {
+        private final DataOutputStream out;
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private long previousTimeStamp;
+
+        Encoder(OutputStream out, String hostname) throws IOException {
+            this.out = new DataOutputStream(out);
+            this.out.write(MAGIC);
+            this.out.write(VERSION);
+            writeInline(hostname);
+        }
+
+        void writeOpen(int channel, byte[] token) throws IOException {
+            out.write(FRAME_OPEN);
+            writeVarLong(out, channel);
+            writeVarLong(out, token.length);
+            out.write(token);
+        }
+
+        void writeEnd(int channel) throws IOException {
+            out.write(FRAME_END);
+            writeVarLong(out, channel);
+        }
+
+        void writeBatch(int channel, List<SampleEvent> events) throws IOException {
+            out.write(FRAME_BATCH);
+            writeVarLong(out, channel);
+            writeVarLong(out, events.size());
+            for (SampleEvent event : events) {
+                writeEvent(event);
+            }
+        }
+
+        void flush() throws IOException {
+            out.flush();
+        }
+
+        void close() throws IOException {
+            out.close();
+        }
+
+        private void writeEvent(SampleEvent event) throws IOException {
+            writeRef(event.getThreadGroup());
+            writeRef(event.getHostname());
+            out.write(event.isTransactionSampleEvent() ? EVENT_TRANSACTION : 0);
+            int varCount = SampleEvent.getVarCount();
+            writeVarLong(out, varCount);
+            for (int i = 0; i < varCount; i++) {
+                writeRef(event.getVarValue(i));
+            }
+            writeResult(event.getResult());
+        }
+
+        private void writeResult(SampleResult result) throws IOException {
+            long timeStamp = result.getTimeStamp();
+            writeVarLong(out, zigZag(timeStamp - previousTimeStamp));
+            previousTimeStamp = timeStamp;
+            writeVarLong(out, result.getTime());
+            writeVarLong(out, result.getLatency());
+            writeVarLong(out, result.getConnectTime());
+            writeVarLong(out, result.getIdleTime());
+            out.write(result.isSuccessful() ? RESULT_SUCCESS : 0);
+            writeRef(result.getSampleLabel());
+            writeRef(result.getResponseCode());
+            writeRef(result.getResponseMessage());
+            writeRef(result.getThreadName());
+            writeRef(result.getDataType());
+            writeRef(result.getContentType());
+            writeRef(result.getDataEncodingNoDefault());
+            URL url = result.getURL();
+            writeRef(url == null ? null : url.toString());
+            writeRef(result.getSamplerData());
+            writeRef(result.getRequestHeaders());
+            writeRef(result.getResponseHeaders());
+            writeVarLong(out, result.getBytesAsLong());
+            writeVarLong(out, result.getSentBytes());
+            writeVarLong(out, result.getHeadersSize());
+            writeVarLong(out, result.getBodySizeAsLong());
+            writeVarLong(out, result.getGroupThreads());
+            writeVarLong(out, result.getAllThreads());
+            writeVarLong(out, result.getSampleCount());
+            writeVarLong(out, result.getErrorCount());
+            long intendedStartTime = result.getIntendedStartTime();
+            writeVarLong(out, intendedStartTime == 0 ? 0 : zigZag(timeStamp - intendedStartTime) + 1);
+            byte[] responseData = result.getResponseData();
+            writeVarLong(out, responseData.length);
+            out.write(responseData);
+            AssertionResult[] assertions = result.getAssertionResults();
+            writeVarLong(out, assertions.length);
+            for (AssertionResult assertion : assertions) {
+                writeRef(assertion.getName());
+                out.write((assertion.isFailure() ? ASSERTION_FAILURE : 0) | (assertion.isError() ? ASSERTION_ERROR : 0));
+                writeRef(assertion.getFailureMessage());
+            }
+            SampleResult[] subResults = result.getSubResults();
+            writeVarLong(out, subResults.length);
+            for (SampleResult subResult : subResults) {
+                writeResult(subResult);
+            }
+        }
+
+        private void writeRef(String value) throws IOException {
+            if (value == null || value.isEmpty()) {
+                writeVarLong(out, REF_EMPTY);
+                return;
+            }
+            Integer index = dictionary.get(value);
+            if (index != null) {
+                writeVarLong(out, index + (long) REF_DICTIONARY_OFFSET);
+                return;
+            }
+            if (value.length() > MAX_DICTIONARY_STRING_LENGTH || dictionary.size() >= MAX_DICTIONARY_SIZE) {
+                writeVarLong(out, REF_INLINE);
+            } else {
+                dictionary.put(value, dictionary.size());
+                writeVarLong(out, REF_NEW);
+            }
+            writeInline(value);
+        }
+
+        private void writeInline(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(out, bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Reads the stream of a server, it is not thread-safe.
+     */
+    static final class Decoder {
+        private final DataInputStream in;
+        private final String hostname;
+        private final List<String> dictionary = new ArrayList<>();
+        private long previousTimeStamp;
+        private int channel;
+        private byte[] token;
+
+        Decoder(InputStream in) throws IOException {
+            this.in = new DataInputStream(in);
+            byte[] magic = new byte[MAGIC.length];
+            this.in.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Not a JMeter sample stream, magic number does not match");
+            }
+            int version = this.in.read();
+            if (version != VERSION) {
+                throw new IOException("Unsupported sample stream version " + version + ", expecting " + VERSION);
+            }
+            hostname = readInline(MAX_HOSTNAME_LENGTH);
+        }
+
+        /**
+         * @return name of the server that sends the stream
+         */
+        String getHostname() {
+            return hostname;
+        }
+
+        /**
+         * Reads the header of the next frame, its channel and token are available from {@link #getChannel()}
+         * and {@link #getToken()}. The events of a BATCH frame are not decoded, so the channel can be checked
+         * first, they must be read with {@link #readEvents()} before the next frame.
+         *
+         * @return the type of the frame or -1 at the end of the stream
+         * @throws IOException when reading fails or the stream is corrupted
+         */
+        int readFrame() throws IOException {
+            int frame = in.read();
+            if (frame < 0) {
+                return -1;
+            }
+            channel = (int) readVarLong(in);
+            token = null;
+            switch (frame) {
+                case FRAME_OPEN:
+                    long length = readVarLong(in);
+                    if (length != TOKEN_LENGTH) {
+                        throw new IOException("Corrupted sample stream, token length " + length
+                                + " is not " + TOKEN_LENGTH);
+                    }
+                    token = new byte[TOKEN_LENGTH];
+                    in.readFully(token);
+                    break;
+                case FRAME_END:
+                case FRAME_BATCH:
+                    break;
+                default:
+                    throw new IOException("Corrupted sample stream, unknown frame type " + frame);
+            }
+            return frame;
+        }
+
+        int getChannel() {
+            return channel;
+        }
+
+        /**
+         * @return the token of the last OPEN frame
+         */
+        byte[] getToken() {
+            return token;
+        }
+
+        /**
+         * Decodes the events of the BATCH frame whose header was just read.
+         *
+         * @return the events of the frame
+         * @throws IOException when reading fails or the stream is corrupted
+         */
+        List<SampleEvent> readEvents() throws IOException {
+            int count = readLength();
+            // The count is not trusted to size the list, the events are read one by one
+            List<SampleEvent> events = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                events.add(readEvent());
+            }
+            return events;
+        }
+
+        private SampleEvent readEvent() throws IOException {
+            String threadGroup = readRef();
+            String eventHostname = readRef();
+            int flags = in.readUnsignedByte();
+            int varCount = readLength();
+            // The variables are the ones of the server, the controller may be configured with fewer of them
+            String[] values = new String[SampleEvent.getVarCount()];
+            for (int i = 0; i < varCount; i++) {
+                String value = readRef();
+                if (i < values.length) {
+                    values[i] = value;
+                }
+            }
+            SampleResult result = readResult();
+            return new SampleEvent(result, threadGroup, eventHostname, values, (flags & EVENT_TRANSACTION) != 0);
+        }
+
+        private SampleResult readResult() throws IOException {
+            long timeStamp = previousTimeStamp + unZigZag(readVarLong(in));
+            previousTimeStamp = timeStamp;
+            SampleResult result = new SampleResult();
+            result.setStampAndTime(timeStamp, readVarLong(in));
+            result.setLatency(readVarLong(in));
+            result.setConnectTime(readVarLong(in));
+            result.setIdleTime(readVarLong(in));
+            result.setSuccessful((in.readUnsignedByte() & RESULT_SUCCESS) != 0);
+            result.setSampleLabel(readString());
+            result.setResponseCode(readString());
+            result.setResponseMessage(readString());
+            result.setThreadName(readString());
+            result.setDataType(readString());
+            result.setContentType(readString());
+            result.setDataEncoding(readRef());
+            String url = readRef();
+            if (url != null) {
+                try {
+                    result.setURL(new URL(url));
+                } catch (MalformedURLException e) { // NOSONAR The URL was valid on the server
+                    // Keep the sample without its URL
+                }
+            }
+            result.setSamplerData(readRef());
+            result.setRequestHeaders(readString());
+            result.setResponseHeaders(readString());
+            result.setBytes(readVarLong(in));
+            result.setSentBytes(readVarLong(in));
+            result.setHeadersSize((int) readVarLong(in));
+            result.setBodySize(readVarLong(in));
+            result.setGroupThreads((int) readVarLong(in));
+            result.setAllThreads((int) readVarLong(in));
+            result.setSampleCount((int) readVarLong(in));
+            result.setErrorCount((int) readVarLong(in));
+            long lateness = readVarLong(in);
+            if (lateness != 0) {
+                result.setIntendedStartTime(timeStamp - unZigZag(lateness - 1));
+            }
+            int length = readLength();
+            byte[] responseData = length == 0 ? EMPTY_BYTES : new byte[length];
+            in.readFully(responseData);
+            result.setResponseData(responseData);
+            int assertionCount = readLength();
+            for (int i = 0; i < assertionCount; i++) {
+                AssertionResult assertion = new AssertionResult(readRef());
+                int flags = in.readUnsignedByte();
+                assertion.setFailure((flags & ASSERTION_FAILURE) != 0);
+                assertion.setError((flags & ASSERTION_ERROR) != 0);
+                assertion.setFailureMessage(readRef());
+                result.addAssertionResult(assertion);
+            }
+            int subResultCount = readLength();
+            for (int i = 0; i < subResultCount; i++) {
+                // Labels were already renamed on the server
+                result.storeSubResult(readResult(), false);
+            }
+            return result;
+        }
+
+        private int readLength() throws IOException {
+            long length = readVarLong(in);
+            if (length > MAX_LENGTH) {
+                throw new IOException("Corrupted sample stream, length " + length + " is too large");
+            }
+            return (int) length;
+        }
+
+        /**
+         * @return the referenced value, the empty string for the fields of {@link SampleResult} that are never null
+         */
+        private String readString() throws IOException {
+            String value = readRef();
+            return value == null ? "" : value;
+        }
+
+        private String readRef() throws IOException {
+            long ref = readVarLong(in);
+            if (ref == REF_EMPTY) {
+                return null;
+            }
+            if (ref == REF_INLINE) {
+                return readInline();
+            }
+            if (ref == REF_NEW) {
+                String value = readInline();
+                dictionary.add(value);
+                return value;
+            }
+            long index = ref - REF_DICTIONARY_OFFSET;
+            if (index >= dictionary.size()) {
+                throw new IOException("Corrupted sample stream, unknown string reference " + index);
+            }
+            return dictionary.get((int) index);
+        }
+
+        private String readInline() throws IOException {
+            return readInline(MAX_LENGTH);
+        }
+
+        private String readInline(int maxLength) throws IOException {
+            long length = readVarLong(in);
+            if (length > maxLength) {
+                throw new IOException("Corrupted sample stream, length " + length + " is too large");
+            }
+            byte[] bytes = new byte[(int) length];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.samplers;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.rmi.server.RMIClientSocketFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import org.apache.jmeter.rmi.RmiUtils;
+import org.apache.jorphan.documentation.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Connection of a remote engine to the {@link SampleStreamReceiver} of the controller.
+ * <p>
+ * The {@link StreamingSampleSender}s of the engine that send to the same controller share
+ * the connection, each one uses its own channel. Samples are queued by the sampler threads
+ * and written in batches by a single thread, which blocks when the controller does not keep up,
+ * so the bounded queue in turn blocks the sampler threads.
+ */
+final class SampleStreamConnection {
+    private static final Logger log = LoggerFactory.getLogger(SampleStreamConnection.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    /** How long the end of a channel waits for the controller to process the samples of the channel */
+    private static final long END_TIMEOUT_SECONDS = 60;
+
+    private static final int CLOSE = 0;
+
+    // Guarded by itself, also guards the users of the connections
+    private static final Map<String, SampleStreamConnection> CONNECTIONS = new HashMap<>();
+
+    private final String address;
+    private final Socket socket;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final SampleStreamCodec.Encoder encoder;
+    private final BlockingQueue<Pending> queue;
+    private final Map<Integer, CompletableFuture<Void>> pendingEnds = new ConcurrentHashMap<>();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder queueWaits = new LongAdder();
+    private final LongAdder queueWaitTime = new LongAdder();
+    private int users;
+    private volatile boolean closing;
+    private volatile IOException failure;
+
+    private static final class Pending {
+        private final int frame;
+        private final int channel;
+        private final SampleEvent event;
+        private final byte[] token;
+
+        private Pending(int frame, int channel, SampleEvent event) {
+            this(frame, channel, event, null);
+        }
+
+        private Pending(int frame, int channel, SampleEvent event, byte[] token) {
+            this.frame = frame;
+            this.channel = channel;
+            this.event = event;
+            this.token = token;
+        }
+    }
+
+    private SampleStreamConnection(String host, int port, int capacity) throws IOException {
+        this(host + ':' + port, createSocket(host, port), capacity);
+    }
+
+    /**
+     * Starts streaming on a connected socket.
+     *
+     * @param address  address of the receiver, used in messages
+     * @param socket   the socket connected to the receiver
+     * @param capacity size of the sample queue
+     * @throws IOException when the stream header can not be written
+     */
+    @VisibleForTesting
+    SampleStreamConnection(String address, Socket socket, int capacity) throws IOException {
+        this.address = address;
+        this.socket = socket;
+        try {
+            socket.setTcpNoDelay(true);
+            OutputStream out = new BufferedOutputStream(
+                    new DeflaterOutputStream(socket.getOutputStream(), deflater, BUFFER_SIZE, true), BUFFER_SIZE);
+            encoder = new SampleStreamCodec.Encoder(out, SampleEvent.HOSTNAME);
+            encoder.flush();
+        } catch (IOException e) {
+            socket.close();
+            deflater.end();
+            throw e;
+        }
+        queue = new ArrayBlockingQueue<>(capacity);
+        Thread writer = new Thread(this::writeLoop, "JMeter sample stream to " + address); // $NON-NLS-1$
+        writer.setDaemon(true);
+        writer.start();
+        Thread ackReader = new Thread(this::readAcks, "JMeter sample stream acks from " + address); // $NON-NLS-1$
+        ackReader.setDaemon(true);
+        ackReader.start();
+        log.info("Streaming samples to {}, queue size: {}", address, capacity);
+    }
+
+    private static Socket createSocket(String host, int port) throws IOException {
+        RMIClientSocketFactory factory = RmiUtils.createClientSocketFactory();
+        return factory == null ? new Socket(host, port) : factory.createSocket(host, port);
+    }
+
+    /**
+     * Opens the connection to the receiver, or shares the existing one.
+     * Each call must be followed by a call to {@link #release()}.
+     *
+     * @param host host of the receiver
+     * @param port port of the receiver
+     * @param capacity size of the sample queue, used when the connection is created
+     * @param channel channel of the sender
+     * @param token token the controller registered for the channel
+     * @return the connection
+     * @throws IOException when the receiver can not be reached
+     */
+    static SampleStreamConnection open(String host, int port, int capacity, int channel, byte[] token)
+            throws IOException {
+        SampleStreamConnection connection;
+        synchronized (CONNECTIONS) {
+            String key = host + ':' + port;
+            connection = CONNECTIONS.get(key);
+            if (connection == null) {
+                connection = new SampleStreamConnection(host, port, capacity);
+                CONNECTIONS.put(key, connection);
+            }
+            connection.users++;
+        }
+        connection.openChannel(channel, token);
+        return connection;
+    }
+
+    /**
+     * Queues the opening of a channel, the receiver closes the connection when the token is not the one
+     * registered for the channel.
+     *
+     * @param channel channel of the sender
+     * @param token token the controller registered for the channel
+     */
+    @VisibleForTesting
+    void openChannel(int channel, byte[] token) {
+        enqueue(new Pending(SampleStreamCodec.FRAME_OPEN, channel, null, token));
+    }
+
+    /**
+     * Queues a sample, blocks while the queue is full.
+     *
+     * @param channel channel of the sender
+     * @param event the sample
+     */
+    void send(int channel, SampleEvent event) {
+        enqueue(new Pending(SampleStreamCodec.FRAME_BATCH, channel, event));
+    }
+
+    /**
+     * Waits until the controller has processed the samples sent on the channel.
+     *
+     * @param channel channel of the sender
+     * @throws IOException when the connection failed
+     * @throws TimeoutException when the controller does not acknowledge the end of the channel in time
+     * @throws InterruptedException when the thread is interrupted while waiting
+     */
+    void end(int channel) throws IOException, TimeoutException, InterruptedException {
+        CompletableFuture<Void> ack = new CompletableFuture<>();
+        pendingEnds.put(channel, ack);
+        enqueue(new Pending(SampleStreamCodec.FRAME_END, channel, null));
+        try {
+            ack.get(END_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw new IOException("Sample stream to " + address + " failed", e.getCause());
+        } finally {
+            pendingEnds.remove(channel);
+        }
+    }
+
+    /**
+     * Closes the connection once all of its users released it.
+     */
+    void release() {
+        synchronized (CONNECTIONS) {
+            if (--users > 0) {
+                return;
+            }
+            CONNECTIONS.remove(address);
+        }
+        closing = true;
+        enqueue(new Pending(CLOSE, 0, null));
+    }
+
+    private void enqueue(Pending pending) {
+        try {
+            if (failure == null && !queue.offer(pending)) {
+                queueWaits.increment();
+                long start = System.nanoTime();
+                // Wake up from time to time, the writer may have failed meanwhile
+                while (failure == null && !queue.offer(pending, 1, TimeUnit.SECONDS)) {
+                    // try again
+                }
+                queueWaitTime.add(System.nanoTime() - start);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            if (pending.event != null) {
+                dropped.increment();
+            } else if (pending.frame == SampleStreamCodec.FRAME_END) {
+                failEnds();
+            }
+        }
+    }
+
+    private void writeLoop() {
+        List<Pending> drained = new ArrayList<>();
+        List<SampleEvent> batch = new ArrayList<>();
+        try {
+            while (true) {
+                drained.add(queue.take());
+                queue.drainTo(drained, MAX_BATCH_SIZE - 1);
+                int batchChannel = -1;
+                for (Pending pending : drained) {
+                    if (pending.event != null && pending.channel == batchChannel) {
+                        batch.add(pending.event);
+                        continue;
+                    }
+                    writeBatch(batchChannel, batch);
+                    batchChannel = -1;
+                    switch (pending.frame) {
+                        case SampleStreamCodec.FRAME_BATCH:
+                            batchChannel = pending.channel;
+                            batch.add(pending.event);
+                            break;
+                        case SampleStreamCodec.FRAME_OPEN:
+                            encoder.writeOpen(pending.channel, pending.token);
+                            break;
+                        case SampleStreamCodec.FRAME_END:
+                            encoder.writeEnd(pending.channel);
+                            break;
+                        default: // CLOSE is the last element that is queued
+                            // Ends the compressed stream and closes the socket
+                            encoder.close();
+                            logStatistics();
+                            return;
+                    }
+                }
+                writeBatch(batchChannel, batch);
+                drained.clear();
+                encoder.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("Failed to stream samples to {}, the next samples will be dropped", address, e);
+            failure = e;
+            failEnds();
+            queue.clear();
+            closeQuietly();
+            logStatistics();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void writeBatch(int channel, List<SampleEvent> batch) throws IOException {
+        if (!batch.isEmpty()) {
+            encoder.writeBatch(channel, batch);
+            sent.add(batch.size());
+            batch.clear();
+        }
+    }
+
+    private void readAcks() {
+        try (InputStream in = new BufferedInputStream(socket.getInputStream())) {
+            while (true) {
+                int channel = (int) SampleStreamCodec.readVarLong(in);
+                CompletableFuture<Void> ack = pendingEnds.get(channel);
+                if (ack != null) {
+                    ack.complete(null);
+                }
+            }
+        } catch (IOException e) {
+            if (!closing) {
+                log.error("Connection to {} was closed while streaming samples", address, e);
+                if (failure == null) {
+                    failure = e;
+                }
+                failEnds();
+                closeQuietly();
+            }
+        }
+    }
+
+    private void failEnds() {
+        IOException e = failure;
+        for (CompletableFuture<Void> ack : pendingEnds.values()) {
+            ack.completeExceptionally(e);
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            log.debug("Failed to close the connection to {}", address, e);
+        }
+    }
+
+    private void logStatistics() {
+        if (log.isInfoEnabled()) {
+            log.info("Streamed {} samples to {}, dropped: {}, queue waits: {}, queue wait time: {} (nanoseconds)",
+                    sent.sum(), address, dropped.sum(), queueWaits.sum(), queueWaitTime.sum());
+        }
+    }
+}
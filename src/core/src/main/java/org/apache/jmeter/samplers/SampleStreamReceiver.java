@@ -0,0 +1,326 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.samplers;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.rmi.RemoteException;
+import java.rmi.server.RMIServerSocketFactory;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.apache.jmeter.rmi.RmiUtils;
+import org.apache.jmeter.util.JMeterUtils;
+import org.apache.jorphan.documentation.VisibleForTesting;
+import org.apache.jorphan.math.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Receives the samples streamed by the {@link StreamingSampleSender}s of the remote engines
+ * and hands them to the listeners of the controller.
+ * <p>
+ * There is one receiver per controller, it listens on the address used by RMI and uses the same
+ * socket factories, so SSL is used unless {@code server.rmi.ssl.disable} is set.
+ * Each remote engine opens a single connection, the throughput and the lag of the samples of
+ * each engine are logged periodically.
+ * <p>
+ * Each channel is registered with a random token, which the controller sends to the engine over RMI
+ * with the {@link StreamingSampleSender}. A connection may only send samples on the channels it opened
+ * with their token, it is closed as soon as it sends anything else.
+ */
+final class SampleStreamReceiver {
+    private static final Logger log = LoggerFactory.getLogger(SampleStreamReceiver.class);
+
+    private static final int DEFAULT_PORT = JMeterUtils.getPropDefault("client.streaming.port", 0); // $NON-NLS-1$
+
+    private static final long METRICS_INTERVAL_MS = TimeUnit.SECONDS.toMillis(30);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // Guarded by the class
+    private static SampleStreamReceiver instance;
+
+    private final ServerSocket serverSocket;
+    private final String host;
+    private final AtomicInteger nextChannel = new AtomicInteger();
+    private final Map<Integer, Channel> channels = new ConcurrentHashMap<>();
+
+    /**
+     * Listener and token of a channel, and the number of connections that opened it.
+     */
+    private static final class Channel {
+        private final RemoteSampleListener listener;
+        private final byte[] token;
+        private final AtomicInteger openConnections = new AtomicInteger();
+
+        private Channel(RemoteSampleListener listener, byte[] token) {
+            this.listener = listener;
+            this.token = token;
+        }
+    }
+
+    private SampleStreamReceiver() throws IOException {
+        // Remote engines resolve java.rmi.server.hostname themselves, it may differ from the local resolution
+        this(createServerSocket(), System.getProperty("java.rmi.server.hostname", // $NON-NLS-1$
+                RmiUtils.getRmiHost().getHostAddress()));
+    }
+
+    /**
+     * Starts a receiver accepting connections on the given socket.
+     *
+     * @param serverSocket the socket to accept connections on
+     * @param host         host the remote engines connect to
+     */
+    @VisibleForTesting
+    SampleStreamReceiver(ServerSocket serverSocket, String host) {
+        this.serverSocket = serverSocket;
+        this.host = host;
+        Thread acceptor = new Thread(this::acceptLoop, "JMeter sample stream receiver"); // $NON-NLS-1$
+        acceptor.setDaemon(true);
+        acceptor.start();
+        log.info("Receiving streamed samples on {}:{}", host, getPort());
+    }
+
+    private static ServerSocket createServerSocket() throws IOException {
+        InetAddress address = RmiUtils.getRmiHost();
+        RMIServerSocketFactory factory = RmiUtils.createServerSocketFactory();
+        return factory == null
+                ? new ServerSocket(DEFAULT_PORT, 0, address)
+                : factory.createServerSocket(DEFAULT_PORT);
+    }
+
+    /**
+     * @return the receiver of the controller, started on first use
+     * @throws IOException when the receiver can not listen
+     */
+    static synchronized SampleStreamReceiver getInstance() throws IOException {
+        if (instance == null) {
+            instance = new SampleStreamReceiver();
+        }
+        return instance;
+    }
+
+    /**
+     * @return host the remote engines connect to
+     */
+    String getHost() {
+        return host;
+    }
+
+    /**
+     * @return port the remote engines connect to
+     */
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return a new random token for {@link #register(RemoteSampleListener, byte[])}
+     */
+    static byte[] newToken() {
+        byte[] token = new byte[SampleStreamCodec.TOKEN_LENGTH];
+        RANDOM.nextBytes(token);
+        return token;
+    }
+
+    /**
+     * Registers the listener of a sender, it is released once the connections that opened the
+     * channel ended it.
+     *
+     * @param listener the listener that processes the samples of the channel
+     * @param token    the token the connections must send to open the channel
+     * @return the channel to use in the stream
+     */
+    int register(RemoteSampleListener listener, byte[] token) {
+        int channel = nextChannel.incrementAndGet();
+        channels.put(channel, new Channel(listener, token.clone()));
+        return channel;
+    }
+
+    /**
+     * Stops accepting connections, the connections that were accepted go on.
+     */
+    @VisibleForTesting
+    void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread reader = new Thread(() -> receive(socket),
+                        "JMeter sample stream from " + socket.getRemoteSocketAddress()); // $NON-NLS-1$
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    log.error("Failed to accept a sample stream connection", e);
+                }
+            }
+        }
+    }
+
+    private void receive(Socket socket) {
+        Inflater inflater = new Inflater();
+        Set<Integer> openChannels = new HashSet<>();
+        Metrics metrics = new Metrics(String.valueOf(socket.getRemoteSocketAddress()), inflater);
+        try (Socket s = socket;
+             OutputStream acks = s.getOutputStream()) {
+            s.setTcpNoDelay(true);
+            SampleStreamCodec.Decoder decoder = new SampleStreamCodec.Decoder(
+                    new BufferedInputStream(new InflaterInputStream(s.getInputStream(), inflater, BUFFER_SIZE), BUFFER_SIZE));
+            metrics.server = decoder.getHostname() + " (" + metrics.server + ")";
+            log.info("Receiving streamed samples from {}", metrics.server);
+            int frame;
+            while ((frame = decoder.readFrame()) >= 0) {
+                int channel = decoder.getChannel();
+                if (frame == SampleStreamCodec.FRAME_OPEN) {
+                    openChannel(channel, decoder.getToken(), openChannels);
+                    continue;
+                }
+                if (!openChannels.contains(channel)) {
+                    throw new IOException("Sample stream used channel " + channel + " without opening it");
+                }
+                switch (frame) {
+                    case SampleStreamCodec.FRAME_BATCH:
+                        process(channel, decoder.readEvents(), metrics);
+                        break;
+                    default: // FRAME_END, the samples of the channel were processed
+                        SampleStreamCodec.writeVarLong(acks, channel);
+                        acks.flush();
+                        closeChannel(channel, openChannels);
+                        break;
+                }
+            }
+        } catch (IOException e) {
+            log.error("Sample stream from {} failed", metrics.server, e);
+        } finally {
+            for (Integer channel : openChannels.toArray(new Integer[0])) {
+                closeChannel(channel, openChannels);
+            }
+            metrics.logTotal();
+            inflater.end();
+        }
+    }
+
+    private void openChannel(int channel, byte[] token, Set<Integer> openChannels) throws IOException {
+        Channel c = channels.get(channel);
+        // Unknown channels and wrong tokens are not told apart, on purpose
+        if (c == null || !MessageDigest.isEqual(c.token, token)) {
+            throw new IOException("Sample stream opened channel " + channel + " with an invalid token");
+        }
+        if (openChannels.contains(channel)) {
+            return;
+        }
+        c.openConnections.incrementAndGet();
+        openChannels.add(channel);
+    }
+
+    private void closeChannel(int channel, Set<Integer> openChannels) {
+        if (!openChannels.remove(channel)) {
+            return;
+        }
+        Channel c = channels.get(channel);
+        if (c != null && c.openConnections.decrementAndGet() == 0) {
+            channels.remove(channel);
+        }
+    }
+
+    private void process(int channel, List<SampleEvent> events, Metrics metrics) {
+        metrics.record(events);
+        Channel c = channels.get(channel);
+        try {
+            c.listener.processBatch(events);
+        } catch (RemoteException e) {
+            log.error("Failed to process samples from {}", metrics.server, e);
+        } catch (RuntimeException e) { // NOSONAR Keep receiving the samples of the other listeners
+            log.error("Listener failed to process samples from {}", metrics.server, e);
+        }
+    }
+
+    /**
+     * Throughput and lag of the samples of a remote engine.
+     * The lag is the time between the end of the sample and its reception,
+     * so it includes the offset between the clocks of the engine and the controller.
+     */
+    private static final class Metrics {
+        private String server;
+        private final Inflater inflater;
+        private final LatencyHistogram lag = new LatencyHistogram();
+        private final long start = System.currentTimeMillis();
+        private long samples;
+        private long intervalStart = start;
+        private long intervalSamples;
+        private long intervalBytes;
+
+        private Metrics(String server, Inflater inflater) {
+            this.server = server;
+            this.inflater = inflater;
+        }
+
+        private void record(List<SampleEvent> events) {
+            long now = System.currentTimeMillis();
+            for (SampleEvent event : events) {
+                lag.record(TimeUnit.MILLISECONDS.toNanos(now - event.getResult().getEndTime()));
+            }
+            samples += events.size();
+            intervalSamples += events.size();
+            long elapsed = now - intervalStart;
+            if (elapsed >= METRICS_INTERVAL_MS) {
+                long bytes = inflater.getBytesRead();
+                if (log.isInfoEnabled()) {
+                    log.info("Sample stream from {}: {} samples/s, {} KiB/s, lag mean={} ms, p99<{} ms, max={} ms",
+                            server, intervalSamples * 1000 / elapsed, (bytes - intervalBytes) * 1000 / elapsed / 1024,
+                            lag.getMeanMicros() / 1000, lag.getPercentileUpperBoundMicros(0.99) / 1000,
+                            lag.getMaxMicros() / 1000);
+                }
+                lag.reset();
+                intervalStart = now;
+                intervalSamples = 0;
+                intervalBytes = bytes;
+            }
+        }
+
+        private void logTotal() {
+            if (log.isInfoEnabled()) {
+                long elapsed = Math.max(1, System.currentTimeMillis() - start);
+                long compressed = inflater.getBytesRead();
+                log.info("Sample stream from {} ended: {} samples, {} samples/s, {} KiB received, {} KiB uncompressed",
+                        server, samples, samples * 1000 / elapsed, compressed / 1024, inflater.getBytesWritten() / 1024);
+            }
+        }
+    }
+}
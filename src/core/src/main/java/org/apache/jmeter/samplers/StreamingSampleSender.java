@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.samplers;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.jmeter.util.JMeterUtils;
+import org.apiguardian.api.API;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streams samples to the controller over a persistent connection instead of RMI calls.
+ * <p>
+ * Samples are encoded in a compact binary form with a dictionary of repeated strings, compressed,
+ * and written in batches by a background thread of the remote engine. The sampler threads block when
+ * the queue is full, which happens when the controller does not keep up.
+ * The end of the test is only reported to the controller once it processed all the samples.
+ *
+ * @since 6.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+public class StreamingSampleSender extends AbstractSampleSender implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingSampleSender.class);
+
+    private static final int DEFAULT_QUEUE_SIZE = 10000;
+
+    private static final int SERVER_CONFIGURED_CAPACITY = JMeterUtils.getPropDefault("streaming.queue.size", DEFAULT_QUEUE_SIZE); // $NON-NLS-1$
+
+    private final int clientConfiguredCapacity = JMeterUtils.getPropDefault("streaming.queue.size", DEFAULT_QUEUE_SIZE); // $NON-NLS-1$
+
+    // created by client
+    private final RemoteSampleListener listener;
+
+    private final String receiverHost;
+
+    private final int receiverPort;
+
+    private final int channel;
+
+    /** Proves to the receiver that the connection opening the channel comes from an engine of the test */
+    private final byte[] token;
+
+    private transient SampleStreamConnection connection; // created by server in readResolve method
+
+    private transient boolean ended;
+
+    /**
+     * @deprecated only for use by test code
+     */
+    @Deprecated
+    public StreamingSampleSender() {
+        listener = null;
+        receiverHost = null;
+        receiverPort = 0;
+        channel = 0;
+        token = null;
+        log.warn("Constructor only intended for use in testing"); // $NON-NLS-1$
+    }
+
+    // Created by SampleSenderFactory
+    protected StreamingSampleSender(RemoteSampleListener listener) {
+        this.listener = listener;
+        try {
+            SampleStreamReceiver receiver = SampleStreamReceiver.getInstance();
+            receiverHost = receiver.getHost();
+            receiverPort = receiver.getPort();
+            token = SampleStreamReceiver.newToken();
+            channel = receiver.register(listener, token);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to receive streamed samples, check client.streaming.port: " // $NON-NLS-1$
+                    + e.getMessage(), e);
+        }
+        log.info("Using Streaming Remote Sampler for this test run, receiving samples on {}:{}", receiverHost, receiverPort); // client log file
+    }
+
+    /**
+     * Processed by the RMI server code, connects to the controller.
+     *
+     * @return this
+     * @throws ObjectStreamException when the controller can not be reached
+     */
+    protected Object readResolve() throws ObjectStreamException {
+        if (receiverHost == null) {
+            return this; // test instance
+        }
+        int capacity = isClientConfigured() ? clientConfiguredCapacity : SERVER_CONFIGURED_CAPACITY;
+        try {
+            connection = SampleStreamConnection.open(receiverHost, receiverPort, capacity, channel, token);
+        } catch (IOException e) {
+            InvalidObjectException ex = new InvalidObjectException("Unable to stream samples to the controller at "
+                    + receiverHost + ":" + receiverPort + ", " + e.getMessage());
+            ex.initCause(e);
+            throw ex;
+        }
+        return this;
+    }
+
+    @Override
+    public void testEnded(String host) {
+        log.debug("Test Ended on {}", host);
+        synchronized (this) {
+            if (ended) {
+                return;
+            }
+            ended = true;
+        }
+        try {
+            connection.end(channel);
+        } catch (IOException | TimeoutException e) {
+            log.error("Samples streamed from {} may not all have been processed by the controller", host, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            connection.release();
+        }
+        try {
+            listener.testEnded(host);
+        } catch (Exception ex) {
+            log.warn("testEnded(host)", ex);
+        }
+    }
+
+    @Override
+    public void sampleOccurred(SampleEvent e) {
+        connection.send(channel, e);
+    }
+}
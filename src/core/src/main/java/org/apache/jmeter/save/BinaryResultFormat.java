@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.save;
+
+import java.util.Locale;
+
+import org.apiguardian.api.API;
+
+/**
+ * Constants of the compact binary result file format.
+ * <p>
+ * Strings that repeat across samples (labels, thread names, response codes, ...) are defined
+ * once in a dictionary and then referenced by their index, numbers are stored as unsigned
+ * LEB128 varints and time stamps as the zig-zag encoded difference with the previous sample.
+ * <pre>
+ * file     := MAGIC VERSION record*
+ * record   := SEGMENT | VSEGMENT | STRING | SAMPLE
+ * SEGMENT  := 0x01 varint(variableCount) inline(variableName)*
+ *             resets the dictionary and the time stamp base, written when a file is created;
+ *             the samples of the segment use the VERSION of the file header
+ * VSEGMENT := 0x04 byte(version) varint(variableCount) inline(variableName)*
+ *             same as SEGMENT for samples using the given version, written when a file is appended to,
+ *             as the file may have been created by a previous version
+ * STRING   := 0x02 inline(value)
+ *             adds the value to the dictionary, indexes start at 0 in each segment
+ * SAMPLE   := 0x03 zigzag(timeStamp - previousTimeStamp) varint(elapsed) varint(latency)
+ *             varint(connect) varint(idleTime) byte(flags)
+ *             ref(label) ref(responseCode) ref(responseMessage) ref(threadName) ref(dataType)
+ *             ref(failureMessage) ref(url) ref(hostname)
+ *             varint(bytes) varint(sentBytes) varint(grpThreads) varint(allThreads)
+ *             varint(sampleCount) varint(errorCount) opt(timeStamp - intendedStartTime) (version 2 and later)
+ *             ref(variableValue)*
+ * inline   := varint(length) UTF-8 bytes
+ * opt      := varint(0) when the value is absent, zigzag(value) + 1 otherwise
+ * ref      := varint(0) for an empty string, varint(1) inline for a string that is not in
+ *             the dictionary, varint(index + 2) for a dictionary entry
+ * </pre>
+ * Files using the {@value #FILE_EXTENSION} extension are written in this format by
+ * {@link org.apache.jmeter.reporters.ResultCollector}.
+ *
+ * @see BinaryResultWriter
+ * @see BinaryResultReader
+ * @since 6.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+public final class BinaryResultFormat {
+    /** Extension of the result files that use the binary format */
+    public static final String FILE_EXTENSION = ".jtlb"; // $NON-NLS-1$
+
+    static final byte[] MAGIC = {'J', 'M', 'T', 'B'};
+
+    static final int VERSION = 2;
+
+    /** Version 1 did not have the intended start time */
+    static final int MIN_VERSION = 1;
+
+    static final int RECORD_SEGMENT = 0x01;
+
+    static final int RECORD_STRING = 0x02;
+
+    static final int RECORD_SAMPLE = 0x03;
+
+    static final int RECORD_VERSIONED_SEGMENT = 0x04;
+
+    static final int REF_EMPTY = 0;
+
+    static final int REF_INLINE = 1;
+
+    static final int REF_DICTIONARY_OFFSET = 2;
+
+    static final int FLAG_SUCCESS = 0x01;
+
+    /**
+     * Columns of the samples, in the order of the SAMPLE record.
+     * They use the CSV names so report consumers can look them up as for CSV files.
+     * Sample variables follow as additional columns.
+     */
+    private static final String[] COLUMNS = {
+            CSVSaveService.TIME_STAMP,
+            CSVSaveService.CSV_ELAPSED,
+            CSVSaveService.CSV_LATENCY,
+            CSVSaveService.CSV_CONNECT_TIME,
+            CSVSaveService.CSV_IDLETIME,
+            CSVSaveService.SUCCESSFUL,
+            CSVSaveService.LABEL,
+            CSVSaveService.RESPONSE_CODE,
+            CSVSaveService.RESPONSE_MESSAGE,
+            CSVSaveService.THREAD_NAME,
+            CSVSaveService.DATA_TYPE,
+            CSVSaveService.FAILURE_MESSAGE,
+            CSVSaveService.CSV_URL,
+            CSVSaveService.CSV_HOSTNAME,
+            CSVSaveService.CSV_BYTES,
+            CSVSaveService.CSV_SENT_BYTES,
+            CSVSaveService.CSV_THREAD_COUNT1,
+            CSVSaveService.CSV_THREAD_COUNT2,
+            CSVSaveService.CSV_SAMPLE_COUNT,
+            CSVSaveService.CSV_ERROR_COUNT,
+            CSVSaveService.CSV_INTENDED_START,
+    };
+
+    private BinaryResultFormat() {
+        // Constants only
+    }
+
+    /**
+     * @return the names of the fixed columns of the samples, in the order of the SAMPLE record
+     */
+    public static String[] getColumns() {
+        return COLUMNS.clone();
+    }
+
+    /**
+     * @param variableName name of a sample variable
+     * @return the column name of the variable, quoted as in CSV headers
+     */
+    public static String getVariableColumn(String variableName) {
+        return CSVSaveService.VARIABLE_NAME_QUOTE_CHAR + variableName + CSVSaveService.VARIABLE_NAME_QUOTE_CHAR;
+    }
+
+    /**
+     * @param filename name of a result file
+     * @return {@code true} if the file uses the binary format according to its extension
+     */
+    public static boolean isBinaryResultFile(String filename) {
+        return filename != null && filename.toLowerCase(Locale.ROOT).endsWith(FILE_EXTENSION);
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.save;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apiguardian.api.API;
+
+/**
+ * Reads the samples of a file written in the {@link BinaryResultFormat binary result format}.
+ * <p>
+ * Each sample is returned as an array of strings, in the order of {@link #getColumnNames()},
+ * with the same textual representation as in CSV result files (time stamps in milliseconds).
+ * When the file contains several segments with different sample variables,
+ * the variables of the later segments are mapped to the columns of the first one by name.
+ * This class is not thread-safe.
+ *
+ * @since 6.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+public class BinaryResultReader implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int FIXED_COLUMN_COUNT = BinaryResultFormat.getColumns().length;
+
+    private static final String[] NO_STRINGS = new String[0];
+
+    private final InputStream in;
+    /** version of the file header, used by the segments which do not state their own */
+    private final int fileVersion;
+    /** version of the samples of the current segment */
+    private int version;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    private final String[] columnNames;
+    private final List<String> dictionary = new ArrayList<>();
+    private long previousTimeStamp;
+    /** index of the column of each variable of the current segment, -1 when the first segment has no such column */
+    private int[] variableColumns;
+
+    /**
+     * Reads the file header and the first segment header.
+     *
+     * @param in the stream to read, it does not need to be buffered
+     * @throws IOException when reading fails or the stream is not in the binary result format
+     */
+    public BinaryResultReader(InputStream in) throws IOException {
+        this.in = in;
+        for (byte b : BinaryResultFormat.MAGIC) {
+            if (readByte() != b) {
+                throw new IOException("Not a binary result file, magic number does not match");
+            }
+        }
+        fileVersion = checkVersion(readByte());
+        version = fileVersion;
+        int record = readByte();
+        if (record == BinaryResultFormat.RECORD_VERSIONED_SEGMENT) {
+            version = checkVersion(readByte());
+        } else if (record != BinaryResultFormat.RECORD_SEGMENT) {
+            throw new IOException("Binary result file does not start with a segment");
+        }
+        String[] variables = readSegmentVariables();
+        String[] fixedColumns = BinaryResultFormat.getColumns();
+        columnNames = Arrays.copyOf(fixedColumns, fixedColumns.length + variables.length);
+        variableColumns = new int[variables.length];
+        for (int i = 0; i < variables.length; i++) {
+            columnNames[fixedColumns.length + i] = BinaryResultFormat.getVariableColumn(variables[i]);
+            variableColumns[i] = fixedColumns.length + i;
+        }
+    }
+
+    /**
+     * @return the names of the columns of the rows returned by {@link #readRow()}
+     */
+    public String[] getColumnNames() {
+        return columnNames.clone();
+    }
+
+    /**
+     * @return the values of the next sample or {@code null} at the end of the stream
+     * @throws IOException when reading fails or the stream is corrupted
+     */
+    public String[] readRow() throws IOException {
+        while (true) {
+            int record = read();
+            if (record < 0) {
+                return null;
+            }
+            switch (record) {
+                case BinaryResultFormat.RECORD_SAMPLE:
+                    return readSample();
+                case BinaryResultFormat.RECORD_STRING:
+                    dictionary.add(readInline());
+                    break;
+                case BinaryResultFormat.RECORD_SEGMENT:
+                    version = fileVersion;
+                    startSegment();
+                    break;
+                case BinaryResultFormat.RECORD_VERSIONED_SEGMENT:
+                    version = checkVersion(readByte());
+                    startSegment();
+                    break;
+                default:
+                    throw new IOException("Corrupted binary result file, unknown record type " + record);
+            }
+        }
+    }
+
+    private static int checkVersion(int version) throws IOException {
+        if (version < BinaryResultFormat.MIN_VERSION || version > BinaryResultFormat.VERSION) {
+            throw new IOException("Unsupported binary result file version " + version
+                    + ", expecting " + BinaryResultFormat.MIN_VERSION + " to " + BinaryResultFormat.VERSION);
+        }
+        return version;
+    }
+
+    private void startSegment() throws IOException {
+        dictionary.clear();
+        previousTimeStamp = 0;
+        String[] variables = readSegmentVariables();
+        variableColumns = new int[variables.length];
+        for (int i = 0; i < variables.length; i++) {
+            variableColumns[i] = -1;
+            String column = BinaryResultFormat.getVariableColumn(variables[i]);
+            for (int c = FIXED_COLUMN_COUNT; c < columnNames.length; c++) {
+                if (columnNames[c].equals(column)) {
+                    variableColumns[i] = c;
+                    break;
+                }
+            }
+        }
+    }
+
+    private String[] readSegmentVariables() throws IOException {
+        int count = (int) readVarLong();
+        if (count == 0) {
+            return NO_STRINGS;
+        }
+        String[] variables = new String[count];
+        for (int i = 0; i < count; i++) {
+            variables[i] = readInline();
+        }
+        return variables;
+    }
+
+    private String[] readSample() throws IOException {
+        String[] row = new String[columnNames.length];
+        long delta = readVarLong();
+        long timeStamp = previousTimeStamp + ((delta >>> 1) ^ -(delta & 1));
+        previousTimeStamp = timeStamp;
+        int c = 0;
+        row[c++] = Long.toString(timeStamp);
+        row[c++] = Long.toString(readVarLong()); // elapsed
+        row[c++] = Long.toString(readVarLong()); // latency
+        row[c++] = Long.toString(readVarLong()); // connect
+        row[c++] = Long.toString(readVarLong()); // idle time
+        row[c++] = Boolean.toString((readByte() & BinaryResultFormat.FLAG_SUCCESS) != 0);
+        for (int i = 0; i < 8; i++) {
+            // label, response code, response message, thread name, data type, failure message, url, hostname
+            row[c++] = readRef();
+        }
+        while (c < FIXED_COLUMN_COUNT - 1) {
+            // bytes, sent bytes, group threads, all threads, sample count, error count
+            row[c++] = Long.toString(readVarLong());
+        }
+        long intendedStart = version < 2 ? 0 : readVarLong();
+        if (intendedStart != 0) {
+            long lateness = intendedStart - 1;
+            intendedStart = timeStamp - ((lateness >>> 1) ^ -(lateness & 1));
+        }
+        row[c++] = Long.toString(intendedStart);
+        for (int i = FIXED_COLUMN_COUNT; i < row.length; i++) {
+            row[i] = "";
+        }
+        for (int column : variableColumns) {
+            String value = readRef();
+            if (column >= 0) {
+                row[column] = value;
+            }
+        }
+        return row;
+    }
+
+    private String readRef() throws IOException {
+        long ref = readVarLong();
+        if (ref == BinaryResultFormat.REF_EMPTY) {
+            return "";
+        }
+        if (ref == BinaryResultFormat.REF_INLINE) {
+            return readInline();
+        }
+        long index = ref - BinaryResultFormat.REF_DICTIONARY_OFFSET;
+        if (index >= dictionary.size()) {
+            throw new IOException("Corrupted binary result file, unknown dictionary entry " + index);
+        }
+        return dictionary.get((int) index);
+    }
+
+    private String readInline() throws IOException {
+        int length = (int) readVarLong();
+        if (length < 0) {
+            throw new IOException("Corrupted binary result file, negative string length");
+        }
+        if (length <= limit - position) {
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) readByte();
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupted binary result file, varint is too long");
+    }
+
+    private int readByte() throws IOException {
+        int b = read();
+        if (b < 0) {
+            throw new EOFException("Unexpected end of binary result file");
+        }
+        return b;
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
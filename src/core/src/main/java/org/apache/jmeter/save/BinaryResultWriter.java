@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.save;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.jmeter.samplers.SampleEvent;
+import org.apache.jmeter.samplers.SampleResult;
+import org.apache.jmeter.samplers.SampleSaveConfiguration;
+import org.apiguardian.api.API;
+
+/**
+ * Writes sample events in the {@link BinaryResultFormat binary result format}.
+ * <p>
+ * The fields disabled in the {@link SampleSaveConfiguration} of a result are written as empty strings.
+ * This class is thread-safe, each event is written atomically.
+ *
+ * @since 6.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+public class BinaryResultWriter implements Closeable, Flushable {
+    /** Strings longer than this are written inline, they are unlikely to repeat */
+    private static final int MAX_DICTIONARY_STRING_LENGTH = 256;
+
+    /** Limits the memory used by the dictionary of writers and readers */
+    private static final int MAX_DICTIONARY_SIZE = 1 << 16;
+
+    private static final int MAX_SUBRESULT_DEPTH = 10;
+
+    private final OutputStream out;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final ByteBuf records = new ByteBuf();
+    private final ByteBuf sample = new ByteBuf();
+    private long previousTimeStamp;
+
+    /**
+     * Starts a new segment in the stream.
+     *
+     * @param out the stream to write to, it should be buffered
+     * @param writeFileHeader {@code true} if the stream is at the beginning of the file,
+     *                        {@code false} when appending to an existing binary result file
+     * @throws IOException when writing to the stream fails
+     */
+    public BinaryResultWriter(OutputStream out, boolean writeFileHeader) throws IOException {
+        this.out = out;
+        if (writeFileHeader) {
+            records.writeBytes(BinaryResultFormat.MAGIC, BinaryResultFormat.MAGIC.length);
+            records.write(BinaryResultFormat.VERSION);
+            records.write(BinaryResultFormat.RECORD_SEGMENT);
+        } else {
+            // The existing file may have been created with another version
+            records.write(BinaryResultFormat.RECORD_VERSIONED_SEGMENT);
+            records.write(BinaryResultFormat.VERSION);
+        }
+        int varCount = SampleEvent.getVarCount();
+        records.writeVarLong(varCount);
+        for (int i = 0; i < varCount; i++) {
+            writeInline(records, SampleEvent.getVarName(i));
+        }
+        records.writeTo(out);
+    }
+
+    /**
+     * Writes the result of the event, and its sub-results if the save configuration of the result asks for them.
+     *
+     * @param event the event to write
+     * @throws IOException when writing to the stream fails
+     */
+    public void write(SampleEvent event) throws IOException {
+        write(event, event.getResult().getSaveConfig());
+    }
+
+    /**
+     * Writes the result of the event, and its sub-results if the given save configuration asks for them.
+     *
+     * @param event the event to write
+     * @param config the save configuration of the file
+     * @throws IOException when writing to the stream fails
+     */
+    public synchronized void write(SampleEvent event, SampleSaveConfiguration config) throws IOException {
+        int dictionarySize = dictionary.size();
+        long timeStamp = previousTimeStamp;
+        boolean written = false;
+        try {
+            SampleResult result = event.getResult();
+            writeSample(event, result, config);
+            if (config.saveSubresults()) {
+                writeSubResults(event, result, config, 0);
+            }
+            records.writeTo(out);
+            written = true;
+        } finally {
+            records.clear();
+            sample.clear();
+            if (!written) {
+                // Readers never get the strings and the time stamp defined by the event, so forget them
+                dictionary.values().removeIf(index -> index >= dictionarySize);
+                previousTimeStamp = timeStamp;
+            }
+        }
+    }
+
+    private void writeSubResults(SampleEvent event, SampleResult result, SampleSaveConfiguration config, int depth) {
+        if (depth > MAX_SUBRESULT_DEPTH) {
+            return;
+        }
+        for (SampleResult subResult : result.getSubResults()) {
+            writeSample(event, subResult, config);
+            writeSubResults(event, subResult, config, depth + 1);
+        }
+    }
+
+    private void writeSample(SampleEvent event, SampleResult result, SampleSaveConfiguration config) {
+        long timeStamp = result.getTimeStamp();
+        long delta = timeStamp - previousTimeStamp;
+        previousTimeStamp = timeStamp;
+        sample.writeVarLong((delta << 1) ^ (delta >> 63));
+        sample.writeVarLong(result.getTime());
+        sample.writeVarLong(result.getLatency());
+        sample.writeVarLong(result.getConnectTime());
+        sample.writeVarLong(result.getIdleTime());
+        sample.write(result.isSuccessful() ? BinaryResultFormat.FLAG_SUCCESS : 0);
+        writeRef(config.saveLabel() ? result.getSampleLabel() : null);
+        writeRef(config.saveCode() ? result.getResponseCode() : null);
+        writeRef(config.saveMessage() ? result.getResponseMessage() : null);
+        writeRef(config.saveThreadName() ? result.getThreadName() : null);
+        writeRef(config.saveDataType() ? result.getDataType() : null);
+        writeRef(config.saveAssertionResultsFailureMessage() ? result.getFirstAssertionFailureMessage() : null);
+        writeRef(config.saveUrl() ? result.getUrlAsString() : null);
+        writeRef(config.saveHostname() ? event.getHostname() : null);
+        sample.writeVarLong(result.getBytesAsLong());
+        sample.writeVarLong(result.getSentBytes());
+        sample.writeVarLong(result.getGroupThreads());
+        sample.writeVarLong(result.getAllThreads());
+        sample.writeVarLong(result.getSampleCount());
+        sample.writeVarLong(result.getErrorCount());
+        long intendedStartTime = result.getIntendedStartTime();
+        if (intendedStartTime == 0) {
+            sample.writeVarLong(0);
+        } else {
+            long lateness = timeStamp - intendedStartTime;
+            sample.writeVarLong(((lateness << 1) ^ (lateness >> 63)) + 1);
+        }
+        for (int i = 0; i < SampleEvent.getVarCount(); i++) {
+            writeRef(event.getVarValue(i));
+        }
+        // Dictionary entries referenced by the sample were appended to records, they must precede it
+        records.write(BinaryResultFormat.RECORD_SAMPLE);
+        sample.writeTo(records);
+    }
+
+    private void writeRef(String value) {
+        if (value == null || value.isEmpty()) {
+            sample.writeVarLong(BinaryResultFormat.REF_EMPTY);
+            return;
+        }
+        Integer index = dictionary.get(value);
+        if (index == null) {
+            if (value.length() > MAX_DICTIONARY_STRING_LENGTH || dictionary.size() >= MAX_DICTIONARY_SIZE) {
+                sample.writeVarLong(BinaryResultFormat.REF_INLINE);
+                writeInline(sample, value);
+                return;
+            }
+            index = dictionary.size();
+            dictionary.put(value, index);
+            records.write(BinaryResultFormat.RECORD_STRING);
+            writeInline(records, value);
+        }
+        sample.writeVarLong(index + (long) BinaryResultFormat.REF_DICTIONARY_OFFSET);
+    }
+
+    private static void writeInline(ByteBuf buf, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buf.writeVarLong(bytes.length);
+        buf.writeBytes(bytes, bytes.length);
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Growable byte buffer, avoids the synchronization of {@link java.io.ByteArrayOutputStream}.
+     */
+    private static final class ByteBuf {
+        private byte[] bytes = new byte[256];
+        private int size;
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+
+        void write(int b) {
+            ensureCapacity(1);
+            bytes[size++] = (byte) b;
+        }
+
+        void writeBytes(byte[] src, int length) {
+            ensureCapacity(length);
+            System.arraycopy(src, 0, bytes, size, length);
+            size += length;
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            long v = value;
+            while ((v & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            bytes[size++] = (byte) v;
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            out.write(bytes, 0, size);
+            size = 0;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        void writeTo(ByteBuf other) {
+            other.writeBytes(bytes, size);
+            size = 0;
+        }
+    }
+}
@@ -55,6 +55,7 @@ import org.apache.oro.text.regex.Pattern;
 import org.apache.oro.text.regex.PatternMatcherInput;
 import org.apache.oro.text.regex.Perl5Compiler;
 import org.apache.oro.text.regex.Perl5Matcher;
+import org.apiguardian.api.API;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -104,6 +105,7 @@ public final class CSVSaveService {
     public static final String CSV_ENCODING = "Encoding"; // $NON-NLS-1$
     public static final String CSV_HOSTNAME = "Hostname"; // $NON-NLS-1$
     public static final String CSV_IDLETIME = "IdleTime"; // $NON-NLS-1$
+    public static final String CSV_INTENDED_START = "IntendedStart"; // $NON-NLS-1$
 
     // Used to enclose variable name labels, to distinguish from any of the
     // above labels
@@ -377,6 +379,11 @@ public final class CSVSaveService {
                 text = parts[i++];
                 result.setConnectTime(Long.parseLong(text));
             }
+            if (saveConfig.saveIntendedStartTime()) {
+                field = CSV_INTENDED_START;
+                text = parts[i++];
+                result.setIntendedStartTime(Long.parseLong(text));
+            }
 
             if (i + saveConfig.getVarCount() < parts.length) {
                 log.warn("Line: {}. Found {} fields, expected {}. Extra fields have been ignored.", lineNumber,
@@ -436,6 +443,7 @@ public final class CSVSaveService {
         appendFields(saveConfig.saveHostname(), text, delim, CSV_HOSTNAME);
         appendFields(saveConfig.saveIdleTime(), text, delim, CSV_IDLETIME);
         appendFields(saveConfig.saveConnectTime(), text, delim, CSV_CONNECT_TIME);
+        appendFields(saveConfig.saveIntendedStartTime(), text, delim, CSV_INTENDED_START);
 
         for (int i = 0; i < SampleEvent.getVarCount(); i++) {
             text.append(VARIABLE_NAME_QUOTE_CHAR);
@@ -501,6 +509,7 @@ public final class CSVSaveService {
         headerLabelMethods.put(CSV_HOSTNAME, new Functor("setHostname"));
         headerLabelMethods.put(CSV_IDLETIME, new Functor("setIdleTime"));
         headerLabelMethods.put(CSV_CONNECT_TIME, new Functor("setConnectTime"));
+        headerLabelMethods.put(CSV_INTENDED_START, new Functor("setIntendedStartTime"));
     }
 
     /**
@@ -943,6 +952,10 @@ public final class CSVSaveService {
             text.append(sample.getConnectTime());
         }
 
+        if (saveConfig.saveIntendedStartTime()) {
+            text.append(sample.getIntendedStartTime());
+        }
+
         for (int i = 0; i < SampleEvent.getVarCount(); i++) {
             text.append(event.getVarValue(i));
         }
@@ -1136,7 +1149,17 @@ public final class CSVSaveService {
      * @param out {@link PrintWriter} to which samples will be written
      */
     public static void saveSampleResult(SampleEvent event, PrintWriter out) {
-        SampleSaveConfiguration saveConfiguration = event.getResult().getSaveConfig();
+        saveSampleResult(event, event.getResult().getSaveConfig(), out);
+    }
+
+    /**
+     * @param event {@link SampleEvent}
+     * @param saveConfiguration the configuration to format the result with
+     * @param out {@link PrintWriter} to which samples will be written
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public static void saveSampleResult(SampleEvent event, SampleSaveConfiguration saveConfiguration, PrintWriter out) {
         String delimiter = saveConfiguration.getDelimiter();
         String formattedResult = resultToDelimitedString(event, event.getResult(), saveConfiguration, delimiter);
         out.println(formattedResult);
@@ -42,11 +42,13 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.jmeter.reporters.ResultCollectorHelper;
 import org.apache.jmeter.samplers.SampleEvent;
 import org.apache.jmeter.samplers.SampleResult;
+import org.apache.jmeter.samplers.SampleSaveConfiguration;
 import org.apache.jmeter.util.JMeterUtils;
 import org.apache.jmeter.util.NameUpdater;
 import org.apache.jorphan.collections.HashTree;
 import org.apache.jorphan.util.JMeterError;
 import org.apache.jorphan.util.JOrphanUtils;
+import org.apiguardian.api.API;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -351,6 +353,24 @@ public class SaveService {
         writer.write('\n');
     }
 
+    /**
+     * Save a sampleResult to an XML output file using XStream and the given save configuration.
+     *
+     * @param evt sampleResult wrapped in a sampleEvent
+     * @param saveConfiguration the configuration to format the result with
+     * @param writer output stream which must be created using {@link #getFileEncoding(String)}
+     * @throws IOException when writing data to output fails
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public static synchronized void saveSampleResult(SampleEvent evt, SampleSaveConfiguration saveConfiguration, Writer writer)
+            throws IOException {
+        // The converters read the configuration from the result (and its sub-results), so it is set while
+        // holding the lock every XML result goes through
+        evt.getResult().setSaveConfig(saveConfiguration);
+        saveSampleResult(evt, writer);
+    }
+
     /**
      *
      * @param result SampleResult
@@ -32,7 +32,10 @@ import java.nio.file.Files;
 import java.util.ArrayDeque;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.commons.io.input.BOMInputStream;
 import org.apache.jmeter.gui.JMeterFileFilter;
@@ -75,6 +78,20 @@ public class FileServer {
 
     private final Map<String, FileEntry> files = new HashMap<>();
 
+    /** Memory-mapped files, keyed by path, encoding and quoting, see {@link #reserveMappedFile} */
+    private final Map<String, MappedLineFile> mappedFiles = new HashMap<>();
+
+    /** Cursors over {@link #mappedFiles}, keyed by alias; read without holding {@link #lock} */
+    private final Map<String, MappedFileEntry> mappedEntries = new ConcurrentHashMap<>();
+
+    /**
+     * Guards {@link #base} and {@link #files}.
+     * A {@link ReentrantLock} is used rather than {@code synchronized} so threads blocked
+     * on file I/O (e.g. in {@link #readLine(String, boolean, boolean)}) do not pin
+     * the carrier thread when JMeter threads run as virtual threads.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
     private static final FileServer server = new FileServer();
 
     // volatile needed to ensure safe publication
@@ -96,10 +113,15 @@ public class FileServer {
     /**
      * Resets the current base to DEFAULT_BASE.
      */
-    public synchronized void resetBase() {
-        checkForOpenFiles();
-        base = new File(DEFAULT_BASE);
-        log.info("Reset base to '{}'", base);
+    public void resetBase() {
+        lock.lock();
+        try {
+            checkForOpenFiles();
+            base = new File(DEFAULT_BASE);
+            log.info("Reset base to '{}'", base);
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -110,15 +132,20 @@ public class FileServer {
      * @param basedir the path to set, or {@code null} if the GUI is being cleared
      * @throws IllegalStateException if files are still open
      */
-    public synchronized void setBasedir(String basedir) {
-        checkForOpenFiles(); // TODO should this be called if basedir == null?
-        if (basedir != null) {
-            File newBase = new File(basedir);
-            if (!newBase.isDirectory()) {
-                newBase = newBase.getParentFile();
+    public void setBasedir(String basedir) {
+        lock.lock();
+        try {
+            checkForOpenFiles(); // TODO should this be called if basedir == null?
+            if (basedir != null) {
+                File newBase = new File(basedir);
+                if (!newBase.isDirectory()) {
+                    newBase = newBase.getParentFile();
+                }
+                base = newBase;
+                log.info("Set new base='{}'", base);
             }
-            base = newBase;
-            log.info("Set new base='{}'", base);
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -131,13 +158,18 @@ public class FileServer {
      * @throws IllegalStateException if files are still open
      * @throws IllegalArgumentException if scriptPath parameter is null
      */
-    public synchronized void setBaseForScript(File scriptPath) {
-        if (scriptPath == null){
-            throw new IllegalArgumentException("scriptPath must not be null");
+    public void setBaseForScript(File scriptPath) {
+        lock.lock();
+        try {
+            if (scriptPath == null){
+                throw new IllegalArgumentException("scriptPath must not be null");
+            }
+            setScriptName(scriptPath.getName());
+            // getParentFile() may not work on relative paths
+            setBase(scriptPath.getAbsoluteFile().getParentFile());
+        } finally {
+            lock.unlock();
         }
-        setScriptName(scriptPath.getName());
-        // getParentFile() may not work on relative paths
-        setBase(scriptPath.getAbsoluteFile().getParentFile());
     }
 
     /**
@@ -147,13 +179,18 @@ public class FileServer {
      * @throws IllegalStateException if files are still open
      * @throws IllegalArgumentException if {@code basepath} is null
      */
-    public synchronized void setBase(File jmxBase) {
-        if (jmxBase == null) {
-            throw new IllegalArgumentException("jmxBase must not be null");
+    public void setBase(File jmxBase) {
+        lock.lock();
+        try {
+            if (jmxBase == null) {
+                throw new IllegalArgumentException("jmxBase must not be null");
+            }
+            checkForOpenFiles();
+            base = jmxBase;
+            log.info("Set new base='{}'", base);
+        } finally {
+            lock.unlock();
         }
-        checkForOpenFiles();
-        base = jmxBase;
-        log.info("Set new base='{}'", base);
     }
 
     /**
@@ -171,8 +208,13 @@ public class FileServer {
         files.clear(); // tidy up any unused entries
     }
 
-    public synchronized String getBaseDir() {
-        return base.getAbsolutePath();
+    public String getBaseDir() {
+        lock.lock();
+        try {
+            return base.getAbsolutePath();
+        } finally {
+            lock.unlock();
+        }
     }
 
     public static String getDefaultBase(){
@@ -185,26 +227,31 @@ public class FileServer {
      *
      * @return the relative path, or {@code "."} if the path cannot be determined
      */
-    public synchronized File getBaseDirRelative() {
-        // Must first convert to absolute path names to ensure parents are available
-        File parent = new File(DEFAULT_BASE).getAbsoluteFile();
-        File f = base.getAbsoluteFile();
-        ArrayDeque<String> l = new ArrayDeque<>();
-        while (f != null) {
-            if (f.equals(parent)){
-                if (l.isEmpty()){
-                    break;
-                }
-                File rel = new File(l.pop());
-                while(!l.isEmpty()) {
-                    rel = new File(rel, l.pop());
+    public File getBaseDirRelative() {
+        lock.lock();
+        try {
+            // Must first convert to absolute path names to ensure parents are available
+            File parent = new File(DEFAULT_BASE).getAbsoluteFile();
+            File f = base.getAbsoluteFile();
+            ArrayDeque<String> l = new ArrayDeque<>();
+            while (f != null) {
+                if (f.equals(parent)){
+                    if (l.isEmpty()){
+                        break;
+                    }
+                    File rel = new File(l.pop());
+                    while(!l.isEmpty()) {
+                        rel = new File(rel, l.pop());
+                    }
+                    return rel;
                 }
-                return rel;
+                l.push(f.getName());
+                f = f.getParentFile();
             }
-            l.push(f.getName());
-            f = f.getParentFile();
+            return new File(".");
+        } finally {
+            lock.unlock();
         }
-        return new File(".");
     }
 
     /**
@@ -251,38 +298,135 @@ public class FileServer {
      * @return the header line; may be null
      * @throws IllegalArgumentException if header could not be read or filename is null or empty
      */
-    public synchronized String reserveFile(String filename, String charsetName, String alias, boolean hasHeader) {
-        if (filename == null || filename.isEmpty()){
-            throw new IllegalArgumentException("Filename must not be null or empty");
-        }
-        if (alias == null){
-            throw new IllegalArgumentException("Alias must not be null");
+    public String reserveFile(String filename, String charsetName, String alias, boolean hasHeader) {
+        lock.lock();
+        try {
+            if (filename == null || filename.isEmpty()){
+                throw new IllegalArgumentException("Filename must not be null or empty");
+            }
+            if (alias == null){
+                throw new IllegalArgumentException("Alias must not be null");
+            }
+            FileEntry fileEntry = files.get(alias);
+            if (fileEntry == null) {
+                fileEntry = new FileEntry(resolveFileFromPath(filename), null, charsetName);
+                if (filename.equals(alias)){
+                    log.info("Stored: {}", filename);
+                } else {
+                    log.info("Stored: {} Alias: {}", filename, alias);
+                }
+                files.put(alias, fileEntry);
+                if (hasHeader) {
+                    try {
+                        fileEntry.headerLine = readLine(alias, false);
+                        if (fileEntry.headerLine == null) {
+                            fileEntry.exception = new EOFException("File is empty: " + fileEntry.file);
+                        }
+                    } catch (IOException | IllegalArgumentException e) {
+                        fileEntry.exception = e;
+                    }
+                }
+            }
+            if (hasHeader && fileEntry.headerLine == null) {
+                throw new IllegalArgumentException("Could not read file header line for file " + filename,
+                        fileEntry.exception);
+            }
+            return fileEntry.headerLine;
+        } finally {
+            lock.unlock();
         }
-        FileEntry fileEntry = files.get(alias);
-        if (fileEntry == null) {
-            fileEntry = new FileEntry(resolveFileFromPath(filename), null, charsetName);
-            if (filename.equals(alias)){
-                log.info("Stored: {}", filename);
-            } else {
-                log.info("Stored: {} Alias: {}", filename, alias);
+    }
+
+    /**
+     * Memory-maps a file and associates a record cursor with the alias, unless it is already stored.
+     * Several aliases of the same file share a single mapping but have their own cursor.
+     * Records are then read with {@link #readMappedRecord(String, boolean, boolean)} without locking.
+     *
+     * @param filename - relative (to base) or absolute file name (must not be null or empty)
+     * @param charsetName - the character set encoding to use for the file (may be null),
+     *                      must be supported by {@link MappedLineFile#isSupportedCharset(String)}
+     * @param alias - the name to be used to access the object (must not be null)
+     * @param hasHeader true if the file has a header line describing the contents
+     * @param quoted true if line terminators within double quotes belong to the record
+     * @return the header line; may be null
+     * @throws IllegalArgumentException if the file could not be read or has no header line,
+     *                                  or filename is null or empty
+     * @since 6.0.0
+     */
+    public String reserveMappedFile(String filename, String charsetName, String alias, boolean hasHeader, boolean quoted) {
+        lock.lock();
+        try {
+            if (filename == null || filename.isEmpty()){
+                throw new IllegalArgumentException("Filename must not be null or empty");
+            }
+            if (alias == null){
+                throw new IllegalArgumentException("Alias must not be null");
             }
-            files.put(alias, fileEntry);
-            if (hasHeader) {
-                try {
-                    fileEntry.headerLine = readLine(alias, false);
-                    if (fileEntry.headerLine == null) {
-                        fileEntry.exception = new EOFException("File is empty: " + fileEntry.file);
+            MappedFileEntry fileEntry = mappedEntries.get(alias);
+            if (fileEntry == null) {
+                File file = resolveFileFromPath(filename);
+                String key = file.getAbsolutePath() + '|' + charsetName + '|' + quoted;
+                MappedLineFile mappedFile = mappedFiles.get(key);
+                if (mappedFile == null) {
+                    try {
+                        mappedFile = MappedLineFile.open(file, charsetName, quoted);
+                    } catch (IOException e) {
+                        throw new IllegalArgumentException("Could not map file " + filename, e);
                     }
-                } catch (IOException | IllegalArgumentException e) {
-                    fileEntry.exception = e;
+                    log.info("Mapped: {} records: {}", filename, mappedFile.getRecordCount());
+                    mappedFiles.put(key, mappedFile);
                 }
+                fileEntry = new MappedFileEntry(mappedFile);
+                if (!filename.equals(alias)) {
+                    log.info("Stored: {} Alias: {}", filename, alias);
+                }
+                mappedEntries.put(alias, fileEntry);
+            }
+            if (hasHeader && fileEntry.file.getRecordCount() == 0) {
+                throw new IllegalArgumentException("Could not read file header line for file " + filename,
+                        new EOFException("File is empty: " + fileEntry.file.getFile()));
             }
+            return hasHeader ? fileEntry.file.getRecord(0) : null;
+        } finally {
+            lock.unlock();
         }
-        if (hasHeader && fileEntry.headerLine == null) {
-            throw new IllegalArgumentException("Could not read file header line for file " + filename,
-                    fileEntry.exception);
+    }
+
+    /**
+     * Get the next record of a file reserved with {@link #reserveMappedFile}.
+     * The cursor is advanced atomically, so concurrent callers never get the same record
+     * of a pass over the file.
+     *
+     * @param alias the filename or alias that was used to reserve the file
+     * @param recycle - should file be restarted at EOF?
+     * @param ignoreFirstLine - Ignore first line
+     * @return the next record without its line terminator (null if EOF reached and not recycle)
+     * @throws IOException when the file was not reserved
+     * @since 6.0.0
+     */
+    public String readMappedRecord(String alias, boolean recycle, boolean ignoreFirstLine) throws IOException {
+        MappedFileEntry fileEntry = mappedEntries.get(alias);
+        if (fileEntry == null) {
+            throw new IOException("File never reserved: " + alias);
+        }
+        int firstRecord = ignoreFirstLine ? 1 : 0;
+        int recordCount = fileEntry.file.getRecordCount() - firstRecord;
+        if (recordCount <= 0) {
+            return null;
+        }
+        long next;
+        if (recycle) {
+            next = fileEntry.cursor.getAndIncrement() % recordCount;
+        } else {
+            // Stop advancing at EOF, so the cursor cannot overflow however long the test runs
+            next = fileEntry.cursor.getAndUpdate(current -> current < recordCount ? current + 1 : current);
+            if (next >= recordCount) {
+                return null;
+            }
         }
-        return fileEntry.headerLine;
+        String record = fileEntry.file.getRecord(firstRecord + (int) next);
+        log.debug("Read:{}", record);
+        return record;
     }
 
     /**
@@ -332,31 +476,36 @@ public class FileServer {
      * @return String containing the next line in the file (null if EOF reached and not recycle)
      * @throws IOException when reading of the file fails, or the file was not reserved properly
      */
-    public synchronized String readLine(String filename, boolean recycle,
+    public String readLine(String filename, boolean recycle,
             boolean ignoreFirstLine) throws IOException {
-        FileEntry fileEntry = files.get(filename);
-        if (fileEntry != null) {
-            if (fileEntry.inputOutputObject == null) {
-                fileEntry.inputOutputObject = createBufferedReader(fileEntry);
-            } else if (!(fileEntry.inputOutputObject instanceof Reader)) {
-                throw new IOException("File " + filename + " already in use");
-            }
-            BufferedReader reader = (BufferedReader) fileEntry.inputOutputObject;
-            String line = reader.readLine();
-            if (line == null && recycle) {
-                reader.close();
-                reader = createBufferedReader(fileEntry);
-                fileEntry.inputOutputObject = reader;
-                if (ignoreFirstLine) {
-                    // read first line and forget
-                    reader.readLine();//NOSONAR
+        lock.lock();
+        try {
+            FileEntry fileEntry = files.get(filename);
+            if (fileEntry != null) {
+                if (fileEntry.inputOutputObject == null) {
+                    fileEntry.inputOutputObject = createBufferedReader(fileEntry);
+                } else if (!(fileEntry.inputOutputObject instanceof Reader)) {
+                    throw new IOException("File " + filename + " already in use");
                 }
-                line = reader.readLine();
+                BufferedReader reader = (BufferedReader) fileEntry.inputOutputObject;
+                String line = reader.readLine();
+                if (line == null && recycle) {
+                    reader.close();
+                    reader = createBufferedReader(fileEntry);
+                    fileEntry.inputOutputObject = reader;
+                    if (ignoreFirstLine) {
+                        // read first line and forget
+                        reader.readLine();//NOSONAR
+                    }
+                    line = reader.readLine();
+                }
+                log.debug("Read:{}", line);
+                return line;
             }
-            log.debug("Read:{}", line);
-            return line;
+            throw new IOException("File never reserved: "+filename);
+        } finally {
+            lock.unlock();
         }
-        throw new IOException("File never reserved: "+filename);
     }
 
     /**
@@ -368,9 +517,14 @@ public class FileServer {
      * @return the parsed line, will be empty if the file is at EOF
      * @throws IOException when reading of the aliased file fails, or the file was not reserved properly
      */
-    public synchronized String[] getParsedLine(String alias, boolean recycle, boolean ignoreFirstLine, char delim) throws IOException {
-        BufferedReader reader = getReader(alias, recycle, ignoreFirstLine);
-        return CSVSaveService.csvReadFile(reader, delim);
+    public String[] getParsedLine(String alias, boolean recycle, boolean ignoreFirstLine, char delim) throws IOException {
+        lock.lock();
+        try {
+            BufferedReader reader = getReader(alias, recycle, ignoreFirstLine);
+            return CSVSaveService.csvReadFile(reader, delim);
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -440,19 +594,24 @@ public class FileServer {
         return new BufferedReader(isr);
     }
 
-    public synchronized void write(String filename, String value) throws IOException {
-        FileEntry fileEntry = files.get(filename);
-        if (fileEntry != null) {
-            if (fileEntry.inputOutputObject == null) {
-                fileEntry.inputOutputObject = createBufferedWriter(fileEntry);
-            } else if (!(fileEntry.inputOutputObject instanceof Writer)) {
-                throw new IOException("File " + filename + " already in use");
+    public void write(String filename, String value) throws IOException {
+        lock.lock();
+        try {
+            FileEntry fileEntry = files.get(filename);
+            if (fileEntry != null) {
+                if (fileEntry.inputOutputObject == null) {
+                    fileEntry.inputOutputObject = createBufferedWriter(fileEntry);
+                } else if (!(fileEntry.inputOutputObject instanceof Writer)) {
+                    throw new IOException("File " + filename + " already in use");
+                }
+                BufferedWriter writer = (BufferedWriter) fileEntry.inputOutputObject;
+                log.debug("Write:{}", value);
+                writer.write(value);
+            } else {
+                throw new IOException("File never reserved: "+filename);
             }
-            BufferedWriter writer = (BufferedWriter) fileEntry.inputOutputObject;
-            log.debug("Write:{}", value);
-            writer.write(value);
-        } else {
-            throw new IOException("File never reserved: "+filename);
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -471,20 +630,42 @@ public class FileServer {
         return new BufferedWriter(osw);
     }
 
-    public synchronized void closeFiles() throws IOException {
-        for (Map.Entry<String, FileEntry> me : files.entrySet()) {
-            closeFile(me.getKey(),me.getValue() );
+    public void closeFiles() throws IOException {
+        lock.lock();
+        try {
+            for (Map.Entry<String, FileEntry> me : files.entrySet()) {
+                closeFile(me.getKey(),me.getValue() );
+            }
+            files.clear();
+            mappedEntries.clear();
+            mappedFiles.clear();
+        } finally {
+            lock.unlock();
         }
-        files.clear();
     }
 
     /**
      * @param name the name or alias of the file to be closed
      * @throws IOException when closing of the aliased file fails
      */
-    public synchronized void closeFile(String name) throws IOException {
-        FileEntry fileEntry = files.get(name);
-        closeFile(name, fileEntry);
+    public void closeFile(String name) throws IOException {
+        lock.lock();
+        try {
+            FileEntry fileEntry = files.get(name);
+            closeFile(name, fileEntry);
+            MappedFileEntry mappedEntry = mappedEntries.remove(name);
+            if (mappedEntry != null) {
+                // Release the mapping once no other alias reads from it
+                boolean inUse = mappedEntries.values().stream()
+                        .anyMatch(entry -> entry.file == mappedEntry.file);
+                if (!inUse) {
+                    log.info("Unmap: {}", name);
+                    mappedFiles.values().remove(mappedEntry.file);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
     }
 
     private static void closeFile(String name, FileEntry fileEntry) throws IOException {
@@ -495,8 +676,12 @@ public class FileServer {
         }
     }
 
+    boolean mappedFilesOpen() { // package access for test code only
+        return !mappedFiles.isEmpty();
+    }
+
     boolean filesOpen() { // package access for test code only
-        return files.values().stream()
+        return !mappedEntries.isEmpty() || files.values().stream()
                 .anyMatch(fileEntry -> fileEntry.inputOutputObject != null);
     }
 
@@ -552,6 +737,16 @@ public class FileServer {
         }
     }
 
+    private static class MappedFileEntry {
+        private final MappedLineFile file;
+        // Number of records handed out; with recycle it keeps growing and is taken modulo the record count
+        private final AtomicLong cursor = new AtomicLong();
+
+        MappedFileEntry(MappedLineFile file) {
+            this.file = file;
+        }
+    }
+
     /**
      * Resolve a file name that may be relative to the base directory. If the
      * name begins with the value of the JMeter property
@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.services;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.apache.jorphan.util.JOrphanUtils;
+import org.apiguardian.api.API;
+
+/**
+ * Read-only view of a text file which is memory-mapped and indexed once,
+ * so records can then be fetched by index from any thread without locking.
+ * <p>
+ * Records are lines terminated by {@code \n}, {@code \r\n} or {@code \r}, as for
+ * {@link java.io.BufferedReader#readLine()}. When the file holds quoted data,
+ * line terminators within double quotes belong to the record.
+ * <p>
+ * Only encodings in which line terminators and double quotes are single bytes
+ * which never occur within other characters are supported,
+ * see {@link #isSupportedCharset(String)}.
+ *
+ * @since 6.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+public final class MappedLineFile {
+
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    // Do not map more than this in a single buffer, so that indices fit in an int
+    private static final long MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+    private final File file;
+
+    private final Charset charset;
+
+    private final ByteBuffer[] segments;
+
+    private final long[] recordStarts;
+
+    private final int[] recordLengths;
+
+    private MappedLineFile(File file, Charset charset, ByteBuffer[] segments, long[] recordStarts, int[] recordLengths) {
+        this.file = file;
+        this.charset = charset;
+        this.segments = segments;
+        this.recordStarts = recordStarts;
+        this.recordLengths = recordLengths;
+    }
+
+    /**
+     * @param charsetName the encoding of the file, blank for the platform encoding
+     * @return true if files with this encoding can be read by this class
+     */
+    public static boolean isSupportedCharset(String charsetName) {
+        Charset charset;
+        try {
+            charset = toCharset(charsetName);
+        } catch (IllegalArgumentException e) { // NOSONAR unknown names are reported when the file is opened
+            return false;
+        }
+        return StandardCharsets.UTF_8.equals(charset)
+                || charset.canEncode() && charset.newEncoder().maxBytesPerChar() == 1f
+                && Arrays.equals("\r\n\"".getBytes(charset), new byte[]{'\r', '\n', '"'});
+    }
+
+    private static Charset toCharset(String charsetName) {
+        return JOrphanUtils.isBlank(charsetName) ? Charset.defaultCharset() : Charset.forName(charsetName);
+    }
+
+    /**
+     * Map and index a file.
+     *
+     * @param file        the file to read
+     * @param charsetName the encoding of the file, blank for the platform encoding or the one given by a UTF-8 BOM
+     * @param quoted      true if line terminators within double quotes are part of the record
+     * @return the indexed file
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the file is not readable or its encoding is not supported
+     */
+    public static MappedLineFile open(File file, String charsetName, boolean quoted) throws IOException {
+        if (!file.canRead() || !file.isFile()) {
+            throw new IllegalArgumentException("File " + file.getName() + " must exist and be readable");
+        }
+        if (!isSupportedCharset(charsetName)) {
+            throw new IllegalArgumentException("Encoding " + charsetName + " of file " + file.getName()
+                    + " is not supported for memory-mapped reading");
+        }
+        ByteBuffer[] segments;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            segments = new ByteBuffer[(int) Math.max(1, (size + MAX_SEGMENT_SIZE - 1) / MAX_SEGMENT_SIZE)];
+            for (int i = 0; i < segments.length; i++) {
+                long position = i * MAX_SEGMENT_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(MAX_SEGMENT_SIZE, size - position));
+            }
+        }
+        Charset charset = toCharset(charsetName);
+        long start = 0;
+        if (startsWithUtf8Bom(segments[0])) {
+            if (JOrphanUtils.isBlank(charsetName)) {
+                charset = StandardCharsets.UTF_8;
+            }
+            start = UTF8_BOM.length;
+        }
+        return index(file, charset, segments, start, quoted);
+    }
+
+    private static boolean startsWithUtf8Bom(ByteBuffer buffer) {
+        if (buffer.limit() < UTF8_BOM.length) {
+            return false;
+        }
+        for (int i = 0; i < UTF8_BOM.length; i++) {
+            if (buffer.get(i) != UTF8_BOM[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static MappedLineFile index(File file, Charset charset, ByteBuffer[] segments, long firstByte, boolean quoted) {
+        long[] starts = new long[1024];
+        int[] lengths = new int[starts.length];
+        int count = 0;
+        long recordStart = firstByte;
+        boolean inQuotes = false;
+        boolean afterCarriageReturn = false;
+        long position = 0;
+        for (ByteBuffer segment : segments) {
+            int limit = segment.limit();
+            for (int i = 0; i < limit; i++, position++) {
+                byte b = segment.get(i);
+                if (afterCarriageReturn) {
+                    afterCarriageReturn = false;
+                    if (b == '\n') {
+                        recordStart = position + 1;
+                        continue;
+                    }
+                }
+                if (position < firstByte) {
+                    continue;
+                }
+                if (quoted && b == '"') {
+                    inQuotes = !inQuotes;
+                } else if ((b == '\n' || b == '\r') && !inQuotes) {
+                    if (count == starts.length) {
+                        starts = Arrays.copyOf(starts, count * 2);
+                        lengths = Arrays.copyOf(lengths, count * 2);
+                    }
+                    starts[count] = recordStart;
+                    lengths[count] = toRecordLength(file, position - recordStart);
+                    count++;
+                    recordStart = position + 1;
+                    afterCarriageReturn = b == '\r';
+                }
+            }
+        }
+        if (position > recordStart) { // last record has no line terminator
+            starts = Arrays.copyOf(starts, count + 1);
+            lengths = Arrays.copyOf(lengths, count + 1);
+            starts[count] = recordStart;
+            lengths[count] = toRecordLength(file, position - recordStart);
+            count++;
+        }
+        return new MappedLineFile(file, charset, segments,
+                Arrays.copyOf(starts, count), Arrays.copyOf(lengths, count));
+    }
+
+    private static int toRecordLength(File file, long length) {
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("File " + file.getName() + " has a record longer than "
+                    + (Integer.MAX_VALUE - 8) + " bytes");
+        }
+        return (int) length;
+    }
+
+    /**
+     * @return the file which is read
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return the number of records in the file
+     */
+    public int getRecordCount() {
+        return recordStarts.length;
+    }
+
+    /**
+     * Decode a record. This method can be called concurrently.
+     *
+     * @param index index of the record, from 0 to {@link #getRecordCount()} excluded
+     * @return the record without its line terminator
+     */
+    public String getRecord(int index) {
+        long position = recordStarts[index];
+        byte[] bytes = new byte[recordLengths[index]];
+        int copied = 0;
+        while (copied < bytes.length) {
+            ByteBuffer segment = segments[(int) (position / MAX_SEGMENT_SIZE)];
+            int offset = (int) (position % MAX_SEGMENT_SIZE);
+            int length = Math.min(bytes.length - copied, segment.limit() - offset);
+            // absolute bulk get does not touch the buffer position, so the buffer can be shared
+            segment.get(offset, bytes, copied, length);
+            copied += length;
+            position += length;
+        }
+        return new String(bytes, charset);
+    }
+}
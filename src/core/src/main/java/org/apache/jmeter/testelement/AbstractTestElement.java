@@ -27,12 +27,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.jmeter.engine.util.NoThreadClone;
 import org.apache.jmeter.gui.Searchable;
+import org.apache.jmeter.testelement.property.AbstractProperty;
 import org.apache.jmeter.testelement.property.BooleanProperty;
 import org.apache.jmeter.testelement.property.CollectionProperty;
+import org.apache.jmeter.testelement.property.DoubleProperty;
+import org.apache.jmeter.testelement.property.FloatProperty;
 import org.apache.jmeter.testelement.property.IntegerProperty;
 import org.apache.jmeter.testelement.property.JMeterProperty;
 import org.apache.jmeter.testelement.property.LongProperty;
@@ -43,9 +47,11 @@ import org.apache.jmeter.testelement.property.PropertyIterator;
 import org.apache.jmeter.testelement.property.PropertyIteratorImpl;
 import org.apache.jmeter.testelement.property.StringProperty;
 import org.apache.jmeter.testelement.property.TestElementProperty;
+import org.apache.jmeter.testelement.schema.BaseTestElementSchema;
 import org.apache.jmeter.threads.AbstractThreadGroup;
 import org.apache.jmeter.threads.JMeterContext;
 import org.apache.jmeter.threads.JMeterContextService;
+import org.apache.jmeter.util.JMeterUtils;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.lock.qual.GuardedBy;
 import org.slf4j.Logger;
@@ -135,6 +141,29 @@ public abstract class AbstractTestElement implements TestElement, Serializable,
                     : null;
 
 
+    /**
+     * Properties of a cloned-per-thread element which are declared by its schema, indexed by
+     * {@link BaseTestElementSchema#getPropertyIndex(String)}, so the per-sample reads of such properties
+     * do not need to synchronize on {@link #propMap}.
+     * The contents must exactly match {@link #propMap}, so if {@link #propMap} is modified, then the array
+     * should be updated as well. It is created on the first modification of {@link #propMap}.
+     * Shared elements read their properties from {@link #propMapConcurrent} instead.
+     * <p>The element may be modified by another thread than the one reading it (e.g. the GUI or the thread
+     * cloning it), so both the field and the slots are published with volatile semantics, like the
+     * synchronized {@link #propMap} they mirror.</p>
+     */
+    private transient volatile SchemaProperties schemaProperties;
+
+    private static final class SchemaProperties {
+        final BaseTestElementSchema schema;
+        final AtomicReferenceArray<JMeterProperty> values;
+
+        SchemaProperties(BaseTestElementSchema schema) {
+            this.schema = schema;
+            this.values = new AtomicReferenceArray<>(schema.getPropertyCount());
+        }
+    }
+
     /**
      * Holds properties added when isRunningVersion is true
      */
@@ -162,9 +191,17 @@ public abstract class AbstractTestElement implements TestElement, Serializable,
                 clonedProps.next();
                 clonedProps.remove();
             }
+            // Running versions are cloned for every thread, so share the properties that are never modified in place
+            boolean shareImmutable = runningVersion && FlyweightClone.ENABLED;
             PropertyIterator iter = propertyIterator();
             while (iter.hasNext()) {
-                clonedElement.setProperty(iter.next().clone());
+                JMeterProperty property = iter.next();
+                if (shareImmutable && isImmutableValue(property)) {
+                    ((AbstractProperty) property).markShared();
+                    clonedElement.setProperty(property);
+                } else {
+                    clonedElement.setProperty(property.clone());
+                }
             }
             clonedElement.setRunningVersion(runningVersion);
             return clonedElement;
@@ -173,6 +210,67 @@ public abstract class AbstractTestElement implements TestElement, Serializable,
         }
     }
 
+    private static final class FlyweightClone {
+        /**
+         * Share immutable properties between the clones of running test elements.
+         * The property is read lazily, so it is not captured before JMeter properties are loaded.
+         */
+        static final boolean ENABLED = JMeterUtils.getPropDefault("jmeterthread.clone.flyweight", false); // $NON-NLS-1$
+    }
+
+    /**
+     * Checks if the property holds a plain value, so a running version of the property can be shared between
+     * the clones of the element.
+     * Properties with functions or variable references are {@link org.apache.jmeter.testelement.property.FunctionProperty}
+     * at this point, so they are never shared.
+     */
+    private static boolean isImmutableValue(JMeterProperty property) {
+        if (!property.isRunningVersion()) {
+            return false;
+        }
+        Class<?> type = property.getClass();
+        return type == StringProperty.class
+                || type == BooleanProperty.class
+                || type == IntegerProperty.class
+                || type == LongProperty.class
+                || type == FloatProperty.class
+                || type == DoubleProperty.class;
+    }
+
+    private static boolean isShared(JMeterProperty property) {
+        return property instanceof AbstractProperty && ((AbstractProperty) property).isShared();
+    }
+
+    /**
+     * Replaces the shared property with a private copy, so it can be modified in place.
+     * @param property property of this element
+     * @return the property to modify
+     */
+    private JMeterProperty ensureNotShared(JMeterProperty property) {
+        if (!isShared(property)) {
+            return property;
+        }
+        JMeterProperty copy = property.clone();
+        // A regular clone would have got its running version when the element was cloned, and the value
+        // of a shared property has not changed since then
+        copy.setRunningVersion(property.isRunningVersion());
+        String name = property.getName();
+        try (ResourceLock ignored = writeLock()) {
+            boolean temporary = isTemporary(property);
+            propMap.put(name, copy);
+            Map<String, JMeterProperty> propMapConcurrent = this.propMapConcurrent;
+            if (propMapConcurrent != null) {
+                propMapConcurrent.put(name, copy);
+            }
+            updateSchemaProperty(name, copy);
+            if (temporary) {
+                clearTemporary(property);
+                setTemporary(copy);
+            }
+        }
+        return copy;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -184,6 +282,12 @@ public abstract class AbstractTestElement implements TestElement, Serializable,
             if (propMapConcurrent != null) {
                 propMapConcurrent.clear();
             }
+            SchemaProperties schemaProperties = this.schemaProperties;
+            if (schemaProperties != null) {
+                for (int i = 0; i < schemaProperties.values.length(); i++) {
+                    schemaProperties.values.set(i, null);
+                }
+            }
         }
     }
 
@@ -228,6 +332,7 @@ public abstract class AbstractTestElement implements TestElement, Serializable,
             if (propMapConcurrent != null) {
                 propMapConcurrent.remove(key);
             }
+            updateSchemaProperty(key, null);
         }
     }
 
@@ -320,10 +425,47 @@ public abstract class AbstractTestElement implements TestElement, Serializable,
         if (propMapConcurrent != null) {
             return propMapConcurrent.get(key);
         }
+        SchemaProperties schemaProperties = this.schemaProperties;
+        if (schemaProperties != null) {
+            int index = schemaProperties.schema.getPropertyIndex(key);
+            if (index >= 0) {
+                return schemaProperties.values.get(index);
+            }
+        }
 
         return propMap.get(key);
     }
 
+    /**
+     * Reflects a modification of {@link #propMap} in {@link #schemaProperties}.
+     * @param key name of the modified property
+     * @param property the new property, or {@code null} if the property has been removed
+     */
+    private void updateSchemaProperty(String key, JMeterProperty property) {
+        if (lock != null) {
+            return;
+        }
+        SchemaProperties schemaProperties = this.schemaProperties;
+        if (schemaProperties == null) {
+            // The element stores properties for the first time, or it has been deserialized
+            schemaProperties = new SchemaProperties(getSchema());
+            synchronized (propMap) {
+                for (Map.Entry<String, JMeterProperty> entry : propMap.entrySet()) {
+                    int index = schemaProperties.schema.getPropertyIndex(entry.getKey());
+                    if (index >= 0) {
+                        schemaProperties.values.set(index, entry.getValue());
+                    }
+                }
+            }
+            this.schemaProperties = schemaProperties;
+            return;
+        }
+        int index = schemaProperties.schema.getPropertyIndex(key);
+        if (index >= 0) {
+            schemaProperties.values.set(index, property);
+        }
+    }
+
     @Override
     public void traverse(TestElementTraverser traverser) {
         try (ResourceLock ignored = readLock()) {
@@ -439,6 +581,7 @@ public abstract class AbstractTestElement implements TestElement, Serializable,
                 if (propMapConcurrent != null) {
                     propMapConcurrent.put(property.getName(), propertyToPut);
                 }
+                updateSchemaProperty(property.getName(), propertyToPut);
             }
         } else {
             prop.mergeIn(propertyToPut);
@@ -487,7 +630,7 @@ public abstract class AbstractTestElement implements TestElement, Serializable,
             if (getProperty(property.getName()) instanceof NullProperty) {
                 addProperty(property);
             } else {
-                getProperty(property.getName()).setObjectValue(property.getObjectValue());
+                ensureNotShared(getProperty(property.getName())).setObjectValue(property.getObjectValue());
             }
         } else {
             try (ResourceLock ignored = writeLock()) {
@@ -501,6 +644,7 @@ public abstract class AbstractTestElement implements TestElement, Serializable,
                     if (propMapConcurrent != null) {
                         propMapConcurrent.put(property.getName(), property);
                     }
+                    updateSchemaProperty(property.getName(), property);
                 }
             }
         }
@@ -654,6 +798,13 @@ public abstract class AbstractTestElement implements TestElement, Serializable,
             Map<String, JMeterProperty> propMapConcurrent = this.propMapConcurrent;
             while (iter.hasNext()) {
                 JMeterProperty property = iter.next();
+                if (isShared(property)) {
+                    if (property.isRunningVersion() == runningVersion) {
+                        // The property is in the desired state already, and it must not be modified in place
+                        continue;
+                    }
+                    property = ensureNotShared(property);
+                }
                 property.setRunningVersion(runningVersion);
                 if (propMapConcurrent != null) {
                     propMapConcurrent.put(property.getName(), property);
@@ -673,18 +824,25 @@ public abstract class AbstractTestElement implements TestElement, Serializable,
             return;
         }
         try (ResourceLock ignored = writeLock()) {
+            // Most iterations do not add properties, so skip the lookups in temporaryProperties in that case
+            Set<JMeterProperty> temporaryProperties = this.temporaryProperties;
+            boolean hasTemporary = temporaryProperties != null && !temporaryProperties.isEmpty();
             Iterator<Map.Entry<String, JMeterProperty>> iter = propMap.entrySet().iterator();
             while (iter.hasNext()) {
                 Map.Entry<String, JMeterProperty> entry = iter.next();
                 JMeterProperty prop = entry.getValue();
-                if (isTemporary(prop)) {
+                if (hasTemporary && isTemporary(prop)) {
                     iter.remove();
+                    updateSchemaProperty(entry.getKey(), null);
                     clearTemporary(prop);
-                } else {
+                } else if (!isShared(prop)) {
+                    // Shared properties are never modified in place, so there's nothing to recover
                     prop.recoverRunningVersion(this);
                 }
             }
-            emptyTemporary();
+            if (hasTemporary) {
+                emptyTemporary();
+            }
         }
     }
 
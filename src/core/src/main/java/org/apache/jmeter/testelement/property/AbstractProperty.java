@@ -25,6 +25,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.apache.jmeter.testelement.TestElement;
+import org.apiguardian.api.API;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,6 +39,12 @@ public abstract class AbstractProperty implements JMeterProperty {
 
     private transient boolean runningVersion = false;
 
+    /**
+     * {@code true} when the property instance is referenced from the clones of several test elements,
+     * so it must not be modified in place.
+     */
+    private transient boolean shared;
+
     protected AbstractProperty(String name) {
         if (name == null) {
             throw new IllegalArgumentException("Name cannot be null");
@@ -80,6 +87,28 @@ public abstract class AbstractProperty implements JMeterProperty {
         this.runningVersion = runningVersion;
     }
 
+    /**
+     * Returns {@code true} if the property is referenced from several cloned test elements,
+     * so the owner must clone it before modifying the value.
+     * @return true if the property is shared between cloned test elements
+     * @since 6.0.0
+     */
+    @API(status = API.Status.INTERNAL, since = "6.0.0")
+    public boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * Marks the property as shared between cloned test elements.
+     * @since 6.0.0
+     */
+    @API(status = API.Status.INTERNAL, since = "6.0.0")
+    public void markShared() {
+        if (!shared) {
+            shared = true;
+        }
+    }
+
     protected PropertyIterator getIterator(Collection<JMeterProperty> values) {
         if (values.isEmpty()) {
             return PropertyIteratorImpl.EMPTY_ITERATOR;
@@ -94,6 +123,7 @@ public abstract class AbstractProperty implements JMeterProperty {
             AbstractProperty prop = (AbstractProperty) super.clone();
             prop.name = name;
             prop.runningVersion = runningVersion;
+            prop.shared = false;
             return prop;
         } catch (CloneNotSupportedException e) {
             throw new AssertionError(e); // clone should never return null
@@ -21,6 +21,7 @@ import org.apache.jmeter.engine.util.CompoundVariable;
 import org.apache.jmeter.testelement.TestElement;
 import org.apache.jmeter.threads.JMeterContext;
 import org.apache.jmeter.threads.JMeterContextService;
+import org.apache.jmeter.threads.JMeterVariables;
 import org.apache.jmeter.util.JMeterUtils;
 
 /**
@@ -30,9 +31,17 @@ public class FunctionProperty extends AbstractProperty {
     private static final long serialVersionUID = 233L;
     private static final boolean FUNCTION_CACHE_PER_ITERATION =
             JMeterUtils.getPropDefault("function.cache.per.iteration", false);
+    private static final boolean REUSE_UNCHANGED_RESULT =
+            JMeterUtils.getPropDefault("function.cache.unchanged.variables", true);
 
     private transient CompoundVariable function;
 
+    /**
+     * The last evaluation result for expressions that consist of variable references only.
+     * The object is immutable, so it is safe to share it with clones and threads.
+     */
+    private transient LastResult lastResult;
+
     private int testIteration = -1;
 
     /**
@@ -101,7 +110,7 @@ public class FunctionProperty extends AbstractProperty {
             return overrideValue;
         }
         if (!FUNCTION_CACHE_PER_ITERATION || !ctx.isSamplingStarted()) {
-            return function.execute();
+            return execute(ctx);
         }
         log.debug("Running version, executing function");
         int iter = ctx.getVariables() != null ? ctx.getVariables().getIteration() : -1;
@@ -116,6 +125,87 @@ public class FunctionProperty extends AbstractProperty {
 
     }
 
+    /**
+     * Executes the function, or returns the previous result if the expression references variables only,
+     * and none of the referenced variables changed since the previous execution.
+     */
+    private String execute(JMeterContext ctx) {
+        CompoundVariable function = this.function;
+        JMeterVariables vars = ctx.getVariables();
+        if (!REUSE_UNCHANGED_RESULT || vars == null) {
+            return function.execute();
+        }
+        LastResult last = lastResult;
+        if (last == null || last.function != function) {
+            last = new LastResult(function, function.getReferencedVariables());
+            lastResult = last;
+        }
+        String[] names = last.variableNames;
+        if (names == null || names.length == 0) {
+            // Functions might return different results even when variables are the same
+            return function.execute();
+        }
+        int modificationCount = vars.getModificationCount();
+        if (last.vars == vars && last.result != null) {
+            if (last.modificationCount == modificationCount) {
+                return last.result;
+            }
+            if (last.hasSameValues(vars)) {
+                lastResult = last.withModificationCount(modificationCount);
+                return last.result;
+            }
+        }
+        Object[] values = new Object[names.length];
+        boolean reusable = true;
+        for (int i = 0; i < names.length; i++) {
+            Object value = vars.getObject(names[i]);
+            // Non-string values might be mutated in place, so their string representation is not cached
+            reusable &= value == null || value instanceof String;
+            values[i] = value;
+        }
+        String result = function.execute();
+        lastResult = reusable
+                ? new LastResult(function, names, vars, modificationCount, values, result)
+                : new LastResult(function, names);
+        return result;
+    }
+
+    private static final class LastResult {
+        private final CompoundVariable function;
+        private final String[] variableNames;
+        private final JMeterVariables vars;
+        private final int modificationCount;
+        private final Object[] values;
+        private final String result;
+
+        LastResult(CompoundVariable function, String[] variableNames) {
+            this(function, variableNames, null, 0, null, null);
+        }
+
+        LastResult(CompoundVariable function, String[] variableNames, JMeterVariables vars,
+                int modificationCount, Object[] values, String result) {
+            this.function = function;
+            this.variableNames = variableNames;
+            this.vars = vars;
+            this.modificationCount = modificationCount;
+            this.values = values;
+            this.result = result;
+        }
+
+        boolean hasSameValues(JMeterVariables vars) {
+            for (int i = 0; i < variableNames.length; i++) {
+                if (vars.getObject(variableNames[i]) != values[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        LastResult withModificationCount(int modificationCount) {
+            return new LastResult(function, variableNames, vars, modificationCount, values, result);
+        }
+    }
+
     /**
      * @see JMeterProperty#getObjectValue()
      */
@@ -18,6 +18,7 @@
 package org.apache.jmeter.threads;
 
 import java.io.Serializable;
+import java.lang.management.ManagementFactory;
 import java.time.Duration;
 import java.util.IdentityHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -37,6 +38,11 @@ import org.apache.jmeter.util.JMeterUtils;
 import org.apache.jorphan.collections.ListedHashTree;
 import org.apiguardian.api.API;
 import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 /**
  * ThreadGroup holds the settings for a JMeter thread group.
@@ -51,8 +57,15 @@ public abstract class AbstractThreadGroup extends AbstractTestElement
     // Only create the map if it is required
     private final transient IdentityHashMap<TestElement, Object> children = new IdentityHashMap<>();
 
+    private static final Logger log = LoggerFactory.getLogger(AbstractThreadGroup.class);
+
     private static final Object DUMMY = new Object();
 
+    /**
+     * Trees whose clone statistics were logged already. Keys are weak and compared by identity.
+     */
+    private static final Cache<ListedHashTree, Boolean> LOGGED_CLONE_STATS = Caffeine.newBuilder().weakKeys().build();
+
     public static final Duration DEFAULT_THREAD_STOP_TIMEOUT =
             Duration.ofMillis(
                     JMeterUtils.getPropDefault("jmeterengine.threadstop.wait", 5 * 1000L));
@@ -170,8 +183,9 @@ public abstract class AbstractThreadGroup extends AbstractTestElement
     @Override
     public void initialize() {
         Controller c = getSamplerController();
+        // Copy our name into that of the controller, setProperty does not modify a property shared with other clones
+        c.setProperty(TestElement.NAME, getName());
         JMeterProperty property = c.getProperty(TestElement.NAME);
-        property.setObjectValue(getName()); // Copy our name into that of the controller
         property.setRunningVersion(property.isRunningVersion());// otherwise name reverts
         c.initialize();
     }
@@ -396,8 +410,36 @@ public abstract class AbstractThreadGroup extends AbstractTestElement
      */
     @API(status = API.Status.EXPERIMENTAL, since = "5.5")
     public static ListedHashTree cloneTree(ListedHashTree tree) {
+        long startNanos = System.nanoTime();
+        long startBytes = currentThreadAllocatedBytes();
         TreeCloner cloner = new TreeCloner(true);
         tree.traverse(cloner);
-        return cloner.getClonedTree();
+        ListedHashTree clonedTree = cloner.getClonedTree();
+        TestCompiler.registerClone(tree, clonedTree);
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long allocatedBytes = startBytes < 0 ? -1 : currentThreadAllocatedBytes() - startBytes;
+        // Log the first clone of every tree, so the per-thread cost is visible without debug logging
+        if (LOGGED_CLONE_STATS.asMap().putIfAbsent(tree, Boolean.TRUE) == null) {
+            log.info("Cloned test tree for a thread in {} us, allocated {} bytes per thread", elapsedNanos / 1000, allocatedBytes);
+        } else {
+            log.debug("Cloned test tree for a thread in {} us, allocated {} bytes", elapsedNanos / 1000, allocatedBytes);
+        }
+        return clonedTree;
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread, which approximates the heap retained by
+     * a cloned tree.
+     * @return allocated bytes or {@code -1} if the JVM does not support the measurement
+     */
+    private static long currentThreadAllocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+            if (threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled()) {
+                return threadBean.getCurrentThreadAllocatedBytes();
+            }
+        }
+        return -1;
     }
 }
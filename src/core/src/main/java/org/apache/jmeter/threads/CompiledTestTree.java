@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.threads;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.jmeter.assertions.Assertion;
+import org.apache.jmeter.config.ConfigTestElement;
+import org.apache.jmeter.control.Controller;
+import org.apache.jmeter.control.TransactionController;
+import org.apache.jmeter.processor.PostProcessor;
+import org.apache.jmeter.processor.PreProcessor;
+import org.apache.jmeter.samplers.SampleListener;
+import org.apache.jmeter.samplers.Sampler;
+import org.apache.jmeter.timers.Timer;
+import org.apache.jorphan.collections.HashTree;
+import org.apache.jorphan.collections.HashTreeTraverser;
+
+/**
+ * The result of searching a thread group tree for the elements that apply to every sampler and transaction controller.
+ * <p>Elements are identified by their position in the traversal order of the tree, so the result computed for
+ * the template tree applies to every clone of it: a thread collects the nodes of its own tree,
+ * and binds the positions to its elements.</p>
+ * @see TestCompiler
+ */
+final class CompiledTestTree {
+    private static final int[] NONE = new int[0];
+
+    /**
+     * Positions of the elements that make a {@link SamplePackage}.
+     */
+    static final class PackageTemplate {
+        final int[] configs;
+        final int[] listeners;
+        final int[] timers;
+        final int[] assertions;
+        final int[] posts;
+        final int[] pres;
+        final int[] controllers;
+
+        PackageTemplate(int[] configs, int[] listeners, int[] timers, int[] assertions,
+                int[] posts, int[] pres, int[] controllers) {
+            this.configs = configs;
+            this.listeners = listeners;
+            this.timers = timers;
+            this.assertions = assertions;
+            this.posts = posts;
+            this.pres = pres;
+            this.controllers = controllers;
+        }
+
+        <T> List<T> bind(int[] positions, Object[] nodes, Class<T> type) {
+            List<T> result = new ArrayList<>(positions.length);
+            for (int position : positions) {
+                result.add(type.cast(nodes[position]));
+            }
+            return result;
+        }
+    }
+
+    private final Class<?>[] nodeClasses;
+
+    /**
+     * Templates by node position, {@code null} for the nodes that are neither samplers nor transaction controllers.
+     */
+    private final PackageTemplate[] packages;
+
+    /**
+     * Whether an element or function of the tree may read the response data of the previous sample.
+     */
+    private final boolean previousResponseDataRead;
+
+    private CompiledTestTree(Class<?>[] nodeClasses, PackageTemplate[] packages, boolean previousResponseDataRead) {
+        this.nodeClasses = nodeClasses;
+        this.packages = packages;
+        this.previousResponseDataRead = previousResponseDataRead;
+    }
+
+    /**
+     * Collects the nodes of a tree in the traversal order.
+     */
+    private static final class NodeCollector implements HashTreeTraverser {
+        final List<Object> nodes = new ArrayList<>();
+        final List<Integer> parents = new ArrayList<>();
+        final List<List<Integer>> children = new ArrayList<>();
+        private final List<Integer> stack = new ArrayList<>();
+        private final boolean collectStructure;
+
+        NodeCollector(boolean collectStructure) {
+            this.collectStructure = collectStructure;
+        }
+
+        @Override
+        public void addNode(Object node, HashTree subTree) {
+            int position = nodes.size();
+            nodes.add(node);
+            if (collectStructure) {
+                int parent = stack.isEmpty() ? -1 : stack.get(stack.size() - 1);
+                parents.add(parent);
+                children.add(new ArrayList<>());
+                if (parent >= 0) {
+                    children.get(parent).add(position);
+                }
+                stack.add(position);
+            }
+        }
+
+        @Override
+        public void subtractNode() {
+            if (collectStructure) {
+                stack.remove(stack.size() - 1);
+            }
+        }
+
+        @Override
+        public void processPath() {
+        }
+    }
+
+    /**
+     * Searches the tree for the elements of every sampler and transaction controller.
+     * The search must match {@link TestCompiler}, see {@code saveSamplerConfigs} and
+     * {@code saveTransactionControllerConfigs} there.
+     * @param tree thread group tree
+     * @return compiled tree
+     */
+    static CompiledTestTree compile(HashTree tree) {
+        NodeCollector collector = new NodeCollector(true);
+        tree.traverse(collector);
+        int size = collector.nodes.size();
+        Class<?>[] nodeClasses = new Class<?>[size];
+        PackageTemplate[] packages = new PackageTemplate[size];
+        boolean previousResponseDataRead = false;
+        for (int position = 0; position < size; position++) {
+            Object node = collector.nodes.get(position);
+            nodeClasses[position] = node.getClass();
+            previousResponseDataRead = previousResponseDataRead || TestCompiler.readsPreviousResponseData(node);
+            if (node instanceof Sampler) {
+                packages[position] = compileSampler(collector, position);
+            } else if (node instanceof TransactionController) {
+                packages[position] = compileTransactionController(collector, position);
+            }
+        }
+        return new CompiledTestTree(nodeClasses, packages, previousResponseDataRead);
+    }
+
+    /**
+     * @return positions from the root to the node (inclusive)
+     */
+    private static List<Integer> pathTo(NodeCollector collector, int position) {
+        List<Integer> path = new ArrayList<>();
+        for (int p = position; p >= 0; p = collector.parents.get(p)) {
+            path.add(0, p);
+        }
+        return path;
+    }
+
+    private static PackageTemplate compileSampler(NodeCollector collector, int position) {
+        List<Integer> configs = new ArrayList<>();
+        List<Integer> controllers = new ArrayList<>();
+        List<Integer> listeners = new ArrayList<>();
+        List<Integer> timers = new ArrayList<>();
+        List<Integer> assertions = new ArrayList<>();
+        List<Integer> posts = new ArrayList<>();
+        List<Integer> pres = new ArrayList<>();
+        List<Integer> path = pathTo(collector, position);
+        for (int i = path.size(); i > 0; i--) {
+            int level = path.get(i - 1);
+            if (collector.nodes.get(level) instanceof Controller) {
+                controllers.add(level);
+            }
+            List<Integer> tempPre = new ArrayList<>();
+            List<Integer> tempPost = new ArrayList<>();
+            List<Integer> tempAssertions = new ArrayList<>();
+            for (int child : collector.children.get(level)) {
+                Object item = collector.nodes.get(child);
+                if (item instanceof ConfigTestElement) {
+                    configs.add(child);
+                }
+                if (item instanceof SampleListener) {
+                    listeners.add(child);
+                }
+                if (item instanceof Timer) {
+                    timers.add(child);
+                }
+                if (item instanceof Assertion) {
+                    tempAssertions.add(child);
+                }
+                if (item instanceof PostProcessor) {
+                    tempPost.add(child);
+                }
+                if (item instanceof PreProcessor) {
+                    tempPre.add(child);
+                }
+            }
+            assertions.addAll(0, tempAssertions);
+            pres.addAll(0, tempPre);
+            posts.addAll(0, tempPost);
+        }
+        return new PackageTemplate(toArray(configs), toArray(listeners), toArray(timers), toArray(assertions),
+                toArray(posts), toArray(pres), toArray(controllers));
+    }
+
+    private static PackageTemplate compileTransactionController(NodeCollector collector, int position) {
+        List<Integer> controllers = new ArrayList<>();
+        List<Integer> listeners = new ArrayList<>();
+        List<Integer> assertions = new ArrayList<>();
+        List<Integer> path = pathTo(collector, position);
+        for (int i = path.size(); i > 0; i--) {
+            int level = path.get(i - 1);
+            if (collector.nodes.get(level) instanceof Controller) {
+                controllers.add(level);
+            }
+            for (int child : collector.children.get(level)) {
+                Object item = collector.nodes.get(child);
+                if (item instanceof SampleListener) {
+                    listeners.add(child);
+                }
+                if (item instanceof Assertion) {
+                    assertions.add(child);
+                }
+            }
+        }
+        return new PackageTemplate(NONE, toArray(listeners), NONE, toArray(assertions),
+                NONE, NONE, toArray(controllers));
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        if (list.isEmpty()) {
+            return NONE;
+        }
+        int[] result = new int[list.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = list.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Collects the nodes of a clone of the compiled tree.
+     * @param tree clone of the compiled tree
+     * @return nodes in the traversal order, or {@code null} if the tree does not match the compiled one
+     */
+    Object[] bind(HashTree tree) {
+        NodeCollector collector = new NodeCollector(false);
+        tree.traverse(collector);
+        List<Object> nodes = collector.nodes;
+        if (nodes.size() != nodeClasses.length) {
+            return null;
+        }
+        for (int i = 0; i < nodeClasses.length; i++) {
+            if (nodes.get(i).getClass() != nodeClasses[i]) {
+                return null;
+            }
+        }
+        return nodes.toArray();
+    }
+
+    /**
+     * @param position position of a sampler or a transaction controller
+     * @return template of the package for the node
+     */
+    boolean isPreviousResponseDataRead() {
+        return previousResponseDataRead;
+    }
+
+    PackageTemplate getPackage(int position) {
+        return packages[position];
+    }
+}
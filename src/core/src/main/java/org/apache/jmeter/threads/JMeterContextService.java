@@ -20,6 +20,7 @@ package org.apache.jmeter.threads;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.jmeter.timers.TimerService;
 import org.apache.jmeter.util.JMeterUtils;
 
 /**
@@ -80,10 +81,12 @@ public final class JMeterContextService {
      * Method is called by the JMeterEngine class when a test run is started.
      * Zeroes numberOfActiveThreads.
      * Saves current time in a field and in the JMeter property "TESTSTART.MS"
+     * Starts a new registry of variable names for {@code jmeter.variables.slots}.
      */
     public static synchronized void startTest() {
         if (testStart.get() == 0) {
             NUMBER_OF_ACTIVE_THREADS.set(0);
+            SlotVariableMap.resetRegistry();
             testStart.set(System.currentTimeMillis());
             JMeterUtils.setProperty("TESTSTART.MS", Long.toString(testStart.get()));// $NON-NLS-1$
         }
@@ -125,6 +128,8 @@ public final class JMeterContextService {
     public static synchronized void endTest() {
         testStart.set(0);
         resetClientSideVariables();
+        ThreadStartLatency.logAndReset();
+        TimerService.getInstance().logAndResetSchedulerLag();
     }
 
     public static long getTestStartTime() {
@@ -48,6 +48,7 @@ import org.apache.jmeter.testelement.TestElement;
 import org.apache.jmeter.testelement.TestIterationListener;
 import org.apache.jmeter.testelement.ThreadListener;
 import org.apache.jmeter.threads.JMeterContext.TestLogicalAction;
+import org.apache.jmeter.timers.PacingTimer;
 import org.apache.jmeter.timers.Timer;
 import org.apache.jmeter.timers.TimerService;
 import org.apache.jmeter.util.JMeterUtils;
@@ -84,6 +85,10 @@ public class JMeterThread implements Runnable, Interruptible {
 
     private static final TimerService TIMER_SERVICE = TimerService.getInstance();
 
+    /** Wait for timers with the pacing scheduler of {@link TimerService} instead of sleeping, default false */
+    private static final boolean PACING_SCHEDULER =
+            JMeterUtils.getPropDefault("jmeterthread.pacing.scheduler", false); // $NON-NLS-1$
+
     private static final float ONE_AS_FLOAT = 1.0f;
 
     private static final boolean APPLY_TIMER_FACTOR = Float.compare(TIMER_FACTOR,ONE_AS_FLOAT) != 0;
@@ -123,6 +128,9 @@ public class JMeterThread implements Runnable, Interruptible {
 
     private long endTime = 0;
 
+    /** Time the thread was scheduled to start its first sample at, 0 if the thread is not scheduled */
+    private long scheduledStartTime = 0;
+
     private final boolean isSameUserOnNextIteration;
 
     // based on this scheduler is enabled or disabled
@@ -233,6 +241,29 @@ public class JMeterThread implements Runnable, Interruptible {
         return endTime;
     }
 
+    /**
+     * Set the time this thread was scheduled to start at by an open model thread group.
+     * It is recorded as the intended start time of the first sample of the thread.
+     *
+     * @param scheduledStartTime time in milliseconds since the epoch, or 0 if the thread is not scheduled
+     * @see SampleResult#getIntendedStartTime()
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public void setScheduledStartTime(long scheduledStartTime) {
+        this.scheduledStartTime = scheduledStartTime;
+    }
+
+    /**
+     * @return the time this thread was scheduled to start its first sample at, or 0 once the sample started
+     * or if the thread is not scheduled
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public long getScheduledStartTime() {
+        return scheduledStartTime;
+    }
+
     /**
      * Check if the scheduled time is completed.
      */
@@ -563,12 +594,15 @@ public class JMeterThread implements Runnable, Interruptible {
         // Hack: save the package for any transaction controllers
         threadVars.putObject(PACKAGE_OBJECT, pack);
 
-        delay(pack.getTimers());
+        long intendedStartTime = delay(pack.getTimers());
         SampleResult result = null;
         if (running) {
             Sampler sampler = pack.getSampler();
             result = doSampling(threadContext, sampler);
         }
+        if (result != null && intendedStartTime != 0) {
+            result.setIntendedStartTime(intendedStartTime);
+        }
         // If we got any results, then perform processing on the result
         if (result != null) {
             if (!result.isIgnore()) {
@@ -727,6 +761,7 @@ public class JMeterThread implements Runnable, Interruptible {
      * @return the iteration listener
      */
     private IterationListener initRun(JMeterContext threadContext) {
+        long startNanos = System.nanoTime();
         threadVars.putObject(JMeterVariables.VAR_IS_SAME_USER_KEY, isSameUserOnNextIteration);
         threadContext.setVariables(threadVars);
         threadContext.setThreadNum(getThreadNum());
@@ -735,12 +770,15 @@ public class JMeterThread implements Runnable, Interruptible {
         threadContext.setThreadGroup(threadGroup);
         threadContext.setEngine(engine);
         testTree.traverse(compiler);
+        // Delays below are intentional, so they are not counted as the thread start latency
+        long startLatencyNanos = System.nanoTime() - startNanos;
         if (scheduler) {
             // set the scheduler to start
             startScheduler();
         }
 
         rampUpDelay(); // TODO - how to handle thread stopped here
+        startNanos = System.nanoTime();
         if (log.isInfoEnabled()) {
             log.info("Thread started: {}", Thread.currentThread().getName());
         }
@@ -756,6 +794,7 @@ public class JMeterThread implements Runnable, Interruptible {
         threadGroupLoopController.addIterationListener(iterationListener);
 
         threadStarted();
+        ThreadStartLatency.record(startLatencyNanos + System.nanoTime() - startNanos);
         return iterationListener;
     }
 
@@ -985,20 +1024,41 @@ public class JMeterThread implements Runnable, Interruptible {
     }
 
     /**
-     * Run all configured timers and sleep the total amount of time.
+     * Run all configured timers and wait for the total amount of time.
      * <p>
      * If the amount of time would amount to an ending after endTime, then
      * end the current thread by setting {@code running} to {@code false} and
      * return immediately.
+     * <p>
+     * {@link PacingTimer}s contribute the time until their intended start time, which
+     * is measured from the moment the timers start to run, so the time spent computing the delays
+     * does not make the schedule drift.
      *
      * @param timers to be used for calculating the delay
+     * @return the intended start time of the sample in milliseconds since the epoch if one
+     * of the timers is a {@link PacingTimer} or if it is the first sample of a scheduled thread, 0 otherwise
      */
-    private void delay(List<? extends Timer> timers) {
-        long totalDelay = 0;
+    private long delay(List<? extends Timer> timers) {
+        long now = System.currentTimeMillis();
+        long nowNanos = System.nanoTime();
+        double totalDelay = 0;
+        double lateness = 0;
+        boolean paced = false;
         for (Timer timer : timers) {
             TestBeanHelper.prepare((TestElement) timer);
+            boolean applyFactor = APPLY_TIMER_FACTOR && timer.isModifiable();
+            if (timer instanceof PacingTimer && !applyFactor) {
+                double startTime = ((PacingTimer) timer).nextStartTime();
+                paced = true;
+                if (startTime > now) {
+                    totalDelay += startTime - now;
+                } else {
+                    lateness += now - startTime;
+                }
+                continue;
+            }
             long delay = timer.delay();
-            if (APPLY_TIMER_FACTOR && timer.isModifiable()) {
+            if (applyFactor) {
                 if (log.isDebugEnabled()) {
                     log.debug("Applying TIMER_FACTOR:{} on timer:{} for thread:{}", TIMER_FACTOR,
                             ((TestElement) timer).getName(), getThreadName());
@@ -1007,24 +1067,37 @@ public class JMeterThread implements Runnable, Interruptible {
             }
             totalDelay += delay;
         }
+        long intendedStartTime = 0;
+        if (paced) {
+            intendedStartTime = Math.round(now + totalDelay - lateness);
+        } else if (scheduledStartTime != 0) {
+            intendedStartTime = Math.round(scheduledStartTime + totalDelay);
+        }
+        scheduledStartTime = 0;
         if (totalDelay > 0) {
             try {
                 if (scheduler) {
                     // We reduce pause to ensure end of test is not delayed by a sleep ending after test scheduled end
                     // See Bug 60049
-                    totalDelay = TIMER_SERVICE.adjustDelay(totalDelay, endTime, false);
-                    if (totalDelay < 0) {
+                    long adjustedDelay = TIMER_SERVICE.adjustDelay((long) Math.ceil(totalDelay), endTime, false);
+                    if (adjustedDelay < 0) {
                         log.debug("The delay would be longer than the scheduled period, so stop thread now.");
                         running = false;
-                        return;
+                        return intendedStartTime;
                     }
                 }
-                TimeUnit.MILLISECONDS.sleep(totalDelay);
+                long delayNanos = (long) (totalDelay * 1_000_000);
+                if (PACING_SCHEDULER) {
+                    TIMER_SERVICE.awaitStartTime(nowNanos + delayNanos);
+                } else {
+                    TimeUnit.NANOSECONDS.sleep(delayNanos);
+                }
             } catch (InterruptedException e) {
                 log.warn("The delay timer was interrupted - probably did not wait as long as intended.");
                 Thread.currentThread().interrupt();
             }
         }
+        return intendedStartTime;
     }
 
     void notifyTestListeners() {
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.threads;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.jmeter.util.JMeterUtils;
+import org.apiguardian.api.API;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the JVM threads that execute {@link JMeterThread}s.
+ * <p>
+ * By default each JMeter thread runs on its own platform thread.
+ * When {@code jmeterthread.virtual=true} and the JVM supports virtual threads (Java 21+),
+ * JMeter threads run on virtual threads instead, so mostly idle users (e.g. users waiting in timers)
+ * do not consume a native thread each.
+ * If virtual threads are requested but not available, platform threads are used and a warning is logged.
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+public final class JMeterThreadFactory {
+    private static final Logger log = LoggerFactory.getLogger(JMeterThreadFactory.class);
+
+    /** Property name to run JMeter threads on virtual threads */
+    public static final String VIRTUAL_THREADS = "jmeterthread.virtual"; // $NON-NLS-1$
+
+    /** Virtual thread factory, or {@code null} if the JVM does not support virtual threads */
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY = createVirtualThreadFactory();
+
+    private JMeterThreadFactory() {
+    }
+
+    /**
+     * Java 17 is the minimal supported version, so {@code Thread.ofVirtual()} is looked up reflectively.
+     * @return virtual thread factory or {@code null} if virtual threads are not supported
+     */
+    private static ThreadFactory createVirtualThreadFactory() {
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual"); // $NON-NLS-1$
+            Object builder = ofVirtual.invoke(null);
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory"); // $NON-NLS-1$
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.debug("Virtual threads are not available in Java {}", System.getProperty("java.version"), e);
+            return null;
+        }
+    }
+
+    /**
+     * @return true if the JVM supports virtual threads
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    /**
+     * @return true if JMeter threads should be started as virtual threads
+     */
+    public static boolean isVirtualThreadsEnabled() {
+        if (!JMeterUtils.getPropDefault(VIRTUAL_THREADS, false)) {
+            return false;
+        }
+        if (!isVirtualThreadsSupported()) {
+            log.warn("{}=true, however, virtual threads are not supported in Java {}, will use platform threads",
+                    VIRTUAL_THREADS, System.getProperty("java.version"));
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Creates (but does not start) a thread to execute the given JMeter thread.
+     * Platform threads are created as non-daemon threads; virtual threads are always daemon threads.
+     *
+     * @param jmThread JMeter thread to execute
+     * @param virtual true if a virtual thread should be created, see {@link #isVirtualThreadsEnabled()}
+     * @return new unstarted thread named after the JMeter thread
+     */
+    public static Thread newThread(JMeterThread jmThread, boolean virtual) {
+        if (!virtual || VIRTUAL_THREAD_FACTORY == null) {
+            Thread thread = new Thread(jmThread, jmThread.getThreadName());
+            thread.setDaemon(false);
+            return thread;
+        }
+        Thread thread = VIRTUAL_THREAD_FACTORY.newThread(jmThread);
+        thread.setName(jmThread.getThreadName());
+        return thread;
+    }
+
+    /**
+     * Creates an executor that starts a new thread for every submitted task.
+     *
+     * @param virtual true if tasks should run on virtual threads, see {@link #isVirtualThreadsEnabled()}
+     * @return executor service for JMeter threads
+     */
+    public static ExecutorService newExecutorService(boolean virtual) {
+        if (!virtual || VIRTUAL_THREAD_FACTORY == null) {
+            return Executors.newCachedThreadPool();
+        }
+        // Virtual threads are cheap to create, so idle threads are not kept for reuse
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), VIRTUAL_THREAD_FACTORY);
+    }
+}
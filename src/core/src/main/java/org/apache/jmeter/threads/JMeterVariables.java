@@ -24,16 +24,30 @@ import java.util.Map;
 import java.util.Set;
 
 import org.apache.jmeter.util.JMeterUtils;
+import org.apiguardian.api.API;
 
 /**
  * Class which defines JMeter variables.
  * These are similar to properties, but they are local to a single thread.
  */
 public class JMeterVariables {
-    private final Map<String, Object> variables = new HashMap<>();
+    /**
+     * Store variables in arrays indexed by interned variable names, and share the initial values between threads
+     * until they are modified.
+     */
+    private static final boolean USE_SLOTS = JMeterUtils.getPropDefault("jmeter.variables.slots", false); // $NON-NLS-1$
+
+    private Map<String, Object> variables;
+
+    /**
+     * {@code true} when {@link #variables} is referenced by a snapshot, so it must be copied before it is modified.
+     */
+    private boolean variablesShared;
 
     private int iteration = 0;
 
+    private int modificationCount;
+
     // Property names to preload into JMeter variables:
     private static final String [] PRE_LOAD = {
       "START.MS",     // $NON-NLS-1$
@@ -48,9 +62,14 @@ public class JMeterVariables {
      * Constructor, that preloads the variables from the JMeter properties
      */
     public JMeterVariables() {
+        this(USE_SLOTS ? new SlotVariableMap() : new HashMap<>());
         preloadVariables();
     }
 
+    private JMeterVariables(Map<String, Object> variables) {
+        this.variables = variables;
+    }
+
     private void preloadVariables(){
         for (String property : PRE_LOAD) {
             String value = JMeterUtils.getProperty(property);
@@ -81,6 +100,18 @@ public class JMeterVariables {
         iteration++;
     }
 
+    /**
+     * Returns a counter that changes whenever the variables are modified.
+     * It enables callers to detect that the variables did not change since they last read them.
+     *
+     * @return modification counter
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
     /**
      * Remove a variable.
      *
@@ -89,7 +120,8 @@ public class JMeterVariables {
      * @return the variable value, or {@code null} if there was no such variable
      */
     public Object remove(String key) {
-        return variables.remove(key);
+        modificationCount++;
+        return writableVariables().remove(key);
     }
 
     /**
@@ -99,7 +131,8 @@ public class JMeterVariables {
      * @param value the variable value
      */
     public void put(String key, String value) {
-        variables.put(key, value);
+        modificationCount++;
+        writableVariables().put(key, value);
     }
 
     /**
@@ -109,7 +142,8 @@ public class JMeterVariables {
      * @param value the variable value
      */
     public void putObject(String key, Object value) {
-        variables.put(key, value);
+        modificationCount++;
+        writableVariables().put(key, value);
     }
 
     /**
@@ -117,7 +151,8 @@ public class JMeterVariables {
      * @param vars map with the entries to be updated
      */
     public void putAll(Map<String, ?> vars) {
-        variables.putAll(vars);
+        modificationCount++;
+        writableVariables().putAll(vars);
     }
 
     /**
@@ -125,7 +160,46 @@ public class JMeterVariables {
      * @param vars {@link JMeterVariables} with the entries to be updated
      */
     public void putAll(JMeterVariables vars) {
-        putAll(vars.variables);
+        putAll(vars.storage());
+    }
+
+    /**
+     * @return the map that stores the variables
+     */
+    Map<String, Object> storage() {
+        return variables;
+    }
+
+    private Map<String, Object> writableVariables() {
+        if (variablesShared) {
+            variables = new HashMap<>(variables);
+            variablesShared = false;
+        }
+        return variables;
+    }
+
+    /**
+     * Returns a read-only copy of the variables.
+     * Subsequent modifications of the variables are not visible in the snapshot.
+     * The snapshot shares the values until the variables are modified, so it is cheap to take.
+     * When {@code jmeter.variables.slots} is enabled, threads that start from the snapshot share the values as well.
+     *
+     * @return read-only copy of the variables
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public JMeterVariables snapshot() {
+        Map<String, Object> copy;
+        if (variables instanceof SlotVariableMap) {
+            copy = ((SlotVariableMap) variables).copy();
+        } else {
+            // The map is copied by the next modification of these variables, if any
+            variablesShared = true;
+            copy = variables;
+        }
+        JMeterVariables vars = new JMeterVariables(copy);
+        vars.iteration = iteration;
+        return new UnmodifiableJMeterVariables(vars);
     }
 
     /**
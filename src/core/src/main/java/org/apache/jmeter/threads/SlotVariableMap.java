@@ -0,0 +1,362 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.threads;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Storage for {@link JMeterVariables} that keeps values in an array indexed by variable name.
+ * <p>Variable names are interned into a registry that is shared by all the threads, so each thread stores
+ * values only, without per-entry objects. The registry is replaced when a test starts, so names of previous runs
+ * are not kept; maps keep the registry they were created with. Values are stored in fixed-size pages that can be shared between several
+ * maps (e.g. the initial variables of a thread group and all its threads), and a page is copied on the first
+ * modification only, so a thread keeps private copies of the pages it modifies only.</p>
+ * <p>The map is not thread-safe, the same as {@link java.util.HashMap} it replaces.</p>
+ * @since 6.0.0
+ */
+final class SlotVariableMap extends AbstractMap<String, Object> {
+    private static final int PAGE_SHIFT = 5;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private static final Object[][] EMPTY = new Object[0][];
+
+    /**
+     * Marks variables with {@code null} value, so they are distinguished from missing ones.
+     */
+    private static final Object NULL_VALUE = new Object();
+
+    /**
+     * Registry of the current test run, used by the maps created from now on.
+     */
+    private static volatile Registry currentRegistry = new Registry();
+
+    private final Registry registry;
+
+    private Object[][] pages = EMPTY;
+
+    /**
+     * {@code true} when {@link #pages} array might be referenced from other maps.
+     */
+    private boolean pagesShared;
+
+    /**
+     * Pages that are referenced from this map only, so they can be modified in place.
+     * {@code null} means no page is owned.
+     */
+    private boolean[] ownedPages;
+
+    private int size;
+
+    private Set<Map.Entry<String, Object>> entrySet;
+
+    /**
+     * Variable names interned into slots.
+     */
+    private static final class Registry {
+        private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+
+        /**
+         * Variable names by slot. The array is replaced when it grows, so readers see either the old or the new copy,
+         * and both contain all the slots the reader could have observed.
+         */
+        private volatile String[] names = new String[64];
+
+        private int slotCount; // guarded by this
+
+        /**
+         * Returns the slot for the variable name, and allocates one if the name was not seen before.
+         * @param name variable name
+         * @return slot index
+         */
+        int slotOf(String name) {
+            Integer slot = slots.get(name);
+            if (slot != null) {
+                return slot;
+            }
+            return register(name);
+        }
+
+        /**
+         * Returns the slot for the variable name.
+         * @param name variable name
+         * @return slot index or {@code -1} if no variable with the name was ever stored
+         */
+        int findSlot(Object name) {
+            Integer slot = slots.get(name);
+            return slot == null ? -1 : slot;
+        }
+
+        private synchronized int register(String name) {
+            Integer slot = slots.get(name);
+            if (slot != null) {
+                return slot;
+            }
+            int newSlot = slotCount++;
+            String[] currentNames = names;
+            if (newSlot == currentNames.length) {
+                currentNames = Arrays.copyOf(currentNames, currentNames.length * 2);
+            }
+            currentNames[newSlot] = name;
+            names = currentNames;
+            // Publish the slot after the name is visible, so slot -> name lookups always succeed
+            slots.put(name, newSlot);
+            return newSlot;
+        }
+    }
+
+    SlotVariableMap() {
+        this.registry = currentRegistry;
+    }
+
+    private SlotVariableMap(Registry registry, Object[][] pages, int size) {
+        this.registry = registry;
+        this.pages = pages;
+        this.pagesShared = true;
+        this.size = size;
+    }
+
+    /**
+     * Starts a new registry of variable names, called when a test starts.
+     * Maps created before keep working with the previous registry.
+     */
+    static void resetRegistry() {
+        currentRegistry = new Registry();
+    }
+
+    /**
+     * Creates a copy that shares the values with this map until one of them is modified.
+     * @return copy of the map
+     */
+    SlotVariableMap copy() {
+        share();
+        return new SlotVariableMap(registry, pages, size);
+    }
+
+    private void share() {
+        pagesShared = true;
+        ownedPages = null;
+    }
+
+    private static Object unmask(Object value) {
+        return value == NULL_VALUE ? null : value;
+    }
+
+    private Object getSlot(int slot) {
+        Object[][] pages = this.pages;
+        int pageIndex = slot >>> PAGE_SHIFT;
+        if (slot < 0 || pageIndex >= pages.length) {
+            return null;
+        }
+        Object[] page = pages[pageIndex];
+        return page == null ? null : page[slot & PAGE_MASK];
+    }
+
+    private int capacity() {
+        return pages.length << PAGE_SHIFT;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return getSlot(registry.findSlot(key)) != null;
+    }
+
+    @Override
+    public Object get(Object key) {
+        return unmask(getSlot(registry.findSlot(key)));
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int slot = registry.slotOf(key);
+        Object[] page = writablePage(slot);
+        int index = slot & PAGE_MASK;
+        Object prev = page[index];
+        page[index] = value == null ? NULL_VALUE : value;
+        if (prev == null) {
+            size++;
+        }
+        return unmask(prev);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int slot = registry.findSlot(key);
+        if (getSlot(slot) == null) {
+            return null;
+        }
+        Object[] page = writablePage(slot);
+        int index = slot & PAGE_MASK;
+        Object prev = page[index];
+        page[index] = null;
+        size--;
+        return unmask(prev);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> m) {
+        if (!(m instanceof SlotVariableMap) || ((SlotVariableMap) m).registry != registry) {
+            // Maps of another test run use other slots, copy the values by name
+            super.putAll(m);
+            return;
+        }
+        SlotVariableMap other = (SlotVariableMap) m;
+        if (other.size == 0) {
+            return;
+        }
+        if (isCoveredBy(other)) {
+            // The result is exactly the contents of the other map, so share its pages
+            other.share();
+            pages = other.pages;
+            size = other.size;
+            share();
+            return;
+        }
+        String[] names = registry.names;
+        for (int slot = 0; slot < other.capacity(); slot++) {
+            Object value = other.getSlot(slot);
+            if (value != null) {
+                put(names[slot], unmask(value));
+            }
+        }
+    }
+
+    /**
+     * Checks if every variable of this map is present in the other map.
+     */
+    private boolean isCoveredBy(SlotVariableMap other) {
+        for (int slot = 0; slot < capacity(); slot++) {
+            if (getSlot(slot) != null && other.getSlot(slot) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        pages = EMPTY;
+        pagesShared = false;
+        ownedPages = null;
+        size = 0;
+    }
+
+    private Object[] writablePage(int slot) {
+        int pageIndex = slot >>> PAGE_SHIFT;
+        Object[][] pages = this.pages;
+        if (pagesShared || pageIndex >= pages.length) {
+            int length = Math.max(pageIndex + 1, pages.length);
+            pages = Arrays.copyOf(pages, length);
+            ownedPages = ownedPages == null ? new boolean[length] : Arrays.copyOf(ownedPages, length);
+            this.pages = pages;
+            pagesShared = false;
+        }
+        Object[] page = pages[pageIndex];
+        if (page == null) {
+            page = new Object[PAGE_SIZE];
+        } else if (!ownedPages[pageIndex]) {
+            page = page.clone();
+        } else {
+            return page;
+        }
+        pages[pageIndex] = page;
+        ownedPages[pageIndex] = true;
+        return page;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        Set<Map.Entry<String, Object>> entrySet = this.entrySet;
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+            this.entrySet = entrySet;
+        }
+        return entrySet;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            SlotVariableMap.this.clear();
+        }
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+        private int next = -1;
+        private int last = -1;
+
+        EntryIterator() {
+            advance();
+        }
+
+        private void advance() {
+            int capacity = capacity();
+            do {
+                next++;
+            } while (next < capacity && getSlot(next) == null);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < capacity();
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            Map.Entry<String, Object> entry = new SimpleImmutableEntry<>(registry.names[next], unmask(getSlot(next)));
+            advance();
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            SlotVariableMap.this.remove(registry.names[last]);
+            last = -1;
+        }
+    }
+}
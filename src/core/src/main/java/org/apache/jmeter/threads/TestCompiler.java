@@ -18,12 +18,13 @@
 package org.apache.jmeter.threads;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.jmeter.assertions.Assertion;
 import org.apache.jmeter.config.ConfigTestElement;
@@ -31,20 +32,32 @@ import org.apache.jmeter.control.Controller;
 import org.apache.jmeter.control.TransactionController;
 import org.apache.jmeter.control.TransactionSampler;
 import org.apache.jmeter.engine.event.LoopIterationListener;
+import org.apache.jmeter.engine.util.CompoundVariable;
 import org.apache.jmeter.engine.util.ConfigMergabilityIndicator;
 import org.apache.jmeter.engine.util.NoConfigMerge;
 import org.apache.jmeter.processor.PostProcessor;
 import org.apache.jmeter.processor.PreProcessor;
+import org.apache.jmeter.samplers.PreviousResponseDataReader;
+import org.apache.jmeter.samplers.ResponseDataOptional;
 import org.apache.jmeter.samplers.SampleListener;
 import org.apache.jmeter.samplers.Sampler;
 import org.apache.jmeter.testbeans.TestBeanHelper;
 import org.apache.jmeter.testelement.TestElement;
+import org.apache.jmeter.testelement.property.FunctionProperty;
+import org.apache.jmeter.testelement.property.JMeterProperty;
+import org.apache.jmeter.testelement.property.MultiProperty;
+import org.apache.jmeter.testelement.property.PropertyIterator;
 import org.apache.jmeter.timers.Timer;
+import org.apache.jmeter.util.JMeterUtils;
 import org.apache.jorphan.collections.HashTree;
 import org.apache.jorphan.collections.HashTreeTraverser;
+import org.apiguardian.api.API;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 /**
  * HashTreeTraverser implementation that traverses the Test Tree to build:
  * <ul>
@@ -57,13 +70,26 @@ public class TestCompiler implements HashTreeTraverser {
 
     private static final Logger log = LoggerFactory.getLogger(TestCompiler.class);
 
+    private static final boolean PRECOMPILE = JMeterUtils.getPropDefault("testcompiler.precompile", true); // $NON-NLS-1$
+
     /**
      * This set keeps track of which ObjectPairs have been seen.
      * It seems to be used to prevent adding a child to a parent if the child has already been added.
      * If the ObjectPair (child, parent) is present, then the child has been added.
      * Otherwise, the child is added to the parent and the pair is added to the Set.
+     * The set is concurrent, so threads compiling their trees do not contend on a shared monitor.
+     */
+    private static final Set<ObjectPair> PAIRING = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Compiled thread group trees, see {@link #precompile(HashTree)}. Keys are weak and compared by identity.
+     */
+    private static final Cache<HashTree, CompiledTestTree> TEMPLATES = Caffeine.newBuilder().weakKeys().build();
+
+    /**
+     * Compiled trees of the thread group trees the keys were cloned from. Keys are weak and compared by identity.
      */
-    private static final Set<ObjectPair> PAIRING = new HashSet<>();
+    private static final Cache<HashTree, CompiledTestTree> CLONES = Caffeine.newBuilder().weakKeys().build();
 
     // TODO: replace with ArrayDequeue
     private final LinkedList<TestElement> stack = new LinkedList<>();
@@ -75,8 +101,32 @@ public class TestCompiler implements HashTreeTraverser {
 
     private final HashTree testTree;
 
+    /**
+     * Compiled template of {@link #testTree}, or {@code null} if the packages are searched in the tree itself.
+     */
+    private CompiledTestTree compiledTree;
+
+    /**
+     * Nodes of {@link #testTree} in the traversal order when {@link #compiledTree} is used.
+     */
+    private Object[] nodes;
+
+    /**
+     * Positions of the nodes in {@link #stack}.
+     */
+    private int[] positions = new int[16];
+
+    private int nextPosition;
+
+    /**
+     * Whether an element or function of {@link #testTree} may read the response data of the previous sample,
+     * {@code null} until computed.
+     */
+    private Boolean previousResponseDataRead;
+
     public TestCompiler(HashTree testTree) {
         this.testTree = testTree;
+        this.compiledTree = CLONES.getIfPresent(testTree);
     }
 
     /**
@@ -84,9 +134,41 @@ public class TestCompiler implements HashTreeTraverser {
      * test run.
      */
     public static void initialize() {
-        // synch is probably not needed as only called before run starts
-        synchronized (PAIRING) {
-            PAIRING.clear();
+        PAIRING.clear();
+        TEMPLATES.invalidateAll();
+        CLONES.invalidateAll();
+    }
+
+    /**
+     * Searches the thread group tree for the configuration elements, listeners, timers, assertions,
+     * pre- and post-processors of every sampler once, so the threads that run clones of the tree
+     * (see {@link AbstractThreadGroup#cloneTree(org.apache.jorphan.collections.ListedHashTree)})
+     * bind to the result instead of searching their trees.
+     * Called by StandardJMeterEngine before starting a thread group.
+     *
+     * @param threadGroupTree the tree of a thread group, which must not be modified afterwards
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public static void precompile(HashTree threadGroupTree) {
+        if (!PRECOMPILE) {
+            return;
+        }
+        long start = System.nanoTime();
+        CompiledTestTree compiled = CompiledTestTree.compile(threadGroupTree);
+        TEMPLATES.put(threadGroupTree, compiled);
+        log.debug("Precompiled thread group tree in {} us", (System.nanoTime() - start) / 1000);
+    }
+
+    /**
+     * Associates a clone of a thread group tree with the compiled template, if any.
+     * @param threadGroupTree the tree passed to {@link #precompile(HashTree)}
+     * @param clonedTree clone of the tree
+     */
+    static void registerClone(HashTree threadGroupTree, HashTree clonedTree) {
+        CompiledTestTree compiled = TEMPLATES.getIfPresent(threadGroupTree);
+        if (compiled != null) {
+            CLONES.put(clonedTree, compiled);
         }
     }
 
@@ -125,6 +207,19 @@ public class TestCompiler implements HashTreeTraverser {
     /** {@inheritDoc} */
     @Override
     public void addNode(Object node, HashTree subTree) {
+        if (compiledTree != null && nodes == null) {
+            // The first node: collect the nodes of the tree, so the packages can refer to the elements that are
+            // visited later, e.g. config elements that follow the sampler
+            nodes = compiledTree.bind(testTree);
+            if (nodes == null) {
+                log.warn("Test tree does not match the precompiled one, so it will be compiled from scratch");
+                compiledTree = null;
+            }
+        }
+        if (stack.size() == positions.length) {
+            positions = Arrays.copyOf(positions, positions.length * 2);
+        }
+        positions[stack.size()] = nextPosition++;
         stack.addLast((TestElement) node);
     }
 
@@ -136,7 +231,9 @@ public class TestCompiler implements HashTreeTraverser {
         }
         TestElement child = stack.getLast();
         trackIterationListeners(stack);
-        if (child instanceof Sampler) {
+        if (compiledTree != null && (child instanceof Sampler || child instanceof TransactionController)) {
+            bindPackage(child, compiledTree.getPackage(positions[stack.size() - 1]));
+        } else if (child instanceof Sampler) {
             saveSamplerConfigs((Sampler) child);
         }
         else if(child instanceof TransactionController) {
@@ -153,13 +250,11 @@ public class TestCompiler implements HashTreeTraverser {
                     duplicate = !te.addTestElementOnce(child);
                 } else { // this is only possible for 3rd party controllers by default
                     ObjectPair pair = new ObjectPair(child, parent);
-                    synchronized (PAIRING) {// Called from multiple threads
-                        if (!PAIRING.contains(pair)) {
-                            parent.addTestElement(child);
-                            PAIRING.add(pair);
-                        } else {
-                            duplicate = true;
-                        }
+                    // Called from multiple threads: add is atomic, so only one thread adds the child
+                    if (PAIRING.add(pair)) {
+                        parent.addTestElement(child);
+                    } else {
+                        duplicate = true;
                     }
                 }
             }
@@ -233,11 +328,92 @@ public class TestCompiler implements HashTreeTraverser {
             posts.addAll(0, tempPost);
         }
 
-        SamplePackage pack = new SamplePackage(configs, listeners, timers, assertions,
-                posts, pres, controllers);
+        saveSamplerPackage(sam, new SamplePackage(configs, listeners, timers, assertions,
+                posts, pres, controllers));
+    }
+
+    private void saveSamplerPackage(Sampler sam, SamplePackage pack) {
         pack.setSampler(sam);
         pack.setRunningVersion(true);
         samplerConfigMap.put(sam, pack);
+        if (sam instanceof ResponseDataOptional) {
+            ((ResponseDataOptional) sam).setResponseDataRead(!pack.getAssertions().isEmpty()
+                    || !pack.getPostProcessors().isEmpty()
+                    || pack.getSampleListeners().stream().anyMatch(SampleListener::isResponseDataRead)
+                    || isPreviousResponseDataRead());
+        }
+    }
+
+    /**
+     * The response data of a sampler is also read when it is the previous sample of the next sampler of the thread,
+     * by pre-processors, scripts or functions. As the previous sample is only known when running, the whole tree
+     * is searched for such readers.
+     */
+    private boolean isPreviousResponseDataRead() {
+        if (previousResponseDataRead == null) {
+            previousResponseDataRead = compiledTree != null
+                    ? compiledTree.isPreviousResponseDataRead()
+                    : readsPreviousResponseData(testTree);
+        }
+        return previousResponseDataRead;
+    }
+
+    private static boolean readsPreviousResponseData(HashTree tree) {
+        for (Object node : tree.list()) {
+            if (readsPreviousResponseData(node) || readsPreviousResponseData(tree.getTree(node))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param node element of the test tree
+     * @return {@code true} if the element is a {@link PreviousResponseDataReader},
+     * or one of its properties calls a function which is
+     */
+    static boolean readsPreviousResponseData(Object node) {
+        if (node instanceof PreviousResponseDataReader) {
+            return true;
+        }
+        return node instanceof TestElement && readsPreviousResponseData(((TestElement) node).propertyIterator());
+    }
+
+    private static boolean readsPreviousResponseData(PropertyIterator properties) {
+        while (properties.hasNext()) {
+            JMeterProperty property = properties.next();
+            if (property instanceof FunctionProperty) {
+                if (((CompoundVariable) property.getObjectValue()).readsPreviousResponseData()) {
+                    return true;
+                }
+            } else if (property instanceof MultiProperty
+                    && readsPreviousResponseData(((MultiProperty) property).iterator())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates the package of a sampler or a transaction controller from the elements of {@link #nodes}
+     * found by {@link #precompile(HashTree)}.
+     */
+    private void bindPackage(TestElement child, CompiledTestTree.PackageTemplate template) {
+        Object[] nodes = this.nodes;
+        SamplePackage pack = new SamplePackage(
+                template.bind(template.configs, nodes, ConfigTestElement.class),
+                template.bind(template.listeners, nodes, SampleListener.class),
+                template.bind(template.timers, nodes, Timer.class),
+                template.bind(template.assertions, nodes, Assertion.class),
+                template.bind(template.posts, nodes, PostProcessor.class),
+                template.bind(template.pres, nodes, PreProcessor.class),
+                template.bind(template.controllers, nodes, Controller.class));
+        if (child instanceof Sampler) {
+            saveSamplerPackage((Sampler) child, pack);
+        } else {
+            TransactionController tc = (TransactionController) child;
+            saveTransactionControllerPackage(tc, pack);
+        }
     }
 
     private void saveTransactionControllerConfigs(TransactionController tc) {
@@ -260,8 +436,11 @@ public class TestCompiler implements HashTreeTraverser {
             }
         }
 
-        SamplePackage pack = new SamplePackage(configs, listeners, timers, assertions,
-                posts, pres, controllers);
+        saveTransactionControllerPackage(tc, new SamplePackage(configs, listeners, timers, assertions,
+                posts, pres, controllers));
+    }
+
+    private void saveTransactionControllerPackage(TransactionController tc, SamplePackage pack) {
         pack.setSampler(new TransactionSampler(tc, tc.getName()));
         pack.setRunningVersion(true);
         transactionControllerConfigMap.put(tc, pack);
@@ -291,7 +470,8 @@ public class TestCompiler implements HashTreeTraverser {
         /** {@inheritDoc} */
         @Override
         public int hashCode() {
-            return child.hashCode() + parent.hashCode();
+            // equals compares identities, and TestElement#hashCode depends on (mutable) properties, which is slow
+            return System.identityHashCode(child) * 31 + System.identityHashCode(parent);
         }
 
         /** {@inheritDoc} */
@@ -88,6 +88,9 @@ public class ThreadGroup extends AbstractThreadGroup {
     /** Are we using delayed startup? */
     private boolean delayedStartup;
 
+    /** Are JMeter threads started as virtual threads? */
+    private boolean virtualThreads;
+
     /** Thread safe class */
     private ListenerNotifier notifier;
 
@@ -227,15 +230,17 @@ public class ThreadGroup extends AbstractThreadGroup {
         int numThreads = getNumThreads();
         int rampUpPeriodInSeconds = getRampUp();
         delayedStartup = isDelayedStartup(); // Fetch once; needs to stay constant
-        log.info("Starting thread group... number={} threads={} ramp-up={} delayedStart={}", groupNumber,
-                numThreads, rampUpPeriodInSeconds, delayedStartup);
+        virtualThreads = JMeterThreadFactory.isVirtualThreadsEnabled();
+        log.info("Starting thread group... number={} threads={} ramp-up={} delayedStart={} virtualThreads={}", groupNumber,
+                numThreads, rampUpPeriodInSeconds, delayedStartup, virtualThreads);
         if (delayedStartup) {
             threadStarter = new Thread(new ThreadStarter(notifier, threadGroupTree, engine), getName()+"-ThreadStarter");
             threadStarter.setDaemon(true);
             threadStarter.start();
             // N.B. we don't wait for the thread to complete, as that would prevent parallel TGs
         } else {
-            final JMeterVariables variables = JMeterContextService.getContext().getVariables();
+            // Threads share the values until they modify them (when jmeter.variables.slots is enabled)
+            final JMeterVariables variables = JMeterContextService.getContext().getVariables().snapshot();
             long lastThreadStartInMillis = 0;
             int delayForNextThreadInMillis = 0;
             final int perThreadDelayInMillis = Math.round((float) rampUpPeriodInSeconds * 1000 / numThreads);
@@ -273,7 +278,7 @@ public class ThreadGroup extends AbstractThreadGroup {
         JMeterThread jmThread = makeThread(engine, this, notifier, groupNumber, threadNum, cloneTree(threadGroupTree), variables);
         scheduleThread(jmThread, now); // set start and end time
         jmThread.setInitialDelay(delay);
-        Thread newThread = new Thread(jmThread, jmThread.getThreadName());
+        Thread newThread = JMeterThreadFactory.newThread(jmThread, virtualThreads);
         registerStartedThread(jmThread, newThread);
         newThread.start();
         return jmThread;
@@ -515,7 +520,8 @@ public class ThreadGroup extends AbstractThreadGroup {
             this.threadGroupTree = threadGroupTree;
             this.engine = engine;
             // Store context from Root Thread to pass it to created threads
-            this.variables = JMeterContextService.getContext().getVariables();
+            // The snapshot is immutable, so it is safe to read it from the starter thread
+            this.variables = JMeterContextService.getContext().getVariables().snapshot();
         }
 
         /**
@@ -587,8 +593,8 @@ public class ThreadGroup extends AbstractThreadGroup {
                         jmThread.setScheduled(true);
                         jmThread.setEndTime(endtime);
                     }
-                    Thread newThread = new Thread(jmThread, jmThread.getThreadName());
-                    newThread.setDaemon(false); // ThreadStarter is daemon, but we don't want sampler threads to be so too
+                    // ThreadStarter is daemon, but we don't want platform sampler threads to be so too
+                    Thread newThread = JMeterThreadFactory.newThread(jmThread, virtualThreads);
                     registerStartedThread(jmThread, newThread);
                     newThread.start();
                 }
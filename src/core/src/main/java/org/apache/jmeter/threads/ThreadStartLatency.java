@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.threads;
+
+import org.apache.jorphan.math.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Histogram of the time JMeter threads spend starting up: compiling their test trees and notifying
+ * thread listeners. Intentional delays (ramp-up, scheduler and startup delays) are excluded.
+ * <p>Buckets are powers of two microseconds, and the histogram is logged and reset at the end of a test.</p>
+ */
+final class ThreadStartLatency {
+    private static final Logger log = LoggerFactory.getLogger(ThreadStartLatency.class);
+
+    private static final LatencyHistogram HISTOGRAM = new LatencyHistogram();
+
+    private ThreadStartLatency() {
+    }
+
+    /**
+     * Records the start latency of a thread. Can be called concurrently.
+     * @param nanos latency in nanoseconds
+     */
+    static void record(long nanos) {
+        HISTOGRAM.record(nanos);
+    }
+
+    /**
+     * Logs the histogram (if any thread was started) and resets it.
+     */
+    static void logAndReset() {
+        String summary = HISTOGRAM.formatAndReset("Thread start latency");
+        if (summary != null) {
+            log.info(summary);
+        }
+    }
+}
@@ -56,6 +56,11 @@ class UnmodifiableJMeterVariables extends JMeterVariables {
         return variables.getIteration();
     }
 
+    @Override
+    public int getModificationCount() {
+        return variables.getModificationCount();
+    }
+
     @Override
     public void incIteration() {
         throw new UnsupportedOperationException();
@@ -86,6 +91,16 @@ class UnmodifiableJMeterVariables extends JMeterVariables {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    Map<String, Object> storage() {
+        return variables.storage();
+    }
+
+    @Override
+    public JMeterVariables snapshot() {
+        return variables.snapshot();
+    }
+
     @Override
     public String get(String key) {
         return variables.get(key);
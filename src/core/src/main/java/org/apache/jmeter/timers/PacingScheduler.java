@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.timers;
+
+import java.util.Comparator;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.jorphan.math.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Releases waiting threads at their deadlines from a single scheduler thread.
+ * <p>The scheduler thread parks until shortly before the earliest deadline and spins for the rest,
+ * so the waiting threads do not need to spin themselves, and the time a thread is released after its
+ * deadline is recorded as the scheduler lag.</p>
+ */
+final class PacingScheduler {
+    private static final Logger log = LoggerFactory.getLogger(PacingScheduler.class);
+
+    /** Parking is not precise, so the scheduler spins for the last part of a wait */
+    private static final long SPIN_NANOS = 50_000;
+
+    private static final Comparator<Waiter> BY_DEADLINE =
+            Comparator.<Waiter>comparingLong(w -> w.deadline).thenComparingLong(w -> w.sequence);
+
+    private final PriorityBlockingQueue<Waiter> waiters = new PriorityBlockingQueue<>(64, BY_DEADLINE);
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final LatencyHistogram lag = new LatencyHistogram();
+
+    private volatile Thread schedulerThread;
+
+    private static final class Waiter {
+        final long deadline;
+        final long sequence;
+        final Thread thread;
+        volatile boolean released;
+
+        Waiter(long deadline, long sequence, Thread thread) {
+            this.deadline = deadline;
+            this.sequence = sequence;
+            this.thread = thread;
+        }
+    }
+
+    /**
+     * Blocks the current thread until the deadline.
+     * @param deadlineNanos deadline in {@link System#nanoTime()} units
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    void awaitUntil(long deadlineNanos) throws InterruptedException {
+        if (deadlineNanos - System.nanoTime() <= 0) {
+            return;
+        }
+        Waiter waiter = new Waiter(deadlineNanos, sequence.incrementAndGet(), Thread.currentThread());
+        waiters.add(waiter);
+        Thread scheduler = ensureStarted();
+        if (waiters.peek() == waiter) {
+            // The scheduler might be parked until a later deadline
+            LockSupport.unpark(scheduler);
+        }
+        while (!waiter.released) {
+            LockSupport.park(this);
+            if (Thread.interrupted()) {
+                waiters.remove(waiter);
+                throw new InterruptedException();
+            }
+        }
+        lag.record(System.nanoTime() - deadlineNanos);
+    }
+
+    LatencyHistogram getLag() {
+        return lag;
+    }
+
+    private Thread ensureStarted() {
+        Thread thread = schedulerThread;
+        if (thread != null) {
+            return thread;
+        }
+        synchronized (this) {
+            thread = schedulerThread;
+            if (thread == null) {
+                thread = new Thread(this::run, "JMeter pacing scheduler"); // $NON-NLS-1$
+                thread.setDaemon(true);
+                thread.start();
+                schedulerThread = thread;
+            }
+            return thread;
+        }
+    }
+
+    private void run() {
+        while (true) {
+            try {
+                releaseDueWaiters();
+            } catch (RuntimeException | Error e) { // NOSONAR the waiting threads would hang if the scheduler stopped
+                log.error("Unexpected error in pacing scheduler", e);
+            }
+        }
+    }
+
+    private void releaseDueWaiters() {
+        Waiter head = waiters.peek();
+        if (head == null) {
+            LockSupport.park(this);
+            return;
+        }
+        long remaining = head.deadline - System.nanoTime();
+        if (remaining > SPIN_NANOS) {
+            LockSupport.parkNanos(this, remaining - SPIN_NANOS);
+            return;
+        }
+        if (remaining > 0) {
+            Thread.onSpinWait();
+            return;
+        }
+        // Release the waiter whose deadline was checked, the head may have changed meanwhile,
+        // for instance when an interrupted waiter removed itself
+        if (waiters.remove(head)) {
+            head.released = true;
+            LockSupport.unpark(head.thread);
+        }
+    }
+}
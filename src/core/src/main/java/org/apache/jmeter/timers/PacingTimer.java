@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.timers;
+
+import org.apiguardian.api.API;
+
+/**
+ * Timer that paces samples according to a schedule rather than adding a pause.
+ * <p>The thread waits until the intended start time, so the delay does not drift with the time
+ * spent computing it, and the intended start time is recorded in the
+ * {@link org.apache.jmeter.samplers.SampleResult} of the sample, so its latency can be corrected
+ * for coordinated omission.</p>
+ * @since 6.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+public interface PacingTimer extends Timer {
+    /**
+     * Computes the time the next sample of the current thread is intended to start at.
+     * It replaces {@link #delay()} when the timer is executed by a JMeter thread.
+     *
+     * @return intended start time in milliseconds since the epoch, with sub-millisecond precision.
+     * A time in the past means the sample is late and should start immediately.
+     */
+    double nextStartTime();
+}
@@ -19,12 +19,19 @@ package org.apache.jmeter.timers;
 
 import org.apache.jmeter.threads.JMeterContextService;
 import org.apache.jmeter.threads.JMeterThread;
+import org.apache.jorphan.math.LatencyHistogram;
+import org.apiguardian.api.API;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Manages logic related to timers and pauses
  * @since 3.2
  */
 public class TimerService {
+    private static final Logger log = LoggerFactory.getLogger(TimerService.class);
+
+    private final PacingScheduler pacingScheduler = new PacingScheduler();
 
     private TimerService() {
         super();
@@ -106,4 +113,42 @@ public class TimerService {
         return initialDelay;
     }
 
+    /**
+     * Blocks the current thread until the given time.
+     * <p>The threads are released by a single scheduler thread, which is more precise than
+     * {@link Thread#sleep(long)}, and does not make every waiting thread spin.</p>
+     *
+     * @param deadlineNanos time to wait for, in {@link System#nanoTime()} units
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public void awaitStartTime(long deadlineNanos) throws InterruptedException {
+        pacingScheduler.awaitUntil(deadlineNanos);
+    }
+
+    /**
+     * Returns the histogram of the time the threads waiting in {@link #awaitStartTime(long)}
+     * were released after their deadlines.
+     *
+     * @return scheduler lag histogram since the start of the test
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public LatencyHistogram getSchedulerLag() {
+        return pacingScheduler.getLag();
+    }
+
+    /**
+     * Logs the scheduler lag (if any thread waited) and resets it.
+     * @since 6.0.0
+     */
+    @API(status = API.Status.INTERNAL, since = "6.0.0")
+    public void logAndResetSchedulerLag() {
+        String summary = pacingScheduler.getLag().formatAndReset("Pacing scheduler lag");
+        if (summary != null) {
+            log.info(summary);
+        }
+    }
+
 }
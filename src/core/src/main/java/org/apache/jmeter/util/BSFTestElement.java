@@ -28,6 +28,7 @@ import org.apache.bsf.BSFEngine;
 import org.apache.bsf.BSFException;
 import org.apache.bsf.BSFManager;
 import org.apache.commons.io.FileUtils;
+import org.apache.jmeter.samplers.PreviousResponseDataReader;
 import org.apache.jmeter.samplers.SampleResult;
 import org.apache.jmeter.samplers.Sampler;
 import org.apache.jmeter.threads.JMeterContext;
@@ -38,7 +39,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public abstract class BSFTestElement extends ScriptingTestElement
-    implements Serializable
+    implements Serializable, PreviousResponseDataReader
 {
     private static final long serialVersionUID = 235L;
 
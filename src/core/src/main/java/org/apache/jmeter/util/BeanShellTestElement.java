@@ -19,6 +19,7 @@ package org.apache.jmeter.util;
 
 import java.io.Serializable;
 
+import org.apache.jmeter.samplers.PreviousResponseDataReader;
 import org.apache.jmeter.samplers.SampleResult;
 import org.apache.jmeter.testelement.AbstractTestElement;
 import org.apache.jmeter.testelement.TestStateListener;
@@ -32,7 +33,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public abstract class BeanShellTestElement extends AbstractTestElement
-    implements Serializable, Cloneable, ThreadListener, TestStateListener
+    implements Serializable, Cloneable, ThreadListener, TestStateListener, PreviousResponseDataReader
 {
     private static final Logger log = LoggerFactory.getLogger(BeanShellTestElement.class);
 
@@ -34,6 +34,7 @@ import javax.script.ScriptException;
 
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.jmeter.samplers.PreviousResponseDataReader;
 import org.apache.jmeter.samplers.SampleResult;
 import org.apache.jmeter.samplers.Sampler;
 import org.apache.jmeter.testelement.TestStateListener;
@@ -51,7 +52,7 @@ import com.github.benmanes.caffeine.cache.Caffeine;
  * Base class for JSR223 Test elements
  */
 public abstract class JSR223TestElement extends ScriptingTestElement
-    implements Serializable, TestStateListener
+    implements Serializable, TestStateListener, PreviousResponseDataReader
 {
     private static final long serialVersionUID = 233L;
 
@@ -0,0 +1,672 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.util;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.lang3.tuple.ImmutableTriple;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Evaluates simple XPath location paths on a stream of StAX events, so XPath extractors and assertions
+ * can query large responses without building a DOM or XDM tree.
+ * <p>
+ * Supported expressions are absolute paths made of child ({@code /}) and descendant ({@code //}) steps
+ * with element name tests ({@code name}, {@code *}, and {@code prefix:name} for XPath 2), optionally
+ * filtered by {@code [n]}, {@code [@attr]} and {@code [@attr='value']} predicates, and ending with an
+ * element, an {@code @attr} or a {@code text()} step.
+ * {@link #forExpression(String, Flavor, String)} returns {@code null} for any other expression, and
+ * {@link #evaluate(byte[], String, List)} returns {@code -1} when the document needs a tree to be
+ * evaluated like the DOM and Saxon based implementations do, so callers can fall back to them.
+ */
+final class StreamingXPath {
+
+    /**
+     * Evaluation whose results are reproduced by the streaming evaluation.
+     */
+    enum Flavor {
+        /**
+         * XPath 1 on a DOM document built without namespace support: the value of an element is the
+         * value of its first child and CDATA sections are separate nodes.
+         */
+        XPATH1,
+        /**
+         * Same as {@link #XPATH1} on a namespace aware DOM document.
+         */
+        XPATH1_NAMESPACE_AWARE,
+        /**
+         * XPath 2 evaluated by Saxon: the value of a node is its string value.
+         */
+        XPATH2
+    }
+
+    private static final int ELEMENT = 0;
+    private static final int ATTRIBUTE = 1;
+    private static final int TEXT = 2;
+
+    /** Steps are tracked in a bit set held in a long */
+    private static final int MAX_STEPS = Long.SIZE;
+
+    /** Compiled expressions shared by all the threads, empty when the expression can not be streamed */
+    private static final Cache<ImmutableTriple<String, Flavor, String>, Optional<StreamingXPath>> CACHE =
+            Caffeine.newBuilder()
+                    .maximumSize(JMeterUtils.getPropDefault("xpath2query.parser.cache.size", 400)) // $NON-NLS-1$
+                    .build();
+
+    private static final String REPORT_CDATA = "http://java.sun.com/xml/stream/properties/report-cdata-event"; // $NON-NLS-1$
+
+    private static final ThreadLocal<XMLInputFactory> INPUT_FACTORY =
+            ThreadLocal.withInitial(StreamingXPath::createInputFactory);
+
+    private final Flavor flavor;
+    private final Step[] steps;
+    private final boolean hasPositions;
+
+    private StreamingXPath(Flavor flavor, Step[] steps) {
+        this.flavor = flavor;
+        this.steps = steps;
+        boolean positions = false;
+        for (Step step : steps) {
+            for (Predicate predicate : step.predicates) {
+                positions |= predicate.attribute == null;
+            }
+        }
+        this.hasPositions = positions;
+    }
+
+    /**
+     * @param expression XPath expression
+     * @param flavor     evaluation to reproduce
+     * @param namespaces space separated set of prefix=namespace declarations used by XPath 2 expressions
+     * @return the compiled expression, or {@code null} if the expression can not be evaluated by streaming
+     */
+    static StreamingXPath forExpression(String expression, Flavor flavor, String namespaces) {
+        return CACHE.get(ImmutableTriple.of(expression, flavor, namespaces),
+                key -> Optional.ofNullable(compile(key.left, key.middle, key.right)))
+                .orElse(null);
+    }
+
+    private static StreamingXPath compile(String expression, Flavor flavor, String namespaces) {
+        Map<String, String> prefixes = Collections.emptyMap();
+        if (flavor == Flavor.XPATH2 && namespaces != null) {
+            prefixes = new HashMap<>();
+            for (String[] namespace : XPathUtil.namespacesParse(namespaces)) {
+                prefixes.put(namespace[0], namespace[1]);
+            }
+        }
+        List<Step> steps = new Parser(expression.trim(), flavor != Flavor.XPATH1, prefixes).parse();
+        if (steps == null || steps.isEmpty() || steps.size() > MAX_STEPS) {
+            return null;
+        }
+        return new StreamingXPath(flavor, steps.toArray(new Step[0]));
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, Boolean.TRUE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        // Internal subsets may declare entities, external DTDs are never downloaded
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.TRUE);
+        factory.setXMLResolver((publicId, systemId, baseUri, namespace) -> new ByteArrayInputStream(new byte[0]));
+        // CDATA sections are separate DOM nodes, the JDK parser reports them as characters by default
+        if (factory.isPropertySupported(REPORT_CDATA)) {
+            factory.setProperty(REPORT_CDATA, Boolean.TRUE);
+        }
+        return factory;
+    }
+
+    /**
+     * Evaluates the expression on a document.
+     *
+     * @param data     the document
+     * @param encoding encoding of the document, or {@code null} to detect it from the document
+     * @param values   list receiving the values of the selected nodes in document order, may be {@code null}
+     *                 when only the number of selected nodes is needed
+     * @return number of selected nodes, or {@code -1} if the document must be evaluated on a tree
+     * @throws XMLStreamException when the document can not be parsed
+     */
+    int evaluate(byte[] data, String encoding, List<? super String> values) throws XMLStreamException {
+        XMLInputFactory factory = INPUT_FACTORY.get();
+        XMLStreamReader reader = encoding == null
+                ? factory.createXMLStreamReader(new ByteArrayInputStream(data))
+                : factory.createXMLStreamReader(new ByteArrayInputStream(data), encoding);
+        try {
+            Evaluation evaluation = new Evaluation(reader, values != null);
+            if (!evaluation.run()) {
+                return -1;
+            }
+            if (values != null) {
+                values.addAll(evaluation.results);
+            }
+            return evaluation.count;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static final class NameTest {
+        /** Namespace URI, {@code null} for any namespace */
+        final String namespaceUri;
+        /** Local name, {@code null} for any name */
+        final String localName;
+
+        NameTest(String namespaceUri, String localName) {
+            this.namespaceUri = namespaceUri;
+            this.localName = localName;
+        }
+    }
+
+    private static final class Predicate {
+        /** Attribute to check, {@code null} for a positional predicate */
+        final NameTest attribute;
+        /** Expected attribute value, {@code null} to check only that the attribute exists */
+        final String value;
+        final int position;
+
+        Predicate(NameTest attribute, String value, int position) {
+            this.attribute = attribute;
+            this.value = value;
+            this.position = position;
+        }
+    }
+
+    private static final class Step {
+        /** Whether the step applies to the descendants of the context node rather than to its children */
+        final boolean descendant;
+        final int kind;
+        final NameTest name;
+        final List<Predicate> predicates;
+
+        Step(boolean descendant, int kind, NameTest name, List<Predicate> predicates) {
+            this.descendant = descendant;
+            this.kind = kind;
+            this.name = name;
+            this.predicates = predicates;
+        }
+    }
+
+    /**
+     * Parses the supported subset of XPath, returning {@code null} as soon as something else is found.
+     */
+    private static final class Parser {
+        private final String expression;
+        private final boolean namespaceAware;
+        private final Map<String, String> prefixes;
+        private int pos;
+
+        Parser(String expression, boolean namespaceAware, Map<String, String> prefixes) {
+            this.expression = expression;
+            this.namespaceAware = namespaceAware;
+            this.prefixes = prefixes;
+        }
+
+        List<Step> parse() {
+            List<Step> steps = new ArrayList<>();
+            while (pos < expression.length()) {
+                if (!steps.isEmpty() && steps.get(steps.size() - 1).kind != ELEMENT) {
+                    return null;
+                }
+                boolean descendant;
+                if (expression.startsWith("//", pos)) { // $NON-NLS-1$
+                    descendant = true;
+                    pos += 2;
+                } else if (expression.charAt(pos) == '/') {
+                    descendant = false;
+                    pos++;
+                } else {
+                    return null;
+                }
+                Step step = parseStep(descendant);
+                if (step == null) {
+                    return null;
+                }
+                steps.add(step);
+            }
+            return steps;
+        }
+
+        private Step parseStep(boolean descendant) {
+            if (expression.startsWith("text()", pos)) { // $NON-NLS-1$
+                pos += 6;
+                return new Step(descendant, TEXT, null, Collections.emptyList());
+            }
+            if (consume('@')) {
+                NameTest name = parseNameTest();
+                if (name == null || name.localName == null || isNamespaceDeclaration(name)) {
+                    return null;
+                }
+                return new Step(descendant, ATTRIBUTE, name, Collections.emptyList());
+            }
+            NameTest name = parseNameTest();
+            if (name == null) {
+                return null;
+            }
+            List<Predicate> predicates = new ArrayList<>(1);
+            boolean positional = false;
+            while (consume('[')) {
+                Predicate predicate = parsePredicate();
+                if (predicate == null || !consume(']') || (positional && predicate.attribute == null)) {
+                    return null;
+                }
+                positional |= predicate.attribute == null;
+                predicates.add(predicate);
+            }
+            return new Step(descendant, ELEMENT, name, predicates);
+        }
+
+        private Predicate parsePredicate() {
+            int start = pos;
+            while (pos < expression.length() && expression.charAt(pos) >= '0' && expression.charAt(pos) <= '9') {
+                pos++;
+            }
+            if (pos > start) {
+                return pos - start > 9 ? null : new Predicate(null, null, Integer.parseInt(expression.substring(start, pos)));
+            }
+            if (!consume('@')) {
+                return null;
+            }
+            NameTest attribute = parseNameTest();
+            if (attribute == null || attribute.localName == null || isNamespaceDeclaration(attribute)) {
+                return null;
+            }
+            if (!consume('=')) {
+                return new Predicate(attribute, null, 0);
+            }
+            if (pos >= expression.length()) {
+                return null;
+            }
+            char quote = expression.charAt(pos);
+            int end = quote == '\'' || quote == '"' ? expression.indexOf(quote, pos + 1) : -1;
+            if (end < 0) {
+                return null;
+            }
+            String value = expression.substring(pos + 1, end);
+            pos = end + 1;
+            return new Predicate(attribute, value, 0);
+        }
+
+        private NameTest parseNameTest() {
+            if (consume('*')) {
+                return new NameTest(null, null);
+            }
+            String name = parseNcName();
+            if (name == null) {
+                return null;
+            }
+            if (!consume(':')) {
+                // Names without prefix are in no namespace
+                return new NameTest("", name); // $NON-NLS-1$
+            }
+            String namespaceUri = namespaceAware ? prefixes.get(name) : null;
+            if (namespaceUri == null) {
+                return null;
+            }
+            if (consume('*')) {
+                return new NameTest(namespaceUri, null);
+            }
+            String localName = parseNcName();
+            return localName == null ? null : new NameTest(namespaceUri, localName);
+        }
+
+        private String parseNcName() {
+            int start = pos;
+            while (pos < expression.length()) {
+                char c = expression.charAt(pos);
+                if (!(Character.isLetter(c) || c == '_'
+                        || (pos > start && (Character.isDigit(c) || c == '-' || c == '.')))) {
+                    break;
+                }
+                pos++;
+            }
+            return pos > start ? expression.substring(start, pos) : null;
+        }
+
+        private boolean consume(char c) {
+            if (pos < expression.length() && expression.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean isNamespaceDeclaration(NameTest name) {
+            // Namespace declarations are attributes of DOM documents built without namespace support
+            return !namespaceAware && name.localName.startsWith("xmlns"); // $NON-NLS-1$
+        }
+    }
+
+    /**
+     * Open element, or the document itself at the bottom of the stack.
+     */
+    private static final class Frame {
+        /** Bit set of the steps for which this element is a context node */
+        long contexts;
+        /** Per step, number of children of this element which reached its positional predicate */
+        int[] positions;
+        /** Value of this element if the expression selects it */
+        Capture capture;
+        /** Text node being read if the expression selects the text children of this element */
+        Capture text;
+    }
+
+    /**
+     * Value of a selected node, built while its content is read.
+     */
+    private static final class Capture {
+        final int index;
+        StringBuilder value;
+        /** Type of the last event appended to the value */
+        int eventType = -1;
+        /** Whether the value no longer changes, used for XPath 1 values made of a single DOM node */
+        boolean complete;
+
+        Capture(int index) {
+            this.index = index;
+        }
+    }
+
+    private final class Evaluation {
+        private final XMLStreamReader reader;
+        private final boolean collect;
+        private final List<String> results = new ArrayList<>();
+        private final List<Frame> frames = new ArrayList<>();
+        /** Element values being built, from the outermost element */
+        private final List<Capture> openCaptures = new ArrayList<>();
+        private int depth;
+        private int count;
+        private boolean aborted;
+
+        Evaluation(XMLStreamReader reader, boolean collect) {
+            this.reader = reader;
+            this.collect = collect;
+        }
+
+        /**
+         * @return false if the evaluation has been aborted
+         */
+        boolean run() throws XMLStreamException {
+            Frame document = push();
+            document.contexts = 1L;
+            while (reader.hasNext() && !aborted) {
+                int event = reader.next();
+                switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    startElement();
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    endElement();
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.SPACE:
+                case XMLStreamConstants.CDATA:
+                    text(event);
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    otherNode(reader.getText());
+                    break;
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    String data = reader.getPIData();
+                    otherNode(data == null ? "" : data); // $NON-NLS-1$
+                    break;
+                case XMLStreamConstants.ENTITY_REFERENCE:
+                    // Entity that could not be replaced
+                    aborted = true;
+                    break;
+                default:
+                    break;
+                }
+            }
+            return !aborted;
+        }
+
+        private Frame push() {
+            Frame frame;
+            if (depth < frames.size()) {
+                frame = frames.get(depth);
+                frame.capture = null;
+                frame.text = null;
+                if (frame.positions != null) {
+                    Arrays.fill(frame.positions, 0);
+                }
+            } else {
+                frame = new Frame();
+                if (hasPositions) {
+                    frame.positions = new int[steps.length];
+                }
+                frames.add(frame);
+            }
+            depth++;
+            return frame;
+        }
+
+        private void startElement() {
+            Frame parent = frames.get(depth - 1);
+            endText(parent);
+            if (parent.capture != null) {
+                parent.capture.complete = true;
+            }
+            String namespaceUri = reader.getNamespaceURI();
+            String localName = reader.getLocalName();
+            String prefix = reader.getPrefix();
+            long contexts = 0;
+            boolean selected = false;
+            for (long pending = parent.contexts; pending != 0; pending &= pending - 1) {
+                int k = Long.numberOfTrailingZeros(pending);
+                Step step = steps[k];
+                if (step.descendant) {
+                    contexts |= 1L << k;
+                }
+                if (step.kind == ELEMENT && matches(step.name, namespaceUri, localName, prefix)
+                        && matchesPredicates(step, parent.positions, k)) {
+                    if (k == steps.length - 1) {
+                        selected = true;
+                    } else {
+                        contexts |= 1L << (k + 1);
+                    }
+                }
+            }
+            Frame frame = push();
+            frame.contexts = contexts;
+            if (selected) {
+                frame.capture = select();
+                openCaptures.add(frame.capture);
+            }
+            Step last = steps[steps.length - 1];
+            if (last.kind == ATTRIBUTE && (contexts & (1L << (steps.length - 1))) != 0) {
+                String value = attributeValue(last.name);
+                if (value != null) {
+                    count++;
+                    if (collect) {
+                        results.add(value);
+                    }
+                }
+            }
+        }
+
+        private void endElement() {
+            Frame frame = frames.get(--depth);
+            endText(frame);
+            Capture capture = frame.capture;
+            if (capture != null) {
+                openCaptures.remove(openCaptures.size() - 1);
+                if (!collect) {
+                    return;
+                }
+                if (capture.value != null) {
+                    results.set(capture.index, capture.value.toString());
+                } else if (flavor == Flavor.XPATH2) {
+                    results.set(capture.index, ""); // $NON-NLS-1$
+                }
+            }
+        }
+
+        private void text(int event) {
+            if (depth <= 1) {
+                // Text outside the root element is not part of the document
+                return;
+            }
+            Frame frame = frames.get(depth - 1);
+            if (flavor == Flavor.XPATH2) {
+                if (collect) {
+                    for (Capture capture : openCaptures) {
+                        append(capture, event);
+                    }
+                }
+            } else if (frame.capture != null && !frame.capture.complete) {
+                appendSingleNode(frame.capture, event);
+            }
+            if ((frame.contexts & (1L << (steps.length - 1))) != 0 && steps[steps.length - 1].kind == TEXT) {
+                if (frame.text == null) {
+                    frame.text = select();
+                }
+                if (flavor == Flavor.XPATH2) {
+                    append(frame.text, event);
+                } else {
+                    appendSingleNode(frame.text, event);
+                    // Xalan merges adjacent text and CDATA nodes, leave such nodes to the DOM evaluation
+                    aborted = frame.text.complete;
+                }
+            }
+        }
+
+        /**
+         * Comment or processing instruction.
+         */
+        private void otherNode(String value) {
+            if (depth <= 1) {
+                return;
+            }
+            Frame frame = frames.get(depth - 1);
+            endText(frame);
+            Capture capture = frame.capture;
+            if (flavor != Flavor.XPATH2 && capture != null && !capture.complete) {
+                if (capture.value == null) {
+                    capture.value = new StringBuilder(value);
+                }
+                capture.complete = true;
+            }
+        }
+
+        private void append(Capture capture, int event) {
+            if (capture.value == null) {
+                capture.value = new StringBuilder();
+            }
+            if (collect) {
+                capture.value.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+            }
+            capture.eventType = event;
+        }
+
+        /**
+         * Appends to the value of a single DOM node: consecutive characters make a single text node,
+         * whereas a CDATA section is a node of its own.
+         */
+        private void appendSingleNode(Capture capture, int event) {
+            int type = event == XMLStreamConstants.SPACE ? XMLStreamConstants.CHARACTERS : event;
+            if (capture.value != null && capture.eventType != type) {
+                capture.complete = true;
+                return;
+            }
+            append(capture, type);
+        }
+
+        private void endText(Frame frame) {
+            Capture text = frame.text;
+            if (text != null) {
+                if (collect && text.value != null) {
+                    results.set(text.index, text.value.toString());
+                }
+                frame.text = null;
+            }
+        }
+
+        /**
+         * Counts a selected node, reserving its place in the results.
+         *
+         * @return the capture of the value of the node
+         */
+        private Capture select() {
+            count++;
+            if (!collect) {
+                return new Capture(-1);
+            }
+            results.add(null);
+            return new Capture(results.size() - 1);
+        }
+
+        private boolean matchesPredicates(Step step, int[] positions, int k) {
+            for (Predicate predicate : step.predicates) {
+                if (predicate.attribute == null) {
+                    if (++positions[k] != predicate.position) {
+                        return false;
+                    }
+                } else {
+                    String value = attributeValue(predicate.attribute);
+                    if (value == null || (predicate.value != null && !predicate.value.equals(value))) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private String attributeValue(NameTest name) {
+            for (int i = 0, n = reader.getAttributeCount(); i < n; i++) {
+                if (matches(name, reader.getAttributeNamespace(i), reader.getAttributeLocalName(i),
+                        reader.getAttributePrefix(i))) {
+                    return reader.getAttributeValue(i);
+                }
+            }
+            return null;
+        }
+
+        private boolean matches(NameTest test, String namespaceUri, String localName, String prefix) {
+            if (test.localName != null && !test.localName.equals(localName)) {
+                return false;
+            }
+            if (flavor == Flavor.XPATH1) {
+                if (test.localName != null && prefix != null && !prefix.isEmpty()) {
+                    // DOM documents built without namespace support keep prefixed names as is,
+                    // leave the matching of such names to the DOM evaluation
+                    aborted = true;
+                    return false;
+                }
+                return true;
+            }
+            return test.namespaceUri == null
+                    || test.namespaceUri.equals(namespaceUri == null ? "" : namespaceUri); // $NON-NLS-1$
+        }
+    }
+}
@@ -49,6 +49,8 @@ import javax.xml.transform.stream.StreamResult;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.jmeter.assertions.AssertionResult;
+import org.apache.jmeter.samplers.SampleResult;
+import org.apache.jorphan.util.JOrphanUtils;
 import org.apache.xml.utils.PrefixResolver;
 import org.apache.xpath.XPathAPI;
 import org.apache.xpath.objects.XObject;
@@ -90,6 +92,11 @@ public class XPathUtil {
         XPATH_CACHE = Caffeine.newBuilder().maximumSize(cacheSize).build(new XPathQueryCacheLoader());
     }
 
+    /**
+     * Evaluate simple location paths while parsing the response instead of building a document
+     */
+    private static final boolean STREAMING = JMeterUtils.getPropDefault("xpath.streaming", true); // $NON-NLS-1$
+
     /**
      *
      */
@@ -210,6 +217,50 @@ public class XPathUtil {
         return doc;
     }
 
+    /**
+     * Get the document of the response data of a sample, parsing it only if it has not already been parsed
+     * with the same options by another XPath extractor or assertion.
+     * The document is shared, so it must not be modified.
+     *
+     * @param result - sample whose response data is parsed
+     * @param decode - if true, parse the response data decoded with the encoding of the sample then encoded to UTF-8,
+     *               otherwise parse the raw response data
+     * @param validate - Validate Document (not Tidy)
+     * @param whitespace - Element Whitespace (not Tidy)
+     * @param namespace - Is Namespace aware. (not Tidy)
+     * @param tolerant - Is tolerant - i.e. use the Tidy parser
+     * @param quiet - set Tidy quiet
+     * @param showWarnings - set Tidy warnings
+     * @param reportErrors - throw TidyException if Tidy detects an error
+     * @param downloadDTDs - if true, try to download external DTDs
+     * @return document
+     * @throws ParserConfigurationException when no {@link DocumentBuilder} can be constructed for the wanted configuration
+     * @throws SAXException if parsing fails
+     * @throws IOException if an I/O error occurs while parsing
+     * @throws TidyException if a ParseError is detected and <code>reportErrors</code> is <code>true</code>
+     * @since 6.0.0
+     */
+    public static Document getResponseDocument(SampleResult result, boolean decode, boolean validate, boolean whitespace,
+            boolean namespace, boolean tolerant, boolean quiet, boolean showWarnings, boolean reportErrors, boolean downloadDTDs)
+                    throws ParserConfigurationException, SAXException, IOException, TidyException {
+        String kind = "xpath-dom:" + decode + ',' + validate + ',' + whitespace + ',' + namespace + ',' // $NON-NLS-1$
+                + tolerant + ',' + quiet + ',' + showWarnings + ',' + reportErrors + ',' + downloadDTDs;
+        try {
+            return result.getParsedResponseData(kind, r -> {
+                byte[] data = decode
+                        ? r.getResponseDataAsString().getBytes(StandardCharsets.UTF_8)
+                        : r.getResponseData();
+                return makeDocument(new ByteArrayInputStream(data), validate, whitespace, namespace,
+                        tolerant, quiet, showWarnings, reportErrors, JOrphanUtils.isXML(data), downloadDTDs);
+            });
+        } catch (ParserConfigurationException | SAXException | IOException | TidyException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            // makeDocument does not throw other checked exceptions
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * Create a document using Tidy
      *
@@ -412,74 +463,197 @@ public class XPathUtil {
         }
     }
 
+    /**
+     * Same as {@link #putValuesForXPathInList(Document, String, List, boolean, int)} without fragments on the
+     * response data of a sample decoded with its encoding, when the query is a location path simple enough to be
+     * evaluated while the response data is parsed, so that no document has to be built.
+     *
+     * @param result sample whose response data is queried
+     * @param xPathQuery XPath Query
+     * @param matchStrings List of strings that will be filled
+     * @param matchNumber match number, 0 for random, negative for all
+     * @param namespace whether the query would be evaluated on a namespace aware document
+     * @return {@code true} if the query has been evaluated, {@code false} if it has to be evaluated on the document
+     *         of the response data
+     * @since 6.0.0
+     */
+    public static boolean putValuesForXPathInListStreaming(SampleResult result, String xPathQuery,
+            List<? super String> matchStrings, int matchNumber, boolean namespace) {
+        List<String> values = new ArrayList<>();
+        int length = evaluateStreaming(result, xPathQuery,
+                namespace ? StreamingXPath.Flavor.XPATH1_NAMESPACE_AWARE : StreamingXPath.Flavor.XPATH1,
+                null, result.getDataEncodingWithDefault(), values);
+        if (length < 0) {
+            return false;
+        }
+        if (matchNumber < 0) {
+            matchStrings.addAll(values);
+        } else {
+            int indexToMatch = matchNumber;
+            if (matchNumber == 0 && length > 0) {
+                indexToMatch = JMeterUtils.getRandomInt(length) + 1;
+            }
+            if (indexToMatch > 0 && indexToMatch <= length) {
+                matchStrings.add(values.get(indexToMatch - 1));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Evaluates a query while the response data of a sample is parsed.
+     *
+     * @param encoding encoding of the response data, null to detect it from the XML declaration
+     * @param values list receiving the values of the selected nodes, null if only their number is needed
+     * @return number of selected nodes, -1 if the query has to be evaluated on a document
+     */
+    private static int evaluateStreaming(SampleResult result, String xPathQuery, StreamingXPath.Flavor flavor,
+            String namespaces, String encoding, List<? super String> values) {
+        if (!STREAMING || StringUtils.isEmpty(xPathQuery)) {
+            return -1;
+        }
+        StreamingXPath streamingXPath = StreamingXPath.forExpression(xPathQuery, flavor, namespaces);
+        if (streamingXPath == null) {
+            return -1;
+        }
+        try {
+            return streamingXPath.evaluate(result.getResponseData(), encoding, values);
+        } catch (XMLStreamException e) {
+            // Let the document parser report the error
+            log.debug("Could not stream the response data for {}, building a document", xPathQuery, e);
+            return -1;
+        }
+    }
+
     public static void putValuesForXPathInListUsingSaxon(
             String xmlFile, String xPathQuery,
             List<? super String> matchStrings, boolean fragment,
             int matchNumber, String namespaces)
             throws SaxonApiException, FactoryConfigurationError {
+        XPathExecutable xPathExecutable = getXPathExecutable(xPathQuery, namespaces);
+        if (xPathExecutable != null) {
+            putValuesForXPathInListUsingSaxon(buildXdmNode(xmlFile), xPathExecutable, matchStrings, fragment, matchNumber);
+        }
+    }
 
-        // generating the cache key
-        final ImmutablePair<String, String> key = ImmutablePair.of(xPathQuery, namespaces);
+    /**
+     * Same as {@link #putValuesForXPathInListUsingSaxon(String, String, List, boolean, int, String)} on the
+     * response data of a sample, which is parsed only once for all the XPath2 extractors and assertions.
+     *
+     * @param result sample whose response data is queried
+     * @param xPathQuery XPath Query
+     * @param matchStrings list of matched strings (may include nulls)
+     * @param fragment return fragments instead of string values
+     * @param matchNumber match number, 0 for random, negative for all
+     * @param namespaces Space separated set of prefix=namespace
+     * @throws SaxonApiException when the parser has problems with the given xml or xpath query
+     * @throws FactoryConfigurationError when the parser can not be instantiated
+     * @since 6.0.0
+     */
+    public static void putValuesForXPathInListUsingSaxon(
+            SampleResult result, String xPathQuery,
+            List<? super String> matchStrings, boolean fragment,
+            int matchNumber, String namespaces)
+            throws SaxonApiException, FactoryConfigurationError {
+        if (!fragment && putValuesForXPathInListStreaming(result, xPathQuery, matchStrings, matchNumber, namespaces)) {
+            return;
+        }
+        XPathExecutable xPathExecutable = getXPathExecutable(xPathQuery, namespaces);
+        if (xPathExecutable != null) {
+            putValuesForXPathInListUsingSaxon(getResponseXdmNode(result), xPathExecutable, matchStrings, fragment, matchNumber);
+        }
+    }
 
-        //check the cache
-        XPathExecutable xPathExecutable;
-        if(StringUtils.isNotEmpty(xPathQuery)) {
-            xPathExecutable = XPATH_CACHE.get(key);
+    private static boolean putValuesForXPathInListStreaming(SampleResult result, String xPathQuery,
+            List<? super String> matchStrings, int matchNumber, String namespaces) {
+        List<String> values = new ArrayList<>();
+        int length = evaluateStreaming(result, xPathQuery, StreamingXPath.Flavor.XPATH2,
+                namespaces, result.getDataEncodingWithDefault(), values);
+        if (length < 0) {
+            return false;
+        }
+        if (matchNumber < 0) {
+            matchStrings.addAll(values);
+        } else if (matchNumber <= length) {
+            if (length > 0) {
+                int indexToMatch = matchNumber == 0 ? JMeterUtils.getRandomInt(length) + 1 : matchNumber;
+                matchStrings.add(values.get(indexToMatch - 1));
+            }
+        } else if (log.isWarnEnabled()) {
+            log.warn("Error : {}{}", JMeterUtils.getResString("xpath2_extractor_match_number_failure"), matchNumber);
         }
-        else {
+        return true;
+    }
+
+    /**
+     * @return the compiled query, or null if the query is empty
+     */
+    private static XPathExecutable getXPathExecutable(String xPathQuery, String namespaces) {
+        if (StringUtils.isEmpty(xPathQuery)) {
             log.warn("Error : {}", JMeterUtils.getResString("xpath2_extractor_empty_query"));
-            return;
+            return null;
         }
+        return XPATH_CACHE.get(ImmutablePair.of(xPathQuery, namespaces));
+    }
 
+    private static XdmNode buildXdmNode(String xmlFile) throws SaxonApiException {
         try (StringReader reader = new StringReader(xmlFile)) {
             // We could instantiate it once but might trigger issues in the future
             // Sharing of a DocumentBuilder across multiple threads is not recommended.
             // However, in the current implementation sharing a DocumentBuilder (once initialized)
             // will only cause problems if a SchemaValidator is used.
             net.sf.saxon.s9api.DocumentBuilder builder = PROCESSOR.newDocumentBuilder();
-            XdmNode xdmNode = builder.build(new SAXSource(new InputSource(reader)));
+            return builder.build(new SAXSource(new InputSource(reader)));
+        }
+    }
 
-            if(xPathExecutable!=null) {
-                XPathSelector selector = null;
-                try {
-                    selector = xPathExecutable.load();
-                    selector.setContextItem(xdmNode);
-                    XdmValue nodes = selector.evaluate();
-                    int length = nodes.size();
-                    int indexToMatch = matchNumber;
-                    // In case we need to extract everything
-                    if(matchNumber < 0) {
-                        for(XdmItem item : nodes) {
-                            if(fragment) {
-                                matchStrings.add(item.toString());
-                            }
-                            else {
-                                matchStrings.add(item.getStringValue());
-                            }
-                        }
-                    } else {
-                        if(indexToMatch <= length) {
-                            if(matchNumber == 0 && length>0) {
-                                indexToMatch = JMeterUtils.getRandomInt(length)+1;
-                            }
-                            XdmItem item = nodes.itemAt(indexToMatch-1);
-                            matchStrings.add(fragment ? item.toString() : item.getStringValue());
-                        } else {
-                            if(log.isWarnEnabled()) {
-                                log.warn("Error : {}{}", JMeterUtils.getResString("xpath2_extractor_match_number_failure"),indexToMatch);
-                            }
-                        }
+    private static XdmNode getResponseXdmNode(SampleResult result) throws SaxonApiException {
+        return result.getParsedResponseData("xpath2-xdm", // $NON-NLS-1$
+                r -> buildXdmNode(r.getResponseDataAsString()));
+    }
+
+    private static void putValuesForXPathInListUsingSaxon(
+            XdmNode xdmNode, XPathExecutable xPathExecutable,
+            List<? super String> matchStrings, boolean fragment,
+            int matchNumber) throws SaxonApiException {
+        XPathSelector selector = null;
+        try {
+            selector = xPathExecutable.load();
+            selector.setContextItem(xdmNode);
+            XdmValue nodes = selector.evaluate();
+            int length = nodes.size();
+            int indexToMatch = matchNumber;
+            // In case we need to extract everything
+            if(matchNumber < 0) {
+                for(XdmItem item : nodes) {
+                    if(fragment) {
+                        matchStrings.add(item.toString());
                     }
-                } finally {
-                    if(selector != null) {
-                        try {
-                            selector.getUnderlyingXPathContext().setContextItem(null);
-                        } catch (Exception e) { // NOSONAR Ignored on purpose
-                            // NOOP
-                        }
+                    else {
+                        matchStrings.add(item.getStringValue());
+                    }
+                }
+            } else {
+                if(indexToMatch <= length) {
+                    if(matchNumber == 0 && length>0) {
+                        indexToMatch = JMeterUtils.getRandomInt(length)+1;
+                    }
+                    XdmItem item = nodes.itemAt(indexToMatch-1);
+                    matchStrings.add(fragment ? item.toString() : item.getStringValue());
+                } else {
+                    if(log.isWarnEnabled()) {
+                        log.warn("Error : {}{}", JMeterUtils.getResString("xpath2_extractor_match_number_failure"),indexToMatch);
                     }
                 }
             }
+        } finally {
+            if(selector != null) {
+                try {
+                    selector.getUnderlyingXPathContext().setContextItem(null);
+                } catch (Exception e) { // NOSONAR Ignored on purpose
+                    // NOOP
+                }
+            }
         }
     }
 
@@ -660,6 +834,40 @@ public class XPathUtil {
         }
     }
 
+    /**
+     * Same as {@link #computeAssertionResult(AssertionResult, Document, String, boolean)} on the raw response data
+     * of a sample, when the expression is a location path simple enough to be evaluated while the response data is
+     * parsed, so that no document has to be built.
+     *
+     * @param result {@link AssertionResult}
+     * @param sampleResult sample whose response data is checked
+     * @param xPathExpression XPath expression
+     * @param namespace whether the expression would be evaluated on a namespace aware document
+     * @param isNegated flag whether a non-match should be considered a success
+     * @return {@code true} if the expression has been evaluated, {@code false} if it has to be evaluated on the
+     *         document of the response data
+     * @since 6.0.0
+     */
+    public static boolean computeAssertionResultStreaming(AssertionResult result, SampleResult sampleResult,
+            String xPathExpression, boolean namespace, boolean isNegated) {
+        int length = evaluateStreaming(sampleResult, xPathExpression,
+                namespace ? StreamingXPath.Flavor.XPATH1_NAMESPACE_AWARE : StreamingXPath.Flavor.XPATH1,
+                null, null, null);
+        if (length < 0) {
+            return false;
+        }
+        if (length == 0) {
+            result.setFailure(!isNegated);
+            result.setFailureMessage("No Nodes Matched " + xPathExpression);
+        } else {
+            result.setFailure(isNegated);
+            if (isNegated) {
+                result.setFailureMessage("Specified XPath was found... Turn off negate if this is not desired");
+            }
+        }
+        return true;
+    }
+
 
     /***
     *
@@ -673,56 +881,75 @@ public class XPathUtil {
     */
    public static void computeAssertionResultUsingSaxon(AssertionResult result, String xmlFile, String xPathQuery,
            String namespaces, Boolean isNegated) throws SaxonApiException, FactoryConfigurationError {
-       // generating the cache key
-       final ImmutablePair<String, String> key = ImmutablePair.of(xPathQuery, namespaces);
-       // check the cache
-       XPathExecutable xPathExecutable;
-       if (StringUtils.isNotEmpty(xPathQuery)) {
-           xPathExecutable = XPATH_CACHE.get(key);
-       } else {
-           log.warn("Error : {}", JMeterUtils.getResString("xpath2_extractor_empty_query"));
-           return;
+       XPathExecutable xPathExecutable = getXPathExecutable(xPathQuery, namespaces);
+       if (xPathExecutable != null) {
+           computeAssertionResultUsingSaxon(result, buildXdmNode(xmlFile), xPathExecutable, xPathQuery, namespaces, isNegated);
        }
-       try (StringReader reader = new StringReader(xmlFile)) {
-           // We could instantiate it once but might trigger issues in the future
-           // Sharing of a DocumentBuilder across multiple threads is not recommended.
-           // However, in the current implementation sharing a DocumentBuilder (once
-           // initialized)
-           // will only cause problems if a SchemaValidator is used.
-           net.sf.saxon.s9api.DocumentBuilder builder = PROCESSOR.newDocumentBuilder();
-           XdmNode xdmNode = builder.build(new SAXSource(new InputSource(reader)));
-           if (xPathExecutable != null) {
-               XPathSelector selector = null;
+   }
+
+    /**
+     * Same as {@link #computeAssertionResultUsingSaxon(AssertionResult, String, String, String, Boolean)} on the
+     * response data of a sample, which is parsed only once for all the XPath2 extractors and assertions.
+     *
+     * @param result The result of xpath2 assertion
+     * @param sampleResult sample whose response data is checked
+     * @param xPathQuery XPath Query
+     * @param namespaces Space separated set of prefix=namespace
+     * @param isNegated invert result
+     * @throws SaxonApiException when the parser has problems with the given xml or xpath query
+     * @throws FactoryConfigurationError when the parser can not be instantiated
+     * @since 6.0.0
+     */
+    public static void computeAssertionResultUsingSaxon(AssertionResult result, SampleResult sampleResult,
+            String xPathQuery, String namespaces, boolean isNegated) throws SaxonApiException, FactoryConfigurationError {
+        int length = evaluateStreaming(sampleResult, xPathQuery, StreamingXPath.Flavor.XPATH2,
+                namespaces, sampleResult.getDataEncodingWithDefault(), null);
+        if (length >= 0) {
+            boolean resultOfEval = length > 0;
+            result.setFailure(isNegated ? resultOfEval : !resultOfEval);
+            result.setFailureMessage(
+                    isNegated ? "Nodes Matched for " + xPathQuery : "No Nodes Matched for " + xPathQuery);
+            return;
+        }
+        XPathExecutable xPathExecutable = getXPathExecutable(xPathQuery, namespaces);
+        if (xPathExecutable != null) {
+            computeAssertionResultUsingSaxon(result, getResponseXdmNode(sampleResult), xPathExecutable,
+                    xPathQuery, namespaces, isNegated);
+        }
+    }
+
+   private static void computeAssertionResultUsingSaxon(AssertionResult result, XdmNode xdmNode,
+           XPathExecutable xPathExecutable, String xPathQuery, String namespaces, boolean isNegated)
+           throws SaxonApiException {
+       XPathSelector selector = null;
+       try {
+           Document doc;
+           doc = XPathUtil.makeDocumentBuilder(false, false, false, false).newDocument();
+           XObject xObject = XPathAPI.eval(doc, xPathQuery, getPrefixResolverForXPath2(doc, namespaces));
+           selector = xPathExecutable.load();
+           selector.setContextItem(xdmNode);
+           XdmValue nodes = selector.evaluate();
+           boolean resultOfEval = true;
+           int length = nodes.size();
+           // In case we need to extract everything
+           if (length == 0) {
+               resultOfEval = false;
+           } else if (xObject.getType() == XObject.CLASS_BOOLEAN) {
+               resultOfEval = Boolean.parseBoolean(nodes.itemAt(0).getStringValue());
+           }
+           result.setFailure(isNegated ? resultOfEval : !resultOfEval);
+           result.setFailureMessage(
+                   isNegated ? "Nodes Matched for " + xPathQuery : "No Nodes Matched for " + xPathQuery);
+       } catch (ParserConfigurationException | TransformerException e) { // NOSONAR Exception handled by return
+           result.setError(true);
+           result.setFailureMessage("Exception: " + e.getMessage() + " for:" + xPathQuery);
+       } finally {
+           if (selector != null) {
                try {
-                   Document doc;
-                   doc = XPathUtil.makeDocumentBuilder(false, false, false, false).newDocument();
-                   XObject xObject = XPathAPI.eval(doc, xPathQuery, getPrefixResolverForXPath2(doc, namespaces));
-                   selector = xPathExecutable.load();
-                   selector.setContextItem(xdmNode);
-                   XdmValue nodes = selector.evaluate();
-                   boolean resultOfEval = true;
-                   int length = nodes.size();
-                   // In case we need to extract everything
-                   if (length == 0) {
-                       resultOfEval = false;
-                   } else if (xObject.getType() == XObject.CLASS_BOOLEAN) {
-                       resultOfEval = Boolean.parseBoolean(nodes.itemAt(0).getStringValue());
-                   }
-                   result.setFailure(isNegated ? resultOfEval : !resultOfEval);
-                   result.setFailureMessage(
-                           isNegated ? "Nodes Matched for " + xPathQuery : "No Nodes Matched for " + xPathQuery);
-               } catch (ParserConfigurationException | TransformerException e) { // NOSONAR Exception handled by return
+                   selector.getUnderlyingXPathContext().setContextItem(null);
+               } catch (Exception e) { // NOSONAR Ignored on purpose
                    result.setError(true);
                    result.setFailureMessage("Exception: " + e.getMessage() + " for:" + xPathQuery);
-               } finally {
-                   if (selector != null) {
-                       try {
-                           selector.getUnderlyingXPathContext().setContextItem(null);
-                       } catch (Exception e) { // NOSONAR Ignored on purpose
-                           result.setError(true);
-                           result.setFailureMessage("Exception: " + e.getMessage() + " for:" + xPathQuery);
-                       }
-                   }
                }
            }
        }
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.util.regex;
+
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiles patterns through the cache shared by all the engines.
+ */
+abstract class AbstractRegexEngine implements RegexEngine {
+
+    private final String name;
+
+    AbstractRegexEngine(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public final CompiledPattern compile(String regex) throws PatternSyntaxException {
+        return RegexEngines.getCachedPattern(this, regex);
+    }
+
+    /**
+     * @param regex regular expression
+     * @return the compiled pattern
+     * @throws PatternSyntaxException when the expression is invalid
+     */
+    abstract CompiledPattern doCompile(String regex) throws PatternSyntaxException;
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
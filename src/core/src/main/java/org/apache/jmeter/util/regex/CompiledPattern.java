@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.util.regex;
+
+import java.util.List;
+import java.util.regex.MatchResult;
+
+import org.apiguardian.api.API;
+
+/**
+ * Regular expression compiled by a {@link RegexEngine}.
+ * <p>
+ * Implementations are immutable and can be shared between threads.
+ *
+ * @since 6.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+public interface CompiledPattern {
+
+    /**
+     * @return the source of the regular expression
+     */
+    String pattern();
+
+    /**
+     * @param input text to match
+     * @return true if the whole input matches the pattern
+     */
+    boolean matches(CharSequence input);
+
+    /**
+     * @param input text to search
+     * @return true if some part of the input matches the pattern
+     */
+    boolean find(CharSequence input);
+
+    /**
+     * Searches the successive non overlapping matches of the pattern in the input.
+     * <p>
+     * The match results only keep a reference to the input, so groups are not extracted until they are read.
+     *
+     * @param input   text to search
+     * @param matches list receiving the matches
+     * @param limit   maximum number of matches to add, 0 or less for all of them
+     * @return number of matches added to the list
+     */
+    int findAll(CharSequence input, List<? super MatchResult> matches, int limit);
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.util.regex;
+
+import java.util.List;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Engine based on {@link java.util.regex}, a backtracking engine.
+ */
+final class JavaRegexEngine extends AbstractRegexEngine {
+
+    JavaRegexEngine() {
+        super(RegexEngines.JAVA);
+    }
+
+    @Override
+    CompiledPattern doCompile(String regex) throws PatternSyntaxException {
+        Pattern pattern = Pattern.compile(regex);
+        return new CompiledPattern() {
+            @Override
+            public String pattern() {
+                return regex;
+            }
+
+            @Override
+            public boolean matches(CharSequence input) {
+                return pattern.matcher(input).matches();
+            }
+
+            @Override
+            public boolean find(CharSequence input) {
+                return pattern.matcher(input).find();
+            }
+
+            @Override
+            public int findAll(CharSequence input, List<? super MatchResult> matches, int limit) {
+                Matcher matcher = pattern.matcher(input);
+                int found = 0;
+                while ((limit <= 0 || found < limit) && matcher.find()) {
+                    int groups = matcher.groupCount() + 1;
+                    int[] offsets = new int[2 * groups];
+                    for (int i = 0; i < groups; i++) {
+                        offsets[2 * i] = matcher.start(i);
+                        offsets[2 * i + 1] = matcher.end(i);
+                    }
+                    matches.add(new OffsetsMatchResult(input, offsets));
+                    found++;
+                }
+                return found;
+            }
+
+            @Override
+            public String toString() {
+                return regex;
+            }
+        };
+    }
+}
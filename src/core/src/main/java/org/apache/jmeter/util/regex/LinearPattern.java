@@ -0,0 +1,335 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.util.regex;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.regex.MatchResult;
+
+/**
+ * Program compiled by {@link LinearRegexParser}, matched by simulating all its threads in lock step
+ * (Pike VM). Each input character is read once and each instruction runs at most once per character,
+ * so matching time is proportional to the input length times the program size.
+ */
+final class LinearPattern implements CompiledPattern {
+
+    /** Consumes one character accepted by the predicate of the instruction */
+    static final int CONSUME = 0;
+    /** Continues at arg1 */
+    static final int JUMP = 1;
+    /** Continues at arg1, and with a lower priority at arg2 */
+    static final int SPLIT = 2;
+    /** Records the current position in capture slot arg1 */
+    static final int SAVE = 3;
+    /** Continues only if the zero-width assertion arg1 holds at the current position */
+    static final int ASSERT = 4;
+    static final int MATCH = 5;
+
+    static final int BEGIN_TEXT = 0;
+    static final int END_TEXT = 1;
+    /** End of the input, or before a line terminator ending the input */
+    static final int END_TEXT_OR_LAST_LINE = 2;
+    static final int BEGIN_LINE = 3;
+    static final int END_LINE = 4;
+    static final int WORD_BOUNDARY = 5;
+    static final int NOT_WORD_BOUNDARY = 6;
+
+    private final String regex;
+    private final int groupCount;
+    private final int[] ops;
+    private final int[] args1;
+    private final int[] args2;
+    private final IntPredicate[] predicates;
+    /** Character every match starts with, -1 if unknown */
+    private final int firstChar;
+
+    LinearPattern(String regex, int groupCount, int[] ops, int[] args1, int[] args2,
+            IntPredicate[] predicates, int firstChar) {
+        this.regex = regex;
+        this.groupCount = groupCount;
+        this.ops = ops;
+        this.args1 = args1;
+        this.args2 = args2;
+        this.predicates = predicates;
+        this.firstChar = firstChar;
+    }
+
+    @Override
+    public String pattern() {
+        return regex;
+    }
+
+    int groupCount() {
+        return groupCount;
+    }
+
+    @Override
+    public boolean matches(CharSequence input) {
+        return search(new State(), input, 0, true, false) != null;
+    }
+
+    @Override
+    public boolean find(CharSequence input) {
+        return search(new State(), input, 0, false, true) != null;
+    }
+
+    @Override
+    public int findAll(CharSequence input, List<? super MatchResult> matches, int limit) {
+        State state = new State();
+        int found = 0;
+        int from = 0;
+        int length = input.length();
+        while ((limit <= 0 || found < limit) && from <= length) {
+            int[] offsets = search(state, input, from, false, false);
+            if (offsets == null) {
+                break;
+            }
+            matches.add(new OffsetsMatchResult(input, offsets));
+            found++;
+            // Same as java.util.regex.Matcher#find: an empty match does not match again at the same position
+            from = offsets[1] == offsets[0] ? offsets[1] + 1 : offsets[1];
+        }
+        return found;
+    }
+
+    /**
+     * @param state    thread lists to use
+     * @param input    text to search
+     * @param from     position where the search starts
+     * @param full     true if the match must start at {@code from} and end at the end of the input
+     * @param earliest true if any match is fine, the search then stops at the first one
+     * @return the capture slots of the match, null if there is none
+     */
+    private int[] search(State state, CharSequence input, int from, boolean full, boolean earliest) {
+        ThreadList current = state.current;
+        ThreadList next = state.next;
+        current.clear();
+        next.clear();
+        int[] matched = null;
+        int length = input.length();
+        for (int pos = from; ; pos++) {
+            if (matched == null && (!full || pos == from)) {
+                if (current.size == 0 && firstChar >= 0 && !full) {
+                    // No thread alive: skip directly to the next possible start of a match
+                    while (pos < length && input.charAt(pos) != firstChar) {
+                        pos++;
+                    }
+                    if (pos == length) {
+                        break;
+                    }
+                }
+                addThread(state, current, 0, state.noCaptures, input, pos);
+            }
+            if (current.size == 0) {
+                if (matched != null || full || pos >= length) {
+                    break;
+                }
+                current.clear();
+                continue;
+            }
+            char c = pos < length ? input.charAt(pos) : 0;
+            for (int i = 0; i < current.size; i++) {
+                int pc = current.pcs[i];
+                if (ops[pc] == MATCH) {
+                    if (full && pos != length) {
+                        continue;
+                    }
+                    matched = current.captures[i];
+                    if (earliest) {
+                        return matched;
+                    }
+                    // Threads with a lower priority than the matching one are dropped
+                    break;
+                }
+                if (pos < length && predicates[pc].test(c)) {
+                    addThread(state, next, pc + 1, current.captures[i], input, pos + 1);
+                }
+            }
+            ThreadList swap = current;
+            current = next;
+            next = swap;
+            next.clear();
+            if (pos >= length) {
+                break;
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Adds the thread starting at {@code startPc} to the list, following the instructions which do not
+     * consume input, in priority order.
+     */
+    private void addThread(State state, ThreadList list, int startPc, int[] startCaptures,
+            CharSequence input, int pos) {
+        int[] stackPcs = state.stackPcs;
+        int[][] stackCaptures = state.stackCaptures;
+        int top = 0;
+        stackPcs[top] = startPc;
+        stackCaptures[top++] = startCaptures;
+        while (top > 0) {
+            int pc = stackPcs[--top];
+            int[] captures = stackCaptures[top];
+            stackCaptures[top] = null;
+            if (!list.visit(pc)) {
+                continue;
+            }
+            switch (ops[pc]) {
+                case JUMP:
+                    stackPcs[top] = args1[pc];
+                    stackCaptures[top++] = captures;
+                    break;
+                case SPLIT:
+                    // Pushed in reverse order, so the preferred branch is explored first
+                    stackPcs[top] = args2[pc];
+                    stackCaptures[top++] = captures;
+                    stackPcs[top] = args1[pc];
+                    stackCaptures[top++] = captures;
+                    break;
+                case SAVE:
+                    int[] copy = captures.clone();
+                    copy[args1[pc]] = pos;
+                    stackPcs[top] = pc + 1;
+                    stackCaptures[top++] = copy;
+                    break;
+                case ASSERT:
+                    if (holds(args1[pc], input, pos)) {
+                        stackPcs[top] = pc + 1;
+                        stackCaptures[top++] = captures;
+                    }
+                    break;
+                default:
+                    list.add(pc, captures);
+                    break;
+            }
+        }
+    }
+
+    private static boolean holds(int assertion, CharSequence input, int pos) {
+        int length = input.length();
+        switch (assertion) {
+            case BEGIN_TEXT:
+                return pos == 0;
+            case END_TEXT:
+                return pos == length;
+            case END_TEXT_OR_LAST_LINE:
+                return pos == length
+                        || (pos == length - 1 && isLineTerminator(input.charAt(pos))
+                            && !(input.charAt(pos) == '\n' && pos > 0 && input.charAt(pos - 1) == '\r'))
+                        || (pos == length - 2 && input.charAt(pos) == '\r' && input.charAt(pos + 1) == '\n');
+            case BEGIN_LINE:
+                // As in java.util.regex, no line starts at the end of the input
+                if (pos == length) {
+                    return false;
+                }
+                if (pos == 0) {
+                    return true;
+                }
+                char previous = input.charAt(pos - 1);
+                return isLineTerminator(previous) && !(previous == '\r' && input.charAt(pos) == '\n');
+            case END_LINE:
+                if (pos == length) {
+                    return true;
+                }
+                char current = input.charAt(pos);
+                return isLineTerminator(current) && !(current == '\n' && pos > 0 && input.charAt(pos - 1) == '\r');
+            case WORD_BOUNDARY:
+                return isWordBoundary(input, pos);
+            case NOT_WORD_BOUNDARY:
+                return !isWordBoundary(input, pos);
+            default:
+                throw new IllegalStateException("Unknown assertion " + assertion);
+        }
+    }
+
+    private static boolean isWordBoundary(CharSequence input, int pos) {
+        boolean before = pos > 0 && isWordChar(input.charAt(pos - 1));
+        boolean after = pos < input.length() && isWordChar(input.charAt(pos));
+        return before != after;
+    }
+
+    static boolean isWordChar(int c) {
+        return c == '_' || Character.isLetterOrDigit(c);
+    }
+
+    static boolean isLineTerminator(int c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    @Override
+    public String toString() {
+        return regex;
+    }
+
+    /** Thread lists and stack of one search, reused for the successive matches of {@link #findAll} */
+    private final class State {
+        private final ThreadList current = new ThreadList(ops.length);
+        private final ThreadList next = new ThreadList(ops.length);
+        // each instruction is visited once per position and pushes at most two entries
+        private final int[] stackPcs = new int[2 * ops.length + 1];
+        private final int[][] stackCaptures = new int[2 * ops.length + 1][];
+        private final int[] noCaptures = new int[2 * (groupCount + 1)];
+
+        State() {
+            Arrays.fill(noCaptures, -1);
+        }
+    }
+
+    /**
+     * Threads waiting on a consuming instruction, in priority order, and sparse set of the instructions
+     * already visited at the current position.
+     */
+    private static final class ThreadList {
+        private final int[] sparse;
+        private final int[] dense;
+        private int visited;
+        private final int[] pcs;
+        private final int[][] captures;
+        private int size;
+
+        ThreadList(int programSize) {
+            sparse = new int[programSize];
+            dense = new int[programSize];
+            pcs = new int[programSize];
+            captures = new int[programSize][];
+        }
+
+        boolean visit(int pc) {
+            int index = sparse[pc];
+            if (index < visited && dense[index] == pc) {
+                return false;
+            }
+            sparse[pc] = visited;
+            dense[visited++] = pc;
+            return true;
+        }
+
+        void add(int pc, int[] threadCaptures) {
+            pcs[size] = pc;
+            captures[size++] = threadCaptures;
+        }
+
+        void clear() {
+            Arrays.fill(captures, 0, size, null);
+            visited = 0;
+            size = 0;
+        }
+    }
+}
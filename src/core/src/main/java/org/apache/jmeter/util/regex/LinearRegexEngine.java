@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.util.regex;
+
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Engine whose matching time is linear in the size of the input, whatever the pattern.
+ * <p>
+ * Patterns are compiled to a program simulated as a non-deterministic automaton, all the alternatives being
+ * followed in parallel instead of backtracking (Thompson NFA simulation with sub-matches, as in RE2).
+ * Matches are the same as with {@link java.util.regex}: leftmost, alternatives being tried in order and
+ * quantifiers being greedy unless followed by {@code ?}.
+ * <p>
+ * The syntax is the one of {@link java.util.regex.Pattern}, without the constructs that need backtracking:
+ * back references, look-ahead and look-behind assertions, atomic groups and possessive quantifiers are
+ * rejected with a {@link PatternSyntaxException}. Nested character classes, class intersections and Unicode
+ * properties are not supported either. Case insensitive matching only folds ASCII letters, as
+ * {@link java.util.regex.Pattern#CASE_INSENSITIVE} does. Sub-matches may differ from {@link java.util.regex}
+ * for repetitions of expressions which can match the empty string.
+ */
+final class LinearRegexEngine extends AbstractRegexEngine {
+
+    LinearRegexEngine() {
+        super(RegexEngines.LINEAR);
+    }
+
+    @Override
+    CompiledPattern doCompile(String regex) throws PatternSyntaxException {
+        return LinearRegexParser.compile(regex);
+    }
+}
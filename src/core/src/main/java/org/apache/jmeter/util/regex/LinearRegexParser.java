@@ -0,0 +1,814 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.util.regex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Parses the {@link java.util.regex.Pattern} syntax supported by {@link LinearRegexEngine}
+ * and compiles it to a {@link LinearPattern} program.
+ */
+final class LinearRegexParser {
+
+    /** Bounds the size of the programs, as counted repetitions copy their operand */
+    private static final int MAX_PROGRAM_SIZE = 100_000;
+    private static final int MAX_REPETITION = 1000;
+
+    private static final IntPredicate DIGIT = c -> c >= '0' && c <= '9';
+    private static final IntPredicate WORD = c -> c == '_' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+            || (c >= '0' && c <= '9');
+    private static final IntPredicate SPACE = c -> c == ' ' || c == '\t' || c == '\n' || c == '\u000B'
+            || c == '\f' || c == '\r';
+    private static final IntPredicate ANY = c -> true;
+    private static final IntPredicate NOT_LINE_TERMINATOR = c -> !LinearPattern.isLineTerminator(c);
+
+    private final String regex;
+    private int pos;
+    private int groupCount;
+    private boolean caseInsensitive;
+    private boolean dotAll;
+    private boolean multiline;
+
+    private LinearRegexParser(String regex) {
+        this.regex = regex;
+    }
+
+    static LinearPattern compile(String regex) throws PatternSyntaxException {
+        LinearRegexParser parser = new LinearRegexParser(regex);
+        Node root = parser.parseAlternation();
+        if (parser.more()) {
+            throw parser.error("Unmatched closing ')'");
+        }
+        return new ProgramBuilder(regex).build(root, parser.groupCount);
+    }
+
+    private boolean more() {
+        return pos < regex.length();
+    }
+
+    private char peek() {
+        return regex.charAt(pos);
+    }
+
+    private char next() {
+        if (!more()) {
+            throw error("Unexpected end of pattern");
+        }
+        return regex.charAt(pos++);
+    }
+
+    private PatternSyntaxException error(String description) {
+        return new PatternSyntaxException(description, regex, pos - 1);
+    }
+
+    private PatternSyntaxException unsupported(String construct) {
+        return error(construct + " are not supported by the " + RegexEngines.LINEAR + " regex engine");
+    }
+
+    private Node parseAlternation() {
+        List<Node> alternatives = new ArrayList<>();
+        alternatives.add(parseConcatenation());
+        while (more() && peek() == '|') {
+            pos++;
+            alternatives.add(parseConcatenation());
+        }
+        return alternatives.size() == 1 ? alternatives.get(0) : new Alternation(alternatives);
+    }
+
+    private Node parseConcatenation() {
+        List<Node> items = new ArrayList<>();
+        while (more() && peek() != '|' && peek() != ')') {
+            Node atom = parseAtom();
+            if (atom != null) {
+                items.add(parseQuantifiers(atom));
+            }
+        }
+        return items.size() == 1 ? items.get(0) : new Concatenation(items);
+    }
+
+    /**
+     * @return the parsed atom, null for constructs matching nothing such as inline flags
+     */
+    private Node parseAtom() {
+        char c = next();
+        switch (c) {
+            case '(':
+                return parseGroup();
+            case '[':
+                return new Consume(parseClass());
+            case '.':
+                return new Consume(dotAll ? ANY : NOT_LINE_TERMINATOR);
+            case '^':
+                return new Assertion(multiline ? LinearPattern.BEGIN_LINE : LinearPattern.BEGIN_TEXT);
+            case '$':
+                return new Assertion(multiline ? LinearPattern.END_LINE : LinearPattern.END_TEXT_OR_LAST_LINE);
+            case '*':
+            case '+':
+            case '?':
+                throw error("Dangling meta character '" + c + "'");
+            case '\\':
+                return parseEscape();
+            default:
+                return literal(c);
+        }
+    }
+
+    private Node parseGroup() {
+        boolean savedCaseInsensitive = caseInsensitive;
+        boolean savedDotAll = dotAll;
+        boolean savedMultiline = multiline;
+        Node group;
+        if (more() && peek() == '?') {
+            pos++;
+            char kind = next();
+            switch (kind) {
+                case ':':
+                    group = parseAlternation();
+                    break;
+                case '<':
+                    if (more() && (peek() == '=' || peek() == '!')) {
+                        throw unsupported("Look-behind assertions");
+                    }
+                    group = parseNamedGroup('>');
+                    break;
+                case '=':
+                case '!':
+                    throw unsupported("Look-ahead assertions");
+                case '>':
+                    throw unsupported("Atomic groups");
+                default:
+                    pos--;
+                    if (parseFlags()) {
+                        // (?flags) applies to the rest of the enclosing group
+                        return null;
+                    }
+                    group = parseAlternation();
+                    break;
+            }
+        } else {
+            int index = ++groupCount;
+            group = new Group(index, parseAlternation());
+        }
+        if (!more() || next() != ')') {
+            throw error("Unclosed group");
+        }
+        caseInsensitive = savedCaseInsensitive;
+        dotAll = savedDotAll;
+        multiline = savedMultiline;
+        return group;
+    }
+
+    private Node parseNamedGroup(char end) {
+        int start = pos;
+        while (more() && peek() != end) {
+            if (!Character.isLetterOrDigit(next())) {
+                throw error("Named capturing group name must be made of letters and digits");
+            }
+        }
+        if (!more() || pos == start) {
+            throw error("Named capturing group is missing trailing '" + end + "'");
+        }
+        pos++;
+        int index = ++groupCount;
+        return new Group(index, parseAlternation());
+    }
+
+    /**
+     * Parses inline flags, such as {@code i-s}.
+     *
+     * @return true if the flags are followed by {@code )}, false if they are followed by {@code :}
+     */
+    private boolean parseFlags() {
+        boolean enable = true;
+        while (true) {
+            char c = next();
+            switch (c) {
+                case 'i':
+                    caseInsensitive = enable;
+                    break;
+                case 's':
+                    dotAll = enable;
+                    break;
+                case 'm':
+                    multiline = enable;
+                    break;
+                case 'u':
+                case 'U':
+                case 'd':
+                    // Unicode case and Unix lines flags do not change the ASCII semantics used here
+                    break;
+                case '-':
+                    enable = false;
+                    break;
+                case ')':
+                    return true;
+                case ':':
+                    return false;
+                case 'x':
+                    throw unsupported("Comments mode flags");
+                default:
+                    throw error("Unknown inline modifier");
+            }
+        }
+    }
+
+    private Node parseQuantifiers(Node atom) {
+        Node node = atom;
+        while (more()) {
+            int min;
+            int max;
+            char c = peek();
+            if (c == '*') {
+                min = 0;
+                max = -1;
+                pos++;
+            } else if (c == '+') {
+                min = 1;
+                max = -1;
+                pos++;
+            } else if (c == '?') {
+                min = 0;
+                max = 1;
+                pos++;
+            } else if (c == '{') {
+                int[] bounds = parseBounds();
+                if (bounds == null) {
+                    // Not a repetition, '{' is a literal character
+                    break;
+                }
+                min = bounds[0];
+                max = bounds[1];
+            } else {
+                break;
+            }
+            boolean greedy = true;
+            if (more() && peek() == '?') {
+                greedy = false;
+                pos++;
+            } else if (more() && peek() == '+') {
+                pos++;
+                throw unsupported("Possessive quantifiers");
+            }
+            node = new Repetition(node, min, max, greedy);
+        }
+        return node;
+    }
+
+    /**
+     * @return {min, max} with max -1 when unbounded, null if {@code {} does not start a repetition
+     */
+    private int[] parseBounds() {
+        int start = pos;
+        pos++;
+        int min = parseNumber();
+        int max = min;
+        if (min >= 0 && more() && peek() == ',') {
+            pos++;
+            max = more() && peek() == '}' ? -1 : parseNumber();
+        }
+        if (min < 0 || max < -1 || !more() || peek() != '}') {
+            pos = start;
+            return null;
+        }
+        pos++;
+        if (max != -1 && max < min) {
+            throw error("Illegal repetition range");
+        }
+        if (min > MAX_REPETITION || max > MAX_REPETITION) {
+            throw error("Repetition count larger than " + MAX_REPETITION);
+        }
+        return new int[]{min, max};
+    }
+
+    /**
+     * @return the parsed number, -2 if there is none
+     */
+    private int parseNumber() {
+        int start = pos;
+        int value = 0;
+        while (more() && peek() >= '0' && peek() <= '9') {
+            value = Math.min(value * 10 + (next() - '0'), MAX_REPETITION + 1);
+        }
+        return pos == start ? -2 : value;
+    }
+
+    private Node parseEscape() {
+        char c = next();
+        switch (c) {
+            case 'd':
+                return new Consume(DIGIT);
+            case 'D':
+                return new Consume(DIGIT.negate());
+            case 'w':
+                return new Consume(WORD);
+            case 'W':
+                return new Consume(WORD.negate());
+            case 's':
+                return new Consume(SPACE);
+            case 'S':
+                return new Consume(SPACE.negate());
+            case 'b':
+                return new Assertion(LinearPattern.WORD_BOUNDARY);
+            case 'B':
+                return new Assertion(LinearPattern.NOT_WORD_BOUNDARY);
+            case 'A':
+                return new Assertion(LinearPattern.BEGIN_TEXT);
+            case 'z':
+                return new Assertion(LinearPattern.END_TEXT);
+            case 'Z':
+                return new Assertion(LinearPattern.END_TEXT_OR_LAST_LINE);
+            case 'Q':
+                return parseQuotation();
+            case 'k':
+                throw unsupported("Back references");
+            default:
+                if (c >= '1' && c <= '9') {
+                    throw unsupported("Back references");
+                }
+                return literal(parseEscapedChar(c));
+        }
+    }
+
+    private Node parseQuotation() {
+        int end = regex.indexOf("\\E", pos); // $NON-NLS-1$
+        if (end < 0) {
+            end = regex.length();
+        }
+        List<Node> literals = new ArrayList<>();
+        for (int i = pos; i < end; i++) {
+            literals.add(literal(regex.charAt(i)));
+        }
+        pos = Math.min(end + 2, regex.length());
+        return new Concatenation(literals);
+    }
+
+    /**
+     * @param c character following a backslash
+     * @return the character denoted by the escape sequence
+     */
+    private char parseEscapedChar(char c) {
+        switch (c) {
+            case 't':
+                return '\t';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 'f':
+                return '\f';
+            case 'a':
+                return '\u0007';
+            case 'e':
+                return '\u001B';
+            case '0':
+                return parseOctal();
+            case 'x':
+                return parseHexadecimal();
+            case 'u':
+                return (char) parseHexDigits(4);
+            case 'c':
+                return (char) (next() ^ 64);
+            default:
+                if (Character.isLetterOrDigit(c)) {
+                    throw error("Illegal/unsupported escape sequence");
+                }
+                return c;
+        }
+    }
+
+    private char parseOctal() {
+        int value = 0;
+        int digits = 0;
+        while (digits < 3 && more() && peek() >= '0' && peek() <= '7' && value * 8 + (peek() - '0') <= 0377) {
+            value = value * 8 + (next() - '0');
+            digits++;
+        }
+        if (digits == 0) {
+            throw error("Illegal octal escape sequence");
+        }
+        return (char) value;
+    }
+
+    private char parseHexadecimal() {
+        if (more() && peek() == '{') {
+            pos++;
+            int end = regex.indexOf('}', pos);
+            if (end < 0) {
+                throw error("Unclosed hexadecimal escape sequence");
+            }
+            int value = parseHexDigits(end - pos);
+            pos++;
+            if (value > Character.MAX_VALUE) {
+                throw unsupported("Supplementary characters");
+            }
+            return (char) value;
+        }
+        return (char) parseHexDigits(2);
+    }
+
+    private int parseHexDigits(int count) {
+        if (count == 0 || count > 8) {
+            throw error("Illegal hexadecimal escape sequence");
+        }
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            int digit = Character.digit(next(), 16);
+            if (digit < 0) {
+                throw error("Illegal hexadecimal escape sequence");
+            }
+            value = value * 16 + digit;
+        }
+        return value;
+    }
+
+    private IntPredicate parseClass() {
+        boolean negated = false;
+        if (more() && peek() == '^') {
+            negated = true;
+            pos++;
+        }
+        List<IntPredicate> classes = new ArrayList<>();
+        int[] ranges = new int[8];
+        int rangeCount = 0;
+        boolean first = true;
+        while (true) {
+            if (!more()) {
+                throw error("Unclosed character class");
+            }
+            char c = next();
+            if (c == ']' && !first) {
+                break;
+            }
+            first = false;
+            if (c == '[') {
+                throw unsupported("Nested character classes");
+            }
+            if (c == '&' && more() && peek() == '&') {
+                throw unsupported("Character class intersections");
+            }
+            int low;
+            if (c == '\\') {
+                IntPredicate predefined = predefinedClass(next());
+                if (predefined != null) {
+                    classes.add(predefined);
+                    continue;
+                }
+                pos--;
+                low = parseEscapedChar(next());
+            } else {
+                low = c;
+            }
+            int high = low;
+            if (more() && peek() == '-' && pos + 1 < regex.length() && regex.charAt(pos + 1) != ']') {
+                pos++;
+                char h = next();
+                if (h == '\\') {
+                    high = parseEscapedChar(next());
+                } else if (h == '[') {
+                    throw unsupported("Nested character classes");
+                } else {
+                    high = h;
+                }
+                if (high < low) {
+                    throw error("Illegal character range");
+                }
+            }
+            if (rangeCount + 2 > ranges.length) {
+                ranges = Arrays.copyOf(ranges, ranges.length * 2);
+            }
+            ranges[rangeCount++] = low;
+            ranges[rangeCount++] = high;
+        }
+        return new CharClass(Arrays.copyOf(ranges, rangeCount), classes.toArray(new IntPredicate[0]),
+                negated, caseInsensitive);
+    }
+
+    private static IntPredicate predefinedClass(char c) {
+        switch (c) {
+            case 'd':
+                return DIGIT;
+            case 'D':
+                return DIGIT.negate();
+            case 'w':
+                return WORD;
+            case 'W':
+                return WORD.negate();
+            case 's':
+                return SPACE;
+            case 'S':
+                return SPACE.negate();
+            default:
+                return null;
+        }
+    }
+
+    private Node literal(char c) {
+        if (caseInsensitive && otherCase(c) != c) {
+            char lower = Character.toLowerCase(c);
+            char upper = Character.toUpperCase(c);
+            return new Consume(ch -> ch == lower || ch == upper);
+        }
+        return new Literal(c);
+    }
+
+    /**
+     * @return the other case of an ASCII letter, the character itself otherwise
+     */
+    static int otherCase(int c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - ('a' - 'A');
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c + ('a' - 'A');
+        }
+        return c;
+    }
+
+    private static final class CharClass implements IntPredicate {
+        private final int[] ranges;
+        private final IntPredicate[] classes;
+        private final boolean negated;
+        private final boolean caseInsensitive;
+
+        CharClass(int[] ranges, IntPredicate[] classes, boolean negated, boolean caseInsensitive) {
+            this.ranges = ranges;
+            this.classes = classes;
+            this.negated = negated;
+            this.caseInsensitive = caseInsensitive;
+        }
+
+        @Override
+        public boolean test(int c) {
+            boolean in = contains(c);
+            if (!in && caseInsensitive) {
+                int other = otherCase(c);
+                in = other != c && contains(other);
+            }
+            return in != negated;
+        }
+
+        private boolean contains(int c) {
+            for (int i = 0; i < ranges.length; i += 2) {
+                if (c >= ranges[i] && c <= ranges[i + 1]) {
+                    return true;
+                }
+            }
+            for (IntPredicate predicate : classes) {
+                if (predicate.test(c)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private abstract static class Node {
+        abstract void emit(ProgramBuilder builder);
+    }
+
+    private static final class Literal extends Node {
+        private final char c;
+
+        Literal(char c) {
+            this.c = c;
+        }
+
+        @Override
+        void emit(ProgramBuilder builder) {
+            builder.emitLiteral(c);
+        }
+    }
+
+    private static final class Consume extends Node {
+        private final IntPredicate predicate;
+
+        Consume(IntPredicate predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        void emit(ProgramBuilder builder) {
+            builder.emit(LinearPattern.CONSUME, 0, 0, predicate);
+        }
+    }
+
+    private static final class Assertion extends Node {
+        private final int kind;
+
+        Assertion(int kind) {
+            this.kind = kind;
+        }
+
+        @Override
+        void emit(ProgramBuilder builder) {
+            builder.emit(LinearPattern.ASSERT, kind, 0, null);
+        }
+    }
+
+    private static final class Group extends Node {
+        private final int index;
+        private final Node content;
+
+        Group(int index, Node content) {
+            this.index = index;
+            this.content = content;
+        }
+
+        @Override
+        void emit(ProgramBuilder builder) {
+            builder.emit(LinearPattern.SAVE, 2 * index, 0, null);
+            content.emit(builder);
+            builder.emit(LinearPattern.SAVE, 2 * index + 1, 0, null);
+        }
+    }
+
+    private static final class Concatenation extends Node {
+        private final List<Node> items;
+
+        Concatenation(List<Node> items) {
+            this.items = items;
+        }
+
+        @Override
+        void emit(ProgramBuilder builder) {
+            for (Node item : items) {
+                item.emit(builder);
+            }
+        }
+    }
+
+    private static final class Alternation extends Node {
+        private final List<Node> alternatives;
+
+        Alternation(List<Node> alternatives) {
+            this.alternatives = alternatives;
+        }
+
+        @Override
+        void emit(ProgramBuilder builder) {
+            int last = alternatives.size() - 1;
+            int[] jumps = new int[last];
+            for (int i = 0; i < last; i++) {
+                int split = builder.emit(LinearPattern.SPLIT, builder.size() + 1, -1, null);
+                alternatives.get(i).emit(builder);
+                jumps[i] = builder.emit(LinearPattern.JUMP, -1, 0, null);
+                builder.setArg2(split, builder.size());
+            }
+            alternatives.get(last).emit(builder);
+            for (int jump : jumps) {
+                builder.setArg1(jump, builder.size());
+            }
+        }
+    }
+
+    private static final class Repetition extends Node {
+        private final Node content;
+        private final int min;
+        private final int max;
+        private final boolean greedy;
+
+        Repetition(Node content, int min, int max, boolean greedy) {
+            this.content = content;
+            this.min = min;
+            this.max = max;
+            this.greedy = greedy;
+        }
+
+        @Override
+        void emit(ProgramBuilder builder) {
+            if (max == -1) {
+                for (int i = 1; i < min; i++) {
+                    content.emit(builder);
+                }
+                if (min > 0) {
+                    // x+ : L: x; split L, next
+                    int loop = builder.size();
+                    content.emit(builder);
+                    emitSplit(builder, loop, builder.size() + 1);
+                } else {
+                    // x* is compiled as (x+)? so that an iteration matching the empty string still
+                    // continues after the loop instead of dying on the already visited loop head
+                    int split = emitSplit(builder, builder.size() + 1, -1);
+                    int loop = builder.size();
+                    content.emit(builder);
+                    emitSplit(builder, loop, builder.size() + 1);
+                    patchSplit(builder, split, builder.size());
+                }
+                return;
+            }
+            for (int i = 0; i < min; i++) {
+                content.emit(builder);
+            }
+            // x{0,n} : each optional copy skips to the end when not taken
+            int[] splits = new int[max - min];
+            for (int i = 0; i < splits.length; i++) {
+                splits[i] = emitSplit(builder, builder.size() + 1, -1);
+                content.emit(builder);
+            }
+            for (int split : splits) {
+                patchSplit(builder, split, builder.size());
+            }
+        }
+
+        /**
+         * @param taken  target when the repetition continues
+         * @param skipped target when it stops, -1 if not known yet
+         */
+        private int emitSplit(ProgramBuilder builder, int taken, int skipped) {
+            return greedy
+                    ? builder.emit(LinearPattern.SPLIT, taken, skipped, null)
+                    : builder.emit(LinearPattern.SPLIT, skipped, taken, null);
+        }
+
+        private void patchSplit(ProgramBuilder builder, int split, int skipped) {
+            if (greedy) {
+                builder.setArg2(split, skipped);
+            } else {
+                builder.setArg1(split, skipped);
+            }
+        }
+    }
+
+    private static final class ProgramBuilder {
+        private final String regex;
+        private int[] ops = new int[16];
+        private int[] args1 = new int[16];
+        private int[] args2 = new int[16];
+        private IntPredicate[] predicates = new IntPredicate[16];
+        /** literal consumed by each instruction, -1 when it is not a single literal */
+        private int[] literals = new int[16];
+        private int size;
+
+        ProgramBuilder(String regex) {
+            this.regex = regex;
+        }
+
+        LinearPattern build(Node root, int groupCount) {
+            emit(LinearPattern.SAVE, 0, 0, null);
+            root.emit(this);
+            emit(LinearPattern.SAVE, 1, 0, null);
+            emit(LinearPattern.MATCH, 0, 0, null);
+            int firstChar = ops[1] == LinearPattern.CONSUME ? literals[1] : -1;
+            return new LinearPattern(regex, groupCount, Arrays.copyOf(ops, size), Arrays.copyOf(args1, size),
+                    Arrays.copyOf(args2, size), Arrays.copyOf(predicates, size), firstChar);
+        }
+
+        int size() {
+            return size;
+        }
+
+        void emitLiteral(char c) {
+            int pc = emit(LinearPattern.CONSUME, 0, 0, ch -> ch == c);
+            literals[pc] = c;
+        }
+
+        int emit(int op, int arg1, int arg2, IntPredicate predicate) {
+            if (size == MAX_PROGRAM_SIZE) {
+                throw new PatternSyntaxException("Pattern too large for the " + RegexEngines.LINEAR
+                        + " regex engine", regex, -1);
+            }
+            if (size == ops.length) {
+                int capacity = size * 2;
+                ops = Arrays.copyOf(ops, capacity);
+                args1 = Arrays.copyOf(args1, capacity);
+                args2 = Arrays.copyOf(args2, capacity);
+                predicates = Arrays.copyOf(predicates, capacity);
+                literals = Arrays.copyOf(literals, capacity);
+            }
+            ops[size] = op;
+            args1[size] = arg1;
+            args2[size] = arg2;
+            predicates[size] = predicate;
+            literals[size] = -1;
+            return size++;
+        }
+
+        void setArg1(int pc, int value) {
+            args1[pc] = value;
+        }
+
+        void setArg2(int pc, int value) {
+            args2[pc] = value;
+        }
+    }
+}
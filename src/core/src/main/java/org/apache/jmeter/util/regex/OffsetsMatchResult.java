@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.util.regex;
+
+import java.util.regex.MatchResult;
+
+/**
+ * Match result keeping the offsets of the groups and a reference to the input.
+ * Unlike {@link java.util.regex.Matcher#toMatchResult()} it does not copy the input to a {@link String},
+ * so it can be used on large {@link CharSequence} views of the response data.
+ */
+final class OffsetsMatchResult implements MatchResult {
+
+    private final CharSequence input;
+    /** start and end of each group, -1 for groups that did not participate in the match */
+    private final int[] offsets;
+
+    OffsetsMatchResult(CharSequence input, int[] offsets) {
+        this.input = input;
+        this.offsets = offsets;
+    }
+
+    @Override
+    public int start() {
+        return start(0);
+    }
+
+    @Override
+    public int start(int group) {
+        checkGroup(group);
+        return offsets[2 * group];
+    }
+
+    @Override
+    public int end() {
+        return end(0);
+    }
+
+    @Override
+    public int end(int group) {
+        checkGroup(group);
+        return offsets[2 * group + 1];
+    }
+
+    @Override
+    public String group() {
+        return group(0);
+    }
+
+    @Override
+    public String group(int group) {
+        int start = start(group);
+        if (start < 0) {
+            return null;
+        }
+        return input.subSequence(start, offsets[2 * group + 1]).toString();
+    }
+
+    @Override
+    public int groupCount() {
+        return offsets.length / 2 - 1;
+    }
+
+    private void checkGroup(int group) {
+        if (group < 0 || group > groupCount()) {
+            throw new IndexOutOfBoundsException("No group " + group);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.util.regex;
+
+import java.util.List;
+import java.util.regex.MatchResult;
+import java.util.regex.PatternSyntaxException;
+
+import org.apache.jmeter.util.JMeterUtils;
+import org.apache.oro.text.regex.MalformedPatternException;
+import org.apache.oro.text.regex.Pattern;
+import org.apache.oro.text.regex.PatternMatcherInput;
+import org.apache.oro.text.regex.Perl5Compiler;
+import org.apache.oro.text.regex.Perl5Matcher;
+
+/**
+ * Engine based on Jakarta ORO, the historical default of JMeter.
+ */
+final class OroRegexEngine extends AbstractRegexEngine {
+
+    OroRegexEngine() {
+        super(RegexEngines.ORO);
+    }
+
+    @Override
+    CompiledPattern doCompile(String regex) throws PatternSyntaxException {
+        Pattern pattern;
+        try {
+            pattern = new Perl5Compiler().compile(regex, Perl5Compiler.READ_ONLY_MASK);
+        } catch (MalformedPatternException e) {
+            throw new PatternSyntaxException(e.getMessage(), regex, -1);
+        }
+        return new CompiledPattern() {
+            @Override
+            public String pattern() {
+                return regex;
+            }
+
+            @Override
+            public boolean matches(CharSequence input) {
+                return JMeterUtils.getMatcher().matches(input.toString(), pattern);
+            }
+
+            @Override
+            public boolean find(CharSequence input) {
+                return JMeterUtils.getMatcher().contains(input.toString(), pattern);
+            }
+
+            @Override
+            public int findAll(CharSequence input, List<? super MatchResult> matches, int limit) {
+                Perl5Matcher matcher = JMeterUtils.getMatcher();
+                String text = input.toString();
+                PatternMatcherInput matcherInput = new PatternMatcherInput(text);
+                int found = 0;
+                try {
+                    while ((limit <= 0 || found < limit) && matcher.contains(matcherInput, pattern)) {
+                        org.apache.oro.text.regex.MatchResult match = matcher.getMatch();
+                        int groups = match.groups();
+                        int[] offsets = new int[2 * groups];
+                        for (int i = 0; i < groups; i++) {
+                            offsets[2 * i] = match.beginOffset(i);
+                            offsets[2 * i + 1] = match.endOffset(i);
+                        }
+                        matches.add(new OffsetsMatchResult(text, offsets));
+                        found++;
+                    }
+                } finally {
+                    JMeterUtils.clearMatcherMemory(matcher, pattern);
+                }
+                return found;
+            }
+
+            @Override
+            public String toString() {
+                return regex;
+            }
+        };
+    }
+}
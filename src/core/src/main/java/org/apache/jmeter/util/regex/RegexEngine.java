@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.util.regex;
+
+import java.util.regex.PatternSyntaxException;
+
+import org.apiguardian.api.API;
+
+/**
+ * Regular expression engine used by the regex based elements (Regular Expression Extractor,
+ * Response Assertion, __regexFunction).
+ * <p>
+ * The engine is selected with the {@code jmeter.regex.engine} property, see {@link RegexEngines}.
+ *
+ * @since 6.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+public interface RegexEngine {
+
+    /**
+     * @return the name of the engine, as used in the {@code jmeter.regex.engine} property
+     */
+    String getName();
+
+    /**
+     * Compiles a regular expression. Compiled patterns are kept in a cache shared by all the engines,
+     * bounded by the {@code jmeter.regex.patterncache.size} property.
+     *
+     * @param regex regular expression
+     * @return the compiled pattern
+     * @throws PatternSyntaxException when the expression is invalid or uses constructs the engine does not support
+     */
+    CompiledPattern compile(String regex) throws PatternSyntaxException;
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.util.regex;
+
+import java.util.regex.PatternSyntaxException;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.jmeter.samplers.SampleResult;
+import org.apache.jmeter.util.JMeterUtils;
+import org.apiguardian.api.API;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Gives access to the available {@link RegexEngine}s and to the one configured with the
+ * {@code jmeter.regex.engine} property:
+ * <ul>
+ *     <li>{@code oro}: Jakarta ORO, the default</li>
+ *     <li>{@code java}: {@link java.util.regex}</li>
+ *     <li>{@code linear}: an engine whose matching time is linear in the size of the input,
+ *     at the price of not supporting back references and look-around assertions</li>
+ * </ul>
+ * Any other value selects {@code java}, as in previous versions.
+ *
+ * @since 6.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+public final class RegexEngines {
+
+    public static final String ORO = "oro"; // $NON-NLS-1$
+    public static final String JAVA = "java"; // $NON-NLS-1$
+    public static final String LINEAR = "linear"; // $NON-NLS-1$
+
+    private static final RegexEngine ORO_ENGINE = new OroRegexEngine();
+    private static final RegexEngine JAVA_ENGINE = new JavaRegexEngine();
+    private static final RegexEngine LINEAR_ENGINE = new LinearRegexEngine();
+
+    // Note: cannot use static variables here, because they would be processed before the JMeter properties
+    // have been defined (Bug 52783)
+    private static final class LazyHolder {
+        private LazyHolder() {
+            super();
+        }
+
+        static final Cache<Pair<AbstractRegexEngine, String>, CompiledPattern> PATTERN_CACHE =
+                Caffeine
+                        .newBuilder()
+                        .maximumSize(JMeterUtils.getPropDefault("jmeter.regex.patterncache.size", 1000)) // $NON-NLS-1$
+                        .build();
+
+        static final RegexEngine CONFIGURED_ENGINE =
+                getEngine(JMeterUtils.getPropDefault("jmeter.regex.engine", ORO)); // $NON-NLS-1$
+
+        static final boolean MATCH_RESPONSE_BYTES =
+                JMeterUtils.getPropDefault("jmeter.regex.match_response_bytes", false); // $NON-NLS-1$
+    }
+
+    private RegexEngines() {
+        super();
+    }
+
+    /**
+     * @return the engine selected by the {@code jmeter.regex.engine} property
+     */
+    public static RegexEngine getConfiguredEngine() {
+        return LazyHolder.CONFIGURED_ENGINE;
+    }
+
+    /**
+     * @param name name of the engine (case insensitive)
+     * @return the engine with this name, or the {@code java} engine for unknown names
+     */
+    public static RegexEngine getEngine(String name) {
+        if (ORO.equalsIgnoreCase(name)) {
+            return ORO_ENGINE;
+        }
+        if (LINEAR.equalsIgnoreCase(name)) {
+            return LINEAR_ENGINE;
+        }
+        return JAVA_ENGINE;
+    }
+
+    /**
+     * @param engine engine to check
+     * @return true if the engine is Jakarta ORO
+     */
+    public static boolean isOro(RegexEngine engine) {
+        return engine == ORO_ENGINE;
+    }
+
+    /**
+     * Gets the response data of a sample as the input of a regular expression.
+     * When the {@code jmeter.regex.match_response_bytes} property is true, the response bytes are
+     * read directly when possible instead of being decoded to a {@link String}.
+     *
+     * @param result sample
+     * @return response data to match
+     * @see SampleResult#getResponseDataAsCharSequence()
+     */
+    public static CharSequence getResponseDataInput(SampleResult result) {
+        if (LazyHolder.MATCH_RESPONSE_BYTES) {
+            return result.getResponseDataAsCharSequence();
+        }
+        return result.getResponseDataAsString();
+    }
+
+    static CompiledPattern getCachedPattern(AbstractRegexEngine engine, String regex) throws PatternSyntaxException {
+        return LazyHolder.PATTERN_CACHE.get(Pair.of(engine, regex), key -> key.getLeft().doCompile(key.getRight()));
+    }
+}
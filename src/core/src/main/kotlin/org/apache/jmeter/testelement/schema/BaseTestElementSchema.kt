@@ -54,8 +54,31 @@ public abstract class BaseTestElementSchema {
 
     private val propertyGroups = mutableMapOf<PropertyDescriptor<*, *>, BasePropertyGroupSchema<*>>()
 
+    private val propertyIndexes = HashMap<String, Int>()
+
+    /**
+     * Number of distinct property names declared in the schema, including the ones declared in subgroups.
+     * @see getPropertyIndex
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public val propertyCount: Int
+        get() = propertyIndexes.size
+
+    /**
+     * Returns the position of a property in the schema, so test elements can store the properties declared
+     * by their schema in an array rather than looking them up by name.
+     * @param name JMeter property name (e.g. `TestPlan.enabled`)
+     * @return index in `0 until propertyCount`, or `-1` if the schema does not declare the property
+     * @since 6.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+    public fun getPropertyIndex(name: String): Int =
+        propertyIndexes[name] ?: -1
+
     private fun <Property : PropertyDescriptor<*, *>> Property.register(): Property {
         propertyDescriptors[name] = this
+        propertyIndexes.putIfAbsent(name, propertyIndexes.size)
         return this
     }
 
@@ -24,6 +24,7 @@ import org.apache.jmeter.testelement.schema.PropertiesAccessor
 import org.apache.jmeter.threads.AbstractThreadGroup
 import org.apache.jmeter.threads.JMeterContextService
 import org.apache.jmeter.threads.JMeterThread
+import org.apache.jmeter.threads.JMeterThreadFactory
 import org.apache.jmeter.threads.JMeterThreadMonitor
 import org.apache.jmeter.threads.ListenerNotifier
 import org.apache.jmeter.threads.TestCompilerHelper
@@ -142,6 +143,8 @@ public class OpenModelThreadGroup :
                 }
                 val jmeterThread = jmeterThreadFactory(threadNumber++)
                 jmeterThread.endTime = endTime
+                // The delay of the thread start is reported as the lateness of its first sample
+                jmeterThread.scheduledStartTime = scheduledTime
                 activeThreads[jmeterThread] = executorService.submit {
                     Thread.currentThread().name = jmeterThread.threadName
                     jmeterThread.run()
@@ -197,7 +200,8 @@ public class OpenModelThreadGroup :
     ) {
         try {
             val jMeterContext = JMeterContextService.getContext()
-            val variables = jMeterContext.variables
+            // The snapshot is immutable, so it is safe to read it from the starter thread
+            val variables = jMeterContext.variables.snapshot()
             val schedule = scheduleString
             log.info("Starting OpenModelThreadGroup#{} with schedule {}", threadGroupIndex, schedule)
             val parsedSchedule = ThreadSchedule(schedule)
@@ -205,7 +209,9 @@ public class OpenModelThreadGroup :
             val rnd = if (seed == 0L) Random() else Random(seed)
             val gen = ThreadScheduleProcessGenerator(rnd, parsedSchedule)
             val testStartTime = JMeterContextService.getTestStartTime()
-            val executorService = Executors.newCachedThreadPool()
+            val virtualThreads = JMeterThreadFactory.isVirtualThreadsEnabled()
+            log.info("OpenModelThreadGroup#{} virtualThreads={}", threadGroupIndex, virtualThreads)
+            val executorService = JMeterThreadFactory.newExecutorService(virtualThreads)
             this.executorService = executorService
             val starter = ThreadsStarter(testStartTime, executorService, activeThreads, gen) { threadNumber ->
                 val clonedTree = cloneTree(threadGroupTree)
@@ -18,6 +18,7 @@
 package org.apache.jmeter.engine;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -127,11 +128,33 @@ public class DistributedRunnerTest {
         obj.exit(hosts);
     }
 
+    @Test
+    public void testParallelStart() {
+        createJmeterEnv();
+        JMeterUtils.setProperty(DistributedRunner.RETRIES_NUMBER, "1");
+        JMeterUtils.setProperty(DistributedRunner.CONTINUE_ON_FAIL, "false");
+        JMeterUtils.setProperty(DistributedRunner.START_THREADS, "2");
+        DistributedRunnerEmul obj = new DistributedRunnerEmul();
+        List<EmulatorEngine> engines = new ArrayList<>();
+        List<String> hosts = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            engines.add(new EmulatorEngine());
+            hosts.add("test" + i);
+        }
+        obj.engines.addAll(engines);
+        obj.init(hosts, new HashTree());
+        obj.start();
+        for (EmulatorEngine engine : engines) {
+            assertTrue(engine.started, "every engine is started");
+        }
+        obj.exit(hosts);
+    }
+
     private static class DistributedRunnerEmul extends DistributedRunner {
         public List<EmulatorEngine> engines = new ArrayList<>();
 
         @Override
-        protected JMeterEngine createEngine(String address) {
+        protected synchronized JMeterEngine createEngine(String address) {
             if (engines.isEmpty()) {
                 throw new IllegalArgumentException("Throwing on Engine creation to simulate failure");
             }
@@ -144,6 +167,7 @@ public class DistributedRunnerTest {
     private static class EmulatorEngine implements JMeterEngine {
         private static final Logger log = LoggerFactory.getLogger(EmulatorEngine.class);
         private String host;
+        private volatile boolean started;
 
         public EmulatorEngine() {
             log.debug("Creating emulator");
@@ -157,6 +181,7 @@ public class DistributedRunnerTest {
         @Override
         public void runTest() {
             log.debug("Running {}", host);
+            started = true;
         }
 
         @Override
@@ -26,6 +26,11 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.jmeter.junit.JMeterTestCase;
 import org.hamcrest.CoreMatchers;
@@ -107,6 +112,46 @@ public class CsvSampleReaderTest extends JMeterTestCase {
         }
     }
 
+    @Test
+    public void testPartitionsReadTheSamplesOfTheFile() throws IOException {
+        File resultFile = File.createTempFile("partitioned", ".csv");
+        resultFile.deleteOnExit();
+        try (Writer writer = Files.newBufferedWriter(resultFile.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("timeStamp,elapsed,label,responseCode\n");
+            for (int i = 0; i < 1000; i++) {
+                // Quoted line ends must not end a partition
+                String label = i % 3 == 0 ? "\"label\n" + i + "\nwith \"\"quotes\"\"\"" : "label " + i;
+                writer.write(1_600_000_000_000L + i + "," + i + "," + label + ",200\n");
+            }
+        }
+        List<String> expected = new ArrayList<>();
+        try (CsvSampleReader reader = new CsvSampleReader(resultFile, ',', true)) {
+            while (reader.hasNext()) {
+                expected.add(reader.readSample().getName());
+            }
+        }
+        List<CsvSampleReader> partitions = CsvSampleReader.partition(resultFile, ',', 4);
+        assertEquals(4, partitions.size(), "number of partitions");
+        List<String> actual = new ArrayList<>();
+        for (CsvSampleReader partition : partitions) {
+            try (partition) {
+                assertEquals(0, partition.peek().getSampleRow(), "first row of the partition");
+                while (partition.hasNext()) {
+                    actual.add(partition.readSample().getName());
+                }
+            }
+        }
+        assertEquals(1000, expected.size(), "samples read sequentially");
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testSinglePartitionReadsTheWholeFile() {
+        List<CsvSampleReader> partitions = CsvSampleReader.partition(tempCsv, ',', 1);
+        assertEquals(1, partitions.size());
+        partitions.get(0).close();
+    }
+
     @Test
     public void testClose() {
         CsvSampleReader reader = new CsvSampleReader(tempCsv, metadata);
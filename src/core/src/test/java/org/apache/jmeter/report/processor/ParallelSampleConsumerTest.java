@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.report.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.jmeter.report.core.Sample;
+import org.apache.jmeter.report.core.SampleException;
+import org.apache.jmeter.report.core.SampleMetadata;
+import org.apache.jmeter.save.CSVSaveService;
+import org.junit.jupiter.api.Test;
+
+public class ParallelSampleConsumerTest {
+
+    private static final SampleMetadata METADATA = new SampleMetadata(',', CSVSaveService.LABEL);
+
+    private static class RecordingConsumer extends AbstractSampleConsumer {
+        private final List<Long> rows = new ArrayList<>();
+        private String startThread;
+        private String consumeThread;
+
+        @Override
+        public void startConsuming() {
+            startThread = Thread.currentThread().getName();
+        }
+
+        @Override
+        public void consume(Sample sample, int channel) {
+            if ("fail".equals(sample.getData(0))) {
+                throw new IllegalStateException("failing on purpose");
+            }
+            consumeThread = Thread.currentThread().getName();
+            rows.add(sample.getSampleRow());
+        }
+
+        @Override
+        public void stopConsuming() {
+            setDataToContext(getName(), rows.size());
+        }
+    }
+
+    private static List<RecordingConsumer> run(ParallelSampleConsumer parallel, int consumerCount,
+            SampleContext context, String... labels) {
+        List<RecordingConsumer> consumers = new ArrayList<>();
+        for (int i = 0; i < consumerCount; i++) {
+            RecordingConsumer consumer = new RecordingConsumer();
+            consumer.setName("consumer-" + i);
+            consumers.add(consumer);
+            parallel.addSampleConsumer(consumer);
+        }
+        parallel.setSampleContext(context);
+        parallel.setConsumedMetadata(METADATA, 0);
+        parallel.startConsuming();
+        for (int i = 0; i < labels.length; i++) {
+            parallel.consume(new Sample(i, METADATA, labels[i]), 0);
+        }
+        parallel.stopConsuming();
+        return consumers;
+    }
+
+    @Test
+    public void everyConsumerReceivesAllSamplesInOrder() {
+        ParallelSampleConsumer parallel = new ParallelSampleConsumer(3);
+        parallel.setName("parallel");
+        SampleContext context = new SampleContext();
+        String[] labels = new String[5000];
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = "label" + i;
+            expected.add((long) i);
+        }
+
+        List<RecordingConsumer> consumers = run(parallel, 5, context, labels);
+
+        String mainThread = Thread.currentThread().getName();
+        for (RecordingConsumer consumer : consumers) {
+            assertEquals(expected, consumer.rows, consumer.getName());
+            assertNotEquals(mainThread, consumer.startThread, "startConsuming runs on a worker");
+            assertEquals(consumer.startThread, consumer.consumeThread, "one thread per consumer");
+            assertEquals(labels.length, context.getData().get(consumer.getName()));
+        }
+    }
+
+    @Test
+    public void consumerFailureIsReportedToProducer() {
+        ParallelSampleConsumer parallel = new ParallelSampleConsumer(2);
+        assertThrows(SampleException.class,
+                () -> run(parallel, 2, new SampleContext(), "a", "fail", "b"));
+    }
+}
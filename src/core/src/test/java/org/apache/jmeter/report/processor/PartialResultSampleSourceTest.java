@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.report.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.jmeter.report.core.Sample;
+import org.apache.jmeter.report.core.SampleException;
+import org.apache.jmeter.report.core.SampleMetadata;
+import org.apache.jmeter.save.CSVSaveService;
+import org.apache.jorphan.math.MergeableHistogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PartialResultSampleSourceTest {
+
+    private static final SampleMetadata METADATA = new SampleMetadata(',',
+            CSVSaveService.CSV_ELAPSED, CSVSaveService.SUCCESSFUL, CSVSaveService.RESPONSE_MESSAGE);
+
+    private static final Map<String, Supplier<Aggregator>> AGGREGATORS = Map.of(
+            "max", MaxAggregator::new,
+            "min", MinAggregator::new,
+            "sum", SumAggregator::new,
+            "mean", MeanAggregator::new);
+
+    @TempDir
+    Path tempDir;
+
+    private static List<SampleConsumer> createConsumers() {
+        List<SampleConsumer> consumers = new ArrayList<>();
+        AggregateConsumer median = new AggregateConsumer(new PercentileAggregator(50),
+                sample -> (double) sample.getElapsedTime());
+        median.setName("median");
+        consumers.add(median);
+        AGGREGATORS.forEach((name, aggregator) -> {
+            AggregateConsumer consumer = new AggregateConsumer(aggregator.get(),
+                    sample -> (double) sample.getElapsedTime());
+            consumer.setName(name);
+            consumers.add(consumer);
+        });
+        RequestsSummaryConsumer requests = new RequestsSummaryConsumer();
+        requests.setName("requests");
+        consumers.add(requests);
+        return consumers;
+    }
+
+    private static SampleContext consume(boolean partialResultMode, long... elapsedTimes) {
+        SampleContext context = new SampleContext();
+        context.setPartialResultMode(partialResultMode);
+        CsvFileSampleSource.PrivateProducer producer = new CsvFileSampleSource.PrivateProducer();
+        producer.setSampleConsumers(createConsumers());
+        producer.setSampleContext(context);
+        producer.setProducedMetadata(METADATA, 0);
+        producer.startProducing();
+        for (int i = 0; i < elapsedTimes.length; i++) {
+            // Every third sample fails
+            producer.produce(new Sample(i, METADATA,
+                    String.valueOf(elapsedTimes[i]), String.valueOf(i % 3 != 0), "OK"), 0);
+        }
+        producer.stopProducing();
+        return context;
+    }
+
+    private File writePartialResults(String name, long... elapsedTimes) throws IOException {
+        Map<String, Serializable> partialResults = new HashMap<>();
+        consume(true, elapsedTimes).getData()
+                .forEach((key, value) -> partialResults.put(key, (Serializable) value));
+        File file = tempDir.resolve(name + PartialResultSampleSource.FILE_EXTENSION).toFile();
+        PartialResultSampleSource.writePartialResults(file, partialResults);
+        return file;
+    }
+
+    private static SampleContext merge(List<File> files) {
+        SampleContext context = new SampleContext();
+        PartialResultSampleSource source = new PartialResultSampleSource(files);
+        source.setSampleConsumers(createConsumers());
+        source.setSampleContext(context);
+        source.run();
+        return context;
+    }
+
+    private static double valueOf(SampleContext context, String name) {
+        return (Double) ((ValueResultData) context.getData().get(name)).getValue();
+    }
+
+    private static double resultOf(SampleContext context, String name, String key) {
+        return (Double) ((ValueResultData) ((MapResultData) context.getData().get(name)).getResult(key)).getValue();
+    }
+
+    @Test
+    public void mergedPartialResultsMatchAllSamples() throws IOException {
+        long[] node1 = {12, 40, 7, 300, 25, 18};
+        long[] node2 = {90, 3, 55, 61};
+        long[] all = {12, 40, 7, 300, 25, 18, 90, 3, 55, 61};
+
+        SampleContext expected = consume(false, all);
+        SampleContext merged = merge(List.of(
+                writePartialResults("node1", node1), writePartialResults("node2", node2)));
+
+        for (String name : AGGREGATORS.keySet()) {
+            assertEquals(valueOf(expected, name), valueOf(merged, name), 1e-9, name);
+        }
+        // Percentiles of merged results are computed from histograms
+        MergeableHistogram histogram = new MergeableHistogram();
+        for (long elapsedTime : all) {
+            histogram.record(elapsedTime);
+        }
+        assertEquals(histogram.getValueAtPercentile(50), valueOf(merged, "median"), 0);
+        assertEquals(resultOf(expected, "requests", "KoPercent"), resultOf(merged, "requests", "KoPercent"), 1e-9);
+        assertEquals(resultOf(expected, "requests", "OkPercent"), resultOf(merged, "requests", "OkPercent"), 1e-9);
+    }
+
+    @Test
+    public void partialResultModeStoresNoResult() {
+        SampleContext context = consume(true, 1, 2, 3);
+        assertEquals(long[].class, context.getData().get("requests").getClass());
+    }
+
+    @Test
+    public void readsPartialResultTypes() throws IOException {
+        Top5ErrorsSummaryData errors = new Top5ErrorsSummaryData();
+        errors.registerError("500/Internal Server Error");
+        errors.incTotal();
+        HashMap<Double, Serializable> series = new HashMap<>();
+        series.put(1.5, new double[] {2, 3});
+        series.put(2.5, 4L);
+        Map<String, Serializable> partialResults = new HashMap<>();
+        partialResults.put("errors", errors);
+        partialResults.put("series", series);
+        partialResults.put("histogram", new MergeableHistogram());
+        File file = tempDir.resolve("types" + PartialResultSampleSource.FILE_EXTENSION).toFile();
+        PartialResultSampleSource.writePartialResults(file, partialResults);
+
+        Map<String, Serializable> read = PartialResultSampleSource.readPartialResults(file);
+        assertEquals(1L, ((Top5ErrorsSummaryData) read.get("errors")).getTotal());
+        assertEquals(4L, ((Map<?, ?>) read.get("series")).get(2.5));
+    }
+
+    @Test
+    public void rejectsUnexpectedClasses() throws IOException {
+        Map<String, Serializable> partialResults = new HashMap<>();
+        partialResults.put("list", new ArrayList<>(List.of(1L)));
+        File file = tempDir.resolve("list" + PartialResultSampleSource.FILE_EXTENSION).toFile();
+        PartialResultSampleSource.writePartialResults(file, partialResults);
+
+        assertThrows(IOException.class, () -> PartialResultSampleSource.readPartialResults(file));
+    }
+
+    @Test
+    public void rejectsOtherFiles() throws IOException {
+        File file = tempDir.resolve("results" + PartialResultSampleSource.FILE_EXTENSION).toFile();
+        Files.write(file.toPath(), new byte[] {1, 2, 3});
+        assertThrows(SampleException.class, () -> merge(List.of(file)));
+    }
+}
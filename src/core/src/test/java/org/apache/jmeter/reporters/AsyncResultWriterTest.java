@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.reporters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.jmeter.junit.JMeterTestCase;
+import org.apache.jmeter.samplers.SampleEvent;
+import org.junit.jupiter.api.Test;
+
+class AsyncResultWriterTest extends JMeterTestCase {
+
+    @Test
+    void eventAfterCloseIsDropped() {
+        LongAdder sunk = new LongAdder();
+        AsyncResultWriter writer = new AsyncResultWriter("test.jtl", e -> sunk.increment(), () -> { },
+                16, AsyncResultWriter.OverflowPolicy.BLOCK);
+        writer.start();
+        assertTrue(writer.enqueue(new SampleEvent()), "queued while running");
+        writer.close();
+        assertFalse(writer.enqueue(new SampleEvent()), "queued after close");
+        assertEquals(1, sunk.sum(), "events given to the sink");
+        assertEquals(1, writer.getWrittenCount(), "written");
+        assertEquals(1, writer.getDroppedCount(), "dropped");
+    }
+
+    @Test
+    void acceptedEventsAreWrittenWhenClosingConcurrently() throws InterruptedException {
+        LongAdder sunk = new LongAdder();
+        AsyncResultWriter writer = new AsyncResultWriter("test.jtl", e -> sunk.increment(), () -> { },
+                64, AsyncResultWriter.OverflowPolicy.DROP);
+        writer.start();
+        int eventsPerThread = 50_000;
+        LongAdder accepted = new LongAdder();
+        List<Thread> samplers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread sampler = new Thread(() -> {
+                SampleEvent event = new SampleEvent();
+                for (int i = 0; i < eventsPerThread; i++) {
+                    if (writer.enqueue(event)) {
+                        accepted.increment();
+                    }
+                }
+            });
+            samplers.add(sampler);
+            sampler.start();
+        }
+        // Close while the samplers are still queueing
+        while (writer.getWrittenCount() == 0) {
+            Thread.yield();
+        }
+        writer.close();
+        for (Thread sampler : samplers) {
+            sampler.join();
+        }
+        assertEquals(accepted.sum(), sunk.sum(), "every accepted event reached the sink");
+        assertEquals(accepted.sum(), writer.getWrittenCount(), "written");
+        assertEquals(4L * eventsPerThread - accepted.sum(), writer.getDroppedCount(), "dropped");
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.reporters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.jmeter.samplers.SampleResult;
+import org.junit.jupiter.api.Test;
+
+class SummariserAccumulatorTest {
+
+    private static SampleResult createSampleResult(long elapsed, boolean success) {
+        SampleResult result = SampleResult.createTestSample(1000, 1000 + elapsed);
+        result.setSuccessful(success);
+        return result;
+    }
+
+    @Test
+    void drainFoldsStatisticsAndResets() {
+        SummariserAccumulator accumulator = new SummariserAccumulator();
+        accumulator.addSample(createSampleResult(10, true));
+        accumulator.addSample(createSampleResult(30, false));
+
+        SummariserRunningSample delta = accumulator.drain("DELTA", System.currentTimeMillis());
+        assertEquals(2, delta.getNumSamples(), "samples");
+        assertEquals(1, delta.getErrorCount(), "errors");
+        assertEquals(10, delta.getMin(), "min");
+        assertEquals(30, delta.getMax(), "max");
+        assertEquals(20, delta.getAverage(), "average");
+
+        SummariserRunningSample next = accumulator.drain("DELTA", System.currentTimeMillis());
+        assertEquals(0, next.getNumSamples(), "samples after drain");
+        assertEquals(Long.MAX_VALUE, next.getMin(), "min after drain");
+        assertEquals(Long.MIN_VALUE, next.getMax(), "max after drain");
+    }
+
+    @Test
+    void drainsWhileAddingKeepEverySample() throws Exception {
+        SummariserAccumulator accumulator = new SummariserAccumulator();
+        int samplesPerThread = 20_000;
+        int threadCount = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        List<Future<?>> adders = new ArrayList<>();
+        for (int t = 1; t <= threadCount; t++) {
+            // Each thread has its own elapsed time, odd threads only add errors
+            long elapsed = 2L * t;
+            boolean success = t % 2 == 0;
+            adders.add(executor.submit(() -> {
+                for (int i = 0; i < samplesPerThread; i++) {
+                    accumulator.addSample(createSampleResult(elapsed, success));
+                }
+            }));
+        }
+        executor.shutdown();
+        List<SummariserRunningSample> deltas = new ArrayList<>();
+        do {
+            deltas.add(accumulator.drain("DELTA", System.currentTimeMillis()));
+        } while (!executor.awaitTermination(1, TimeUnit.MILLISECONDS));
+        for (Future<?> adder : adders) {
+            adder.get();
+        }
+        deltas.add(accumulator.drain("DELTA", System.currentTimeMillis()));
+
+        SummariserRunningSample total = new SummariserRunningSample("TOTAL");
+        deltas.forEach(total::addSample);
+        assertEquals((long) threadCount * samplesPerThread, total.getNumSamples(), "samples");
+        assertEquals((long) threadCount / 2 * samplesPerThread, total.getErrorCount(), "errors");
+        assertEquals(5, total.getAverage(), "average of 2, 4, 6 and 8 ms");
+        assertEquals(2, total.getMin(), "min");
+        assertEquals(8, total.getMax(), "max");
+    }
+}
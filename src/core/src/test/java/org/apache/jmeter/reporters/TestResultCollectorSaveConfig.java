@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.reporters;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.jmeter.junit.JMeterTestCase;
+import org.apache.jmeter.samplers.SampleEvent;
+import org.apache.jmeter.samplers.SampleResult;
+import org.apache.jmeter.samplers.SampleSaveConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestResultCollectorSaveConfig extends JMeterTestCase {
+
+    @TempDir
+    Path tempDir;
+
+    private static ResultCollector createCollector(Path file, boolean xml) {
+        SampleSaveConfiguration config = new SampleSaveConfiguration();
+        config.setAsXml(xml);
+        config.setLabel(xml);
+        ResultCollector collector = new ResultCollector();
+        collector.setFilename(file.toString());
+        collector.setSaveConfig(config);
+        return collector;
+    }
+
+    @Test
+    public void eachFileIsFormattedWithItsOwnConfiguration() throws IOException {
+        Path csvFile = tempDir.resolve("results.csv");
+        Path xmlFile = tempDir.resolve("results.xml");
+        ResultCollector csv = createCollector(csvFile, false);
+        ResultCollector xml = createCollector(xmlFile, true);
+        SampleResult result = SampleResult.createTestSample(1000, 1010);
+        result.setSampleLabel("Shared sample");
+
+        csv.testStarted();
+        xml.testStarted();
+        SampleEvent event = new SampleEvent(result, "Thread Group");
+        csv.sampleOccurred(event);
+        xml.sampleOccurred(event);
+        csv.testEnded();
+        xml.testEnded();
+
+        String csvContent = new String(Files.readAllBytes(csvFile), StandardCharsets.UTF_8);
+        String xmlContent = new String(Files.readAllBytes(xmlFile), StandardCharsets.UTF_8);
+        assertFalse(csvContent.contains("<sample"), () -> "CSV file contains XML: " + csvContent);
+        assertFalse(csvContent.contains("Shared sample"), () -> "CSV configuration does not save labels: " + csvContent);
+        assertTrue(xmlContent.contains("lb=\"Shared sample\""), () -> "XML file should contain the label: " + xmlContent);
+    }
+}
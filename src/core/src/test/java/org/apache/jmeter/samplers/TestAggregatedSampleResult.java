@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.samplers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TestAggregatedSampleResult {
+
+    private static SampleResult sample(long time, boolean ok, String code) {
+        SampleResult res = SampleResult.createTestSample(1000, 1000 + time);
+        res.setSampleLabel("label");
+        res.setSuccessful(ok);
+        res.setResponseCode(code);
+        res.setBytes(10L);
+        return res;
+    }
+
+    @Test
+    void testCountsAndTimes() {
+        AggregatedSampleResult aggregate = new AggregatedSampleResult(sample(20, true, "200"));
+        aggregate.add(sample(20, true, "200"));
+        aggregate.add(sample(5, true, "200"));
+        aggregate.add(sample(300, false, "500"));
+        aggregate.add(sample(100, false, "500"));
+        aggregate.add(sample(50, false, "404"));
+
+        assertEquals(5, aggregate.getSampleCount());
+        assertEquals(3, aggregate.getErrorCount());
+        assertEquals(2, aggregate.getSuccessTimes().getCount());
+        assertEquals(3, aggregate.getFailureTimes().getCount());
+        assertEquals(475, aggregate.getTime());
+        assertEquals(5, aggregate.getMinTime());
+        assertEquals(300, aggregate.getMaxTime());
+        assertEquals(50, aggregate.getBytesAsLong());
+    }
+
+    @Test
+    void testErrorCounts() {
+        AggregatedSampleResult aggregate = new AggregatedSampleResult(sample(10, false, "500"));
+        aggregate.add(sample(10, false, "500"));
+        aggregate.add(sample(10, false, "500"));
+        aggregate.add(sample(10, false, "404"));
+        aggregate.add(sample(10, true, "200"));
+
+        List<String> errors = new ArrayList<>();
+        for (AggregatedSampleResult.ErrorCount error : aggregate.getErrorCounts()) {
+            errors.add(error.getSample().getResponseCode() + "=" + error.getCount());
+        }
+        errors.sort(null);
+        assertEquals(List.of("404=1", "500=2"), errors);
+    }
+
+    @Test
+    void testFailuresOnly() {
+        AggregatedSampleResult aggregate = new AggregatedSampleResult(sample(40, false, "500"));
+        aggregate.add(sample(40, false, "500"));
+        aggregate.add(sample(70, false, "500"));
+
+        assertEquals(40, aggregate.getMinTime());
+        assertEquals(70, aggregate.getMaxTime());
+        assertEquals(0, aggregate.getSuccessTimes().getCount());
+    }
+}
@@ -17,6 +17,9 @@
 
 package org.apache.jmeter.samplers;
 
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.apache.jmeter.junit.JMeterTestCase;
 import org.apache.jmeter.testelement.TestPlan;
 import org.apache.jmeter.util.Calculator;
@@ -41,6 +44,17 @@ class TestSampleResult implements JMeterSerialTest {
         }
     }
 
+    @Test
+    void testCorrectedTimeIncludesLateStart() {
+        SampleResult res = SampleResult.createTestSample(1000, 1050);
+        Assertions.assertEquals(50, res.getCorrectedTime(), "Sample without intended start time is not corrected");
+        res.setIntendedStartTime(900);
+        Assertions.assertEquals(150, res.getCorrectedTime(), "Sample started 100 ms late");
+        res.setIntendedStartTime(1010);
+        Assertions.assertEquals(50, res.getCorrectedTime(), "Sample started early is not corrected");
+        Assertions.assertEquals(1010, new SampleResult(res).getIntendedStartTime());
+    }
+
     @Test
     void testElapsedFalse() throws Exception {
         SampleResult res = new SampleResult(false);
@@ -381,4 +395,40 @@ class TestSampleResult implements JMeterSerialTest {
         Assertions.assertFalse(secondResult.markFile(null), "Expected false on first call of markFile with null");
         Assertions.assertTrue(secondResult.markFile(null), "Expected true on second call of markFile with null");
     }
+
+    @Test
+    void testParsedResponseDataIsSharedUntilResponseChanges() {
+        SampleResult result = new SampleResult();
+        result.setResponseData("first", null);
+        AtomicInteger parseCount = new AtomicInteger();
+        ParsedResponseDataCache.Parser<String, RuntimeException> parser = r -> {
+            parseCount.incrementAndGet();
+            return r.getResponseDataAsString().toUpperCase(Locale.ROOT);
+        };
+
+        Assertions.assertEquals("FIRST", result.getParsedResponseData("upper", parser));
+        Assertions.assertEquals("FIRST", result.getParsedResponseData("upper", parser));
+        Assertions.assertEquals(1, parseCount.get(), "Response data should be parsed once per kind");
+
+        result.setResponseData("second", null);
+        Assertions.assertEquals("SECOND", result.getParsedResponseData("upper", parser));
+        Assertions.assertEquals(2, parseCount.get(), "Setting response data should invalidate parsed data");
+    }
+
+    @Test
+    void testResponseDataAsCharSequence() {
+        SampleResult result = new SampleResult();
+        result.setResponseData("plain ascii", "UTF-8");
+        CharSequence ascii = result.getResponseDataAsCharSequence();
+        Assertions.assertEquals("plain ascii", ascii.toString());
+        Assertions.assertEquals("ascii", ascii.subSequence(6, 11).toString());
+
+        result.setResponseData("caf\u00e9", "UTF-8");
+        Assertions.assertEquals("caf\u00e9", result.getResponseDataAsCharSequence().toString());
+
+        result.setResponseData("caf\u00e9", "ISO-8859-1");
+        CharSequence latin1 = result.getResponseDataAsCharSequence();
+        Assertions.assertEquals(4, latin1.length());
+        Assertions.assertEquals('\u00e9', latin1.charAt(3));
+    }
 }
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.samplers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.jmeter.assertions.AssertionResult;
+import org.apache.jmeter.junit.JMeterTestCase;
+import org.junit.jupiter.api.Test;
+
+class TestSampleStreamCodec extends JMeterTestCase {
+
+    private static SampleResult result(String label, long timeStamp, boolean success) throws IOException {
+        SampleResult result = new SampleResult();
+        result.setStampAndTime(timeStamp, 42);
+        result.setSampleLabel(label);
+        result.setSuccessful(success);
+        result.setResponseCode(success ? "200" : "500");
+        result.setResponseMessage(success ? "OK" : "Internal Server Error");
+        result.setThreadName("Thread Group 1-1");
+        result.setDataType(SampleResult.TEXT);
+        result.setLatency(12);
+        result.setConnectTime(3);
+        result.setSentBytes(128);
+        result.setHeadersSize(100);
+        result.setBodySize(1000L);
+        result.setGroupThreads(5);
+        result.setAllThreads(10);
+        result.setURL(new URL("http://jmeter.apache.org/" + label));
+        result.setResponseData("response of " + label, StandardCharsets.UTF_8.name());
+        return result;
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        SampleResult first = result("home", 1_700_000_000_000L, true);
+        first.setIntendedStartTime(first.getTimeStamp() - 5);
+        first.storeSubResult(result("home-0", 1_700_000_000_001L, true), false);
+        SampleResult second = result("login", 1_699_999_999_990L, false);
+        AssertionResult assertion = new AssertionResult("Response Assertion");
+        assertion.setFailure(true);
+        assertion.setFailureMessage("Test failed: code expected to equal 200");
+        second.addAssertionResult(assertion);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SampleStreamCodec.Encoder encoder = new SampleStreamCodec.Encoder(out, "server1");
+        byte[] token = new byte[SampleStreamCodec.TOKEN_LENGTH];
+        Arrays.fill(token, (byte) 7);
+        encoder.writeOpen(7, token);
+        encoder.writeBatch(7, Arrays.asList(new SampleEvent(first, "Thread Group"), new SampleEvent(second, "Thread Group")));
+        encoder.writeEnd(7);
+        encoder.close();
+
+        SampleStreamCodec.Decoder decoder = new SampleStreamCodec.Decoder(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals("server1", decoder.getHostname());
+        assertEquals(SampleStreamCodec.FRAME_OPEN, decoder.readFrame());
+        assertEquals(7, decoder.getChannel());
+        assertArrayEquals(token, decoder.getToken());
+        assertEquals(SampleStreamCodec.FRAME_BATCH, decoder.readFrame());
+        assertEquals(7, decoder.getChannel());
+        List<SampleEvent> events = decoder.readEvents();
+        assertEquals(2, events.size());
+        assertEquals("Thread Group", events.get(0).getThreadGroup());
+        assertEquals(SampleEvent.HOSTNAME, events.get(0).getHostname());
+        assertSameResult(first, events.get(0).getResult());
+        assertSameResult(second, events.get(1).getResult());
+        assertEquals(SampleStreamCodec.FRAME_END, decoder.readFrame());
+        assertEquals(7, decoder.getChannel());
+        assertEquals(-1, decoder.readFrame());
+    }
+
+    @Test
+    void testRepeatedStringsAreSentOnce() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SampleStreamCodec.Encoder encoder = new SampleStreamCodec.Encoder(out, "server1");
+        encoder.writeBatch(1, List.of(new SampleEvent(result("home", 1_700_000_000_000L, true), "Thread Group")));
+        int firstSize = out.size();
+        encoder.writeBatch(1, List.of(new SampleEvent(result("home", 1_700_000_000_100L, true), "Thread Group")));
+        int secondSize = out.size() - firstSize;
+        assertTrue(secondSize < firstSize / 2,
+                () -> "second sample should reference the strings of the first one, sizes: " + firstSize + ", " + secondSize);
+    }
+
+    @Test
+    void testOversizedHostnameIsRejected() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(SampleStreamCodec.MAGIC);
+        out.write(SampleStreamCodec.VERSION);
+        SampleStreamCodec.writeVarLong(out, 1 << 29);
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        assertThrows(IOException.class, () -> new SampleStreamCodec.Decoder(in));
+    }
+
+    @Test
+    void testTokenOfWrongLengthIsRejected() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new SampleStreamCodec.Encoder(out, "server1").flush();
+        out.write(SampleStreamCodec.FRAME_OPEN);
+        SampleStreamCodec.writeVarLong(out, 1);
+        SampleStreamCodec.writeVarLong(out, 1 << 29);
+        SampleStreamCodec.Decoder decoder = new SampleStreamCodec.Decoder(new ByteArrayInputStream(out.toByteArray()));
+        assertThrows(IOException.class, decoder::readFrame);
+    }
+
+    @Test
+    void testBatchHeaderIsReadBeforeTheEvents() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new SampleStreamCodec.Encoder(out, "server1").flush();
+        out.write(SampleStreamCodec.FRAME_BATCH);
+        SampleStreamCodec.writeVarLong(out, 3);
+        // Announces far more events than the stream holds
+        SampleStreamCodec.writeVarLong(out, 1 << 30);
+        SampleStreamCodec.Decoder decoder = new SampleStreamCodec.Decoder(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(SampleStreamCodec.FRAME_BATCH, decoder.readFrame());
+        assertEquals(3, decoder.getChannel());
+        assertThrows(EOFException.class, decoder::readEvents);
+    }
+
+    private static void assertSameResult(SampleResult expected, SampleResult actual) {
+        assertEquals(expected.getTimeStamp(), actual.getTimeStamp());
+        assertEquals(expected.getTime(), actual.getTime());
+        assertEquals(expected.getLatency(), actual.getLatency());
+        assertEquals(expected.getConnectTime(), actual.getConnectTime());
+        assertEquals(expected.isSuccessful(), actual.isSuccessful());
+        assertEquals(expected.getSampleLabel(), actual.getSampleLabel());
+        assertEquals(expected.getResponseCode(), actual.getResponseCode());
+        assertEquals(expected.getResponseMessage(), actual.getResponseMessage());
+        assertEquals(expected.getThreadName(), actual.getThreadName());
+        assertEquals(expected.getDataType(), actual.getDataType());
+        assertEquals(expected.getDataEncodingNoDefault(), actual.getDataEncodingNoDefault());
+        assertEquals(expected.getUrlAsString(), actual.getUrlAsString());
+        assertEquals(expected.getRequestHeaders(), actual.getRequestHeaders());
+        assertEquals(expected.getBytesAsLong(), actual.getBytesAsLong());
+        assertEquals(expected.getSentBytes(), actual.getSentBytes());
+        assertEquals(expected.getGroupThreads(), actual.getGroupThreads());
+        assertEquals(expected.getAllThreads(), actual.getAllThreads());
+        assertEquals(expected.getErrorCount(), actual.getErrorCount());
+        assertEquals(expected.getIntendedStartTime(), actual.getIntendedStartTime());
+        assertArrayEquals(expected.getResponseData(), actual.getResponseData());
+        assertEquals(expected.getFirstAssertionFailureMessage(), actual.getFirstAssertionFailureMessage());
+        assertEquals(expected.getSubResults().length, actual.getSubResults().length);
+        for (int i = 0; i < expected.getSubResults().length; i++) {
+            assertSameResult(expected.getSubResults()[i], actual.getSubResults()[i]);
+            assertEquals(actual, actual.getSubResults()[i].getParent());
+        }
+        if (expected.getAssertionResults().length > 0) {
+            assertTrue(actual.getAssertionResults()[0].isFailure());
+            assertFalse(actual.getAssertionResults()[0].isError());
+        } else {
+            assertNull(actual.getFirstAssertionFailureMessage());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.samplers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.jmeter.junit.JMeterTestCase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TestSampleStreamReceiver extends JMeterTestCase {
+
+    private SampleStreamReceiver receiver;
+
+    /**
+     * Collects the labels of the samples it receives
+     */
+    private static final class CollectingListener implements RemoteSampleListener {
+        private final List<String> labels = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void testStarted() {
+        }
+
+        @Override
+        public void testStarted(String host) {
+        }
+
+        @Override
+        public void testEnded() {
+        }
+
+        @Override
+        public void testEnded(String host) {
+        }
+
+        @Override
+        public void processBatch(List<SampleEvent> samples) {
+            samples.forEach(this::sampleOccurred);
+        }
+
+        @Override
+        public void sampleOccurred(SampleEvent e) {
+            labels.add(e.getResult().getSampleLabel());
+        }
+
+        @Override
+        public void sampleStarted(SampleEvent e) {
+        }
+
+        @Override
+        public void sampleStopped(SampleEvent e) {
+        }
+    }
+
+    @BeforeEach
+    void startReceiver() throws IOException {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        receiver = new SampleStreamReceiver(new ServerSocket(0, 0, loopback), loopback.getHostAddress());
+    }
+
+    @AfterEach
+    void stopReceiver() throws IOException {
+        receiver.close();
+    }
+
+    private SampleStreamConnection connect() throws IOException {
+        Socket socket = new Socket(receiver.getHost(), receiver.getPort());
+        return new SampleStreamConnection(receiver.getHost() + ':' + receiver.getPort(), socket, 10);
+    }
+
+    private static SampleEvent event(String label) {
+        SampleResult result = new SampleResult();
+        result.setStampAndTime(System.currentTimeMillis(), 10);
+        result.setSampleLabel(label);
+        result.setSuccessful(true);
+        return new SampleEvent(result, "Thread Group");
+    }
+
+    @Test
+    void testSamplesOfOpenedChannelAreProcessed() throws Exception {
+        CollectingListener listener = new CollectingListener();
+        byte[] token = SampleStreamReceiver.newToken();
+        int channel = receiver.register(listener, token);
+
+        SampleStreamConnection connection = connect();
+        try {
+            connection.openChannel(channel, token);
+            connection.send(channel, event("first"));
+            connection.send(channel, event("second"));
+            connection.end(channel);
+        } finally {
+            connection.release();
+        }
+        assertEquals(List.of("first", "second"), listener.labels);
+    }
+
+    @Test
+    void testInvalidTokenClosesTheConnection() throws Exception {
+        CollectingListener listener = new CollectingListener();
+        int channel = receiver.register(listener, SampleStreamReceiver.newToken());
+
+        SampleStreamConnection connection = connect();
+        try {
+            connection.openChannel(channel, SampleStreamReceiver.newToken());
+            connection.send(channel, event("forged"));
+            assertThrows(IOException.class, () -> connection.end(channel));
+        } finally {
+            connection.release();
+        }
+        assertEquals(List.of(), listener.labels);
+    }
+
+    @Test
+    void testChannelNotOpenedByTheConnectionIsRejected() throws Exception {
+        CollectingListener listener = new CollectingListener();
+        byte[] token = SampleStreamReceiver.newToken();
+        int channel = receiver.register(listener, token);
+
+        SampleStreamConnection engine = connect();
+        SampleStreamConnection intruder = connect();
+        try {
+            engine.openChannel(channel, token);
+            engine.send(channel, event("genuine"));
+            // Channels are sequential, so the intruder can guess the channel, but not the token
+            intruder.send(channel, event("forged"));
+            assertThrows(IOException.class, () -> intruder.end(channel));
+            engine.end(channel);
+        } finally {
+            intruder.release();
+            engine.release();
+        }
+        assertEquals(List.of("genuine"), listener.labels);
+    }
+}
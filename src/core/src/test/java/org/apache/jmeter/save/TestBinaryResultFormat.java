@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.save;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.jmeter.junit.JMeterTestCase;
+import org.apache.jmeter.samplers.SampleEvent;
+import org.apache.jmeter.samplers.SampleResult;
+import org.apache.jmeter.samplers.SampleSaveConfiguration;
+import org.junit.jupiter.api.Test;
+
+public class TestBinaryResultFormat extends JMeterTestCase {
+
+    private static SampleEvent createEvent(long start, long elapsed, String label, String code, boolean success) {
+        SampleResult result = SampleResult.createTestSample(start, start + elapsed);
+        result.setSampleLabel(label);
+        result.setResponseCode(code);
+        result.setResponseMessage("OK");
+        result.setThreadName("Thread Group 1-1");
+        result.setSuccessful(success);
+        result.setBytes(1234L);
+        result.setSentBytes(56L);
+        result.setAllThreads(10);
+        result.setGroupThreads(5);
+        result.setSaveConfig(new SampleSaveConfiguration());
+        return new SampleEvent(result, "Thread Group");
+    }
+
+    private static String value(BinaryResultReader reader, String[] row, String column) {
+        return row[Arrays.asList(reader.getColumnNames()).indexOf(column)];
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BinaryResultWriter writer = new BinaryResultWriter(bytes, true)) {
+            SampleEvent paced = createEvent(1_700_000_000_000L, 150, "Home page", "200", true);
+            paced.getResult().setIntendedStartTime(1_699_999_999_900L);
+            writer.write(paced);
+            writer.write(createEvent(1_700_000_000_010L, 30, "Login", "500", false));
+            // earlier time stamp produces a negative delta
+            writer.write(createEvent(1_699_999_999_990L, 42, "Home page", "200", true));
+        }
+
+        try (BinaryResultReader reader = new BinaryResultReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            String[] row = reader.readRow();
+            assertEquals("1700000000000", value(reader, row, CSVSaveService.TIME_STAMP));
+            assertEquals("150", value(reader, row, CSVSaveService.CSV_ELAPSED));
+            assertEquals("Home page", value(reader, row, CSVSaveService.LABEL));
+            assertEquals("200", value(reader, row, CSVSaveService.RESPONSE_CODE));
+            assertEquals("OK", value(reader, row, CSVSaveService.RESPONSE_MESSAGE));
+            assertEquals("Thread Group 1-1", value(reader, row, CSVSaveService.THREAD_NAME));
+            assertEquals("true", value(reader, row, CSVSaveService.SUCCESSFUL));
+            assertEquals("1234", value(reader, row, CSVSaveService.CSV_BYTES));
+            assertEquals("56", value(reader, row, CSVSaveService.CSV_SENT_BYTES));
+            assertEquals("5", value(reader, row, CSVSaveService.CSV_THREAD_COUNT1));
+            assertEquals("10", value(reader, row, CSVSaveService.CSV_THREAD_COUNT2));
+            assertEquals("1699999999900", value(reader, row, CSVSaveService.CSV_INTENDED_START));
+
+            row = reader.readRow();
+            assertEquals("1700000000010", value(reader, row, CSVSaveService.TIME_STAMP));
+            assertEquals("Login", value(reader, row, CSVSaveService.LABEL));
+            assertEquals("500", value(reader, row, CSVSaveService.RESPONSE_CODE));
+            assertEquals("false", value(reader, row, CSVSaveService.SUCCESSFUL));
+            assertEquals("0", value(reader, row, CSVSaveService.CSV_INTENDED_START));
+
+            row = reader.readRow();
+            assertEquals("1699999999990", value(reader, row, CSVSaveService.TIME_STAMP));
+            assertEquals("42", value(reader, row, CSVSaveService.CSV_ELAPSED));
+            assertEquals("Home page", value(reader, row, CSVSaveService.LABEL));
+
+            assertNull(reader.readRow());
+        }
+    }
+
+    @Test
+    public void testFailedWriteDoesNotCorruptNextSamples() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        boolean[] failNextWrite = {false};
+        OutputStream out = new FilterOutputStream(bytes) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (failNextWrite[0]) {
+                    failNextWrite[0] = false;
+                    throw new IOException("Disk full");
+                }
+                out.write(b, off, len);
+            }
+        };
+        BinaryResultWriter writer = new BinaryResultWriter(out, true);
+        writer.write(createEvent(1000, 10, "A", "200", true));
+        failNextWrite[0] = true;
+        // Lost sample, with new strings and a new time stamp
+        assertThrows(IOException.class, () -> writer.write(createEvent(5000, 50, "Lost", "503", false)));
+        writer.write(createEvent(2000, 20, "Lost", "503", false));
+        writer.write(createEvent(3000, 30, "A", "200", true));
+        writer.flush();
+
+        try (BinaryResultReader reader = new BinaryResultReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            String[] row = reader.readRow();
+            assertEquals("A", value(reader, row, CSVSaveService.LABEL));
+            row = reader.readRow();
+            assertEquals("2000", value(reader, row, CSVSaveService.TIME_STAMP));
+            assertEquals("Lost", value(reader, row, CSVSaveService.LABEL));
+            assertEquals("503", value(reader, row, CSVSaveService.RESPONSE_CODE));
+            row = reader.readRow();
+            assertEquals("3000", value(reader, row, CSVSaveService.TIME_STAMP));
+            assertEquals("A", value(reader, row, CSVSaveService.LABEL));
+            assertNull(reader.readRow());
+        }
+    }
+
+    @Test
+    public void testAppendedSegmentResetsDictionary() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryResultWriter first = new BinaryResultWriter(bytes, true);
+        first.write(createEvent(1000, 10, "A", "200", true));
+        first.flush();
+        BinaryResultWriter second = new BinaryResultWriter(bytes, false);
+        second.write(createEvent(2000, 20, "B", "404", false));
+        second.write(createEvent(3000, 30, "A", "200", true));
+        second.flush();
+
+        try (BinaryResultReader reader = new BinaryResultReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            List<String> labels = Arrays.asList(
+                    value(reader, reader.readRow(), CSVSaveService.LABEL),
+                    value(reader, reader.readRow(), CSVSaveService.LABEL),
+                    value(reader, reader.readRow(), CSVSaveService.LABEL));
+            assertEquals(Arrays.asList("A", "B", "A"), labels);
+            assertNull(reader.readRow());
+        }
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        long v = value;
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    /** Writes a version 1 file with one sample, as written before the intended start time was added */
+    private static void writeVersion1File(ByteArrayOutputStream out, long timeStamp, String label) {
+        out.writeBytes(BinaryResultFormat.MAGIC);
+        out.write(1);
+        out.write(BinaryResultFormat.RECORD_SEGMENT);
+        writeVarLong(out, 0); // no variables
+        out.write(BinaryResultFormat.RECORD_SAMPLE);
+        writeVarLong(out, timeStamp << 1); // zig-zag delta with 0
+        writeVarLong(out, 10); // elapsed
+        writeVarLong(out, 5); // latency
+        writeVarLong(out, 1); // connect
+        writeVarLong(out, 0); // idle time
+        out.write(BinaryResultFormat.FLAG_SUCCESS);
+        byte[] labelBytes = label.getBytes(StandardCharsets.UTF_8);
+        out.write(BinaryResultFormat.REF_INLINE);
+        writeVarLong(out, labelBytes.length);
+        out.writeBytes(labelBytes);
+        for (int i = 0; i < 7; i++) {
+            // response code, response message, thread name, data type, failure message, url, hostname
+            out.write(BinaryResultFormat.REF_EMPTY);
+        }
+        // bytes, sent bytes, group threads, all threads, sample count, error count
+        for (long value : new long[] {100, 10, 1, 1, 1, 0}) {
+            writeVarLong(out, value);
+        }
+    }
+
+    @Test
+    public void testAppendToVersion1File() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        writeVersion1File(bytes, 1_700_000_000_000L, "Old");
+        try (BinaryResultWriter writer = new BinaryResultWriter(bytes, false)) {
+            SampleEvent event = createEvent(1_700_000_000_100L, 20, "New", "200", true);
+            event.getResult().setIntendedStartTime(1_700_000_000_050L);
+            writer.write(event);
+        }
+
+        try (BinaryResultReader reader = new BinaryResultReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            String[] row = reader.readRow();
+            assertEquals("Old", value(reader, row, CSVSaveService.LABEL));
+            assertEquals("1700000000000", value(reader, row, CSVSaveService.TIME_STAMP));
+            assertEquals("100", value(reader, row, CSVSaveService.CSV_BYTES));
+            assertEquals("0", value(reader, row, CSVSaveService.CSV_INTENDED_START));
+
+            row = reader.readRow();
+            assertEquals("New", value(reader, row, CSVSaveService.LABEL));
+            assertEquals("1700000000100", value(reader, row, CSVSaveService.TIME_STAMP));
+            assertEquals("20", value(reader, row, CSVSaveService.CSV_ELAPSED));
+            assertEquals("1700000000050", value(reader, row, CSVSaveService.CSV_INTENDED_START));
+
+            assertNull(reader.readRow());
+        }
+    }
+
+    @Test
+    public void testRejectsUnknownSegmentVersion() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new BinaryResultWriter(bytes, true).flush();
+        bytes.write(BinaryResultFormat.RECORD_VERSIONED_SEGMENT);
+        bytes.write(BinaryResultFormat.VERSION + 1);
+        writeVarLong(bytes, 0);
+        BinaryResultReader reader = new BinaryResultReader(new ByteArrayInputStream(bytes.toByteArray()));
+        assertThrows(IOException.class, reader::readRow);
+    }
+
+    @Test
+    public void testBinaryIsSmallerThanCsv() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        StringBuilder csv = new StringBuilder();
+        try (BinaryResultWriter writer = new BinaryResultWriter(bytes, true)) {
+            for (int i = 0; i < 1000; i++) {
+                SampleEvent event = createEvent(1_700_000_000_000L + i * 7L, 100 + i % 50, "Label " + i % 10, "200", true);
+                writer.write(event);
+                csv.append(CSVSaveService.resultToDelimitedString(event)).append('\n');
+            }
+        }
+        assertTrue(bytes.size() * 3 < csv.length(),
+                () -> "binary size " + bytes.size() + " should be much smaller than CSV size " + csv.length());
+    }
+
+    @Test
+    public void testRejectsOtherFormats() {
+        byte[] csv = "timeStamp,elapsed,label\n".getBytes(StandardCharsets.UTF_8);
+        assertThrows(IOException.class, () -> new BinaryResultReader(new ByteArrayInputStream(csv)));
+    }
+
+    @Test
+    public void testFileExtension() {
+        assertTrue(BinaryResultFormat.isBinaryResultFile("results.jtlb"));
+        assertTrue(BinaryResultFormat.isBinaryResultFile("RESULTS.JTLB"));
+        assertFalse(BinaryResultFormat.isBinaryResultFile("results.jtl"));
+        assertFalse(BinaryResultFormat.isBinaryResultFile(null));
+    }
+}
@@ -19,6 +19,7 @@ package org.apache.jmeter.save;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -182,4 +183,20 @@ public class TestCSVSaveService extends JMeterTestCase {
 
         assertEquals(RESULT, CSVSaveService.resultToDelimitedString(new SampleEvent(result,"")), "Result text has changed");
     }
+
+    @Test
+    public void testIntendedStartTime() {
+        SampleSaveConfiguration saveConfig = new SampleSaveConfiguration();
+        saveConfig.setIntendedStartTime(true);
+        String header = CSVSaveService.printableFieldNamesToString(saveConfig);
+        assertTrue(header.endsWith(",IntendedStart"), () -> "Header should end with IntendedStart: " + header);
+        assertTrue(CSVSaveService.getSampleSaveConfiguration(header, "test.csv").saveIntendedStartTime(),
+                "IntendedStart column should be recognized");
+
+        SampleResult result = SampleResult.createTestSample(1000, 1050);
+        result.setSaveConfig(saveConfig);
+        result.setIntendedStartTime(900);
+        String line = CSVSaveService.resultToDelimitedString(new SampleEvent(result, ""));
+        assertTrue(line.endsWith(",900"), () -> "Intended start time should be saved: " + line);
+    }
 }
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.threads;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.apache.jmeter.control.LoopController;
+import org.apache.jmeter.testelement.TestElement;
+import org.apache.jmeter.testelement.property.StringProperty;
+import org.junit.jupiter.api.Test;
+
+class AbstractThreadGroupTest {
+
+    @Test
+    void initializeDoesNotModifySharedNameOfController() {
+        LoopController controller = new LoopController();
+        controller.setName("Loop Controller");
+        ThreadGroup threadGroup = new ThreadGroup();
+        threadGroup.setName("Thread Group");
+        threadGroup.setSamplerController(controller);
+        controller.setRunningVersion(true);
+        // Flyweight clones share the property objects of the original tree
+        StringProperty shared = (StringProperty) controller.getProperty(TestElement.NAME);
+        shared.markShared();
+
+        threadGroup.initialize();
+
+        assertEquals("Thread Group", controller.getName());
+        assertEquals("Loop Controller", shared.getStringValue(), "shared property must not be modified in place");
+        assertFalse(((StringProperty) controller.getProperty(TestElement.NAME)).isShared(),
+                "controller should hold a private copy of its name");
+        controller.recoverRunningVersion();
+        assertEquals("Thread Group", controller.getName(), "name should not revert to that of the controller");
+    }
+}
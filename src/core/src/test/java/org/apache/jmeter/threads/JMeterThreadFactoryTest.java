@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.threads;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.jorphan.collections.HashTree;
+import org.junit.jupiter.api.Test;
+
+class JMeterThreadFactoryTest {
+
+    private static JMeterThread createJMeterThread() {
+        ThreadGroup threadGroup = new ThreadGroup();
+        threadGroup.setNumThreads(1);
+        JMeterThread jMeterThread = new JMeterThread(new HashTree(), threadGroup, null);
+        jMeterThread.setThreadName("tg 1-1");
+        return jMeterThread;
+    }
+
+    @Test
+    void platformThreadIsNotDaemon() {
+        Thread thread = JMeterThreadFactory.newThread(createJMeterThread(), false);
+        assertEquals("tg 1-1", thread.getName());
+        assertFalse(thread.isDaemon(), "platform JMeter threads must keep the JVM alive");
+        assertFalse(thread.isAlive(), "thread must not be started by the factory");
+    }
+
+    @Test
+    void virtualThreadIsNamedAfterJMeterThread() {
+        assumeTrue(JMeterThreadFactory.isVirtualThreadsSupported(), "virtual threads require Java 21+");
+        Thread thread = JMeterThreadFactory.newThread(createJMeterThread(), true);
+        assertEquals("tg 1-1", thread.getName());
+        assertTrue(thread.isDaemon(), "virtual threads are always daemon threads");
+    }
+
+    @Test
+    void executorServiceRunsTasks() throws InterruptedException {
+        boolean virtual = JMeterThreadFactory.isVirtualThreadsSupported();
+        ExecutorService executorService = JMeterThreadFactory.newExecutorService(virtual);
+        boolean[] executed = new boolean[1];
+        executorService.submit(() -> executed[0] = true);
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS), "executor should terminate");
+        assertTrue(executed[0], "task should be executed");
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.threads;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class SlotVariableMapTest {
+
+    @Test
+    public void testPutGetRemove() {
+        SlotVariableMap map = new SlotVariableMap();
+        assertNull(map.put("slot.a", "1"));
+        assertEquals("1", map.put("slot.a", "2"));
+        map.put("slot.null", null);
+
+        assertEquals("2", map.get("slot.a"));
+        assertTrue(map.containsKey("slot.null"), "variable with null value should be present");
+        assertNull(map.get("slot.null"));
+        assertFalse(map.containsKey("slot.missing"));
+        assertEquals(2, map.size());
+
+        assertEquals("2", map.remove("slot.a"));
+        assertNull(map.remove("slot.a"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testBehavesAsHashMap() {
+        SlotVariableMap map = new SlotVariableMap();
+        Map<String, Object> expected = new HashMap<>();
+        for (int i = 0; i < 200; i++) {
+            String key = "slot.k" + (i * 7 % 50);
+            if (i % 3 == 0) {
+                assertEquals(expected.remove(key), map.remove(key), "remove " + key);
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i), "put " + key);
+            }
+            assertEquals(expected, map);
+        }
+        Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Object> entry = it.next();
+            if ((Integer) entry.getValue() % 2 == 0) {
+                it.remove();
+                expected.remove(entry.getKey());
+            }
+        }
+        assertEquals(expected, map);
+    }
+
+    @Test
+    public void testCopyIsIsolated() {
+        SlotVariableMap map = new SlotVariableMap();
+        map.put("slot.a", "1");
+        map.put("slot.b", "2");
+
+        SlotVariableMap copy = map.copy();
+        map.put("slot.a", "changed");
+        copy.put("slot.c", "3");
+
+        assertEquals("1", copy.get("slot.a"));
+        assertEquals("changed", map.get("slot.a"));
+        assertFalse(map.containsKey("slot.c"));
+        assertEquals(3, copy.size());
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testPutAllSharesValues() {
+        SlotVariableMap initial = new SlotVariableMap();
+        initial.put("slot.a", "1");
+        initial.put("slot.b", "2");
+
+        SlotVariableMap thread1 = new SlotVariableMap();
+        thread1.put("slot.a", "0");
+        thread1.putAll(initial);
+        SlotVariableMap thread2 = new SlotVariableMap();
+        thread2.put("slot.x", "x");
+        thread2.putAll(initial);
+
+        assertEquals(initial, thread1);
+        thread1.put("slot.b", "thread1");
+        assertEquals("2", initial.get("slot.b"), "modification of a thread should not affect the initial values");
+        assertEquals("2", thread2.get("slot.b"));
+        assertEquals("x", thread2.get("slot.x"));
+        assertEquals(3, thread2.size());
+    }
+
+    @Test
+    public void testMapsOfPreviousRunKeepTheirNames() {
+        SlotVariableMap previousRun = new SlotVariableMap();
+        previousRun.put("slot.previous.a", "1");
+        previousRun.put("slot.previous.b", "2");
+
+        SlotVariableMap.resetRegistry();
+        SlotVariableMap currentRun = new SlotVariableMap();
+        currentRun.put("slot.current", "3");
+        currentRun.putAll(previousRun);
+
+        assertEquals("1", previousRun.get("slot.previous.a"));
+        assertEquals(Map.of("slot.previous.a", "1", "slot.previous.b", "2"), new HashMap<>(previousRun));
+        assertEquals(Map.of("slot.previous.a", "1", "slot.previous.b", "2", "slot.current", "3"),
+                new HashMap<>(currentRun));
+    }
+
+    @Test
+    public void testSnapshotIsCopiedOnModification() {
+        JMeterVariables vars = new JMeterVariables();
+        assumeFalse(vars.storage() instanceof SlotVariableMap, "slot maps are copied when the snapshot is taken");
+        vars.put("slot.a", "1");
+        JMeterVariables snapshot = vars.snapshot();
+
+        assertSame(vars.storage(), snapshot.storage(), "snapshot should share the variables until they are modified");
+        vars.put("slot.a", "2");
+        assertNotSame(vars.storage(), snapshot.storage());
+        assertEquals("1", snapshot.get("slot.a"));
+        assertEquals("2", vars.get("slot.a"));
+    }
+
+    @Test
+    public void testSnapshot() {
+        JMeterVariables vars = new JMeterVariables();
+        vars.put("slot.a", "1");
+        JMeterVariables snapshot = vars.snapshot();
+        vars.put("slot.a", "2");
+
+        assertEquals("1", snapshot.get("slot.a"), "snapshot should not see later modifications");
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.put("slot.a", "3"));
+
+        JMeterVariables threadVars = new JMeterVariables();
+        threadVars.putAll(snapshot);
+        assertEquals("1", threadVars.get("slot.a"), "variables should be copied from the snapshot");
+    }
+}
@@ -18,12 +18,26 @@
 package org.apache.jmeter.threads;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.jmeter.config.ConfigTestElement;
 import org.apache.jmeter.control.GenericController;
+import org.apache.jmeter.engine.TreeCloner;
+import org.apache.jmeter.processor.PreProcessor;
+import org.apache.jmeter.reporters.Summariser;
 import org.apache.jmeter.samplers.AbstractSampler;
+import org.apache.jmeter.samplers.PreviousResponseDataReader;
+import org.apache.jmeter.samplers.ResponseDataOptional;
+import org.apache.jmeter.samplers.SampleEvent;
+import org.apache.jmeter.samplers.SampleListener;
 import org.apache.jmeter.samplers.SampleResult;
+import org.apache.jmeter.testelement.AbstractTestElement;
 import org.apache.jorphan.collections.ListedHashTree;
+import org.apache.jorphan.collections.SearchByClass;
 import org.junit.jupiter.api.Test;
 
 public class TestTestCompiler {
@@ -47,6 +61,144 @@ public class TestTestCompiler {
         assertEquals("A test value", sampler.getPropertyAsString("test.property"));
     }
 
+    @Test
+    public void testResponseDataReadByListener() throws Exception {
+        ListedHashTree testing = new ListedHashTree();
+        GenericController controller = new GenericController();
+        ResponseDataSampler ignored = new ResponseDataSampler();
+        ResponseDataSampler read = new ResponseDataSampler();
+        GenericController readController = new GenericController();
+        testing.add(controller, new Summariser());
+        testing.add(controller, ignored);
+        testing.add(controller, readController);
+        testing.getTree(controller).add(readController, read);
+        testing.getTree(controller).add(readController, new ReadingListener());
+        TestCompiler.initialize();
+
+        TestCompiler compiler = new TestCompiler(testing);
+        testing.traverse(compiler);
+        assertFalse(ignored.responseDataRead, "Summariser does not read the response data");
+        assertTrue(read.responseDataRead, "Listener in scope reads the response data");
+    }
+
+    @Test
+    public void testPrecompiledTreeBindsToClone() throws Exception {
+        ListedHashTree template = new ListedHashTree();
+        GenericController controller = new GenericController();
+        GenericController nested = new GenericController();
+        ConfigTestElement config1 = new ConfigTestElement();
+        config1.setProperty("test.property", "outer");
+        ConfigTestElement config2 = new ConfigTestElement();
+        config2.setProperty("nested.property", "inner");
+        template.add(controller, new TestSampler());
+        template.add(controller, config1);
+        template.add(controller, nested);
+        template.getTree(controller).add(nested, new TestSampler());
+        template.getTree(controller).add(nested, new Summariser());
+        template.getTree(controller).add(nested, config2);
+        TestCompiler.initialize();
+        TestCompiler.precompile(template);
+
+        ListedHashTree precompiledClone = AbstractThreadGroup.cloneTree(template);
+        TestCompiler precompiled = new TestCompiler(precompiledClone);
+        precompiledClone.traverse(precompiled);
+
+        TreeCloner cloner = new TreeCloner(true);
+        template.traverse(cloner);
+        ListedHashTree regularClone = cloner.getClonedTree();
+        TestCompiler regular = new TestCompiler(regularClone);
+        regularClone.traverse(regular);
+
+        List<TestSampler> precompiledSamplers = samplers(precompiledClone);
+        List<TestSampler> regularSamplers = samplers(regularClone);
+        assertEquals(2, precompiledSamplers.size());
+        for (int i = 0; i < precompiledSamplers.size(); i++) {
+            SamplePackage expected = regular.configureSampler(regularSamplers.get(i));
+            SamplePackage actual = precompiled.configureSampler(precompiledSamplers.get(i));
+            assertEquals(expected.getConfigs().size(), actual.getConfigs().size(), "configs of sampler " + i);
+            assertEquals(expected.getSampleListeners().size(), actual.getSampleListeners().size(), "listeners of sampler " + i);
+            for (Object element : actual.getConfigs()) {
+                assertTrue(containsDeep(precompiledClone, element),
+                        "package should refer to the elements of the cloned tree, got " + element);
+            }
+        }
+        assertEquals("outer", precompiledSamplers.get(0).getPropertyAsString("test.property"));
+        assertEquals("inner", precompiledSamplers.get(1).getPropertyAsString("nested.property"));
+        assertEquals("outer", precompiledSamplers.get(1).getPropertyAsString("test.property"));
+    }
+
+    private static List<TestSampler> samplers(ListedHashTree tree) {
+        SearchByClass<TestSampler> search = new SearchByClass<>(TestSampler.class);
+        tree.traverse(search);
+        return new ArrayList<>(search.getSearchResults());
+    }
+
+    private static boolean containsDeep(ListedHashTree tree, Object element) {
+        SearchByClass<ConfigTestElement> search = new SearchByClass<>(ConfigTestElement.class);
+        tree.traverse(search);
+        return search.getSearchResults().stream().anyMatch(e -> e == element);
+    }
+
+    @Test
+    public void testResponseDataReadByNextSampler() throws Exception {
+        ListedHashTree testing = new ListedHashTree();
+        GenericController controller = new GenericController();
+        ResponseDataSampler first = new ResponseDataSampler();
+        ResponseDataSampler next = new ResponseDataSampler();
+        GenericController nextController = new GenericController();
+        testing.add(controller, first);
+        testing.add(controller, nextController);
+        testing.getTree(controller).add(nextController, next);
+        // Out of the scope of the first sampler, but reads its result when the next sampler runs
+        testing.getTree(controller).add(nextController, new PreviousResultPreProcessor());
+        TestCompiler.initialize();
+
+        TestCompiler compiler = new TestCompiler(testing);
+        testing.traverse(compiler);
+        assertTrue(first.responseDataRead, "Pre-processor of the next sampler reads the previous response data");
+        assertTrue(next.responseDataRead, "Previous sample is only known when running");
+    }
+
+    static class PreviousResultPreProcessor extends AbstractTestElement
+            implements PreProcessor, PreviousResponseDataReader {
+        private static final long serialVersionUID = 240L;
+
+        @Override
+        public void process() {
+            getThreadContext().getPreviousResult().getResponseData();
+        }
+    }
+
+    class ResponseDataSampler extends TestSampler implements ResponseDataOptional {
+        private static final long serialVersionUID = 240L;
+
+        private boolean responseDataRead = true;
+
+        @Override
+        public void setResponseDataRead(boolean read) {
+            responseDataRead = read;
+        }
+    }
+
+    static class ReadingListener extends AbstractTestElement implements SampleListener {
+        private static final long serialVersionUID = 240L;
+
+        @Override
+        public void sampleOccurred(SampleEvent e) {
+            e.getResult().getResponseData();
+        }
+
+        @Override
+        public void sampleStarted(SampleEvent e) {
+            // not used
+        }
+
+        @Override
+        public void sampleStopped(SampleEvent e) {
+            // not used
+        }
+    }
+
     class TestSampler extends AbstractSampler {
         private static final long serialVersionUID = 240L;
 
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.jmeter.assertions.AssertionResult;
+import org.apache.jmeter.samplers.SampleResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.w3c.dom.Document;
+
+public class StreamingXPathTest {
+
+    private static final String[] DOCUMENTS = {
+            "<root><a id='1'>x<b>y</b></a><a id='2'><![CDATA[c]]>t</a><a/><c><a id='3'>z</a></c></root>",
+            "<?xml version='1.0'?><!DOCTYPE root [<!ENTITY e 'ent'>]>"
+                    + "<root>&e;<a>pre&e;post<!--c-->tail</a><a><?pi data?>x</a><a><!--cm-->y</a></root>",
+            "<root xmlns='urn:d' xmlns:p='urn:p'><p:a p:x='1' x='2'>1</p:a><a>2</a><b><a>3</a></b></root>",
+            "<root><item type='book'><title>T1</title></item><item type='cd'><title>T2</title></item>"
+                    + "<item type='book'><title>T3</title><title>T4</title></item></root>",
+            "<root>\n <a>\n  <b>1</b>\n </a>\n <a>  </a>\n</root>",
+    };
+
+    private static final String[] EXPRESSIONS = {
+            "/root/a", "//a", "//a/@id", "/root/a[2]", "//a[1]", "//a[@id]", "//a[@id='2']", "//a/text()",
+            "/root/*", "//*", "//text()", "//item[@type='book']/title", "//item[@type='book'][2]/title",
+            "//item[2][@type='book']/title", "/root//title/text()", "//a//b", "/root/p:a", "//p:a/@p:x", "//p:*",
+    };
+
+    private static final String NAMESPACES = "p=urn:p";
+
+    public static Stream<Arguments> documentsAndExpressions() {
+        List<Arguments> arguments = new ArrayList<>();
+        for (String document : DOCUMENTS) {
+            for (String expression : EXPRESSIONS) {
+                arguments.add(Arguments.of(document, expression));
+            }
+        }
+        return arguments.stream();
+    }
+
+    private static SampleResult sample(String document) {
+        SampleResult result = new SampleResult();
+        result.setResponseData(document, StandardCharsets.UTF_8.name());
+        return result;
+    }
+
+    @ParameterizedTest
+    @MethodSource("documentsAndExpressions")
+    public void testXPath1SameAsDom(String document, String expression) throws Exception {
+        for (boolean namespace : new boolean[]{false, true}) {
+            List<String> streamed = new ArrayList<>();
+            if (!XPathUtil.putValuesForXPathInListStreaming(sample(document), expression, streamed, -1, namespace)) {
+                continue;
+            }
+            Document dom = XPathUtil.makeDocument(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)),
+                    false, false, namespace, false, false, false, false, false, false);
+            List<String> expected = new ArrayList<>();
+            XPathUtil.putValuesForXPathInList(dom, expression, expected, false, -1);
+            assertEquals(expected, streamed, () -> expression + " on " + document + ", namespace " + namespace);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("documentsAndExpressions")
+    public void testXPath2SameAsSaxon(String document, String expression) throws Exception {
+        StreamingXPath streamingXPath = StreamingXPath.forExpression(expression, StreamingXPath.Flavor.XPATH2, NAMESPACES);
+        if (streamingXPath == null) {
+            return;
+        }
+        List<String> streamed = new ArrayList<>();
+        int count = streamingXPath.evaluate(document.getBytes(StandardCharsets.UTF_8), null, streamed);
+        if (count < 0) {
+            return;
+        }
+        List<String> expected = new ArrayList<>();
+        XPathUtil.putValuesForXPathInListUsingSaxon(document, expression, expected, false, -1, NAMESPACES);
+        assertEquals(expected, streamed, () -> expression + " on " + document);
+        assertEquals(count, streamingXPath.evaluate(document.getBytes(StandardCharsets.UTF_8), null, null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"count(//a)", "//a[last()]", "/root/a/..", "//a | //b", "/root/child::a", "//a[@id=1]",
+            "//@*", "/", "root/a", "/root/a/@id/b", "/root/a[1][2]", "/root/a[position()=1]"})
+    public void testNotStreamable(String expression) {
+        for (StreamingXPath.Flavor flavor : StreamingXPath.Flavor.values()) {
+            assertNull(StreamingXPath.forExpression(expression, flavor, NAMESPACES), () -> expression + " " + flavor);
+        }
+    }
+
+    @Test
+    public void testPrefixesNeedXPath2() {
+        assertNull(StreamingXPath.forExpression("/root/p:a", StreamingXPath.Flavor.XPATH1, NAMESPACES));
+        assertNull(StreamingXPath.forExpression("/root/p:a", StreamingXPath.Flavor.XPATH1_NAMESPACE_AWARE, NAMESPACES));
+        assertNull(StreamingXPath.forExpression("/root/q:a", StreamingXPath.Flavor.XPATH2, NAMESPACES));
+        assertNotNull(StreamingXPath.forExpression("/root/p:a", StreamingXPath.Flavor.XPATH2, NAMESPACES));
+    }
+
+    @Test
+    public void testPrefixedNamesWithoutNamespaceSupportUseDocument() throws Exception {
+        StreamingXPath streamingXPath = StreamingXPath.forExpression("//a", StreamingXPath.Flavor.XPATH1, null);
+        assertEquals(-1, streamingXPath.evaluate("<root xmlns:p='urn:p'><p:a/></root>".getBytes(StandardCharsets.UTF_8),
+                null, null));
+        assertEquals(1, streamingXPath.evaluate("<root xmlns='urn:d'><a/></root>".getBytes(StandardCharsets.UTF_8),
+                null, null));
+    }
+
+    @Test
+    public void testMalformedResponseUsesDocument() {
+        List<String> values = new ArrayList<>();
+        assertFalse(XPathUtil.putValuesForXPathInListStreaming(sample("<root><a>1</a>"), "//a", values, -1, false));
+        assertTrue(values.isEmpty());
+    }
+
+    @Test
+    public void testMatchNumber() {
+        SampleResult result = sample(DOCUMENTS[3]);
+        List<String> values = new ArrayList<>();
+        assertTrue(XPathUtil.putValuesForXPathInListStreaming(result, "//title", values, 3, false));
+        assertTrue(XPathUtil.putValuesForXPathInListStreaming(result, "//title", values, 5, false));
+        assertTrue(XPathUtil.putValuesForXPathInListStreaming(result, "//title", values, 0, false));
+        assertEquals(2, values.size());
+        assertEquals("T3", values.get(0));
+        assertTrue(values.get(1).matches("T[1-4]"), values::toString);
+    }
+
+    @Test
+    public void testAssertion() {
+        SampleResult result = sample(DOCUMENTS[3]);
+        AssertionResult assertionResult = new AssertionResult("xpath");
+        assertTrue(XPathUtil.computeAssertionResultStreaming(assertionResult, result, "//item[@type='cd']", false, false));
+        assertFalse(assertionResult.isFailure());
+        assertionResult = new AssertionResult("xpath");
+        assertTrue(XPathUtil.computeAssertionResultStreaming(assertionResult, result, "//item[@type='dvd']", false, false));
+        assertTrue(assertionResult.isFailure());
+        assertEquals("No Nodes Matched //item[@type='dvd']", assertionResult.getFailureMessage());
+        assertionResult = new AssertionResult("xpath");
+        assertTrue(XPathUtil.computeAssertionResultStreaming(assertionResult, result, "//item[@type='dvd']", false, true));
+        assertFalse(assertionResult.isFailure());
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.util.regex;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class LinearRegexEngineTest {
+
+    private static final String[] INPUTS = {
+            "", "a", "aaa", "abcd", "xababy", "Hello hELLO world", "foo bar foobar foo", "a\nb\nabc\n", "ab\r\n",
+            "john@example.com x@y.com", "name=\"v1\" name=\"\"", "<a href=x>t</a><b>u</b>", "AB\tB",
+    };
+
+    static Stream<Arguments> patterns() {
+        return Stream.of(
+                "abc", "a*", "a+?", "a*?b", "(a|ab)(c|bcd)(d*)", "x(a|b)*y", "[a-z]+", "[^a-z]+", "\\d+",
+                "(\\w+)@(\\w+)\\.com", "\\s*", "^abc", "abc$", "(?m)^\\w+$", "(?i)HeLLo", "a{2,3}", "a{2,}", "a{0,2}?",
+                "(a)|b", "(a)?b", "\\bfoo\\b", "\\Bo", "(?s)a.b", "a.b", ".*", "(?:ab)+", "name=\"([^\"]*)\"",
+                "<(\\w+)[^>]*>(.*?)</\\w+>", "\\Qa.b\\E+", "[\\d\\s]+", "[a\\-z]", "(?i)[a-c]+", "\\x41\\u0042",
+                "(?<n>\\w)b", "\\Z", "\\z", "$", "^", "(?m)$", "(?m)^"
+        ).flatMap(pattern -> Stream.of(INPUTS).map(input -> Arguments.of(pattern, input)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("patterns")
+    public void testSameMatchesAsJavaRegex(String regex, String input) {
+        Pattern expected = Pattern.compile(regex);
+        CompiledPattern actual = LinearRegexParser.compile(regex);
+
+        assertEquals(expected.matcher(input).matches(), actual.matches(input), "matches");
+        assertEquals(expected.matcher(input).find(), actual.find(input), "find");
+        List<MatchResult> expectedMatches = new ArrayList<>();
+        Matcher matcher = expected.matcher(input);
+        while (matcher.find()) {
+            expectedMatches.add(matcher.toMatchResult());
+        }
+        List<MatchResult> actualMatches = new ArrayList<>();
+        assertEquals(expectedMatches.size(), actual.findAll(input, actualMatches, 0), "number of matches");
+        for (int i = 0; i < expectedMatches.size(); i++) {
+            MatchResult expectedMatch = expectedMatches.get(i);
+            MatchResult actualMatch = actualMatches.get(i);
+            assertEquals(expectedMatch.groupCount(), actualMatch.groupCount(), "group count");
+            for (int group = 0; group <= expectedMatch.groupCount(); group++) {
+                assertEquals(expectedMatch.group(group), actualMatch.group(group), "match " + i + ", group " + group);
+                assertEquals(expectedMatch.start(group), actualMatch.start(group), "match " + i + ", group " + group);
+            }
+        }
+    }
+
+    @Test
+    public void testFindAllLimit() {
+        List<MatchResult> matches = new ArrayList<>();
+        assertEquals(2, LinearRegexParser.compile("\\d").findAll("1 2 3 4", matches, 2));
+        assertEquals("2", matches.get(1).group());
+    }
+
+    @Test
+    public void testNoCatastrophicBacktracking() {
+        // Takes ages with a backtracking engine
+        String input = "a".repeat(100_000) + "!";
+        assertFalse(LinearRegexParser.compile("(a+)+$").find(input));
+        assertTrue(LinearRegexParser.compile("(a|aa)+!").find(input));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"(a)\\1", "(?=a)", "(?!a)", "(?<=a)b", "(?<!a)b", "a++", "(?>a)", "[[a]]", "(", "a)",
+            "*a", "[a", "a{3,1}", "\\y"})
+    public void testUnsupportedOrInvalidPatterns(String regex) {
+        assertThrows(PatternSyntaxException.class, () -> LinearRegexParser.compile(regex));
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.engine.util
+
+import org.apache.jmeter.threads.JMeterContextService
+import org.apache.jmeter.threads.JMeterVariables
+import org.junit.jupiter.api.Assertions.assertArrayEquals
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+
+class CompoundVariableTest {
+    @Test
+    fun `constants and variables`() {
+        JMeterContextService.getContext().variables = JMeterVariables().apply {
+            put("a", "1")
+            put("b", "2")
+        }
+        val function = CompoundVariable("x=\${a}, y=\${b}, z=\${c}")
+
+        assertEquals("x=1, y=2, z=\${c}", function.execute())
+        assertEquals("x=1, y=2, z=\${c}", function.function.execute(), "copy of the function")
+        assertArrayEquals(arrayOf("a", "b", "c"), function.referencedVariables)
+    }
+
+    @Test
+    fun `constant expression`() {
+        val function = CompoundVariable("just text")
+
+        assertEquals("just text", function.execute())
+        assertArrayEquals(arrayOf<String>(), function.referencedVariables)
+    }
+
+    @Test
+    fun `cleared expression`() {
+        val function = CompoundVariable("x=\${a}")
+        function.clear()
+
+        assertEquals("", function.execute())
+    }
+}
@@ -146,6 +146,18 @@ class FileServerTest : JMeterTestCase() {
         assertNoFilesOpen()
     }
 
+    @Test
+    fun `closing mapped file releases the mapping once no alias uses it`() {
+        sut.reserveMappedFile(testFile, "UTF-8", "first", false, false)
+        sut.reserveMappedFile(testFile, "UTF-8", "second", false, false)
+        sut.closeFile("first")
+        assertTrue(sut.mappedFilesOpen(), "mapping is still used by the second alias")
+        assertEquals("a1,b1,c1,d1", sut.readMappedRecord("second", true, false), "first record")
+        sut.closeFile("second")
+        assertFalse(sut.mappedFilesOpen(), "mappedFilesOpen")
+        assertNoFilesOpen()
+    }
+
     @Test
     fun `baseDir is the defaultBasedir`() {
         assertEquals(FileServer.getDefaultBase(), sut.getBaseDir()) {
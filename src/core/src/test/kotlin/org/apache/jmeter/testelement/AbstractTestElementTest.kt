@@ -20,9 +20,12 @@ package org.apache.jmeter.testelement
 import io.mockk.mockk
 import io.mockk.spyk
 import org.apache.jmeter.testelement.property.CollectionProperty
+import org.apache.jmeter.testelement.property.StringProperty
 import org.apache.jmeter.testelement.property.TestElementProperty
 import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNotEquals
+import org.junit.jupiter.api.Assertions.assertNull
 import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.Test
 
@@ -92,4 +95,91 @@ class AbstractTestElementTest {
             "isTemporary($innerProp)"
         }
     }
+
+    @Test
+    fun `schema properties follow modifications of the element`() {
+        val element = object : AbstractTestElement() {}
+        element.name = "first"
+        assertEquals("first", element.name)
+
+        element.setProperty(StringProperty(TestElement.NAME, "second"))
+        assertEquals("second", element.getPropertyAsString(TestElement.NAME))
+        assertEquals("second", element.name)
+
+        element.removeProperty(TestElement.NAME)
+        assertNull(element.getPropertyOrNull(TestElementSchema.name)) {
+            "name should be removed"
+        }
+
+        element.name = "third"
+        element.comment = "comment"
+        val iterator = element.propertyIterator()
+        while (iterator.hasNext()) {
+            if (iterator.next().name == TestElement.NAME) {
+                iterator.remove()
+            }
+        }
+        assertNull(element.getPropertyOrNull(TestElement.NAME)) {
+            "name should be removed via propertyIterator().remove()"
+        }
+        assertEquals("comment", element.comment)
+
+        element.clear()
+        assertNull(element.getPropertyOrNull(TestElement.COMMENTS)) {
+            "comments should be removed by clear()"
+        }
+    }
+
+    @Test
+    fun `temporary schema properties are removed by recoverRunningVersion`() {
+        val element = object : AbstractTestElement() {}
+        element.comment = "comment"
+        element.isRunningVersion = true
+
+        element.name = "temporary"
+        element.comment = "modified"
+        assertEquals("temporary", element.name)
+        assertEquals("modified", element.comment)
+
+        element.recoverRunningVersion()
+
+        assertNull(element.getPropertyOrNull(TestElement.NAME)) {
+            "name was added in running version, so it should be removed"
+        }
+        assertEquals("comment", element.comment) {
+            "comment existed before running version, so it should be restored"
+        }
+    }
+
+    @Test
+    fun `schema assigns distinct indexes to properties`() {
+        val schema = TestPlanSchema
+        val indexes = schema.properties.keys.map { schema.getPropertyIndex(it) }
+        assertEquals((0 until schema.propertyCount).toList(), indexes.sorted())
+        assertEquals(-1, schema.getPropertyIndex("unknown.property"))
+        assertNotEquals(-1, schema.getPropertyIndex(TestElement.NAME))
+    }
+
+    @Test
+    fun `shared property is copied before modification`() {
+        val element = object : AbstractTestElement() {}
+        element.comment = "comment"
+        element.isRunningVersion = true
+        val shared = element.getProperty(TestElement.COMMENTS) as StringProperty
+        shared.markShared()
+
+        element.comment = "modified"
+        assertEquals("modified", element.comment)
+        assertEquals("comment", shared.stringValue) {
+            "shared property should not be modified in place"
+        }
+        assertFalse((element.getProperty(TestElement.COMMENTS) as StringProperty).isShared) {
+            "element should hold a private copy of the property after the modification"
+        }
+
+        element.recoverRunningVersion()
+        assertEquals("comment", element.comment) {
+            "the private copy should restore the value the shared property had"
+        }
+    }
 }
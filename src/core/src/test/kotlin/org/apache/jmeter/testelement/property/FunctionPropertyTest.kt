@@ -57,4 +57,51 @@ class FunctionPropertyTest {
             "function should read value from the variables after recoverRunningVersion"
         )
     }
+
+    @Test
+    fun `result is reused when referenced variables do not change`() {
+        val vars = JMeterVariables().apply {
+            put("host", "localhost")
+            put("port", "8080")
+        }
+        JMeterContextService.getContext().variables = vars
+        val p = FunctionProperty(
+            "test",
+            CompoundVariable("http://\${host}:\${port}/").function
+        )
+        p.isRunningVersion = true
+
+        val first = p.stringValue
+        Assertions.assertEquals("http://localhost:8080/", first)
+        Assertions.assertSame(first, p.stringValue, "no variables changed, so the previous result should be reused")
+
+        vars.put("unrelated", "value")
+        Assertions.assertSame(first, p.stringValue, "unrelated variable changed, so the previous result should be reused")
+
+        vars.put("port", "8081")
+        Assertions.assertEquals("http://localhost:8081/", p.stringValue, "referenced variable changed")
+
+        vars.remove("host")
+        Assertions.assertEquals("http://\${host}:8081/", p.stringValue, "referenced variable removed")
+
+        JMeterContextService.getContext().variables = JMeterVariables().apply {
+            put("host", "example.com")
+            put("port", "80")
+        }
+        Assertions.assertEquals("http://example.com:80/", p.stringValue, "variables of another thread")
+    }
+
+    @Test
+    fun `result is not reused for non-string variables`() {
+        val value = StringBuilder("a")
+        JMeterContextService.getContext().variables = JMeterVariables().apply {
+            putObject("obj", value)
+        }
+        val p = FunctionProperty("test", CompoundVariable("\${obj}").function)
+        p.isRunningVersion = true
+
+        Assertions.assertEquals("a", p.stringValue)
+        value.append("b")
+        Assertions.assertEquals("ab", p.stringValue, "mutable variable value should be re-evaluated")
+    }
 }
@@ -22,6 +22,7 @@ import java.util.Collection;
 import java.util.List;
 
 import org.apache.jmeter.engine.util.CompoundVariable;
+import org.apache.jmeter.samplers.PreviousResponseDataReader;
 import org.apache.jmeter.samplers.SampleResult;
 import org.apache.jmeter.samplers.Sampler;
 import org.apache.jmeter.threads.JMeterContext;
@@ -39,7 +40,7 @@ import com.google.auto.service.AutoService;
  * @since 1.X
  */
 @AutoService(Function.class)
-public class BeanShell extends AbstractFunction {
+public class BeanShell extends AbstractFunction implements PreviousResponseDataReader {
 
     private static final Logger log = LoggerFactory.getLogger(BeanShell.class);
 
@@ -31,6 +31,7 @@ import javax.script.ScriptEngine;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.jmeter.engine.util.CompoundVariable;
+import org.apache.jmeter.samplers.PreviousResponseDataReader;
 import org.apache.jmeter.samplers.SampleResult;
 import org.apache.jmeter.samplers.Sampler;
 import org.apache.jmeter.threads.JMeterContext;
@@ -49,7 +50,7 @@ import com.google.auto.service.AutoService;
  * @since 3.1
  */
 @AutoService(Function.class)
-public class Groovy extends AbstractFunction {
+public class Groovy extends AbstractFunction implements PreviousResponseDataReader {
     private static final Logger log = LoggerFactory.getLogger(Groovy.class);
 
     private static final String GROOVY_ENGINE_NAME = "groovy";
@@ -28,6 +28,7 @@ import javax.script.ScriptEngineManager;
 import javax.script.SimpleScriptContext;
 
 import org.apache.jmeter.engine.util.CompoundVariable;
+import org.apache.jmeter.samplers.PreviousResponseDataReader;
 import org.apache.jmeter.samplers.SampleResult;
 import org.apache.jmeter.samplers.Sampler;
 import org.apache.jmeter.threads.JMeterContext;
@@ -47,7 +48,7 @@ import com.google.auto.service.AutoService;
  * @since 1.9
  */
 @AutoService(Function.class)
-public class JavaScript extends AbstractFunction {
+public class JavaScript extends AbstractFunction implements PreviousResponseDataReader {
     private static final String NASHORN_ENGINE_NAME = "nashorn"; //$NON-NLS-1$
 
     private static final String USE_RHINO_ENGINE_PROPERTY = "javascript.use_rhino"; //$NON-NLS-1$
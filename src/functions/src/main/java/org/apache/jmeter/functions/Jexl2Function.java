@@ -26,6 +26,7 @@ import org.apache.commons.jexl2.JexlEngine;
 import org.apache.commons.jexl2.MapContext;
 import org.apache.commons.jexl2.Script;
 import org.apache.jmeter.engine.util.CompoundVariable;
+import org.apache.jmeter.samplers.PreviousResponseDataReader;
 import org.apache.jmeter.samplers.SampleResult;
 import org.apache.jmeter.samplers.Sampler;
 import org.apache.jmeter.testelement.ThreadListener;
@@ -44,7 +45,7 @@ import com.google.auto.service.AutoService;
  */
 // For unit tests, see TestJexlFunction
 @AutoService(Function.class)
-public class Jexl2Function extends AbstractFunction implements ThreadListener {
+public class Jexl2Function extends AbstractFunction implements ThreadListener, PreviousResponseDataReader {
 
     private static final Logger log = LoggerFactory.getLogger(Jexl2Function.class);
 
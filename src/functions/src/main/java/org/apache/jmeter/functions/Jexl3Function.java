@@ -27,6 +27,7 @@ import org.apache.commons.jexl3.JexlEngine;
 import org.apache.commons.jexl3.JexlScript;
 import org.apache.commons.jexl3.MapContext;
 import org.apache.jmeter.engine.util.CompoundVariable;
+import org.apache.jmeter.samplers.PreviousResponseDataReader;
 import org.apache.jmeter.samplers.SampleResult;
 import org.apache.jmeter.samplers.Sampler;
 import org.apache.jmeter.testelement.ThreadListener;
@@ -45,7 +46,7 @@ import com.google.auto.service.AutoService;
  */
 // For unit tests, see TestJexlFunction
 @AutoService(Function.class)
-public class Jexl3Function extends AbstractFunction implements ThreadListener {
+public class Jexl3Function extends AbstractFunction implements ThreadListener, PreviousResponseDataReader {
 
     private static final Logger log = LoggerFactory.getLogger(Jexl3Function.class);
 
@@ -26,10 +26,14 @@ import java.util.regex.Matcher;
 import java.util.regex.PatternSyntaxException;
 
 import org.apache.jmeter.engine.util.CompoundVariable;
+import org.apache.jmeter.samplers.PreviousResponseDataReader;
 import org.apache.jmeter.samplers.SampleResult;
 import org.apache.jmeter.samplers.Sampler;
 import org.apache.jmeter.threads.JMeterVariables;
 import org.apache.jmeter.util.JMeterUtils;
+import org.apache.jmeter.util.regex.CompiledPattern;
+import org.apache.jmeter.util.regex.RegexEngine;
+import org.apache.jmeter.util.regex.RegexEngines;
 import org.apache.oro.text.MalformedCachePatternException;
 import org.apache.oro.text.regex.MatchResult;
 import org.apache.oro.text.regex.Pattern;
@@ -49,7 +53,7 @@ import com.google.auto.service.AutoService;
 // @see TestRegexFunction for unit tests
 
 @AutoService(Function.class)
-public class RegexFunction extends AbstractFunction {
+public class RegexFunction extends AbstractFunction implements PreviousResponseDataReader {
     private static final Logger log = LoggerFactory.getLogger(RegexFunction.class);
 
     public static final String ALL = "ALL"; //$NON-NLS-1$
@@ -84,8 +88,7 @@ public class RegexFunction extends AbstractFunction {
         desc.add(JMeterUtils.getResString("regexfunc_param_7"));// input variable //$NON-NLS-1$
     }
 
-    private static final boolean USE_JAVA_REGEX = !JMeterUtils.getPropDefault(
-            "jmeter.regex.engine", "oro").equalsIgnoreCase("oro");
+    private static final RegexEngine REGEX_ENGINE = RegexEngines.getConfiguredEngine();
 
     public RegexFunction() {
         templatePattern = JMeterUtils.getPatternCache().getPattern(TEMPLATE_PATTERN,
@@ -141,36 +144,34 @@ public class RegexFunction extends AbstractFunction {
             vars.put(name, defaultValue);
         }
 
-        String textToMatch=null;
+        CharSequence textToMatch=null;
 
         if (!inputVariable.isEmpty()){
             textToMatch=vars.get(inputVariable);
         } else if (previousResult != null){
-            textToMatch = previousResult.getResponseDataAsString();
+            textToMatch = RegexEngines.isOro(REGEX_ENGINE)
+                    ? previousResult.getResponseDataAsString()
+                    : RegexEngines.getResponseDataInput(previousResult);
         }
 
-        if (textToMatch == null || textToMatch.isEmpty()) {
+        if (textToMatch == null || textToMatch.length() == 0) {
             return defaultValue;
         }
 
-        if (USE_JAVA_REGEX) {
-            return getResultWithJavaRegex(valueIndex, defaultValue, between, name, tmplt, vars, textToMatch);
+        if (RegexEngines.isOro(REGEX_ENGINE)) {
+            return getResultWithOroRegex(valueIndex, defaultValue, between, name, tmplt, vars, textToMatch.toString());
         }
-        return getResultWithOroRegex(valueIndex, defaultValue, between, name, tmplt, vars, textToMatch);
+        return getResultWithRegexEngine(valueIndex, defaultValue, between, name, tmplt, vars, textToMatch);
 
     }
 
-    private String getResultWithJavaRegex(String valueIndex, String defaultValue, String between, String name,
-                                         Object[] tmplt, JMeterVariables vars, String textToMatch)
+    private String getResultWithRegexEngine(String valueIndex, String defaultValue, String between, String name,
+                                         Object[] tmplt, JMeterVariables vars, CharSequence textToMatch)
             throws InvalidVariableException {
         List<java.util.regex.MatchResult> collectAllMatches = new ArrayList<>();
         try {
-            java.util.regex.Pattern searchPattern = generateJavaPattern();
-            Matcher matcher = searchPattern.matcher(textToMatch);
-            while (matcher.find()) {
-                java.util.regex.MatchResult match = matcher.toMatchResult();
-                collectAllMatches.add(match);
-            }
+            CompiledPattern searchPattern = generatePattern();
+            searchPattern.findAll(textToMatch, collectAllMatches, 0);
         } finally {
             if (!name.isEmpty()){
                 vars.put(name + "_matchNr", Integer.toString(collectAllMatches.size())); //$NON-NLS-1$
@@ -215,9 +216,9 @@ public class RegexFunction extends AbstractFunction {
         }
     }
 
-    private java.util.regex.Pattern generateJavaPattern() throws InvalidVariableException {
+    private CompiledPattern generatePattern() throws InvalidVariableException {
         try {
-            return JMeterUtils.compilePattern(((CompoundVariable) values[0]).execute());
+            return REGEX_ENGINE.compile(((CompoundVariable) values[0]).execute());
 
         } catch (PatternSyntaxException e) {
             log.error("Malformed regex pattern:{}", values[0], e);
@@ -358,10 +359,10 @@ public class RegexFunction extends AbstractFunction {
     }
 
     private Object[] generateTemplate(String rawTemplate) {
-        if (USE_JAVA_REGEX) {
-            return generateTemplateWithJavaRegex(rawTemplate);
+        if (RegexEngines.isOro(REGEX_ENGINE)) {
+            return generateTemplateWithOroRegex(rawTemplate);
         }
-        return generateTemplateWithOroRegex(rawTemplate);
+        return generateTemplateWithJavaRegex(rawTemplate);
     }
 
     private static Object[] generateTemplateWithJavaRegex(String rawTemplate) {
@@ -415,13 +416,12 @@ public class RegexFunction extends AbstractFunction {
     }
 
     private static boolean isFirstElementGroup(String rawData) {
-        if (USE_JAVA_REGEX) {
-            return FIRST_ELEMENT_PATTERN.matcher(rawData).find();
-        } else {
+        if (RegexEngines.isOro(REGEX_ENGINE)) {
             Pattern pattern = JMeterUtils.getPatternCache().getPattern("^\\$\\d+\\$",  //$NON-NLS-1$
                     Perl5Compiler.READ_ONLY_MASK);
             return JMeterUtils.getMatcher().contains(rawData, pattern);
         }
+        return FIRST_ELEMENT_PATTERN.matcher(rawData).find();
     }
 
 }
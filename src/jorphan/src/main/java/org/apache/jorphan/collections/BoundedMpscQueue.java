@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jorphan.collections;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+import org.apiguardian.api.API;
+
+/**
+ * Bounded, array based, multi-producer single-consumer queue.
+ * <p>
+ * Producers claim a slot with a CAS on the tail sequence and publish it by updating
+ * the per-slot sequence, so they never block each other on a lock. Only one thread
+ * may call {@link #poll()} or {@link #drain(Consumer, int)} at a time.
+ * The design follows Dmitry Vyukov's bounded queue.
+ *
+ * @param <E> the type of the elements
+ * @since 6.0.0
+ */
+@API(since = "6.0.0", status = API.Status.EXPERIMENTAL)
+public final class BoundedMpscQueue<E> {
+    private final int mask;
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // Only modified by the consumer thread, volatile so size() can be called from any thread
+    private volatile long head;
+
+    /**
+     * @param capacity minimal capacity of the queue, rounded up to the next power of two
+     */
+    public BoundedMpscQueue(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be in 1.." + (1 << 30) + ", got " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        mask = size - 1;
+        buffer = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds the element if the queue is not full.
+     *
+     * @param element element to add
+     * @return {@code true} if the element was added, {@code false} if the queue was full
+     */
+    public boolean offer(E element) {
+        Objects.requireNonNull(element, "element");
+        while (true) {
+            long pos = tail.get();
+            int index = (int) pos & mask;
+            long seq = sequences.get(index);
+            long diff = seq - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer.lazySet(index, element);
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                // The consumer has not released this slot yet
+                return false;
+            }
+            // else another producer claimed the slot, retry with the new tail
+        }
+    }
+
+    /**
+     * Removes the head of the queue. Must be called by the consumer thread only.
+     *
+     * @return the head of the queue or {@code null} if the queue is empty
+     */
+    public E poll() {
+        long pos = head;
+        int index = (int) pos & mask;
+        if (sequences.get(index) != pos + 1) {
+            // empty, or the producer that claimed the slot has not published it yet
+            return null;
+        }
+        E element = buffer.get(index);
+        buffer.lazySet(index, null);
+        sequences.set(index, pos + mask + 1);
+        head = pos + 1;
+        return element;
+    }
+
+    /**
+     * Passes up to {@code limit} elements to the consumer. Must be called by the consumer thread only.
+     *
+     * @param consumer receives the elements in queue order
+     * @param limit maximal number of elements to remove
+     * @return number of elements removed
+     */
+    public int drain(Consumer<? super E> consumer, int limit) {
+        int count = 0;
+        E element;
+        while (count < limit && (element = poll()) != null) {
+            consumer.accept(element);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return approximate number of elements in the queue
+     */
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    /**
+     * @return {@code true} if the queue contains no published element
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return the capacity of the queue
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jorphan.math;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apiguardian.api.API;
+
+/**
+ * Lock-free histogram of latencies with buckets that are powers of two microseconds.
+ * <p>It is meant for internal diagnostics where many threads record values, and the
+ * distribution is reported once in a while, so the precision of the percentiles is the
+ * width of a bucket.</p>
+ * @since 6.0.0
+ */
+@API(status = API.Status.INTERNAL, since = "6.0.0")
+public final class LatencyHistogram {
+    private static final int BUCKETS = 40;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private final LongAdder totalMicros = new LongAdder();
+
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param micros latency in microseconds
+     * @return bucket index, bucket {@code i} covers {@code [2^i, 2^(i+1))} microseconds (bucket 0 includes 0)
+     */
+    static int bucketOf(long micros) {
+        if (micros <= 1) {
+            return 0;
+        }
+        return Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(micros));
+    }
+
+    /**
+     * Records a latency. Can be called concurrently, negative values are recorded as zero.
+     * @param nanos latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        counts.incrementAndGet(bucketOf(micros));
+        totalMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    /**
+     * @return number of recorded values
+     */
+    public long getCount() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * @return mean of the recorded values in microseconds, or 0 if nothing was recorded
+     */
+    public long getMeanMicros() {
+        long count = getCount();
+        return count == 0 ? 0 : totalMicros.sum() / count;
+    }
+
+    /**
+     * @return maximum of the recorded values in microseconds
+     */
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    /**
+     * @param percentile percentile in the range {@code (0, 1]}
+     * @return exclusive upper bound in microseconds of the bucket that contains the percentile
+     */
+    public long getPercentileUpperBoundMicros(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        return percentileUpperBound(snapshot, total, percentile);
+    }
+
+    /**
+     * Discards the recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        totalMicros.reset();
+        maxMicros.reset();
+    }
+
+    /**
+     * Formats the recorded values and resets the histogram.
+     * @param title text to start the summary with
+     * @return summary of the recorded values, or {@code null} if nothing was recorded
+     */
+    public String formatAndReset(String title) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.getAndSet(i, 0);
+            total += snapshot[i];
+        }
+        long sumMicros = totalMicros.sumThenReset();
+        long max = maxMicros.getThenReset();
+        if (total == 0) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(title).append(": count=").append(total)
+                .append(", mean=").append(sumMicros / total).append(" us")
+                .append(", p50<").append(percentileUpperBound(snapshot, total, 0.5)).append(" us")
+                .append(", p99<").append(percentileUpperBound(snapshot, total, 0.99)).append(" us")
+                .append(", max=").append(max).append(" us")
+                .append(", histogram (us):");
+        for (int i = 0; i < BUCKETS; i++) {
+            if (snapshot[i] != 0) {
+                sb.append(' ').append('[').append(i == 0 ? 0 : 1L << i).append(',').append(1L << (i + 1))
+                        .append(")=").append(snapshot[i]);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return exclusive upper bound of the bucket that contains the percentile
+     */
+    static long percentileUpperBound(long[] counts, long total, double percentile) {
+        long threshold = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= threshold) {
+                return 1L << (i + 1);
+            }
+        }
+        return 1L << counts.length;
+    }
+}
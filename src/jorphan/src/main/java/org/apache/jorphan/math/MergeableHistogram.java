@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jorphan.math;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.apiguardian.api.API;
+
+/**
+ * Histogram of non-negative values (typically response times in milliseconds) that can be merged
+ * with other histograms, so distributions computed on several nodes or time intervals can be combined
+ * without keeping the raw values.
+ * <p>
+ * Buckets follow the HdrHistogram layout: values below 128 are recorded exactly,
+ * larger values are recorded with 6 bits of precision (less than 1.6% error).
+ * Count, total, min and max are exact. The bucket array grows with the largest recorded value,
+ * and only the buckets in use are serialized.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @since 6.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "6.0.0")
+public final class MergeableHistogram implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+
+    private static final long[] NO_COUNTS = new long[0];
+
+    private transient long[] counts = NO_COUNTS;
+    private long count;
+    private long total;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    /**
+     * Receives the buckets of a histogram.
+     */
+    @FunctionalInterface
+    public interface BucketConsumer {
+        /**
+         * @param value lowest value of the bucket
+         * @param count number of values recorded in the bucket
+         */
+        void accept(long value, long count);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return shift * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift);
+    }
+
+    static long lowestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_HALF_COUNT - 1;
+        return (long) (index % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT) << shift;
+    }
+
+    static long highestEquivalentValue(int index) {
+        return lowestEquivalentValue(index + 1) - 1;
+    }
+
+    /**
+     * Records a value.
+     * @param value the value, negative values are recorded as 0
+     */
+    public void record(long value) {
+        record(value, 1);
+    }
+
+    /**
+     * Records a value several times.
+     * @param value the value, negative values are recorded as 0
+     * @param times number of times the value occurred, nothing is recorded if it is not positive
+     */
+    public void record(long value, long times) {
+        if (times <= 0) {
+            return;
+        }
+        long v = Math.max(0, value);
+        int index = indexOf(v);
+        ensureIndex(index);
+        counts[index] += times;
+        count += times;
+        total += v * times;
+        min = Math.min(min, v);
+        max = Math.max(max, v);
+    }
+
+    /**
+     * Adds the values of another histogram to this one.
+     * @param other the histogram to merge, it is not modified
+     */
+    public void add(MergeableHistogram other) {
+        if (other.count == 0) {
+            return;
+        }
+        ensureIndex(other.counts.length - 1);
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        total += other.total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    private void ensureIndex(int index) {
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length + SUB_BUCKET_HALF_COUNT));
+        }
+    }
+
+    /**
+     * @return number of recorded values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return sum of the recorded values
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return the minimal recorded value, or 0 if no value was recorded
+     */
+    public long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    /**
+     * @return the maximal recorded value, or 0 if no value was recorded
+     */
+    public long getMax() {
+        return count == 0 ? 0 : max;
+    }
+
+    /**
+     * @return the arithmetic mean of the recorded values or {@link Double#NaN} if no value was recorded
+     */
+    public double getMean() {
+        return count == 0 ? Double.NaN : (double) total / count;
+    }
+
+    /**
+     * Returns the value below which the given percentage of recorded values fall.
+     *
+     * @param percentile the requested percentile (scaled from 0 - 100)
+     * @return the highest value equivalent to the percentile, or 0 if no value was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100.0, percentile) / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.max(min, Math.min(highestEquivalentValue(i), max));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Calls the consumer for each bucket that holds values, in increasing order of values.
+     * @param consumer receives the lowest value of each bucket and its count
+     */
+    public void forEachBucket(BucketConsumer consumer) {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                consumer.accept(lowestEquivalentValue(i), counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Removes all the recorded values.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        min = Long.MAX_VALUE;
+        max = Long.MIN_VALUE;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        int used = 0;
+        for (long c : counts) {
+            if (c != 0) {
+                used++;
+            }
+        }
+        out.writeInt(used);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                out.writeInt(i);
+                out.writeLong(counts[i]);
+            }
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        counts = NO_COUNTS;
+        int used = in.readInt();
+        for (int i = 0; i < used; i++) {
+            int index = in.readInt();
+            if (index < 0 || index > indexOf(Long.MAX_VALUE)) {
+                throw new IOException("Invalid histogram bucket " + index);
+            }
+            ensureIndex(index);
+            counts[index] = in.readLong();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MergeableHistogram{count=" + count + ", min=" + getMin() + ", max=" + getMax() + ", mean=" + getMean() + '}';
+    }
+}
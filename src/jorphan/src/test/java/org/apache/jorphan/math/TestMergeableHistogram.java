@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jorphan.math;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+class TestMergeableHistogram {
+
+    @Test
+    void testEmpty() {
+        MergeableHistogram histogram = new MergeableHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMin());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(90));
+    }
+
+    @Test
+    void testSmallValuesAreExact() {
+        MergeableHistogram histogram = new MergeableHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(5050, histogram.getTotal());
+        assertEquals(1, histogram.getMin());
+        assertEquals(100, histogram.getMax());
+        assertEquals(50, histogram.getValueAtPercentile(50));
+        assertEquals(90, histogram.getValueAtPercentile(90));
+        assertEquals(100, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void testLargeValuesArePrecise() {
+        MergeableHistogram histogram = new MergeableHistogram();
+        histogram.record(10, 998);
+        histogram.record(123_456);
+        assertEquals(123_456, histogram.getValueAtPercentile(100));
+        histogram.record(200_000);
+        assertEquals(123_456, histogram.getValueAtPercentile(99.9), 123_456 * 0.016);
+        assertEquals(200_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void testMergeEqualsRecordingAllValues() {
+        MergeableHistogram all = new MergeableHistogram();
+        MergeableHistogram first = new MergeableHistogram();
+        MergeableHistogram second = new MergeableHistogram();
+        for (int i = 0; i < 10_000; i++) {
+            long value = (i * 7919L) % 50_000;
+            all.record(value);
+            (i % 3 == 0 ? first : second).record(value);
+        }
+        first.add(second);
+        assertEquals(all.getCount(), first.getCount());
+        assertEquals(all.getTotal(), first.getTotal());
+        assertEquals(all.getMin(), first.getMin());
+        assertEquals(all.getMax(), first.getMax());
+        for (double percentile : new double[]{50, 90, 95, 99, 99.9}) {
+            assertEquals(all.getValueAtPercentile(percentile), first.getValueAtPercentile(percentile), "percentile " + percentile);
+        }
+    }
+
+    @Test
+    void testSerialization() throws IOException, ClassNotFoundException {
+        MergeableHistogram histogram = new MergeableHistogram();
+        histogram.record(5);
+        histogram.record(1_000, 10);
+        histogram.record(60_000);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(histogram);
+        }
+        MergeableHistogram copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (MergeableHistogram) in.readObject();
+        }
+        assertEquals(histogram.getCount(), copy.getCount());
+        assertEquals(histogram.getTotal(), copy.getTotal());
+        assertEquals(histogram.getMin(), copy.getMin());
+        assertEquals(histogram.getMax(), copy.getMax());
+        assertEquals(histogram.getValueAtPercentile(50), copy.getValueAtPercentile(50));
+        assertEquals(histogram.getValueAtPercentile(95), copy.getValueAtPercentile(95));
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.jmeter.protocol.http.sampler;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.jmeter.protocol.http.util.HTTPConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the property reads an HTTP sampler performs when it prepares a request, and the
+ * {@code recoverRunningVersion} that follows every iteration of a thread.
+ * See {@code PropertyGetBooleanBenchmarkJava} in core for the cost of individual property reads.
+ */
+@Fork(value = 1, jvmArgsPrepend = {"-Xmx128m"})
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HTTPSamplerPropertiesBenchmark {
+    HTTPSamplerProxy sampler;
+
+    @Setup
+    public void setup() {
+        HTTPSamplerProxy template = new HTTPSamplerProxy();
+        template.setName("HTTP Request");
+        template.setProtocol("https");
+        template.setDomain("example.com");
+        template.setPort(8443);
+        template.setPath("/api/items");
+        template.setMethod(HTTPConstants.POST);
+        template.setContentEncoding("UTF-8");
+        template.setFollowRedirects(true);
+        template.setUseKeepAlive(true);
+        template.setConnectTimeout("1000");
+        template.setResponseTimeout("5000");
+        template.addArgument("id", "42");
+        // Threads work on clones in running version
+        sampler = (HTTPSamplerProxy) template.clone();
+        sampler.setRunningVersion(true);
+    }
+
+    private void readRequestProperties(Blackhole bh) {
+        bh.consume(sampler.getProtocol());
+        bh.consume(sampler.getDomain());
+        bh.consume(sampler.getPort());
+        bh.consume(sampler.getPath());
+        bh.consume(sampler.getMethod());
+        bh.consume(sampler.getContentEncoding());
+        bh.consume(sampler.getFollowRedirects());
+        bh.consume(sampler.getAutoRedirects());
+        bh.consume(sampler.getUseKeepAlive());
+        bh.consume(sampler.getConnectTimeout());
+        bh.consume(sampler.getResponseTimeout());
+        bh.consume(sampler.getDoMultipart());
+        bh.consume(sampler.getPostBodyRaw());
+        bh.consume(sampler.getProxyHost());
+        bh.consume(sampler.getIpSource());
+        bh.consume(sampler.isConcurrentDwn());
+        bh.consume(sampler.isImageParser());
+        bh.consume(sampler.getArguments());
+    }
+
+    @Benchmark
+    public void readRequestProperties_byDescriptor(Blackhole bh) {
+        readRequestProperties(bh);
+    }
+
+    @Benchmark
+    public void readRequestProperties_byName(Blackhole bh) {
+        bh.consume(sampler.getPropertyAsString(HTTPSamplerBase.PROTOCOL));
+        bh.consume(sampler.getPropertyAsString(HTTPSamplerBase.DOMAIN));
+        bh.consume(sampler.getPropertyAsInt(HTTPSamplerBase.PORT));
+        bh.consume(sampler.getPropertyAsString(HTTPSamplerBase.PATH));
+        bh.consume(sampler.getPropertyAsString(HTTPSamplerBase.METHOD));
+        bh.consume(sampler.getPropertyAsBoolean(HTTPSamplerBase.FOLLOW_REDIRECTS));
+        bh.consume(sampler.getPropertyAsBoolean(HTTPSamplerBase.USE_KEEPALIVE));
+    }
+
+    @Benchmark
+    public HTTPSamplerProxy iteration(Blackhole bh) {
+        readRequestProperties(bh);
+        sampler.recoverRunningVersion();
+        return sampler;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(HTTPSamplerPropertiesBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .detectJvmArgs()
+                .build();
+        new Runner(opt).run();
+    }
+}
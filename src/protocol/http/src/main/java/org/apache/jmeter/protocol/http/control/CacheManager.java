@@ -198,6 +198,28 @@ public class CacheManager extends ConfigTestElement implements TestStateListener
         }
     }
 
+    /**
+     * Save the Last-Modified, Etag, and Expires headers if the result is cacheable.
+     * Version for the Java HTTP/2 implementation.
+     * @param response response
+     * @param res result
+     */
+    public void saveDetails(java.net.http.HttpResponse<?> response, HTTPSampleResult res) {
+        java.net.http.HttpHeaders headers = response.headers();
+        final String varyHeader = headers.firstValue(HTTPConstants.VARY).orElse(null);
+        if (isCacheable(res, varyHeader)){
+            String lastModified = headers.firstValue(HTTPConstants.LAST_MODIFIED).orElse(null);
+            String expires = headers.firstValue(HTTPConstants.EXPIRES).orElse(null);
+            String etag = headers.firstValue(HTTPConstants.ETAG).orElse(null);
+            String cacheControl = headers.firstValue(HTTPConstants.CACHE_CONTROL).orElse(null);
+            String date = headers.firstValue(HTTPConstants.DATE).orElse(null);
+            if (anyNotBlank(lastModified, expires, etag, cacheControl)) {
+                setCache(lastModified, cacheControl, expires, etag, res.getUrlAsString(), date,
+                        getVaryHeader(varyHeader, asHeaders(res.getRequestHeaders())));
+            }
+        }
+    }
+
     private static boolean anyNotBlank(String... values) {
         for (String value: values) {
             if (StringUtils.isNotBlank(value)) {
@@ -450,6 +472,36 @@ public class CacheManager extends ConfigTestElement implements TestStateListener
         }
     }
 
+    /**
+     * Check the cache, and if there is a match, set the headers:
+     * <ul>
+     * <li>If-Modified-Since</li>
+     * <li>If-None-Match</li>
+     * </ul>
+     * Version for the Java HTTP/2 implementation.
+     * @param request where to set the headers
+     * @param headers Array of {@link org.apache.jmeter.protocol.http.control.Header}
+     * @param url {@link URL} to look up in cache
+     */
+    public void setHeaders(java.net.http.HttpRequest.Builder request,
+            org.apache.jmeter.protocol.http.control.Header[] headers, URL url) {
+        CacheEntry entry = getEntry(url.toString(),
+                headers != null ? asHeaders(headers) : new Header[0]);
+        if (log.isDebugEnabled()){
+            log.debug("setHeaders (Java HTTP/2) url:{} entry:{}", url, entry);
+        }
+        if (entry != null){
+            final String lastModified = entry.getLastModified();
+            if (lastModified != null){
+                request.setHeader(HTTPConstants.IF_MODIFIED_SINCE, lastModified);
+            }
+            final String etag = entry.getEtag();
+            if (etag != null){
+                request.setHeader(HTTPConstants.IF_NONE_MATCH, etag);
+            }
+        }
+    }
+
     /**
      * Check the cache, if the entry has an expires header and the entry has not
      * expired, return <code>true</code><br>
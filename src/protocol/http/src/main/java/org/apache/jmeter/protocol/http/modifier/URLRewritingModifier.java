@@ -24,6 +24,7 @@ import java.util.regex.Matcher;
 import org.apache.jmeter.processor.PreProcessor;
 import org.apache.jmeter.protocol.http.sampler.HTTPSamplerBase;
 import org.apache.jmeter.protocol.http.util.HTTPArgument;
+import org.apache.jmeter.samplers.PreviousResponseDataReader;
 import org.apache.jmeter.samplers.SampleResult;
 import org.apache.jmeter.samplers.Sampler;
 import org.apache.jmeter.testelement.AbstractTestElement;
@@ -37,7 +38,7 @@ import org.apache.oro.text.regex.Perl5Matcher;
 
 //For unit tests, @see TestURLRewritingModifier
 
-public class URLRewritingModifier extends AbstractTestElement implements Serializable, PreProcessor {
+public class URLRewritingModifier extends AbstractTestElement implements Serializable, PreProcessor, PreviousResponseDataReader {
 
     private static final long serialVersionUID = 233L;
 
@@ -107,6 +107,10 @@ public abstract class HTTPAbstractImpl implements Interruptible, HTTPConstantsIn
     protected void notifyFirstSampleAfterLoopRestart() {
     }
 
+    // Allows HTTPSamplerProxy to call resourceDownloadFinished; subclasses can override if necessary
+    protected void resourceDownloadFinished() {
+    }
+
     // Provide access to HTTPSamplerBase methods
 
     /**
@@ -37,9 +37,14 @@ import java.security.PrivilegedExceptionAction;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
@@ -48,6 +53,7 @@ import javax.security.auth.Subject;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.MutableTriple;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.http.Header;
 import org.apache.http.HttpClientConnection;
 import org.apache.http.HttpConnectionMetrics;
@@ -92,9 +98,13 @@ import org.apache.http.config.Registry;
 import org.apache.http.config.RegistryBuilder;
 import org.apache.http.config.SocketConfig;
 import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
 import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.HttpClientConnectionOperator;
 import org.apache.http.conn.ManagedHttpClientConnection;
 import org.apache.http.conn.SchemePortResolver;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.cookie.CookieSpecProvider;
@@ -165,6 +175,7 @@ import org.apache.jmeter.threads.JMeterVariables;
 import org.apache.jmeter.util.JMeterUtils;
 import org.apache.jmeter.util.JsseSSLManager;
 import org.apache.jmeter.util.SSLManager;
+import org.apache.jorphan.collections.IdentityKey;
 import org.apache.jorphan.util.JOrphanUtils;
 import org.brotli.dec.BrotliInputStream;
 import org.slf4j.Logger;
@@ -417,6 +428,79 @@ public class HTTPHC4Impl extends HTTPHCAbstractImpl {
         }
     }
 
+    /**
+     * Adds the time spent waiting for a connection from the pool to the sample being executed by the calling thread.
+     */
+    private static final class JMeterPoolingHttpClientConnectionManager extends PoolingHttpClientConnectionManager {
+        /** true if the manager is used by several threads, see {@link #SHARED_CONNECTION_MANAGERS} */
+        private final boolean shared;
+
+        public JMeterPoolingHttpClientConnectionManager(HttpClientConnectionOperator connectionOperator, boolean shared) {
+            super(connectionOperator, null, TIME_TO_LIVE, TimeUnit.MILLISECONDS);
+            setValidateAfterInactivity(VALIDITY_AFTER_INACTIVITY_TIMEOUT);
+            this.shared = shared;
+        }
+
+        @Override
+        public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+            final ConnectionRequest connectionRequest = super.requestConnection(route, state);
+            return new ConnectionRequest() {
+                @Override
+                public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                        throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                    long start = System.nanoTime();
+                    try {
+                        return connectionRequest.get(timeout, timeUnit);
+                    } finally {
+                        HTTPSampleResult result = POOL_WAIT_RESULT.get();
+                        if (result != null) {
+                            result.setPoolWaitTime(result.getPoolWaitTime()
+                                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                        }
+                    }
+                }
+
+                @Override
+                public boolean cancel() {
+                    return connectionRequest.cancel();
+                }
+            };
+        }
+    }
+
+    /**
+     * Connection manager shared by the threads of a test or of a thread group,
+     * closed when the last thread using it finishes.
+     */
+    private static final class SharedConnectionManager {
+        private final PoolingHttpClientConnectionManager manager;
+        // Only accessed within SHARED_CONNECTION_MANAGERS.compute*
+        private int users;
+
+        SharedConnectionManager(PoolingHttpClientConnectionManager manager) {
+            this.manager = manager;
+        }
+    }
+
+    /** Threads sharing a connection pool, see httpclient4.pool.scope */
+    enum ConnectionPoolScope {
+        THREAD, THREAD_GROUP, TEST;
+
+        static ConnectionPoolScope fromProperty(String value) {
+            switch (value.trim().toLowerCase(Locale.ROOT)) {
+                case "thread": // $NON-NLS-1$
+                    return THREAD;
+                case "group": // $NON-NLS-1$
+                    return THREAD_GROUP;
+                case "test": // $NON-NLS-1$
+                    return TEST;
+                default:
+                    log.warn("Unknown httpclient4.pool.scope '{}', using thread", value);
+                    return THREAD;
+            }
+        }
+    }
+
     /** retry count to be used (default 0); 0 = disable retries */
     private static final int RETRY_COUNT = JMeterUtils.getPropDefault("httpclient4.retrycount", 0);
 
@@ -431,6 +515,16 @@ public class HTTPHC4Impl extends HTTPHCAbstractImpl {
 
     private static final int TIME_TO_LIVE = JMeterUtils.getPropDefault("httpclient4.time_to_live", 60000);
 
+    /** Whether connection pools are per thread (default), shared by a thread group or by the whole test */
+    private static final ConnectionPoolScope POOL_SCOPE =
+            ConnectionPoolScope.fromProperty(JMeterUtils.getPropDefault("httpclient4.pool.scope", "thread")); // $NON-NLS-1$
+
+    /** Maximum number of connections of a pool shared by several threads */
+    private static final int POOL_MAX_TOTAL = JMeterUtils.getPropDefault("httpclient4.pool.max_total", 1000);
+
+    /** Maximum number of connections per route of a pool shared by several threads */
+    private static final int POOL_MAX_PER_ROUTE = JMeterUtils.getPropDefault("httpclient4.pool.max_per_route", 200);
+
     /** Preemptive Basic Auth */
     private static final boolean BASIC_AUTH_PREEMPTIVE = JMeterUtils.getPropDefault("httpclient4.auth.preemptive", true);
 
@@ -533,6 +627,30 @@ public class HTTPHC4Impl extends HTTPHCAbstractImpl {
         }
     };
 
+    /**
+     * Connection managers shared by several threads when httpclient4.pool.scope is group or test,
+     * keyed by scope ({@link #TEST_POOL_SCOPE} or the thread group identity) and {@link HttpClientKey}
+     */
+    private static final Map<Pair<Object, HttpClientKey>, SharedConnectionManager> SHARED_CONNECTION_MANAGERS =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Keys of the {@link #SHARED_CONNECTION_MANAGERS} used by the current thread
+     */
+    private static final ThreadLocal<Set<Pair<Object, HttpClientKey>>> SHARED_CONNECTION_MANAGER_KEYS =
+            ThreadLocal.withInitial(HashSet::new);
+
+    /** Scope key of the connection managers shared by all the threads of the test */
+    private static final String TEST_POOL_SCOPE = "test"; // $NON-NLS-1$
+
+    /** Whether the fallback to per-thread pools has been logged, see {@link #canShareConnectionManager} */
+    private static volatile boolean loggedPerThreadPoolFallback;
+
+    /**
+     * Result of the request being executed by the current thread, to which the connection pool wait time is added
+     */
+    private static final ThreadLocal<HTTPSampleResult> POOL_WAIT_RESULT = new ThreadLocal<>();
+
     /**
      * CONNECTION_SOCKET_FACTORY changes if we want to simulate Slow connection
      */
@@ -646,6 +764,7 @@ public class HTTPHC4Impl extends HTTPHCAbstractImpl {
             handleMethod(method, res, httpRequest, localContext);
             // store the SampleResult in LocalContext to compute connect time
             localContext.setAttribute(CONTEXT_ATTRIBUTE_SAMPLER_RESULT, res);
+            POOL_WAIT_RESULT.set(res);
             // perform the sample
             httpResponse =
                     executeRequest(httpClient, httpRequest, localContext, url);
@@ -761,6 +880,7 @@ public class HTTPHC4Impl extends HTTPHCAbstractImpl {
             return res;
         } finally {
             JOrphanUtils.closeQuietly(httpResponse);
+            POOL_WAIT_RESULT.remove();
             currentRequest = null;
             JMeterContextService.getContext().getSamplerContext().remove(CONTEXT_ATTRIBUTE_PARENT_SAMPLE_CLIENT_STATE);
         }
@@ -944,7 +1064,7 @@ public class HTTPHC4Impl extends HTTPHCAbstractImpl {
      * Holder class for all fields that define an HttpClient instance;
      * used as the key to the ThreadLocal map of HttpClient instances.
      */
-    private static final class HttpClientKey {
+    static final class HttpClientKey {
 
         private final String protocol;
         private final String authority;
@@ -1078,6 +1198,7 @@ public class HTTPHC4Impl extends HTTPHCAbstractImpl {
 
         if (httpClient == null) { // One-time init for this client
             DnsResolver resolver = this.testElement.getDNSResolver();
+            boolean sharedPool = POOL_SCOPE != ConnectionPoolScope.THREAD && canShareConnectionManager(resolver);
             if (resolver == null) {
                 resolver = SystemDefaultDnsResolver.INSTANCE;
             }
@@ -1089,13 +1210,13 @@ public class HTTPHC4Impl extends HTTPHCAbstractImpl {
             // Modern browsers use more connections per host than the current httpclient default (2)
             // when using parallel download the httpclient and connection manager are shared by the downloads threads
             // to be realistic JMeter must set an higher value to DefaultMaxPerRoute
-            PoolingHttpClientConnectionManager pHCCM =
-                    new PoolingHttpClientConnectionManager(
-                            new JMeterDefaultHttpClientConnectionOperator(registry, null, resolver),
-                            null, TIME_TO_LIVE, TimeUnit.MILLISECONDS);
-            pHCCM.setValidateAfterInactivity(VALIDITY_AFTER_INACTIVITY_TIMEOUT);
+            HttpClientConnectionOperator connectionOperator =
+                    new JMeterDefaultHttpClientConnectionOperator(registry, null, resolver);
+            PoolingHttpClientConnectionManager pHCCM = sharedPool
+                    ? acquireSharedConnectionManager(getPoolScopeKey(POOL_SCOPE), key, connectionOperator)
+                    : new JMeterPoolingHttpClientConnectionManager(connectionOperator, false);
 
-            if(concurrentDwn) {
+            if(concurrentDwn && !sharedPool) {
                 try {
                     int maxConcurrentDownloads = Integer.parseInt(this.testElement.getConcurrentPool());
                     pHCCM.setDefaultMaxPerRoute(Math.max(maxConcurrentDownloads, pHCCM.getDefaultMaxPerRoute()));
@@ -1110,6 +1231,7 @@ public class HTTPHC4Impl extends HTTPHCAbstractImpl {
                     .build();
 
             HttpClientBuilder builder = HttpClients.custom().setConnectionManager(pHCCM).
+                    setConnectionManagerShared(sharedPool).
                     setSchemePortResolver(new DefaultSchemePortResolver()).
                     setDnsResolver(resolver).
                     setRequestExecutor(REQUEST_EXECUTOR).
@@ -1181,6 +1303,96 @@ public class HTTPHC4Impl extends HTTPHCAbstractImpl {
         return triple;
     }
 
+    /**
+     * Get the connection manager shared by the threads of the pool scope for this key,
+     * creating it if this is the first thread to use it.
+     * @param scopeKey key of the pool scope, see {@link #getPoolScopeKey(ConnectionPoolScope)}
+     * @param key {@link HttpClientKey}
+     * @param connectionOperator operator used if the connection manager is created
+     * @return the shared {@link PoolingHttpClientConnectionManager}
+     */
+    static PoolingHttpClientConnectionManager acquireSharedConnectionManager(Object scopeKey, HttpClientKey key,
+            HttpClientConnectionOperator connectionOperator) {
+        Pair<Object, HttpClientKey> sharedKey = Pair.of(scopeKey, key);
+        boolean newUser = SHARED_CONNECTION_MANAGER_KEYS.get().add(sharedKey);
+        SharedConnectionManager shared = SHARED_CONNECTION_MANAGERS.compute(sharedKey, (k, current) -> {
+            SharedConnectionManager result = current;
+            if (result == null) {
+                PoolingHttpClientConnectionManager manager = new JMeterPoolingHttpClientConnectionManager(connectionOperator, true);
+                manager.setMaxTotal(POOL_MAX_TOTAL);
+                manager.setDefaultMaxPerRoute(POOL_MAX_PER_ROUTE);
+                log.info("Created connection pool for {} shared by {}, max total: {}, max per route: {}",
+                        k.getRight(), POOL_SCOPE, POOL_MAX_TOTAL, POOL_MAX_PER_ROUTE);
+                result = new SharedConnectionManager(manager);
+            }
+            if (newUser) {
+                result.users++;
+            }
+            return result;
+        });
+        return shared.manager;
+    }
+
+    /**
+     * Connections of a shared pool are created by the operator of the first thread and reused by the others,
+     * so the pool can only be shared when neither the DNS resolution nor the client certificate differ per thread.
+     * @param resolver DNS resolver of the DNS Cache Manager, {@code null} if there is none
+     * @return {@code true} if the connection manager can be shared by the threads of the pool scope
+     */
+    static boolean canShareConnectionManager(DnsResolver resolver) {
+        // DNS Cache Manager is cloned per thread, and keystore aliases are picked per thread
+        boolean perThreadResolver = resolver != null;
+        boolean perThreadKeyStore = !System.getProperty(SSLManager.JAVAX_NET_SSL_KEY_STORE, "").isEmpty(); // $NON-NLS-1$
+        if (!perThreadResolver && !perThreadKeyStore) {
+            return true;
+        }
+        if (!loggedPerThreadPoolFallback) {
+            loggedPerThreadPoolFallback = true;
+            log.warn("httpclient4.pool.scope={} ignored, connection pools are per thread as {} per thread",
+                    POOL_SCOPE, perThreadResolver ? "DNS Cache Manager resolves hosts" : "client certificates are selected");
+        }
+        return false;
+    }
+
+    private static boolean isShared(PoolingHttpClientConnectionManager manager) {
+        return manager instanceof JMeterPoolingHttpClientConnectionManager
+                && ((JMeterPoolingHttpClientConnectionManager) manager).shared;
+    }
+
+    /**
+     * @param scope {@link ConnectionPoolScope#TEST} or {@link ConnectionPoolScope#THREAD_GROUP}
+     * @return key of the connection managers shared by the threads of the scope of the current thread
+     */
+    static Object getPoolScopeKey(ConnectionPoolScope scope) {
+        if (scope == ConnectionPoolScope.TEST) {
+            return TEST_POOL_SCOPE;
+        }
+        return new IdentityKey<>(JMeterContextService.getContext().getThreadGroup());
+    }
+
+    /**
+     * Release the shared connection managers used by the current thread,
+     * closing those which are no longer used by any thread.
+     */
+    static void releaseSharedConnectionManagers() {
+        Set<Pair<Object, HttpClientKey>> sharedKeys = SHARED_CONNECTION_MANAGER_KEYS.get();
+        List<PoolingHttpClientConnectionManager> unused = new ArrayList<>();
+        for (Pair<Object, HttpClientKey> sharedKey : sharedKeys) {
+            SHARED_CONNECTION_MANAGERS.computeIfPresent(sharedKey, (k, shared) -> {
+                if (--shared.users > 0) {
+                    return shared;
+                }
+                unused.add(shared.manager);
+                return null;
+            });
+        }
+        sharedKeys.clear();
+        for (PoolingHttpClientConnectionManager manager : unused) {
+            log.debug("Closing shared connection pool {}", manager);
+            JOrphanUtils.closeQuietly(manager);
+        }
+    }
+
     protected AuthenticationStrategy getProxyAuthStrategy() {
         return ProxyAuthenticationStrategy.INSTANCE;
     }
@@ -1250,6 +1462,10 @@ public class HTTPHC4Impl extends HTTPHCAbstractImpl {
         for (MutableTriple<CloseableHttpClient, AuthState, PoolingHttpClientConnectionManager> triple :
                 mapHttpClientPerHttpClientKey.values()) {
             PoolingHttpClientConnectionManager poolingHttpClientConnectionManager = triple.getRight();
+            if (isShared(poolingHttpClientConnectionManager)) {
+                // connections of a shared pool may be in use by other threads
+                continue;
+            }
             poolingHttpClientConnectionManager.closeExpiredConnections();
             poolingHttpClientConnectionManager.closeIdleConnections(1L, TimeUnit.MICROSECONDS);
         }
@@ -1855,6 +2071,23 @@ public class HTTPHC4Impl extends HTTPHCAbstractImpl {
         closeThreadLocalConnections();
     }
 
+    @Override
+    protected void resourceDownloadFinished() {
+        // Download threads are pooled and never finish with the JMeter threads,
+        // so they give shared connection managers back after each resource.
+        // Connections stay in the pool as long as the JMeter threads of the scope use it
+        Map<HttpClientKey, MutableTriple<CloseableHttpClient, AuthState, PoolingHttpClientConnectionManager>>
+            mapHttpClientPerHttpClientKey = HTTPCLIENTS_CACHE_PER_THREAD_AND_HTTPCLIENTKEY.get();
+        mapHttpClientPerHttpClientKey.values().removeIf(triple -> {
+            if (isShared(triple.getRight())) {
+                JOrphanUtils.closeQuietly(triple.getLeft());
+                return true;
+            }
+            return false;
+        });
+        releaseSharedConnectionManagers();
+    }
+
     private static void closeThreadLocalConnections() {
         // Does not need to be synchronised, as all access is from same thread
         Map<HttpClientKey, MutableTriple<CloseableHttpClient, AuthState, PoolingHttpClientConnectionManager>>
@@ -1862,10 +2095,13 @@ public class HTTPHC4Impl extends HTTPHCAbstractImpl {
         if (mapHttpClientPerHttpClientKey != null ) {
             for (MutableTriple<CloseableHttpClient, AuthState, PoolingHttpClientConnectionManager> triple : mapHttpClientPerHttpClientKey.values() ) {
                 JOrphanUtils.closeQuietly(triple.getLeft());
-                JOrphanUtils.closeQuietly(triple.getRight());
+                if (!isShared(triple.getRight())) {
+                    JOrphanUtils.closeQuietly(triple.getRight());
+                } // shared connection managers are closed by releaseSharedConnectionManagers
             }
             mapHttpClientPerHttpClientKey.clear();
         }
+        releaseSharedConnectionManagers();
     }
 
     @Override
@@ -0,0 +1,496 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.protocol.http.sampler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.net.ssl.SSLContext;
+
+import org.apache.commons.io.input.CountingInputStream;
+import org.apache.http.impl.EnglishReasonPhraseCatalog;
+import org.apache.jmeter.protocol.http.control.AuthManager;
+import org.apache.jmeter.protocol.http.control.Authorization;
+import org.apache.jmeter.protocol.http.control.CacheManager;
+import org.apache.jmeter.protocol.http.control.CookieManager;
+import org.apache.jmeter.protocol.http.control.Header;
+import org.apache.jmeter.protocol.http.control.HeaderManager;
+import org.apache.jmeter.protocol.http.util.HTTPArgument;
+import org.apache.jmeter.protocol.http.util.HTTPConstants;
+import org.apache.jmeter.protocol.http.util.HTTPFileArg;
+import org.apache.jmeter.services.FileServer;
+import org.apache.jmeter.testelement.property.CollectionProperty;
+import org.apache.jmeter.testelement.property.JMeterProperty;
+import org.apache.jmeter.util.JMeterUtils;
+import org.apache.jmeter.util.JsseSSLManager;
+import org.apache.jmeter.util.SSLManager;
+import org.apache.jorphan.util.JOrphanUtils;
+import org.apache.jorphan.util.StringUtilities;
+import org.brotli.dec.BrotliInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * HTTP implementation based on the JDK {@link HttpClient}, which negotiates HTTP/2.
+ * <p>
+ * Clients are shared by all the threads, so requests to the same host, including embedded resources
+ * downloaded in parallel, are multiplexed over a few connections. Connection I/O runs on a small
+ * pool of threads ({@code httpsampler.http2.threads}) while the sampling thread waits for the response.
+ * <p>
+ * When client certificates are configured ({@code javax.net.ssl.keyStore}), the keystore alias is
+ * selected per thread, so each thread uses its own clients built with its own SSL context.
+ * <p>
+ * Not supported: multipart requests, source IP addresses and proxy authentication.
+ */
+public class HTTPJavaHttp2Impl extends HTTPAbstractImpl {
+
+    private static final Logger log = LoggerFactory.getLogger(HTTPJavaHttp2Impl.class);
+
+    /** Number of threads doing the connection I/O of all the clients */
+    private static final int IO_THREADS = JMeterUtils.getPropDefault("httpsampler.http2.threads", // $NON-NLS-1$
+            Math.max(2, Runtime.getRuntime().availableProcessors()));
+
+    /** Headers that {@link HttpRequest.Builder} does not allow, as they are managed by the client */
+    private static final Set<String> RESTRICTED_HEADERS = Set.of(
+            "connection", "content-length", "expect", "host", "upgrade"); // $NON-NLS-1$ // $NON-NLS-2$ // $NON-NLS-3$ // $NON-NLS-4$ // $NON-NLS-5$
+
+    private static final ExecutorService IO_EXECUTOR = Executors.newFixedThreadPool(IO_THREADS, new IoThreadFactory());
+
+    /** Clients shared by all the threads, keyed by the settings they are built with */
+    private static final Map<String, HttpClient> CLIENTS = new ConcurrentHashMap<>();
+
+    /** Clients of the current thread, used when clients cannot be shared, see {@link #canShareClients()} */
+    private static final ThreadLocal<Map<String, ThreadClient>> THREAD_CLIENTS = ThreadLocal.withInitial(HashMap::new);
+
+    /** Whether the fallback to per-thread clients has been logged, see {@link #canShareClients()} */
+    private static volatile boolean loggedPerThreadClientFallback;
+
+    private volatile CompletableFuture<?> currentRequest; // Accessed from multiple threads
+
+    volatile InputStream currentResponseBody; // Accessed from multiple threads
+
+    /** Client of a thread and the SSL context it has been built with */
+    private static final class ThreadClient {
+        private final SSLContext sslContext;
+        private final HttpClient client;
+
+        private ThreadClient(SSLContext sslContext, HttpClient client) {
+            this.sslContext = sslContext;
+            this.client = client;
+        }
+    }
+
+    private static final class IoThreadFactory implements java.util.concurrent.ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "http2-io-" + threadNumber.incrementAndGet()); // $NON-NLS-1$
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    protected HTTPJavaHttp2Impl(HTTPSamplerBase base) {
+        super(base);
+    }
+
+    @Override
+    protected HTTPSampleResult sample(URL url, String method, boolean areFollowingRedirect, int frameDepth) {
+        if (log.isDebugEnabled()) {
+            log.debug("Start : sample {}, method {}, followingRedirect {}, depth {}",
+                    url, method, areFollowingRedirect, frameDepth);
+        }
+        HTTPSampleResult res = new HTTPSampleResult();
+        configureSampleLabel(res, url);
+        res.setURL(url);
+        res.setHTTPMethod(method);
+
+        res.sampleStart();
+
+        final CacheManager cacheManager = getCacheManager();
+        Header[] headers = getHeaders(getHeaderManager());
+        if (cacheManager != null && HTTPConstants.GET.equalsIgnoreCase(method)
+                && cacheManager.inCache(url, headers)) {
+            return updateSampleResultForResourceInCache(res);
+        }
+
+        try {
+            HttpClient client = getClient();
+            HttpRequest request = createRequest(url, method, headers, res);
+            HttpResponse<InputStream> response = send(client, request);
+
+            String contentEncoding = response.headers().firstValue(HEADER_CONTENT_ENCODING).orElse(null);
+            InputStream body = response.body();
+            currentResponseBody = body;
+            CountingInputStream countingStream = new CountingInputStream(body);
+            byte[] responseData = readResponse(res, decode(countingStream, contentEncoding),
+                    response.headers().firstValueAsLong(HTTPConstants.HEADER_CONTENT_LENGTH).orElse(0L));
+            res.sampleEnd();
+            res.setBodySize(countingStream.getByteCount());
+            res.setResponseData(responseData);
+
+            int statusCode = response.statusCode();
+            res.setResponseCode(Integer.toString(statusCode));
+            String reason = EnglishReasonPhraseCatalog.INSTANCE.getReason(statusCode, Locale.ENGLISH);
+            res.setResponseMessage(reason == null ? "" : reason);
+            res.setSuccessful(isSuccessCode(statusCode));
+
+            response.headers().firstValue(HTTPConstants.HEADER_CONTENT_TYPE).ifPresent(ct -> {
+                res.setContentType(ct);
+                res.setEncodingAndType(ct);
+            });
+            String responseHeaders = getResponseHeaders(response);
+            res.setResponseHeaders(responseHeaders);
+            res.setHeadersSize(responseHeaders.length()
+                    + StringUtilities.count(responseHeaders, '\n')
+                    + 2); // add 2 for a '\r\n' at end of headers (before data)
+            if (res.isRedirect()) {
+                res.setRedirectLocation(response.headers().firstValue(HEADER_LOCATION).orElse(null));
+            }
+
+            // If we redirected automatically, the URL may have changed
+            if (getAutoRedirects()) {
+                res.setURL(response.uri().toURL());
+            }
+
+            saveConnectionCookies(response, res.getURL(), getCookieManager());
+            if (cacheManager != null) {
+                cacheManager.saveDetails(response, res);
+            }
+
+            res = resultProcessing(areFollowingRedirect, frameDepth, res);
+            log.debug("End : sample");
+            return res;
+        } catch (IOException | GeneralSecurityException | URISyntaxException | RuntimeException e) {
+            if (res.getEndTime() == 0) {
+                res.sampleEnd();
+            }
+            return errorResult(e, res);
+        } finally {
+            currentRequest = null;
+            currentResponseBody = null;
+        }
+    }
+
+    private HttpResponse<InputStream> send(HttpClient client, HttpRequest request) throws IOException {
+        CompletableFuture<HttpResponse<InputStream>> future =
+                client.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+        currentRequest = future;
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new InterruptedIOException("Interrupted while waiting for " + request.uri());
+        } catch (CancellationException e) {
+            throw new InterruptedIOException("Request was interrupted: " + request.uri());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Get the client for the settings of this sampler.
+     */
+    private HttpClient getClient() throws GeneralSecurityException {
+        final String proxyHost = getProxyHost();
+        final int proxyPort = getProxyPortInt();
+        final boolean useProxy = !proxyHost.isEmpty() && proxyPort > 0;
+        final int connectTimeout = getConnectTimeout();
+        final boolean autoRedirects = getAutoRedirects();
+        String key = (useProxy ? proxyHost + ':' + proxyPort : "") + '|' + connectTimeout + '|' + autoRedirects;
+        SSLContext sslContext = ((JsseSSLManager) SSLManager.getInstance()).getContext();
+        return getClient(key, sslContext, canShareClients(), context -> {
+            HttpClient.Builder builder = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .executor(IO_EXECUTOR)
+                    .followRedirects(autoRedirects ? HttpClient.Redirect.ALWAYS : HttpClient.Redirect.NEVER)
+                    .sslContext(context);
+            if (connectTimeout > 0) {
+                builder.connectTimeout(Duration.ofMillis(connectTimeout));
+            }
+            if (useProxy) {
+                builder.proxy(ProxySelector.of(new InetSocketAddress(proxyHost, proxyPort)));
+            }
+            return builder.build();
+        });
+    }
+
+    /**
+     * Get the client for the given settings.
+     *
+     * @param key        settings the client is built with
+     * @param sslContext SSL context of the current thread
+     * @param shared     {@code true} to share the client with all the threads, {@code false} to use a client
+     *                   of the current thread which is built again when the SSL context of the thread changes
+     * @param factory    creates a client using the given SSL context
+     * @return the client to use for the request
+     */
+    static HttpClient getClient(String key, SSLContext sslContext, boolean shared,
+            Function<SSLContext, HttpClient> factory) {
+        if (!shared) {
+            Map<String, ThreadClient> threadClients = THREAD_CLIENTS.get();
+            ThreadClient threadClient = threadClients.get(key);
+            if (threadClient == null || threadClient.sslContext != sslContext) {
+                log.debug("Creating HTTP/2 client for {} in {}", key, Thread.currentThread().getName());
+                threadClient = new ThreadClient(sslContext, factory.apply(sslContext));
+                threadClients.put(key, threadClient);
+            }
+            return threadClient.client;
+        }
+        HttpClient client = CLIENTS.get(key);
+        if (client != null) {
+            return client;
+        }
+        HttpClient created = factory.apply(sslContext);
+        client = CLIENTS.putIfAbsent(key, created);
+        if (client == null) {
+            log.info("Created HTTP/2 client for {}", key);
+            client = created;
+        }
+        return client;
+    }
+
+    /**
+     * @return {@code false} when client certificates are configured, as their alias is selected per thread
+     */
+    static boolean canShareClients() {
+        if (System.getProperty(SSLManager.JAVAX_NET_SSL_KEY_STORE, "").isEmpty()) { // $NON-NLS-1$
+            return true;
+        }
+        if (!loggedPerThreadClientFallback) {
+            loggedPerThreadClientFallback = true;
+            log.info("HTTP/2 clients are per thread as client certificates are selected per thread");
+        }
+        return false;
+    }
+
+    private HttpRequest createRequest(URL url, String method, Header[] headers, HTTPSampleResult res)
+            throws IOException, URISyntaxException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(url.toURI());
+        int responseTimeout = getResponseTimeout();
+        if (responseTimeout > 0) {
+            builder.timeout(Duration.ofMillis(responseTimeout));
+        }
+        boolean hasContentTypeHeader = false;
+        for (Header header : headers) {
+            String name = header.getName();
+            if (RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                log.debug("Ignoring header {} which is managed by the HTTP/2 client", name);
+                continue;
+            }
+            hasContentTypeHeader |= HTTPConstants.HEADER_CONTENT_TYPE.equalsIgnoreCase(name);
+            builder.header(name, header.getValue());
+        }
+        CacheManager cacheManager = getCacheManager();
+        if (cacheManager != null) {
+            cacheManager.setHeaders(builder, headers, url);
+        }
+        String authorization = getAuthorization(url, getAuthManager());
+        if (authorization != null) {
+            builder.setHeader(HTTPConstants.HEADER_AUTHORIZATION, authorization);
+        }
+        CookieManager cookieManager = getCookieManager();
+        String cookies = cookieManager == null ? null : cookieManager.getCookieHeaderForURL(url);
+        if (cookies != null) {
+            builder.setHeader(HTTPConstants.HEADER_COOKIE, cookies);
+            res.setCookies(cookies);
+        }
+        builder.method(method, createBody(method, builder, hasContentTypeHeader, res));
+
+        HttpRequest request = builder.build();
+        StringBuilder requestHeaders = new StringBuilder(100);
+        request.headers().map().forEach((name, values) -> {
+            if (ALL_EXCEPT_COOKIE.test(name)) {
+                for (String value : values) {
+                    requestHeaders.append(name).append(": ").append(value).append('\n'); // $NON-NLS-1$
+                }
+            }
+        });
+        res.setRequestHeaders(requestHeaders.toString());
+        return request;
+    }
+
+    /**
+     * Create the body of the request, as done for the HttpClient4 implementation
+     * with the exception of multipart requests which are not supported.
+     */
+    private HttpRequest.BodyPublisher createBody(String method, HttpRequest.Builder builder,
+            boolean hasContentTypeHeader, HTTPSampleResult res) throws IOException {
+        HTTPFileArg[] files = getHTTPFiles();
+        boolean sendFile = !hasArguments() && getSendFileAsPostBody();
+        boolean sendParameterValues = getSendParameterValuesAsPostBody();
+        if (HTTPConstants.HEAD.equals(method) || HTTPConstants.OPTIONS.equals(method)
+                || HTTPConstants.TRACE.equals(method)
+                || HTTPConstants.GET.equals(method) && !sendFile && !sendParameterValues) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        if (getUseMultipart()) {
+            throw new IllegalArgumentException("Multipart requests are not supported by the "
+                    + HTTPSamplerFactory.IMPL_JAVA_HTTP2 + " implementation");
+        }
+        String contentEncoding = getContentEncoding();
+        Charset charset = JOrphanUtils.isBlank(contentEncoding) ? StandardCharsets.UTF_8 : Charset.forName(contentEncoding);
+        HTTPFileArg file = files.length > 0 ? files[0] : null;
+        if (!hasContentTypeHeader) {
+            if (file != null && file.getMimeType() != null && !file.getMimeType().isEmpty()
+                    && (sendFile || sendParameterValues)) {
+                builder.setHeader(HTTPConstants.HEADER_CONTENT_TYPE, file.getMimeType());
+            } else if (ADD_CONTENT_TYPE_TO_POST_IF_MISSING || !sendFile && !sendParameterValues && hasArguments()) {
+                builder.setHeader(HTTPConstants.HEADER_CONTENT_TYPE, HTTPConstants.APPLICATION_X_WWW_FORM_URLENCODED);
+            }
+        }
+        if (sendFile) {
+            res.setQueryString("<actual file content, not shown here>"); // $NON-NLS-1$
+            return HttpRequest.BodyPublishers.ofFile(FileServer.getFileServer().getResolvedFile(file.getPath()).toPath());
+        }
+        String body;
+        if (sendParameterValues) {
+            StringBuilder postBody = new StringBuilder();
+            for (JMeterProperty jMeterProperty : getArguments()) {
+                HTTPArgument arg = (HTTPArgument) jMeterProperty.getObjectValue();
+                postBody.append(arg.getEncodedValue(charset.name()));
+            }
+            body = postBody.toString();
+        } else if (hasArguments()) {
+            body = testElement.getQueryString(charset.name());
+        } else {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        res.setQueryString(body);
+        return HttpRequest.BodyPublishers.ofString(body, charset);
+    }
+
+    private static InputStream decode(InputStream in, String contentEncoding) throws IOException {
+        if (contentEncoding == null) {
+            return in;
+        }
+        switch (contentEncoding.trim().toLowerCase(Locale.ROOT)) {
+            case ENCODING_GZIP:
+                return new GZIPInputStream(in);
+            case ENCODING_DEFLATE:
+                return new InflaterInputStream(in);
+            case ENCODING_BROTLI:
+                return new BrotliInputStream(in);
+            default:
+                return in;
+        }
+    }
+
+    private static String getAuthorization(URL url, AuthManager authManager) {
+        if (authManager != null) {
+            Authorization auth = authManager.getAuthForURL(url);
+            if (auth != null) {
+                return auth.toBasicHeader();
+            }
+        }
+        return null;
+    }
+
+    private static Header[] getHeaders(HeaderManager headerManager) {
+        if (headerManager != null) {
+            final CollectionProperty headers = headerManager.getHeaders();
+            if (headers != null) {
+                final List<Header> allHeaders = new ArrayList<>(headers.size());
+                for (final JMeterProperty jMeterProperty : headers) {
+                    allHeaders.add((Header) jMeterProperty.getObjectValue());
+                }
+                return allHeaders.toArray(new Header[0]);
+            }
+        }
+        return new Header[0];
+    }
+
+    private static String getResponseHeaders(HttpResponse<?> response) {
+        StringBuilder headerBuf = new StringBuilder();
+        headerBuf.append(response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : HTTP_1_1) // $NON-NLS-1$
+                .append(' ').append(response.statusCode()).append('\n');
+        response.headers().map().forEach((name, values) -> {
+            for (String value : values) {
+                headerBuf.append(name).append(": ").append(value).append('\n'); // $NON-NLS-1$
+            }
+        });
+        return headerBuf.toString();
+    }
+
+    private static void saveConnectionCookies(HttpResponse<?> response, URL url, CookieManager cookieManager) {
+        if (cookieManager != null) {
+            for (String cookie : response.headers().allValues(HEADER_SET_COOKIE)) {
+                cookieManager.addCookieFromHeader(cookie, url);
+            }
+        }
+    }
+
+    @Override
+    protected void threadFinished() {
+        log.debug("Thread Finished");
+        THREAD_CLIENTS.remove();
+    }
+
+    /**
+     * Aborts the request in flight: cancels the exchange while waiting for the response headers,
+     * and closes the response body while reading it, which resets the stream of the request.
+     */
+    @Override
+    public boolean interrupt() {
+        CompletableFuture<?> request = currentRequest;
+        if (request != null) {
+            currentRequest = null; // don't try twice
+            request.cancel(true);
+        }
+        InputStream body = currentResponseBody;
+        if (body != null) {
+            currentResponseBody = null; // don't try twice
+            JOrphanUtils.closeQuietly(body);
+        }
+        return request != null || body != null;
+    }
+}
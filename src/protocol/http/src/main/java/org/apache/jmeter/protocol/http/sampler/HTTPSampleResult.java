@@ -58,6 +58,8 @@ public class HTTPSampleResult extends SampleResult {
 
     private String queryString = ""; // never null
 
+    private long poolWaitTime;
+
     private static final String HTTP_NO_CONTENT_CODE = Integer.toString(HttpURLConnection.HTTP_NO_CONTENT);
     private static final String HTTP_NO_CONTENT_MSG = "No Content"; // $NON-NLS-1$
 
@@ -82,6 +84,7 @@ public class HTTPSampleResult extends SampleResult {
         cookies=res.cookies;
         queryString=res.queryString;
         redirectLocation=res.redirectLocation;
+        poolWaitTime=res.poolWaitTime;
     }
 
     public void setHTTPMethod(String method) {
@@ -92,6 +95,23 @@ public class HTTPSampleResult extends SampleResult {
         return method;
     }
 
+    /**
+     * @return time in milliseconds spent waiting for a connection from the connection pool,
+     * included in the elapsed time; only measured by the HttpClient4 implementation
+     * @since 6.0.0
+     */
+    public long getPoolWaitTime() {
+        return poolWaitTime;
+    }
+
+    /**
+     * @param poolWaitTime time in milliseconds spent waiting for a connection from the connection pool
+     * @since 6.0.0
+     */
+    public void setPoolWaitTime(long poolWaitTime) {
+        this.poolWaitTime = poolWaitTime;
+    }
+
     public void setRedirectLocation(String redirectLocation) {
         this.redirectLocation = redirectLocation;
     }
@@ -36,6 +36,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
@@ -74,6 +75,7 @@ import org.apache.jmeter.protocol.http.util.HTTPFileArgs;
 import org.apache.jmeter.report.utils.MetricUtils;
 import org.apache.jmeter.samplers.AbstractSampler;
 import org.apache.jmeter.samplers.Entry;
+import org.apache.jmeter.samplers.ResponseDataOptional;
 import org.apache.jmeter.samplers.SampleResult;
 import org.apache.jmeter.testelement.TestElement;
 import org.apache.jmeter.testelement.TestIterationListener;
@@ -101,7 +103,7 @@ import org.slf4j.LoggerFactory;
  */
 public abstract class HTTPSamplerBase extends AbstractSampler
     implements TestStateListener, TestIterationListener, ThreadListener, HTTPConstantsInterface,
-        Replaceable {
+        Replaceable, ResponseDataOptional {
 
     private static final long serialVersionUID = 243L;
 
@@ -212,6 +214,15 @@ public abstract class HTTPSamplerBase extends AbstractSampler
     private static final boolean IGNORE_EMBEDDED_RESOURCES_DATA =
             JMeterUtils.getPropDefault("httpsampler.embedded_resources_use_md5", false); // $NON-NLS-1$ // default value: false
 
+    private static final ResponseBodyMode RESPONSE_BODY_MODE = ResponseBodyMode.fromProperty(
+            JMeterUtils.getPropDefault("httpsampler.response_body_mode", "store")); // $NON-NLS-1$ // $NON-NLS-2$
+
+    private static final int DISCARDED_BODY_SNIPPET_SIZE =
+            Math.max(0, JMeterUtils.getPropDefault("httpsampler.discarded_body.snippet_size", 256)); // $NON-NLS-1$
+
+    private static final String DISCARDED_BODY_DIGEST =
+            checkDigestAlgorithm(JMeterUtils.getPropDefault("httpsampler.discarded_body.digest", "")); // $NON-NLS-1$ // $NON-NLS-2$
+
     public static final int SOURCE_TYPE_DEFAULT = HTTPSamplerBase.SourceType.HOSTNAME.ordinal();
 
     public static final String DEFAULT_METHOD = HTTPConstants.GET; // $NON-NLS-1$
@@ -342,8 +353,48 @@ public abstract class HTTPSamplerBase extends AbstractSampler
         }
     }
 
+    /**
+     * What is kept of the response body by {@link #readResponse(SampleResult, InputStream, long)}
+     */
+    private enum ResponseBodyMode {
+        /** Keep the body, subject to {@code httpsampler.max_bytes_to_store_per_request} */
+        STORE,
+        /** Keep only the size of the body, and its head or digest */
+        DISCARD,
+        /** Discard the body when no assertion, post-processor or listener in scope reads it */
+        AUTO;
+
+        static ResponseBodyMode fromProperty(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                log.warn("Invalid value '{}' for httpsampler.response_body_mode, using 'store'", value);
+                return STORE;
+            }
+        }
+    }
+
+    private static String checkDigestAlgorithm(String algorithm) {
+        if (!algorithm.isEmpty()) {
+            try {
+                MessageDigest.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException e) {
+                log.warn("Unknown digest algorithm '{}' in httpsampler.discarded_body.digest, digest will not be computed",
+                        algorithm);
+                return "";
+            }
+        }
+        return algorithm;
+    }
+
     ////////////////////// Code ///////////////////////////
 
+    /** Whether an element in the scope of this sampler may read the response data, set by the TestCompiler */
+    private transient boolean responseDataRead = true;
+
+    /** Buffer reused to read the responses when their body is discarded */
+    private transient byte[] discardBuffer;
+
     protected HTTPSamplerBase() {
         setArguments(new Arguments());
     }
@@ -1901,16 +1952,55 @@ public abstract class HTTPSamplerBase extends AbstractSampler
     public void threadFinished() {
     }
 
+    /**
+     * Called in the {@link ResourcesDownloader} thread which downloaded an embedded resource with this sampler,
+     * so that what was acquired for that thread can be released as the thread does not finish with the test.
+     */
+    protected void resourceDownloadFinished() {
+        // NOOP by default
+    }
+
     @Override
     public void testIterationStart(LoopIterationEvent event) {
         // NOOP to provide based empty impl and avoid breaking existing implementations
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Used with {@code httpsampler.response_body_mode=auto} to discard the response body
+     * when it is not read.
+     */
+    @Override
+    public void setResponseDataRead(boolean read) {
+        this.responseDataRead = read;
+    }
+
+    /**
+     * Whether {@link #readResponse(SampleResult, InputStream, long)} only keeps the size of the body,
+     * and its head or digest.
+     * The body is always kept when embedded resources are retrieved, as it must be parsed, or when recording.
+     *
+     * @return {@code true} if the response body is not kept
+     */
+    protected boolean isResponseBodyDiscarded() {
+        if (RESPONSE_BODY_MODE == ResponseBodyMode.STORE || isImageParser()
+                || JMeterContextService.getContext().isRecording()) {
+            return false;
+        }
+        return RESPONSE_BODY_MODE == ResponseBodyMode.DISCARD || !responseDataRead;
+    }
+
     /**
      * Read response from the input stream, converting to MD5 digest if the useMD5 property is set.
      * <p>
      * For the MD5 case, the result byte count is set to the size of the original response.
      * <p>
+     * When the body is discarded (see {@code httpsampler.response_body_mode}), the response is streamed through
+     * a reused buffer and only its first {@code httpsampler.discarded_body.snippet_size} bytes are returned,
+     * or its digest when {@code httpsampler.discarded_body.digest} is set.
+     * The result byte count is then set to the size of the original response.
+     * <p>
      * Closes the inputStream
      *
      * @param sampleResult sample to store information about the response into
@@ -1920,6 +2010,9 @@ public abstract class HTTPSamplerBase extends AbstractSampler
      * @throws IOException if reading the result fails
      */
     public byte[] readResponse(SampleResult sampleResult, InputStream in, long length) throws IOException {
+        if (!useMD5() && isResponseBodyDiscarded()) {
+            return discardResponse(sampleResult, in);
+        }
 
         OutputStream w = null;
         try (Closeable ignore = in) { // NOSONAR No try with resource as performance is critical here
@@ -1997,6 +2090,51 @@ public abstract class HTTPSamplerBase extends AbstractSampler
         }
     }
 
+    private byte[] discardResponse(SampleResult sampleResult, InputStream in) throws IOException {
+        try (Closeable ignore = in) {
+            if (discardBuffer == null) {
+                discardBuffer = new byte[MAX_BUFFER_SIZE];
+            }
+            byte[] readBuffer = discardBuffer;
+            MessageDigest md = null;
+            if (!DISCARDED_BODY_DIGEST.isEmpty()) {
+                try {
+                    md = MessageDigest.getInstance(DISCARDED_BODY_DIGEST);
+                } catch (NoSuchAlgorithmException e) {
+                    log.error("Should not happen - could not find {} digest", DISCARDED_BODY_DIGEST, e);
+                }
+            }
+            byte[] snippet = new byte[md == null ? DISCARDED_BODY_SNIPPET_SIZE : 0];
+            int snippetLength = 0;
+            long totalBytes = 0;
+            boolean first = true;
+            int bytesReadInBuffer;
+            while ((bytesReadInBuffer = in.read(readBuffer)) > -1) {
+                if (first) {
+                    sampleResult.latencyEnd();
+                    first = false;
+                }
+                if (snippetLength < snippet.length) {
+                    int length = Math.min(bytesReadInBuffer, snippet.length - snippetLength);
+                    System.arraycopy(readBuffer, 0, snippet, snippetLength, length);
+                    snippetLength += length;
+                }
+                if (md != null) {
+                    md.update(readBuffer, 0, bytesReadInBuffer);
+                }
+                totalBytes += bytesReadInBuffer;
+            }
+            if (first) { // Bug 46838 - if there was no data, still need to set latency
+                sampleResult.latencyEnd();
+            }
+            sampleResult.setBytes(totalBytes);
+            if (md != null) {
+                return JOrphanUtils.baToHexBytes(md.digest());
+            }
+            return snippetLength == snippet.length ? snippet : Arrays.copyOf(snippet, snippetLength);
+        }
+    }
+
     /**
      * Optimized method to get byte array from {@link OutputStream}
      * @param w {@link OutputStream}
@@ -2166,7 +2304,12 @@ public abstract class HTTPSamplerBase extends AbstractSampler
         @Override
         public AsynSamplerResultHolder call() {
             JMeterContextService.replaceContext(jmeterContextOfParentThread);
-            HTTPSampleResult httpSampleResult = sampler.sample(url, method, areFollowingRedirect, depth);
+            HTTPSampleResult httpSampleResult;
+            try {
+                httpSampleResult = sampler.sample(url, method, areFollowingRedirect, depth);
+            } finally {
+                sampler.resourceDownloadFinished();
+            }
             if (sampler.getCookieManager() != null) {
                 CollectionProperty cookies = sampler.getCookieManager().getCookies();
                 return new AsynSamplerResultHolder(httpSampleResult, cookies);
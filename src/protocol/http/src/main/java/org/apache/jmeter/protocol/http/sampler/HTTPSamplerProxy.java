@@ -76,6 +76,13 @@ public final class HTTPSamplerProxy extends HTTPSamplerBase implements Interrupt
         }
     }
 
+    @Override
+    protected void resourceDownloadFinished() {
+        if (impl != null) {
+            impl.resourceDownloadFinished(); // Forward to sampler
+        }
+    }
+
     @Override
     public boolean interrupt() {
         if (impl != null) {
@@ -20,8 +20,10 @@ package org.apache.jmeter.protocol.http.util;
 import java.net.URL;
 
 import org.apache.jmeter.protocol.http.sampler.HTTPSampleResult;
+import org.apache.jmeter.samplers.SampleResult;
 import org.apache.jmeter.samplers.SampleSaveConfiguration;
 import org.apache.jmeter.save.converters.SampleResultConverter;
+import org.apache.jorphan.util.Converter;
 
 import com.thoughtworks.xstream.converters.MarshallingContext;
 import com.thoughtworks.xstream.converters.UnmarshallingContext;
@@ -34,6 +36,9 @@ import com.thoughtworks.xstream.mapper.Mapper;
  */
 public class HTTPResultConverter extends SampleResultConverter {
 
+    /** Connection pool wait time, saved with the connect time when not zero */
+    private static final String ATT_POOL_WAIT_TIME = "pw"; //$NON-NLS-1$
+
     /**
      * Returns the converter version; used to check for possible
      * incompatibilities
@@ -71,6 +76,24 @@ public class HTTPResultConverter extends SampleResultConverter {
         saveSamplerData(writer, context, res, save);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected void setAttributes(HierarchicalStreamWriter writer, MarshallingContext context, SampleResult res,
+            SampleSaveConfiguration save) {
+        super.setAttributes(writer, context, res, save);
+        long poolWaitTime = ((HTTPSampleResult) res).getPoolWaitTime();
+        if (save.saveConnectTime() && poolWaitTime != 0) {
+            writer.addAttribute(ATT_POOL_WAIT_TIME, Long.toString(poolWaitTime));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void retrieveAttributes(HierarchicalStreamReader reader, UnmarshallingContext context, SampleResult res) {
+        super.retrieveAttributes(reader, context, res);
+        ((HTTPSampleResult) res).setPoolWaitTime(Converter.getLong(reader.getAttribute(ATT_POOL_WAIT_TIME)));
+    }
+
     private void saveSamplerData(HierarchicalStreamWriter writer, MarshallingContext context, HTTPSampleResult res,
             SampleSaveConfiguration save) {
         if (save.saveSamplerData(res)) {
@@ -180,6 +180,11 @@ public class RequestViewHTTP implements RequestView {
             requestModel.addRow(new RowResult(
                     JMeterUtils.getResString("view_results_table_request_http_method"), //$NON-NLS-1$
                     sampleResult.getHTTPMethod()));
+            if (sampleResult.getPoolWaitTime() != 0) {
+                requestModel.addRow(new RowResult(
+                        JMeterUtils.getResString("view_results_table_request_http_pool_wait"), //$NON-NLS-1$
+                        sampleResult.getPoolWaitTime()));
+            }
 
             // Parsed request headers
             LinkedHashMap<String, String> lhm = JMeterUtils.parseHeaders(sampleResult.getRequestHeaders());
@@ -38,6 +38,8 @@ public class DnsManagerTest {
     void badDnsInCustomResolverShouldFailHttpSampler(String httpImplementation, WireMockServer server) {
         Assumptions.assumeTrue(!HTTPSamplerFactory.IMPL_JAVA.equals(httpImplementation),
                 "Java implementation does not support custom DNS resolver yet");
+        Assumptions.assumeTrue(!HTTPSamplerFactory.IMPL_JAVA_HTTP2.equals(httpImplementation),
+                "JavaHTTP2 implementation does not support custom DNS resolver");
         DNSCacheManager dns = new DNSCacheManager();
         dns.setCustomResolver(true);
         dns.addServer("20.0.118.11");
@@ -177,8 +177,9 @@ public class ParallelResourcesAndIpSource {
                 sourceIp instanceof Inet6Address && !targetHost.startsWith("[")) {
             // Connection from IPv4 to IPv6 must fail
             // Connection from IPv6 to IPv4 must fail
-            if (HTTPSamplerFactory.IMPL_JAVA.equals(httpImplementation)) {
-                // Java implementation is known to ignore source IP, so it should connect anyway
+            if (HTTPSamplerFactory.IMPL_JAVA.equals(httpImplementation)
+                    || HTTPSamplerFactory.IMPL_JAVA_HTTP2.equals(httpImplementation)) {
+                // Java implementations are known to ignore source IP, so it should connect anyway
                 // pass to "successful" assertion below
                 Assumptions.assumeFalse(
                         result.getResponseDataAsString().contains("SocketException: Protocol family unavailable"),
@@ -18,20 +18,40 @@
 package org.apache.jmeter.protocol.http.sampler;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
+import java.net.URL;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.apache.http.HttpHost;
 import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.HttpClientConnectionOperator;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.impl.conn.DefaultHttpClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.jmeter.protocol.http.control.DNSCacheManager;
 import org.apache.jmeter.protocol.http.control.gui.HttpTestSampleGui;
+import org.apache.jmeter.protocol.http.sampler.HTTPHC4Impl.ConnectionPoolScope;
+import org.apache.jmeter.protocol.http.sampler.HTTPHC4Impl.HttpClientKey;
 import org.apache.jmeter.protocol.http.util.HTTPArgument;
 import org.apache.jmeter.protocol.http.util.HTTPConstants;
 import org.apache.jmeter.protocol.http.util.HTTPFileArg;
 import org.apache.jmeter.threads.JMeterContext;
 import org.apache.jmeter.threads.JMeterContextService;
 import org.apache.jmeter.threads.JMeterVariables;
+import org.apache.jmeter.threads.ThreadGroup;
+import org.apache.jmeter.util.SSLManager;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
@@ -42,6 +62,7 @@ public class TestHTTPHC4Impl {
     private JMeterContext jmctx;
     private JMeterVariables jmvars;
     private static final String SAME_USER = "__jmv_SAME_USER";
+    private static final Object TEST_SCOPE = HTTPHC4Impl.getPoolScopeKey(ConnectionPoolScope.TEST);
 
     @BeforeEach
     public void setUp() {
@@ -118,4 +139,111 @@ public class TestHTTPHC4Impl {
         hc.notifyFirstSampleAfterLoopRestart();
         Assertions.assertTrue(HTTPHC4Impl.resetStateOnThreadGroupIteration.get(), "Users are different, the state should be reset");
     }
+
+    @Test
+    void sharedConnectionManagerIsClosedWhenTheLastThreadReleasesIt() throws Exception {
+        HttpClientKey key = newClientKey("last-release.example.invalid");
+        PoolingHttpClientConnectionManager manager =
+                HTTPHC4Impl.acquireSharedConnectionManager(TEST_SCOPE, key, newOperator());
+        // Acquiring again from the same thread does not count as another user
+        assertSame(manager, HTTPHC4Impl.acquireSharedConnectionManager(TEST_SCOPE, key, newOperator()));
+        AtomicReference<PoolingHttpClientConnectionManager> otherManager = new AtomicReference<>();
+        runInOtherThread(() -> {
+            otherManager.set(HTTPHC4Impl.acquireSharedConnectionManager(TEST_SCOPE, key, newOperator()));
+            HTTPHC4Impl.releaseSharedConnectionManagers();
+        });
+        assertSame(manager, otherManager.get(), "threads of the same scope share the connection manager");
+        assertFalse(isClosed(manager), "connection manager is still used by this thread");
+        HTTPHC4Impl.releaseSharedConnectionManagers();
+        assertTrue(isClosed(manager), "connection manager is closed once no thread uses it");
+    }
+
+    @Test
+    void downloadThreadReleasesSharedConnectionManagerAfterEachResource() throws Exception {
+        HttpClientKey key = newClientKey("download.example.invalid");
+        PoolingHttpClientConnectionManager manager =
+                HTTPHC4Impl.acquireSharedConnectionManager(TEST_SCOPE, key, newOperator());
+        AtomicReference<PoolingHttpClientConnectionManager> downloadManager = new AtomicReference<>();
+        HTTPHC4Impl hc = new HTTPHC4Impl((HTTPSamplerBase) new HttpTestSampleGui().createTestElement());
+        runInOtherThread(() -> {
+            downloadManager.set(HTTPHC4Impl.acquireSharedConnectionManager(TEST_SCOPE, key, newOperator()));
+            hc.resourceDownloadFinished();
+        });
+        assertSame(manager, downloadManager.get());
+        assertFalse(isClosed(manager), "connection manager is still used by the JMeter thread");
+        HTTPHC4Impl.releaseSharedConnectionManagers();
+        assertTrue(isClosed(manager), "download thread must not keep the connection manager open");
+    }
+
+    @Test
+    void threadGroupScopeIsUniquePerThreadGroup() throws Exception {
+        ThreadGroup group = new ThreadGroup();
+        ThreadGroup otherGroup = new ThreadGroup();
+        AtomicReference<Object> otherThreadKey = new AtomicReference<>();
+        AtomicReference<Object> otherGroupKey = new AtomicReference<>();
+        AtomicReference<Object> otherGroupTestKey = new AtomicReference<>();
+        runInOtherThread(() -> {
+            JMeterContextService.getContext().setThreadGroup(group);
+            otherThreadKey.set(HTTPHC4Impl.getPoolScopeKey(ConnectionPoolScope.THREAD_GROUP));
+            JMeterContextService.getContext().setThreadGroup(otherGroup);
+            otherGroupKey.set(HTTPHC4Impl.getPoolScopeKey(ConnectionPoolScope.THREAD_GROUP));
+            otherGroupTestKey.set(HTTPHC4Impl.getPoolScopeKey(ConnectionPoolScope.TEST));
+        });
+        runInOtherThread(() -> {
+            JMeterContextService.getContext().setThreadGroup(group);
+            assertEquals(otherThreadKey.get(), HTTPHC4Impl.getPoolScopeKey(ConnectionPoolScope.THREAD_GROUP),
+                    "threads of a thread group share its pools");
+            assertNotEquals(otherGroupKey.get(), HTTPHC4Impl.getPoolScopeKey(ConnectionPoolScope.THREAD_GROUP),
+                    "thread groups do not share pools");
+            assertEquals(otherGroupTestKey.get(), HTTPHC4Impl.getPoolScopeKey(ConnectionPoolScope.TEST),
+                    "all the threads of the test share the pools");
+        });
+    }
+
+    @Test
+    void perThreadDnsResolverIsNotShared() {
+        assertFalse(HTTPHC4Impl.canShareConnectionManager(new DNSCacheManager()),
+                "connections of a shared pool would use the DNS Cache Manager of another thread");
+        Assumptions.assumeTrue(System.getProperty(SSLManager.JAVAX_NET_SSL_KEY_STORE, "").isEmpty(),
+                "client certificates are selected per thread");
+        assertTrue(HTTPHC4Impl.canShareConnectionManager(null));
+    }
+
+    private static HttpClientKey newClientKey(String host) throws Exception {
+        return new HttpClientKey(new URL("http://" + host), false, "", "", -1, "", "");
+    }
+
+    private static HttpClientConnectionOperator newOperator() {
+        return new DefaultHttpClientConnectionOperator(RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.INSTANCE)
+                .build(), null, null);
+    }
+
+    private static boolean isClosed(PoolingHttpClientConnectionManager manager) {
+        try {
+            manager.requestConnection(new HttpRoute(new HttpHost("localhost")), null).cancel();
+            return false;
+        } catch (IllegalStateException e) {
+            return true;
+        }
+    }
+
+    private static void runInOtherThread(Runnable runnable) throws Exception {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                runnable.run();
+            } catch (Throwable e) { // NOSONAR rethrown in the test thread
+                failure.set(e);
+            }
+        });
+        thread.start();
+        thread.join();
+        if (failure.get() instanceof Error) {
+            throw (Error) failure.get();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
 }
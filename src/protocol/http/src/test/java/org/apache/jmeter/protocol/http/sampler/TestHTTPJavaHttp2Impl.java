@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.protocol.http.sampler;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import javax.net.ssl.SSLContext;
+
+import org.apache.jmeter.protocol.http.control.gui.HttpTestSampleGui;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+
+class TestHTTPJavaHttp2Impl {
+    private WireMockServer server;
+
+    @BeforeEach
+    void startServer() {
+        server = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    @Timeout(value = 20, unit = TimeUnit.SECONDS)
+    void interruptAbortsRequestWaitingForHeaders() throws Exception {
+        server.stubFor(get(urlPathEqualTo("/delayed")).willReturn(
+                aResponse().withStatus(200).withFixedDelay(60_000)));
+        HTTPJavaHttp2Impl impl = newImpl();
+        CompletableFuture<HTTPSampleResult> result = sampleAsync(impl, "/delayed");
+
+        while (!impl.interrupt()) {
+            Thread.sleep(10);
+        }
+
+        HTTPSampleResult res = result.get(10, TimeUnit.SECONDS);
+        assertFalse(res.isSuccessful(), "Interrupted sample should fail");
+    }
+
+    @Test
+    @Timeout(value = 20, unit = TimeUnit.SECONDS)
+    void interruptAbortsRequestReadingResponseBody() throws Exception {
+        server.stubFor(get(urlPathEqualTo("/dribble")).willReturn(
+                aResponse().withStatus(200).withBody("0123456789").withChunkedDribbleDelay(10, 60_000)));
+        HTTPJavaHttp2Impl impl = newImpl();
+        CompletableFuture<HTTPSampleResult> result = sampleAsync(impl, "/dribble");
+
+        while (impl.currentResponseBody == null) {
+            Thread.sleep(10);
+        }
+        assertTrue(impl.interrupt(), "Response body should be in flight");
+
+        HTTPSampleResult res = result.get(10, TimeUnit.SECONDS);
+        assertFalse(res.isSuccessful(), "Interrupted sample should fail");
+    }
+
+    @Test
+    void sharedClientIsReusedByAllThreads() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        Function<SSLContext, HttpClient> factory = countingFactory(created);
+        SSLContext context = SSLContext.getDefault();
+        HttpClient client = HTTPJavaHttp2Impl.getClient("shared", context, true, factory);
+        AtomicReference<HttpClient> otherThreadClient = new AtomicReference<>();
+
+        runInOtherThread(() -> otherThreadClient.set(
+                HTTPJavaHttp2Impl.getClient("shared", newContext(), true, factory)));
+
+        assertSame(client, otherThreadClient.get());
+        assertEquals(1, created.get(), "clients created");
+    }
+
+    @Test
+    void perThreadClientsFollowTheSslContextOfTheThread() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        Function<SSLContext, HttpClient> factory = countingFactory(created);
+        SSLContext context = newContext();
+        HttpClient client = HTTPJavaHttp2Impl.getClient("perThread", context, false, factory);
+        AtomicReference<HttpClient> otherThreadClient = new AtomicReference<>();
+
+        runInOtherThread(() -> otherThreadClient.set(
+                HTTPJavaHttp2Impl.getClient("perThread", newContext(), false, factory)));
+
+        assertSame(client, HTTPJavaHttp2Impl.getClient("perThread", context, false, factory),
+                "Client should be reused while the SSL context of the thread is the same");
+        assertNotSame(client, otherThreadClient.get(), "Threads should not share their clients");
+        HttpClient resetClient = HTTPJavaHttp2Impl.getClient("perThread", newContext(), false, factory);
+        assertNotSame(client, resetClient, "A new SSL context of the thread needs a new client");
+        assertEquals(3, created.get(), "clients created");
+    }
+
+    private static HTTPJavaHttp2Impl newImpl() {
+        HTTPSamplerBase sampler = (HTTPSamplerBase) new HttpTestSampleGui().createTestElement();
+        return new HTTPJavaHttp2Impl(sampler);
+    }
+
+    private CompletableFuture<HTTPSampleResult> sampleAsync(HTTPJavaHttp2Impl impl, String path) throws Exception {
+        URL url = new URL(server.url(path));
+        return CompletableFuture.supplyAsync(() -> impl.sample(url, "GET", false, 0));
+    }
+
+    private static Function<SSLContext, HttpClient> countingFactory(AtomicInteger created) {
+        return context -> {
+            created.incrementAndGet();
+            return HttpClient.newBuilder().sslContext(context).build();
+        };
+    }
+
+    private static SSLContext newContext() {
+        try {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, null, null);
+            return context;
+        } catch (Exception e) { // NOSONAR test helper
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void runInOtherThread(Runnable runnable) throws Exception {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                runnable.run();
+            } catch (Throwable e) { // NOSONAR rethrown in the test thread
+                failure.set(e);
+            }
+        });
+        thread.start();
+        thread.join();
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
+}
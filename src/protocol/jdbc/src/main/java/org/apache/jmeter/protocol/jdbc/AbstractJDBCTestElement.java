@@ -17,9 +17,11 @@
 
 package org.apache.jmeter.protocol.jdbc;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
@@ -106,6 +108,7 @@ public abstract class AbstractJDBCTestElement extends AbstractTestElement {
     static final String CALLABLE = "Callable Statement"; // $NON-NLS-1$
     static final String PREPARED_SELECT = "Prepared Select Statement"; // $NON-NLS-1$
     static final String PREPARED_UPDATE = "Prepared Update Statement"; // $NON-NLS-1$
+    static final String PREPARED_UPDATE_BATCH = "Prepared Update Batch"; // $NON-NLS-1$
     static final String COMMIT   = "Commit"; // $NON-NLS-1$
     static final String ROLLBACK = "Rollback"; // $NON-NLS-1$
     static final String AUTOCOMMIT_FALSE = "AutoCommit(false)"; // $NON-NLS-1$
@@ -114,6 +117,7 @@ public abstract class AbstractJDBCTestElement extends AbstractTestElement {
     static final String RS_STORE_AS_STRING = "Store as String"; // $NON-NLS-1$
     static final String RS_STORE_AS_OBJECT = "Store as Object"; // $NON-NLS-1$
     static final String RS_COUNT_RECORDS = "Count Records"; // $NON-NLS-1$
+    static final String RS_COUNT_RECORDS_AND_SIZE = "Count Records and Size"; // $NON-NLS-1$
 
     private String query = ""; // $NON-NLS-1$
 
@@ -130,6 +134,9 @@ public abstract class AbstractJDBCTestElement extends AbstractTestElement {
 
     private static final int MAX_RETAIN_SIZE = JMeterUtils.getPropDefault("jdbcsampler.max_retain_result_size", 64 * 1024);
 
+    // Number of parameter sets sent per executeBatch call, values <= 0 send all of them at once
+    private static final int BATCH_SIZE = JMeterUtils.getPropDefault("jdbcsampler.batch_size", 0);
+
     /**
      * Creates a JDBCSampler.
      */
@@ -172,7 +179,7 @@ public abstract class AbstractJDBCTestElement extends AbstractTestElement {
                 try {
                     rs = stmt.executeQuery(getQuery());
                     sample.latencyEnd();
-                    return getStringFromResultSet(rs).getBytes(ENCODING);
+                    return getStringFromResultSet(rs, sample).getBytes(ENCODING);
                 } finally {
                     close(rs);
                 }
@@ -184,7 +191,7 @@ public abstract class AbstractJDBCTestElement extends AbstractTestElement {
                 // plus a number of update counts.
                 boolean hasResultSet = cstmt.execute();
                 sample.latencyEnd();
-                String sb = resultSetsToString(cstmt,hasResultSet, out);
+                String sb = resultSetsToString(cstmt,hasResultSet, out, sample);
                 return sb.getBytes(ENCODING);
             }
         } else if (UPDATE.equals(currentQueryType)) {
@@ -204,7 +211,7 @@ public abstract class AbstractJDBCTestElement extends AbstractTestElement {
                 try {
                     rs = pstmt.executeQuery();
                     sample.latencyEnd();
-                    return getStringFromResultSet(rs).getBytes(ENCODING);
+                    return getStringFromResultSet(rs, sample).getBytes(ENCODING);
                 } finally {
                     close(rs);
                 }
@@ -214,9 +221,13 @@ public abstract class AbstractJDBCTestElement extends AbstractTestElement {
                 setArguments(pstmt);
                 pstmt.executeUpdate();
                 sample.latencyEnd();
-                String sb = resultSetsToString(pstmt,false,null);
+                String sb = resultSetsToString(pstmt,false,null, sample);
                 return sb.getBytes(ENCODING);
             }
+        } else if (PREPARED_UPDATE_BATCH.equals(currentQueryType)) {
+            try (PreparedStatement pstmt = getPreparedStatement(conn)) {
+                return executeBatches(pstmt, sample).getBytes(ENCODING);
+            }
         } else if (ROLLBACK.equals(currentQueryType)){
             conn.rollback();
             sample.latencyEnd();
@@ -242,10 +253,78 @@ public abstract class AbstractJDBCTestElement extends AbstractTestElement {
         int maxRows = getIntegerResultSetMaxRows();
         if (maxRows >= 0) {
            stmt.setMaxRows(maxRows);
+        } else if (stmt instanceof PreparedStatement) {
+           // Prepared statements may come from the pool of the connection, reset a limit set by a previous sampler
+           stmt.setMaxRows(0);
+        }
+    }
+
+    /**
+     * Adds one batch entry per CSV record of the query arguments and sends them with
+     * {@link PreparedStatement#executeBatch()}, {@link #BATCH_SIZE} entries at a time.
+     * Quoted values may span several lines.
+     * Each batch is recorded as a sub result of the sample, so its timing can be inspected.
+     */
+    private String executeBatches(PreparedStatement pstmt, SampleResult sample) throws SQLException, IOException {
+        int batches = 0;
+        int pending = 0;
+        long updates = 0;
+        try (BufferedReader reader = new BufferedReader(new StringReader(getQueryArguments()))) {
+            String[] arguments;
+            while ((arguments = CSVSaveService.csvReadFile(reader, COMMA_CHAR)).length > 0) {
+                if (arguments.length == 1 && arguments[0].trim().isEmpty()) {
+                    continue;
+                }
+                setArguments(pstmt, arguments);
+                pstmt.addBatch();
+                pending++;
+                if (pending == BATCH_SIZE) {
+                    updates += executeBatch(pstmt, sample, pending);
+                    batches++;
+                    pending = 0;
+                }
+            }
         }
+        if (pending > 0 || batches == 0) {
+            if (pending == 0) {
+                // Statement without parameters
+                pstmt.addBatch();
+                pending++;
+            }
+            updates += executeBatch(pstmt, sample, pending);
+            batches++;
+        }
+        return updates + " updates in " + batches + " batches"; // $NON-NLS-1$ // $NON-NLS-2$
+    }
+
+    private static long executeBatch(PreparedStatement pstmt, SampleResult sample, int size) throws SQLException {
+        SampleResult batchResult = new SampleResult();
+        batchResult.setSampleLabel(sample.getSampleLabel());
+        batchResult.setDataType(SampleResult.TEXT);
+        batchResult.setDataEncoding(ENCODING);
+        batchResult.sampleStart();
+        int[] counts = pstmt.executeBatch();
+        batchResult.sampleEnd();
+        if (sample.getLatency() == 0) {
+            sample.latencyEnd();
+        }
+        long updates = 0;
+        for (int count : counts) {
+            // Drivers may report Statement.SUCCESS_NO_INFO instead of a count
+            if (count > 0) {
+                updates += count;
+            }
+        }
+        batchResult.setResponseData(size + " statements, " + updates + " updates", ENCODING); // $NON-NLS-1$ // $NON-NLS-2$
+        batchResult.setSuccessful(true);
+        batchResult.setResponseCodeOK();
+        batchResult.setResponseMessageOK();
+        sample.addRawSubResult(batchResult);
+        return updates;
     }
 
-    private String resultSetsToString(PreparedStatement pstmt, boolean result, int[] out) throws SQLException, UnsupportedEncodingException {
+    private String resultSetsToString(PreparedStatement pstmt, boolean result, int[] out, SampleResult sample)
+            throws SQLException, UnsupportedEncodingException {
         configureMaxRows(pstmt);
         StringBuilder sb = new StringBuilder();
         int updateCount = 0;
@@ -258,7 +337,7 @@ public abstract class AbstractJDBCTestElement extends AbstractTestElement {
                 ResultSet rs = null;
                 try {
                     rs = pstmt.getResultSet();
-                    sb.append(getStringFromResultSet(rs)).append("\n"); // $NON-NLS-1$
+                    sb.append(getStringFromResultSet(rs, sample)).append("\n"); // $NON-NLS-1$
                 } finally {
                     close(rs);
                 }
@@ -282,7 +361,7 @@ public abstract class AbstractJDBCTestElement extends AbstractTestElement {
                     sb.append(i+1);
                     sb.append("] ");
                     sb.append(o);
-                    if( o instanceof java.sql.ResultSet && RS_COUNT_RECORDS.equals(resultSetHandler)) {
+                    if( o instanceof java.sql.ResultSet && isCountRecords()) {
                         sb.append(" ").append(countRows((ResultSet) o)).append(" rows");
                     }
                     sb.append("\n");
@@ -316,7 +395,7 @@ public abstract class AbstractJDBCTestElement extends AbstractTestElement {
             final ResultSet resultSet) throws SQLException {
         if (RS_STORE_AS_OBJECT.equals(resultSetHandler)) {
             jmvars.putObject(name, resultSet);
-        } else if (RS_COUNT_RECORDS.equals(resultSetHandler)) {
+        } else if (isCountRecords()) {
             jmvars.put(name, resultSet.toString() + " " + countRows(resultSet)
                     + " rows");
         } else {
@@ -354,7 +433,7 @@ public abstract class AbstractJDBCTestElement extends AbstractTestElement {
             } catch (IOException e) {
                 log.warn("Could not read BLOB into {} as object.", name, e);
             }
-        } else if (RS_COUNT_RECORDS.equals(resultSetHandler)) {
+        } else if (isCountRecords()) {
             jmvars.put(name, blob.length() + " bytes");
         } else {
             try {
@@ -368,6 +447,13 @@ public abstract class AbstractJDBCTestElement extends AbstractTestElement {
         }
     }
 
+    /**
+     * @return {@code true} if result sets and blobs should only be counted
+     */
+    private boolean isCountRecords() {
+        return RS_COUNT_RECORDS.equals(resultSetHandler) || RS_COUNT_RECORDS_AND_SIZE.equals(resultSetHandler);
+    }
+
     /**
      * Count rows in result set
      * @param resultSet {@link ResultSet}
@@ -389,7 +475,10 @@ public abstract class AbstractJDBCTestElement extends AbstractTestElement {
         if (getQueryArguments().trim().length()==0) {
             return new int[]{};
         }
-        String[] arguments = CSVSaveService.csvSplitString(getQueryArguments(), COMMA_CHAR);
+        return setArguments(pstmt, CSVSaveService.csvSplitString(getQueryArguments(), COMMA_CHAR));
+    }
+
+    private int[] setArguments(PreparedStatement pstmt, String[] arguments) throws SQLException {
         String[] argumentsTypes = getQueryArgumentsTypes().split(COMMA);
         if (arguments.length != argumentsTypes.length) {
             throw new SQLException("number of arguments ("+arguments.length+") and number of types ("+argumentsTypes.length+") are not equal");
@@ -529,25 +618,33 @@ public abstract class AbstractJDBCTestElement extends AbstractTestElement {
 
     /**
      * Gets a Data object from a ResultSet.
+     * <p>
+     * With {@link #RS_COUNT_RECORDS_AND_SIZE} the rows are only counted and the size of their values
+     * is added to the body size of the sample, instead of rendering them as text.
      *
      * @param rs
      *            ResultSet passed in from a database query
+     * @param sample
+     *            SampleResult receiving the counted body size
      * @return a Data object
      * @throws java.sql.SQLException
      * @throws UnsupportedEncodingException
      */
-    private String getStringFromResultSet(ResultSet rs) throws SQLException, UnsupportedEncodingException {
+    private String getStringFromResultSet(ResultSet rs, SampleResult sample) throws SQLException, UnsupportedEncodingException {
         ResultSetMetaData meta = rs.getMetaData();
 
-        StringBuilder sb = new StringBuilder();
+        boolean countRecords = RS_COUNT_RECORDS_AND_SIZE.equals(resultSetHandler);
+        StringBuilder sb = countRecords ? null : new StringBuilder();
 
         int numColumns = meta.getColumnCount();
-        for (int i = 1; i <= numColumns; i++) {
-            sb.append(meta.getColumnLabel(i));
-            if (i==numColumns){
-                sb.append('\n');
-            } else {
-                sb.append('\t');
+        if (!countRecords) {
+            for (int i = 1; i <= numColumns; i++) {
+                sb.append(meta.getColumnLabel(i));
+                if (i==numColumns){
+                    sb.append('\n');
+                } else {
+                    sb.append('\t');
+                }
             }
         }
 
@@ -561,14 +658,15 @@ public abstract class AbstractJDBCTestElement extends AbstractTestElement {
             jmvars.putObject(currentResultVariable, results);
         }
         int currentIterationIndex = 0;
+        long size = 0;
         int resultSetMaxRows = getIntegerResultSetMaxRows();
         if (resultSetMaxRows < 0) {
             while (rs.next()) {
-                currentIterationIndex = processRow(rs, meta, sb, numColumns, jmvars, varNames, results, currentIterationIndex);
+                size += processRow(rs, meta, sb, numColumns, jmvars, varNames, results, ++currentIterationIndex);
             }
         } else {
             while (currentIterationIndex < resultSetMaxRows && rs.next()) {
-                currentIterationIndex = processRow(rs, meta, sb, numColumns, jmvars, varNames, results, currentIterationIndex);
+                size += processRow(rs, meta, sb, numColumns, jmvars, varNames, results, ++currentIterationIndex);
             }
         }
         // Remove any additional values from previous sample
@@ -588,14 +686,25 @@ public abstract class AbstractJDBCTestElement extends AbstractTestElement {
             }
         }
 
+        if (countRecords) {
+            sample.setBodySize(sample.getBodySizeAsLong() + size);
+            return currentIterationIndex + " rows, " + size + " bytes"; // $NON-NLS-1$ // $NON-NLS-2$
+        }
         return sb.toString();
     }
 
-    private static int processRow(ResultSet rs, ResultSetMetaData meta, StringBuilder sb, int numColumns,
+    /**
+     * Reads the values of the current row into the variables, the result list and the string builder.
+     *
+     * @param sb the StringBuilder to append the row to, or {@code null} when only counting
+     * @param currentIterationIndex one-based index of the current row
+     * @return the approximate size of the row values when counting, {@code 0} otherwise
+     */
+    private static long processRow(ResultSet rs, ResultSetMetaData meta, StringBuilder sb, int numColumns,
             JMeterVariables jmvars, String[] varNames, List<? super Map<String, Object>> results, int currentIterationIndex)
             throws SQLException, UnsupportedEncodingException {
         Map<String, Object> row = null;
-        currentIterationIndex++;
+        long size = 0;
         for (int i = 1; i <= numColumns; i++) {
             Object o = rs.getObject(i);
             if(results != null) {
@@ -605,14 +714,19 @@ public abstract class AbstractJDBCTestElement extends AbstractTestElement {
                 }
                 row.put(meta.getColumnLabel(i), o);
             }
+            if (sb == null) {
+                size += sizeOf(o);
+            }
             if (o instanceof byte[]) {
                 o = new String((byte[]) o, ENCODING);
             }
-            sb.append(o);
-            if (i==numColumns){
-                sb.append('\n');
-            } else {
-                sb.append('\t');
+            if (sb != null) {
+                sb.append(o);
+                if (i==numColumns){
+                    sb.append('\n');
+                } else {
+                    sb.append('\t');
+                }
             }
             if (i <= varNames.length) { // i starts at 1
                 String name = varNames[i - 1].trim();
@@ -621,7 +735,27 @@ public abstract class AbstractJDBCTestElement extends AbstractTestElement {
                 }
             }
         }
-        return currentIterationIndex;
+        return size;
+    }
+
+    /**
+     * @param o value of a column
+     * @return the number of bytes of binary values, the number of characters of any other value
+     * @throws SQLException if the length of a LOB cannot be read
+     */
+    private static long sizeOf(Object o) throws SQLException {
+        if (o == null) {
+            return 0;
+        } else if (o instanceof byte[]) {
+            return ((byte[]) o).length;
+        } else if (o instanceof CharSequence) {
+            return ((CharSequence) o).length();
+        } else if (o instanceof Blob) {
+            return ((Blob) o).length();
+        } else if (o instanceof Clob) {
+            return ((Clob) o).length();
+        }
+        return o.toString().length();
     }
 
     public static void close(Connection c) {
@@ -51,7 +51,7 @@ public abstract class JDBCTestElementBeanInfoSupport extends BeanInfoSupport {
         p.setValue(NOT_UNDEFINED, Boolean.TRUE);
         p.setValue(DEFAULT, ""); // $NON-NLS-1$
 
-        p = property("queryArguments"); // $NON-NLS-1$
+        p = property("queryArguments", TypeEditor.TextAreaEditor); // $NON-NLS-1$
         p.setValue(NOT_UNDEFINED, Boolean.TRUE);
         p.setValue(DEFAULT, ""); // $NON-NLS-1$
 
@@ -70,7 +70,8 @@ public abstract class JDBCTestElementBeanInfoSupport extends BeanInfoSupport {
         p.setValue(TAGS,new String[]{
                 AbstractJDBCTestElement.RS_STORE_AS_STRING,
                 AbstractJDBCTestElement.RS_STORE_AS_OBJECT,
-                AbstractJDBCTestElement.RS_COUNT_RECORDS
+                AbstractJDBCTestElement.RS_COUNT_RECORDS,
+                AbstractJDBCTestElement.RS_COUNT_RECORDS_AND_SIZE
                 });
 
         p = property("resultVariable"); // $NON-NLS-1$
@@ -95,6 +96,7 @@ public abstract class JDBCTestElementBeanInfoSupport extends BeanInfoSupport {
                 AbstractJDBCTestElement.CALLABLE,
                 AbstractJDBCTestElement.PREPARED_SELECT,
                 AbstractJDBCTestElement.PREPARED_UPDATE,
+                AbstractJDBCTestElement.PREPARED_UPDATE_BATCH,
                 AbstractJDBCTestElement.COMMIT,
                 AbstractJDBCTestElement.ROLLBACK,
                 AbstractJDBCTestElement.AUTOCOMMIT_FALSE,
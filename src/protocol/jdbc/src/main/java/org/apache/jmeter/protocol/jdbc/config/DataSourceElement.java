@@ -207,6 +207,22 @@ public class DataSourceElement extends AbstractTestElement
         }
     }
 
+    /*
+     * DBCP keys pooled statements by SQL text per physical connection,
+     * so JDBC Requests reuse them across samples; "0" means no limit
+     */
+    static void configurePreparedStatementPool(BasicDataSource dataSource, String poolPreparedStatements) {
+        if (StringUtils.isNotEmpty(poolPreparedStatements)) {
+            int maxPreparedStatements = Integer.parseInt(poolPreparedStatements);
+            if (maxPreparedStatements < 0) {
+                dataSource.setPoolPreparedStatements(false);
+            } else {
+                dataSource.setPoolPreparedStatements(true);
+                dataSource.setMaxOpenPreparedStatements(maxPreparedStatements == 0 ? -1 : maxPreparedStatements);
+            }
+        }
+    }
+
     /*
      * Set up the DataSource - maxPool is a parameter, so the same code can
      * also be used for setting up the per-thread pools.
@@ -231,15 +247,7 @@ public class DataSourceElement extends AbstractTestElement
         if(StringUtils.isNotEmpty(connectionProperties)) {
             dataSource.setConnectionProperties(connectionProperties);
         }
-        if (StringUtils.isNotEmpty(poolPreparedStatements)) {
-            int maxPreparedStatements = Integer.parseInt(poolPreparedStatements);
-            if (maxPreparedStatements < 0) {
-                dataSource.setPoolPreparedStatements(false);
-            } else {
-                dataSource.setPoolPreparedStatements(true);
-                dataSource.setMaxOpenPreparedStatements(10);
-            }
-        }
+        configurePreparedStatementPool(dataSource, poolPreparedStatements);
         dataSource.setRollbackOnReturn(false);
         dataSource.setMaxIdle(poolSize);
         dataSource.setMaxTotal(poolSize);
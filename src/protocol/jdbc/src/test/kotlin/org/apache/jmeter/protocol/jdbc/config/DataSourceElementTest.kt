@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jmeter.protocol.jdbc.config
+
+import org.apache.commons.dbcp2.BasicDataSource
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+class DataSourceElementTest {
+    @Test
+    fun `negative pool size disables the statement pool`() {
+        val dataSource = BasicDataSource()
+        DataSourceElement.configurePreparedStatementPool(dataSource, "-1")
+        assertFalse(dataSource.isPoolPreparedStatements, "poolPreparedStatements")
+    }
+
+    @Test
+    fun `statement pool honours the configured maximum`() {
+        val dataSource = BasicDataSource()
+        DataSourceElement.configurePreparedStatementPool(dataSource, "25")
+        assertTrue(dataSource.isPoolPreparedStatements, "poolPreparedStatements")
+        assertEquals(25, dataSource.maxOpenPreparedStatements, "maxOpenPreparedStatements")
+    }
+
+    @Test
+    fun `zero pool size means an unlimited statement pool`() {
+        val dataSource = BasicDataSource()
+        DataSourceElement.configurePreparedStatementPool(dataSource, "0")
+        assertTrue(dataSource.isPoolPreparedStatements, "poolPreparedStatements")
+        assertEquals(-1, dataSource.maxOpenPreparedStatements, "maxOpenPreparedStatements")
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.jmeter.protocol.jdbc.sampler
 import io.mockk.every
 import io.mockk.justRun
 import io.mockk.mockk
+import io.mockk.verify
 import io.mockk.verifyOrder
 import org.apache.jmeter.config.ConfigTestElement
 import org.apache.jmeter.config.gui.SimpleConfigGui
@@ -36,6 +37,7 @@ import org.junit.jupiter.api.TestInstance
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.MethodSource
 import java.sql.Connection
+import java.sql.PreparedStatement
 import java.sql.ResultSet
 import java.sql.ResultSetMetaData
 import java.sql.SQLException
@@ -111,6 +113,120 @@ class JDBCSamplerTest {
         assertArrayEquals(byteArrayOf(), response, "response")
     }
 
+    private fun twoRowResultSet(): ResultSet {
+        val meta = mockk<ResultSetMetaData> {
+            every { columnCount } returns 2
+            every { getColumnLabel(1) } returns "id"
+            every { getColumnLabel(2) } returns "name"
+        }
+        return mockk<ResultSet> {
+            every { metaData } returns meta
+            every { next() } returnsMany listOf(true, true, false)
+            every { getObject(1) } returnsMany listOf(1, 2)
+            every { getObject(2) } returnsMany listOf("foo", "bar")
+            justRun { close() }
+        }
+    }
+
+    private fun statementReturning(rs: ResultSet) =
+        mockk<Statement> {
+            every { executeQuery(any()) } returns rs
+            justRun { queryTimeout = any() }
+            justRun { maxRows = any() }
+            justRun { close() }
+        }
+
+    @Test
+    fun `Count Records renders rows of SELECT as text`() {
+        val conn = mockk<Connection> {
+            every { createStatement() } returns statementReturning(twoRowResultSet())
+        }
+        val sample = SampleResult()
+
+        sut.query = "SELECT"
+        sut.resultSetHandler = "Count Records"
+        val response = sut.executeForTest(conn, sample)
+
+        assertEquals("id\tname\n1\tfoo\n2\tbar\n", String(response, Charsets.UTF_8), "response")
+    }
+
+    @Test
+    fun `Count Records and Size counts rows of SELECT without rendering them`() {
+        val conn = mockk<Connection> {
+            every { createStatement() } returns statementReturning(twoRowResultSet())
+        }
+        val sample = SampleResult()
+
+        sut.query = "SELECT"
+        sut.resultSetHandler = "Count Records and Size"
+        val response = sut.executeForTest(conn, sample)
+
+        assertEquals("2 rows, 8 bytes", String(response, Charsets.UTF_8), "response")
+        assertEquals(8, sample.bodySizeAsLong, "body size")
+    }
+
+    @Test
+    fun `Prepared Select resets max rows of a pooled statement`() {
+        val meta = mockk<ResultSetMetaData> {
+            every { columnCount } returns 0
+        }
+        val rs = mockk<ResultSet> {
+            every { metaData } returns meta
+            every { next() } returns false
+            justRun { close() }
+        }
+        val pstmt = mockk<PreparedStatement> {
+            every { executeQuery() } returns rs
+            justRun { queryTimeout = any() }
+            justRun { maxRows = any() }
+            justRun { close() }
+        }
+        val conn = mockk<Connection> {
+            every { prepareStatement(any()) } returns pstmt
+        }
+
+        sut.query = "SELECT"
+        sut.queryType = "Prepared Select Statement"
+        sut.executeForTest(conn, SampleResult())
+
+        verify { pstmt.maxRows = 0 }
+    }
+
+    @Test
+    fun `Prepared Update Batch adds one entry per CSV record`() {
+        val pstmt = mockk<PreparedStatement> {
+            justRun { setInt(any(), any()) }
+            justRun { setString(any(), any()) }
+            justRun { addBatch() }
+            every { executeBatch() } returns intArrayOf(1, 1)
+            justRun { queryTimeout = any() }
+            justRun { close() }
+        }
+        val conn = mockk<Connection> {
+            every { prepareStatement(any()) } returns pstmt
+        }
+        val sample = SampleResult()
+
+        sut.query = "INSERT"
+        sut.queryType = "Prepared Update Batch"
+        sut.queryArguments = "1,\"first\nline\"\n\n2,second\n"
+        sut.queryArgumentsTypes = "INTEGER,VARCHAR"
+        val response = sut.executeForTest(conn, sample)
+
+        verifyOrder {
+            pstmt.setInt(1, 1)
+            pstmt.setString(2, "first\nline")
+            pstmt.addBatch()
+            pstmt.setInt(1, 2)
+            pstmt.setString(2, "second")
+            pstmt.addBatch()
+            pstmt.executeBatch()
+        }
+        verify(exactly = 2) { pstmt.addBatch() }
+        assertEquals("2 updates in 1 batches", String(response, Charsets.UTF_8), "response")
+        assertEquals(1, sample.subResults.size, "one sub result per batch")
+    }
+
     @Test
     fun `Catches SQLException during Connection closing`() {
         val mockConnection = mockk<Connection> {